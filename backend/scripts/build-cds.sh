@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Build an AppCDS archive for the backend: the classes loaded while the application context starts
+# are parsed and verified once, here, and memory-mapped from target/cds/app.jsa on later starts.
+#
+#   mvn -DskipTests package            (or mvn -Paot -DskipTests package, then AOT=true below)
+#   scripts/build-cds.sh
+#   java -XX:SharedArchiveFile=target/cds/app.jsa -cp "$(cat target/cds/classpath)" \
+#        com.neurofleetx.NeuroFleetXApplication --spring.profiles.active=mysql,prod
+#
+# CDS needs plain jars on the class path, so the Boot jar is unpacked into target/cds and the
+# class path is written to target/cds/classpath; launch with exactly that class path (and the same
+# JDK) or the archive is ignored. The training run uses the prod profile on an in-memory H2
+# database and stops right after the context refreshes (spring.context.exit=onRefresh).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${1:-target/backend-0.0.1-SNAPSHOT-exec.jar}
+OUT=target/cds
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR_TOOL=${JAVA_HOME:+$JAVA_HOME/bin/}jar
+JAVA_OPTS=${JAVA_OPTS:-}
+if [ "${AOT:-false}" = "true" ]; then
+  JAVA_OPTS="$JAVA_OPTS -Dspring.aot.enabled=true"
+fi
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+unzip -q "$JAR" -d "$OUT/app"
+
+# CDS only archives from jars, so the application's own classes are packed into one
+"$JAR_TOOL" --create --file "$OUT/app/application.jar" -C "$OUT/app/BOOT-INF/classes" .
+
+# Same order as the Boot launcher (BOOT-INF/classpath.idx)
+CLASSPATH="$OUT/app/application.jar"
+while read -r line; do
+  CLASSPATH="$CLASSPATH:$OUT/app/${line:3:${#line}-4}"
+done < "$OUT/app/BOOT-INF/classpath.idx"
+echo "$CLASSPATH" > "$OUT/classpath"
+# Launch with the same options (AOT on or off) as the training run
+echo "$JAVA_OPTS" > "$OUT/jvm-options"
+
+# shellcheck disable=SC2086
+"$JAVA" $JAVA_OPTS -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.context.exit=onRefresh \
+  -cp "$CLASSPATH" com.neurofleetx.NeuroFleetXApplication \
+  --spring.profiles.active=prod \
+  --spring.datasource.url="jdbc:h2:mem:cds;DB_CLOSE_DELAY=-1;MODE=MySQL" \
+  --spring.datasource.username=sa \
+  --spring.datasource.password= \
+  --spring.datasource.driver-class-name=org.h2.Driver \
+  --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect
+
+echo "AppCDS archive: $OUT/app.jsa ($(du -h "$OUT/app.jsa" | cut -f1))"
@@ -2,15 +2,18 @@ package com.neurofleetx;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(exclude = {SecurityAutoConfiguration.class})
+@SpringBootApplication(exclude = {SecurityAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class})
 @EntityScan("com.neurofleetx.entity")
 @ComponentScan("com.neurofleetx")
 @EnableJpaRepositories("com.neurofleetx.repository")
+@EnableScheduling
 public class NeuroFleetXApplication {
     public static void main(String[] args) {
         SpringApplication.run(NeuroFleetXApplication.class, args);
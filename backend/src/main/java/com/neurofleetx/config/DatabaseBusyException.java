@@ -0,0 +1,10 @@
+package com.neurofleetx.config;
+
+// Thrown when no database permit frees up within the pool's connection timeout (see
+// DbConcurrencyLimiter). ApiExceptionHandler answers it with 503 so clients back off and retry.
+public class DatabaseBusyException extends RuntimeException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
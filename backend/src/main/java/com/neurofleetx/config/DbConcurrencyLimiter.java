@@ -0,0 +1,76 @@
+package com.neurofleetx.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Bounds concurrent database work to the Hikari pool size.
+// With virtual threads every request gets its own thread, so without this thousands of
+// requests would block inside Hikari's getConnection() and time out there instead.
+// A web request takes one permit when it enters its controller and holds it until the handler
+// returns, so a request is either turned away with ApiExceptionHandler's 503 before it does any
+// work, or runs to the end: it can never commit a write and then be rejected halfway through,
+// and the controllers' catch (Exception e) never sees a DatabaseBusyException. Off the request
+// path (schedulers, startup) @Transactional methods and repository calls take the permit
+// themselves. Either way the outermost such call on a thread takes it, so nested calls never wait
+// on themselves; the aspect runs ahead of the transaction interceptor so the permit is held before
+// a connection is.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "neurofleetx.db.concurrency-limit.enabled", havingValue = "true")
+public class DbConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DbConcurrencyLimiter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(poolSize, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)"
+            + " || this(org.springframework.data.repository.Repository)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] d = depth.get();
+        if (d[0] > 0) {
+            d[0]++;
+            try {
+                return joinPoint.proceed();
+            } finally {
+                d[0]--;
+            }
+        }
+
+        if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new DatabaseBusyException("Timed out waiting for a database permit after " + acquireTimeoutMs + "ms");
+        }
+        d[0] = 1;
+        try {
+            return joinPoint.proceed();
+        } finally {
+            d[0] = 0;
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,82 @@
+package com.neurofleetx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// EV range and charging settings, bound from neurofleetx.ev.*; chargers from neurofleetx.ev.chargers[i].*
+@Component
+@ConfigurationProperties(prefix = "neurofleetx.ev")
+public class EvProperties {
+
+    // Distance on a full battery
+    private double rangeKm = 300;
+    // Share of the full range that must be left after a trip
+    private double reservePercent = 10;
+    // Level at which an EV should be on a charger
+    private double chargeThresholdPercent = 20;
+    // Level a charging window charges up to
+    private double chargeTargetPercent = 80;
+    // Drain assumed until telemetry has measured one
+    private double defaultDrainPercentPerHour = 8;
+    // How far ahead charging windows are planned
+    private double planHorizonHours = 24;
+    private List<Charger> chargers = new ArrayList<>();
+
+    public double getRangeKm() { return rangeKm; }
+    public void setRangeKm(double rangeKm) { this.rangeKm = rangeKm; }
+
+    public double getReservePercent() { return reservePercent; }
+    public void setReservePercent(double reservePercent) { this.reservePercent = reservePercent; }
+
+    public double getChargeThresholdPercent() { return chargeThresholdPercent; }
+    public void setChargeThresholdPercent(double chargeThresholdPercent) { this.chargeThresholdPercent = chargeThresholdPercent; }
+
+    public double getChargeTargetPercent() { return chargeTargetPercent; }
+    public void setChargeTargetPercent(double chargeTargetPercent) { this.chargeTargetPercent = chargeTargetPercent; }
+
+    public double getDefaultDrainPercentPerHour() { return defaultDrainPercentPerHour; }
+    public void setDefaultDrainPercentPerHour(double defaultDrainPercentPerHour) { this.defaultDrainPercentPerHour = defaultDrainPercentPerHour; }
+
+    public double getPlanHorizonHours() { return planHorizonHours; }
+    public void setPlanHorizonHours(double planHorizonHours) { this.planHorizonHours = planHorizonHours; }
+
+    public List<Charger> getChargers() { return chargers; }
+    public void setChargers(List<Charger> chargers) { this.chargers = chargers; }
+
+    public static class Charger {
+        private String name;
+        private double latitude;
+        private double longitude;
+        // Vehicles that can charge at the same time
+        private int capacity = 1;
+        private double percentPerHour = 60;
+
+        public Charger() {}
+
+        public Charger(String name, double latitude, double longitude, int capacity, double percentPerHour) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.capacity = capacity;
+            this.percentPerHour = percentPerHour;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public double getLatitude() { return latitude; }
+        public void setLatitude(double latitude) { this.latitude = latitude; }
+
+        public double getLongitude() { return longitude; }
+        public void setLongitude(double longitude) { this.longitude = longitude; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getPercentPerHour() { return percentPerHour; }
+        public void setPercentPerHour(double percentPerHour) { this.percentPerHour = percentPerHour; }
+    }
+}
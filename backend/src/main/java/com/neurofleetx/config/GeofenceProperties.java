@@ -0,0 +1,49 @@
+package com.neurofleetx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Geofences, bound from neurofleetx.geofence.zones[i].*; compiled once by GeofenceService.
+// A polygon is written as "lat lng, lat lng, ..." with at least three corners; it is closed implicitly.
+@Component
+@ConfigurationProperties(prefix = "neurofleetx.geofence")
+public class GeofenceProperties {
+
+    public enum ZoneType { DEPOT, RESTRICTED, SERVICE_AREA }
+
+    // Edge of the grid cells the zones are indexed by
+    private double cellSizeDegrees = 0.01;
+    private List<Zone> zones = new ArrayList<>();
+
+    public double getCellSizeDegrees() { return cellSizeDegrees; }
+    public void setCellSizeDegrees(double cellSizeDegrees) { this.cellSizeDegrees = cellSizeDegrees; }
+
+    public List<Zone> getZones() { return zones; }
+    public void setZones(List<Zone> zones) { this.zones = zones; }
+
+    public static class Zone {
+        private String name;
+        private ZoneType type = ZoneType.SERVICE_AREA;
+        private String polygon;
+
+        public Zone() {}
+
+        public Zone(String name, ZoneType type, String polygon) {
+            this.name = name;
+            this.type = type;
+            this.polygon = polygon;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public ZoneType getType() { return type; }
+        public void setType(ZoneType type) { this.type = type; }
+
+        public String getPolygon() { return polygon; }
+        public void setPolygon(String polygon) { this.polygon = polygon; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.neurofleetx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// Hands each Hikari pool (the primary, and the replica when reads are routed) our metrics tracker
+// (connection acquire/usage times, timeouts, pool stats). It has to be set before the pool starts,
+// i.e. before anyone asks for a connection, hence a post-processor rather than wiring it up later.
+@Component
+public class HikariMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<HotPathMetrics> metrics;
+
+    public HikariMetricsPostProcessor(ObjectProvider<HotPathMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+            String role = "replicaDataSource".equals(beanName) ? "replica" : "primary";
+            dataSource.setMetricsTrackerFactory(metrics.getObject().hikariTrackerFactory(role));
+        }
+        return bean;
+    }
+}
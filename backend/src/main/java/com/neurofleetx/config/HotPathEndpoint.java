@@ -0,0 +1,101 @@
+package com.neurofleetx.config;
+
+import com.neurofleetx.service.BookingArchive;
+import com.neurofleetx.service.BookingLifecycleService;
+import com.neurofleetx.service.MaintenanceRuleEngine;
+import com.neurofleetx.service.PricingService;
+import com.neurofleetx.service.VehicleHealthModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/hotpaths: latency percentiles per endpoint and repository method, connection pool
+// wait times, cache hit ratios, the depth of the queues telemetry and bookings feed, and the size
+// of the booking archive.
+// Everything is read from counters the hot paths already maintain; nothing is computed on the
+// request path. Hibernate cache counters appear once statistics are on (the "cache" profile).
+@Component
+@Endpoint(id = "hotpaths")
+public class HotPathEndpoint {
+
+    @Autowired
+    private HotPathMetrics metrics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private MaintenanceRuleEngine maintenanceRuleEngine;
+
+    @Autowired
+    private VehicleHealthModel vehicleHealthModel;
+
+    @Autowired
+    private BookingLifecycleService bookingLifecycleService;
+
+    @Autowired
+    private BookingArchive bookingArchive;
+
+    @Autowired(required = false)
+    private DbConcurrencyLimiter dbConcurrencyLimiter;
+
+    @Autowired(required = false)
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @ReadOperation
+    public Map<String, Object> hotPaths() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("endpoints", metrics.endpointSnapshots());
+        body.put("repositories", metrics.repositorySnapshots());
+        body.put("connectionPool", metrics.connectionPool("primary"));
+        if (routingDataSource != null) {
+            body.put("replicaConnectionPool", metrics.connectionPool("replica"));
+            body.put("readRouting", routingDataSource.stats());
+        }
+        body.put("caches", caches());
+        body.put("queues", queues());
+        body.put("bookingArchive", bookingArchive.stats());
+        return body;
+    }
+
+    private Map<String, Object> caches() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("surge", ratio(pricingService.surgeCacheHits(), pricingService.surgeCacheMisses()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            caches.put("secondLevel", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+            caches.put("query", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        }
+        return caches;
+    }
+
+    // Telemetry is processed inline; these are the write-behind buffers and timers it and bookings fill
+    private Map<String, Object> queues() {
+        Map<String, Object> queues = new LinkedHashMap<>();
+        queues.put("maintenanceAlertsPending", maintenanceRuleEngine.pendingAlerts());
+        queues.put("healthScoresDirty", vehicleHealthModel.dirtyVehicles());
+        queues.put("bookingTimers", bookingLifecycleService.pendingTimers());
+        if (dbConcurrencyLimiter != null) {
+            queues.put("dbPermitWaiters", dbConcurrencyLimiter.queueLength());
+        }
+        return queues;
+    }
+
+    private static Map<String, Object> ratio(long hits, long misses) {
+        Map<String, Object> ratio = new LinkedHashMap<>();
+        ratio.put("hits", hits);
+        ratio.put("misses", misses);
+        ratio.put("hitRatio", hits + misses == 0 ? 0.0 : Math.round(hits * 10_000.0 / (hits + misses)) / 10_000.0);
+        return ratio;
+    }
+}
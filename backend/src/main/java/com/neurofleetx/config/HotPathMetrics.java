@@ -0,0 +1,142 @@
+package com.neurofleetx.config;
+
+import com.neurofleetx.util.LatencyHistogram;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms for the hot paths: one per controller method, one per repository method and
+// the Hikari pool's connection acquire/usage times. Lookups on the recording path are keyed by the
+// reflective Method (and the repository proxy class), which are stable objects, so a recording is a
+// hash lookup plus LatencyHistogram.record() and allocates nothing once a key has been seen.
+// Readable names are built once, when a key is first recorded.
+@Component
+public class HotPathMetrics {
+
+    private record Named(String name, LatencyHistogram histogram) {}
+
+    private final ConcurrentHashMap<Method, Named> endpoints = new ConcurrentHashMap<>();
+    private final Named unmatched = new Named("UNMATCHED", new LatencyHistogram());
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, Named>> repositories = new ConcurrentHashMap<>();
+
+    // Connection pool metrics by role: "primary", plus "replica" when reads are routed to a replica
+    private final ConcurrentHashMap<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    private static final class PoolMetrics {
+        final LatencyHistogram acquire = new LatencyHistogram();
+        final LatencyHistogram usage = new LatencyHistogram();
+        final LongAdder timeouts = new LongAdder();
+        volatile PoolStats stats;
+    }
+
+    // Histogram for a controller method; the name is only built the first time the method is seen
+    public LatencyHistogram endpoint(Method handler, String httpMethod, String pattern) {
+        Named named = endpoints.get(handler);
+        if (named == null) {
+            named = endpoints.computeIfAbsent(handler, h -> new Named(httpMethod + " " + pattern, new LatencyHistogram()));
+        }
+        return named.histogram();
+    }
+
+    public LatencyHistogram unmatchedEndpoint() {
+        return unmatched.histogram();
+    }
+
+    // Histogram for a repository method, keyed by the repository proxy's class since inherited
+    // methods (findAll, save, ...) are the same Method on every repository
+    public LatencyHistogram repository(Class<?> proxyClass, Method method) {
+        ConcurrentHashMap<Method, Named> methods = repositories.get(proxyClass);
+        if (methods == null) {
+            methods = repositories.computeIfAbsent(proxyClass, c -> new ConcurrentHashMap<>());
+        }
+        Named named = methods.get(method);
+        if (named == null) {
+            named = methods.computeIfAbsent(method, m -> new Named(repositoryName(proxyClass) + "." + m.getName(), new LatencyHistogram()));
+        }
+        return named.histogram();
+    }
+
+    public MetricsTrackerFactory hikariTrackerFactory(String role) {
+        PoolMetrics pool = pools.computeIfAbsent(role, r -> new PoolMetrics());
+        return (poolName, stats) -> {
+            pool.stats = stats;
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    pool.acquire.record(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    pool.usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    pool.timeouts.increment();
+                }
+            };
+        };
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> endpointSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (Named named : endpoints.values()) {
+            snapshots.put(named.name(), named.histogram().snapshot());
+        }
+        if (unmatched.histogram().count() > 0) {
+            snapshots.put(unmatched.name(), unmatched.histogram().snapshot());
+        }
+        return snapshots;
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> repositorySnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (ConcurrentHashMap<Method, Named> methods : repositories.values()) {
+            for (Named named : methods.values()) {
+                snapshots.put(named.name(), named.histogram().snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    // Snapshot of the pool with the given role, or null if there is no such pool
+    public Map<String, Object> connectionPool(String role) {
+        PoolMetrics metrics = pools.get(role);
+        if (metrics == null) {
+            return null;
+        }
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("acquire", metrics.acquire.snapshot());
+        pool.put("usage", metrics.usage.snapshot());
+        pool.put("timeouts", metrics.timeouts.sum());
+        PoolStats stats = metrics.stats;
+        if (stats != null) {
+            pool.put("active", stats.getActiveConnections());
+            pool.put("idle", stats.getIdleConnections());
+            pool.put("total", stats.getTotalConnections());
+            pool.put("max", stats.getMaxConnections());
+            pool.put("pendingThreads", stats.getPendingThreads());
+        }
+        return pool;
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        return Arrays.stream(proxyClass.getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(proxyClass.getSimpleName());
+    }
+}
@@ -0,0 +1,81 @@
+package com.neurofleetx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Maintenance alert rules, bound from neurofleetx.maintenance.rules[i].*.
+// Setting any rule in properties replaces the whole default list below.
+@Component
+@ConfigurationProperties(prefix = "neurofleetx.maintenance")
+public class MaintenanceRuleProperties {
+
+    // HEALTH_SCORE comes from VehicleHealthModel, the others straight from telemetry
+    public enum Metric { FUEL_LEVEL, BATTERY_LEVEL, ENGINE_TEMPERATURE, SPEED, HEALTH_SCORE }
+
+    // THRESHOLD: the latest value; RATE_OF_CHANGE: change per minute between consecutive
+    // readings; WINDOW_AVERAGE: mean of the last `window` readings
+    public enum Type { THRESHOLD, RATE_OF_CHANGE, WINDOW_AVERAGE }
+
+    public enum Operator { BELOW, ABOVE }
+
+    private List<Rule> rules = defaultRules();
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+
+    public static class Rule {
+        private String name;
+        private Metric metric;
+        private Type type = Type.THRESHOLD;
+        private Operator operator = Operator.BELOW;
+        private double threshold;
+        private int window = 1;
+        private String severity = "MEDIUM";
+
+        public Rule() {}
+
+        public Rule(String name, Metric metric, Type type, Operator operator, double threshold, int window, String severity) {
+            this.name = name;
+            this.metric = metric;
+            this.type = type;
+            this.operator = operator;
+            this.threshold = threshold;
+            this.window = window;
+            this.severity = severity;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Metric getMetric() { return metric; }
+        public void setMetric(Metric metric) { this.metric = metric; }
+
+        public Type getType() { return type; }
+        public void setType(Type type) { this.type = type; }
+
+        public Operator getOperator() { return operator; }
+        public void setOperator(Operator operator) { this.operator = operator; }
+
+        public double getThreshold() { return threshold; }
+        public void setThreshold(double threshold) { this.threshold = threshold; }
+
+        public int getWindow() { return window; }
+        public void setWindow(int window) { this.window = window; }
+
+        public String getSeverity() { return severity; }
+        public void setSeverity(String severity) { this.severity = severity; }
+    }
+
+    private static List<Rule> defaultRules() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new Rule("low-fuel", Metric.FUEL_LEVEL, Type.THRESHOLD, Operator.BELOW, 20, 1, "MEDIUM"));
+        rules.add(new Rule("low-battery", Metric.BATTERY_LEVEL, Type.THRESHOLD, Operator.BELOW, 15, 1, "HIGH"));
+        rules.add(new Rule("fast-battery-drain", Metric.BATTERY_LEVEL, Type.RATE_OF_CHANGE, Operator.BELOW, -2, 1, "MEDIUM"));
+        rules.add(new Rule("engine-overheating", Metric.ENGINE_TEMPERATURE, Type.WINDOW_AVERAGE, Operator.ABOVE, 110, 5, "HIGH"));
+        rules.add(new Rule("poor-health", Metric.HEALTH_SCORE, Type.WINDOW_AVERAGE, Operator.BELOW, 70, 3, "HIGH"));
+        return rules;
+    }
+}
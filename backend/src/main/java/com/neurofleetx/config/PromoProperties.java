@@ -0,0 +1,74 @@
+package com.neurofleetx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Promo codes, bound from neurofleetx.promo.codes[i].*; compiled once by PromoService
+@Component
+@ConfigurationProperties(prefix = "neurofleetx.promo")
+public class PromoProperties {
+
+    public enum Type { PERCENT, FLAT }
+
+    private List<Promo> codes = new ArrayList<>();
+
+    public List<Promo> getCodes() { return codes; }
+    public void setCodes(List<Promo> codes) { this.codes = codes; }
+
+    public static class Promo {
+        private String code;
+        private Type type = Type.PERCENT;
+        // Percent off for PERCENT, currency amount off for FLAT
+        private double value;
+        // Upper bound of the discount, 0 for none
+        private double maxDiscount;
+        // Smallest fare the code applies to
+        private double minFare;
+        private LocalDateTime validFrom;
+        private LocalDateTime validUntil;
+        // Total redemptions allowed, 0 for unlimited
+        private int maxUses;
+
+        public Promo() {}
+
+        public Promo(String code, Type type, double value, double maxDiscount, double minFare,
+                     LocalDateTime validFrom, LocalDateTime validUntil, int maxUses) {
+            this.code = code;
+            this.type = type;
+            this.value = value;
+            this.maxDiscount = maxDiscount;
+            this.minFare = minFare;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+            this.maxUses = maxUses;
+        }
+
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public Type getType() { return type; }
+        public void setType(Type type) { this.type = type; }
+
+        public double getValue() { return value; }
+        public void setValue(double value) { this.value = value; }
+
+        public double getMaxDiscount() { return maxDiscount; }
+        public void setMaxDiscount(double maxDiscount) { this.maxDiscount = maxDiscount; }
+
+        public double getMinFare() { return minFare; }
+        public void setMinFare(double minFare) { this.minFare = minFare; }
+
+        public LocalDateTime getValidFrom() { return validFrom; }
+        public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+
+        public LocalDateTime getValidUntil() { return validUntil; }
+        public void setValidUntil(LocalDateTime validUntil) { this.validUntil = validUntil; }
+
+        public int getMaxUses() { return maxUses; }
+        public void setMaxUses(int maxUses) { this.maxUses = maxUses; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.neurofleetx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Read replica routing, on when neurofleetx.datasource.replica.jdbc-url is set. Replaces Boot's single
+// pool with two Hikari pools: the primary (spring.datasource.*, spring.datasource.hikari.*) and the
+// replica (neurofleetx.datasource.replica.*, Hikari property names: jdbc-url, username, password,
+// maximum-pool-size, ...). Everything that injects a DataSource gets the routing one; see
+// ReadWriteRoutingDataSource for which work goes where.
+@Configuration
+@ConditionalOnProperty(name = "neurofleetx.datasource.replica.jdbc-url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("neurofleetx.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${neurofleetx.datasource.routing.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${neurofleetx.datasource.routing.max-lag-ms:2000}") long maxLagMs) {
+        return new ReadWriteRoutingDataSource(primary, replica, lagQuery, maxLagMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
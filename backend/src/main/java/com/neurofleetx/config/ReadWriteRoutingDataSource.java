@@ -0,0 +1,141 @@
+package com.neurofleetx.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sends @Transactional(readOnly = true) work to the replica pool and everything else (writes,
+// non-transactional repository calls, Flyway, Hibernate bootstrap) to the primary. Must sit behind
+// a LazyConnectionDataSourceProxy: the transaction is only marked read-only after it has begun,
+// so the physical connection has to be fetched on the first statement, not at begin.
+//
+// The replica is only used while checkReplica() last found it reachable and at most maxLagMs behind;
+// otherwise read-only work falls back to the primary. A replica that fails to hand out a connection
+// is taken out of rotation until the next successful check.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    // Not used until a check has passed
+    private volatile boolean replicaUsable;
+    private volatile long lagMs = -1;
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, long maxLagMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaUsable ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        if (replicaUsable) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markUnusable("no connection: " + e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Routed connections use the pools' own credentials");
+    }
+
+    // Runs the lag query on the replica: a number of seconds in its first column, or for MySQL's
+    // SHOW REPLICA STATUS the Seconds_Behind_Source column (NULL while replication is stopped).
+    // Also runs right at startup, so the replica takes reads as soon as it has been found in sync.
+    @Scheduled(fixedDelayString = "${neurofleetx.datasource.routing.lag-check-interval-ms:1000}")
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            if (!result.next()) {
+                markUnusable("lag query returned no row (not a replica?)");
+                return;
+            }
+            Object seconds = result.getObject(lagColumn(result.getMetaData()));
+            if (seconds == null) {
+                markUnusable("replication is not running");
+                return;
+            }
+            long lag = Math.round(Double.parseDouble(seconds.toString()) * 1000);
+            lagMs = lag;
+            if (lag > maxLagMs) {
+                markUnusable(lag + "ms behind (max " + maxLagMs + "ms)");
+            } else if (!replicaUsable) {
+                replicaUsable = true;
+                log.info("Routing read-only transactions to the replica ({}ms behind)", lag);
+            }
+        } catch (SQLException | NumberFormatException e) {
+            markUnusable("lag check failed: " + e.getMessage());
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String label = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable) {
+            log.warn("Replica out of rotation, reads go to the primary: {}", reason);
+        }
+        replicaUsable = false;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replicaUsable", replicaUsable);
+        stats.put("lagMs", lagMs);
+        stats.put("maxLagMs", maxLagMs);
+        stats.put("replicaReads", replicaReads.sum());
+        stats.put("fallbackReads", fallbackReads.sum());
+        return stats;
+    }
+}
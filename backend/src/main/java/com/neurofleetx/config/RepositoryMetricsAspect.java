@@ -0,0 +1,34 @@
+package com.neurofleetx.config;
+
+import com.neurofleetx.util.LatencyHistogram;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Counts and times every Spring Data repository call, per repository and method.
+// The time covers the whole call, including waiting for a connection and mapping the results.
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    @Autowired
+    private HotPathMetrics metrics;
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        LatencyHistogram histogram = metrics.repository(joinPoint.getThis().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            histogram.error();
+            throw e;
+        } finally {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.neurofleetx.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Keeps about one in `rate` events below WARN from loggers under `loggerPrefix` and drops the rest
+// before a logging event is even created, so high-volume events (one per telemetry reading) cost
+// a random draw. WARN and ERROR always pass. Configured in logback-spring.xml.
+// isXxxEnabled() checks are left alone so guarded calls still reach the sampling decision.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix;
+    private int rate = 1;
+
+    public String getLoggerPrefix() { return loggerPrefix; }
+    public void setLoggerPrefix(String loggerPrefix) { this.loggerPrefix = loggerPrefix; }
+
+    public int getRate() { return rate; }
+    public void setRate(int rate) { this.rate = rate; }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || rate <= 1 || level.isGreaterOrEqual(Level.WARN)
+                || loggerPrefix == null || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,23 @@
+package com.neurofleetx.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization (prod profile) a bean is only created when first used, and
+    // @Scheduled methods are only registered when their bean is created; so scheduled jobs (dispatch,
+    // timers, write-behind flushes, ...) would silently never run. Keep those beans eager.
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+    }
+}
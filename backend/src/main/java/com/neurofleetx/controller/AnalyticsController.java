@@ -0,0 +1,45 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.service.TripAnalytics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class AnalyticsController {
+
+    @Autowired
+    private TripAnalytics tripAnalytics;
+
+    // Trip counts, revenue, distance, duration and rating of finished trips, filtered and grouped
+    // by none, day, hour, status, payment-method, vehicle, driver or rating
+    @GetMapping("/trips")
+    public ResponseEntity<?> getTripAnalytics(
+            @RequestParam(defaultValue = "none") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) Long driverId) {
+        TripAnalytics.Dimension dimension;
+        try {
+            dimension = TripAnalytics.Dimension.valueOf(groupBy.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Unknown groupBy: " + groupBy);
+            return ResponseEntity.badRequest().body(error);
+        }
+        TripAnalytics.Filter filter = new TripAnalytics.Filter(from, to,
+                status != null ? status.toUpperCase(Locale.ROOT) : null, paymentMethod, vehicleId, driverId);
+        return ResponseEntity.ok(tripAnalytics.query(filter, dimension));
+    }
+}
@@ -0,0 +1,55 @@
+package com.neurofleetx.controller;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.neurofleetx.config.DatabaseBusyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Turns request binding/validation failures into the same {"message": ...} body the controllers return,
+// and database overload (DatabaseBusyException) into 503 with Retry-After
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException e) {
+        // Bean validation reports violations in no particular order; take the first field by name so
+        // a body with several bad fields always gets the same message
+        FieldError fieldError = e.getBindingResult().getFieldErrors().stream()
+                .min(Comparator.comparing(FieldError::getField)
+                        .thenComparing(FieldError::getDefaultMessage, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElse(null);
+        Map<String, String> error = new HashMap<>();
+        error.put("message", fieldError != null ? fieldError.getDefaultMessage() : "Invalid request");
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadable(HttpMessageNotReadableException e) {
+        Map<String, String> error = new HashMap<>();
+        if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            List<JsonMappingException.Reference> path = mapping.getPath();
+            error.put("message", path.get(path.size() - 1).getFieldName() + " has an invalid value");
+        } else {
+            error.put("message", "Malformed JSON request body");
+        }
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Map<String, String>> handleDatabaseBusy(DatabaseBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+}
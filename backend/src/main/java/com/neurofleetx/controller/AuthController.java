@@ -1,9 +1,13 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.RegisterRequest;
 import com.neurofleetx.entity.User;
 import com.neurofleetx.entity.UserRole;
 import com.neurofleetx.repository.UserRepository;
 import com.neurofleetx.util.PasswordEncoder;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +20,8 @@ import java.util.UUID;
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class AuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
     
     @Autowired
     private UserRepository userRepository;
@@ -25,9 +31,6 @@ public class AuthController {
     
     @PostMapping(value = "/login", consumes = "application/json", produces = "application/json")
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
-        System.out.println("=== LOGIN REQUEST RECEIVED ===");
-        System.out.println("Email: " + loginRequest.get("email"));
-        
         try {
             String email = loginRequest.get("email");
             String password = loginRequest.get("password");
@@ -39,7 +42,7 @@ public class AuthController {
             if (user == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "User not found");
-                System.out.println("LOGIN FAILED: User not found - " + email);
+                log.info("Login failed for {}: user not found", email);
                 return ResponseEntity.badRequest().body(error);
             }
             
@@ -47,7 +50,7 @@ public class AuthController {
             if (!passwordEncoder.matches(password, user.getPassword())) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Invalid credentials");
-                System.out.println("LOGIN FAILED: Invalid password for " + email);
+                log.info("Login failed for {}: invalid password", email);
                 return ResponseEntity.badRequest().body(error);
             }
             
@@ -55,7 +58,7 @@ public class AuthController {
             if (!user.isActive()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Account is deactivated");
-                System.out.println("LOGIN FAILED: Account deactivated - " + email);
+                log.info("Login failed for {}: account deactivated", email);
                 return ResponseEntity.badRequest().body(error);
             }
             
@@ -77,52 +80,24 @@ public class AuthController {
             response.put("user", userResponse);
             response.put("message", "Login successful");
             
-            System.out.println("LOGIN SUCCESSFUL FOR: " + email + " with role: " + user.getRole());
+            log.info("Login succeeded for {} with role {}", email, user.getRole());
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Login failed: " + e.getMessage());
-            System.out.println("LOGIN ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Login failed", e);
             return ResponseEntity.badRequest().body(error);
         }
     }
     
     @PostMapping(value = "/register", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<?> register(@RequestBody Map<String, Object> registerRequest) {
-        System.out.println("=== REGISTER REQUEST RECEIVED ===");
-        System.out.println("Request data: " + registerRequest);
-        
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
-            String name = (String) registerRequest.get("name");
-            String email = (String) registerRequest.get("email");
-            String password = (String) registerRequest.get("password");
-            String roleStr = (String) registerRequest.getOrDefault("role", "CUSTOMER");
-            
-            System.out.println("Name: " + name);
-            System.out.println("Email: " + email);
-            System.out.println("Password: " + (password != null ? "***" : "NULL"));
-            System.out.println("Role: " + roleStr);
-            
-            // Validate required fields
-            if (name == null || name.trim().isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Name is required");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            if (email == null || email.trim().isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Email is required");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            if (password == null || password.length() < 6) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Password must be at least 6 characters");
-                return ResponseEntity.badRequest().body(error);
-            }
+            String name = registerRequest.name();
+            String email = registerRequest.email();
+            String password = registerRequest.password();
+            String roleStr = registerRequest.role();
             
             // Validate role
             UserRole role;
@@ -138,7 +113,7 @@ public class AuthController {
             if (userRepository.existsByEmail(email)) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Email already exists");
-                System.out.println("REGISTRATION FAILED: Email already exists - " + email);
+                log.info("Registration failed for {}: email already exists", email);
                 return ResponseEntity.badRequest().body(error);
             }
             
@@ -152,12 +127,12 @@ public class AuthController {
             
             // Set role-specific fields
             if (role == UserRole.FLEET_MANAGER) {
-                String companyName = (String) registerRequest.get("companyName");
+                String companyName = registerRequest.companyName();
                 if (companyName != null && !companyName.trim().isEmpty()) {
                     user.setCompanyName(companyName.trim());
                 }
             } else if (role == UserRole.DRIVER) {
-                String licenseNumber = (String) registerRequest.get("licenseNumber");
+                String licenseNumber = registerRequest.licenseNumber();
                 if (licenseNumber != null && !licenseNumber.trim().isEmpty()) {
                     user.setLicenseNumber(licenseNumber.trim());
                 }
@@ -165,7 +140,7 @@ public class AuthController {
             
             // Save user to database
             User savedUser = userRepository.save(user);
-            System.out.println("USER SAVED: " + savedUser.getId() + " - " + savedUser.getEmail() + " with role: " + savedUser.getRole());
+            log.info("Registered user {} ({}) with role {}", savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
             
             // Prepare user response (without password)
             Map<String, Object> userResponse = new HashMap<>();
@@ -183,21 +158,18 @@ public class AuthController {
             response.put("message", "Registration successful");
             response.put("user", userResponse);
             
-            System.out.println("REGISTRATION SUCCESSFUL FOR: " + email);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Registration failed: " + e.getMessage());
-            System.out.println("REGISTRATION ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Registration failed", e);
             return ResponseEntity.badRequest().body(error);
         }
     }
     
     @PostMapping(value = "/logout", produces = "application/json")
     public ResponseEntity<?> logout() {
-        System.out.println("=== LOGOUT REQUEST RECEIVED ===");
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logged out successfully");
         return ResponseEntity.ok(response);
@@ -205,7 +177,6 @@ public class AuthController {
     
     @GetMapping(value = "/verify-token", produces = "application/json")
     public ResponseEntity<?> verifyToken() {
-        System.out.println("=== TOKEN VERIFICATION REQUEST RECEIVED ===");
         Map<String, Object> response = new HashMap<>();
         response.put("valid", true);
         response.put("message", "Token is valid");
@@ -1,25 +1,44 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.BookingResponse;
+import com.neurofleetx.dto.CreateBookingRequest;
+import com.neurofleetx.dto.EtaResponse;
+import com.neurofleetx.dto.QuoteRequest;
+import com.neurofleetx.dto.QuoteResponse;
+import com.neurofleetx.dto.RecommendationRequest;
+import com.neurofleetx.dto.VehicleResponse;
 import com.neurofleetx.entity.Booking;
 import com.neurofleetx.entity.User;
 import com.neurofleetx.entity.Vehicle;
 import com.neurofleetx.repository.UserRepository;
 import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingLifecycleService;
 import com.neurofleetx.service.BookingService;
+import com.neurofleetx.service.EtaService;
+import com.neurofleetx.service.EvChargingScheduler;
+import com.neurofleetx.service.PricingService;
+import com.neurofleetx.service.PromoService;
+import com.neurofleetx.service.QuoteService;
 import com.neurofleetx.service.VehicleService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173"}, allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class BookingController {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
     private BookingService bookingService;
 
@@ -32,58 +51,32 @@ public class BookingController {
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private EtaService etaService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private PromoService promoService;
+
+    @Autowired
+    private EvChargingScheduler evScheduler;
+
+    @Autowired
+    private BookingLifecycleService lifecycleService;
+
     // Create new booking
     @PostMapping(consumes = "application/json", produces = "application/json")
-    public ResponseEntity<?> createBooking(@RequestBody Map<String, Object> bookingRequest) {
-        System.out.println("=== BOOKING CREATION REQUEST ===");
-        System.out.println("Request data: " + bookingRequest);
+    public ResponseEntity<?> createBooking(@Valid @RequestBody CreateBookingRequest bookingRequest) {
+        log.debug("Create booking request: {}", bookingRequest);
         
         try {
-            // Extract and validate required fields
-            Long customerId = extractLong(bookingRequest, "customerId");
-            Long vehicleId = extractLong(bookingRequest, "vehicleId");
-            String pickupAddress = extractString(bookingRequest, "pickupAddress");
-            String dropoffAddress = extractString(bookingRequest, "dropoffAddress");
-            Double estimatedDistance = extractDouble(bookingRequest, "estimatedDistance");
-            Double estimatedDuration = extractDouble(bookingRequest, "estimatedDuration");
-            Double estimatedCost = extractDouble(bookingRequest, "estimatedCost");
-            Integer passengerCount = extractInteger(bookingRequest, "passengerCount", 1);
-            String paymentMethod = extractString(bookingRequest, "paymentMethod", "credit_card");
-            
-            // Validate required fields
-            if (customerId == null || vehicleId == null || pickupAddress == null || dropoffAddress == null) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Missing required fields: customerId, vehicleId, pickupAddress, dropoffAddress");
-                System.out.println("BOOKING CREATION FAILED: Missing required fields");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            // Validate addresses
-            if (pickupAddress.trim().isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Pickup address cannot be empty");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            if (dropoffAddress.trim().isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Dropoff address cannot be empty");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            // Validate passenger count
-            if (passengerCount < 1 || passengerCount > 8) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Passenger count must be between 1 and 8");
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            // Validate cost
-            if (estimatedCost <= 0) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Estimated cost must be greater than 0");
-                return ResponseEntity.badRequest().body(error);
-            }
+            long customerId = bookingRequest.customerId();
+            long vehicleId = bookingRequest.vehicleId();
             
             // Fetch actual entities
             User customer = userRepository.findById(customerId).orElse(null);
@@ -92,14 +85,14 @@ public class BookingController {
             if (customer == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Customer not found with ID: " + customerId);
-                System.out.println("BOOKING CREATION FAILED: Customer not found - " + customerId);
+                log.info("Booking rejected: customer {} not found", customerId);
                 return ResponseEntity.badRequest().body(error);
             }
             
             if (vehicle == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Vehicle not found with ID: " + vehicleId);
-                System.out.println("BOOKING CREATION FAILED: Vehicle not found - " + vehicleId);
+                log.info("Booking rejected: vehicle {} not found", vehicleId);
                 return ResponseEntity.badRequest().body(error);
             }
             
@@ -121,13 +114,47 @@ public class BookingController {
             Booking booking = new Booking();
             booking.setCustomer(customer);
             booking.setVehicle(vehicle);
-            booking.setPickupAddress(pickupAddress.trim());
-            booking.setDropoffAddress(dropoffAddress.trim());
-            booking.setEstimatedDistance(estimatedDistance);
-            booking.setEstimatedDuration(estimatedDuration);
-            booking.setEstimatedCost(estimatedCost);
-            booking.setPassengerCount(passengerCount);
-            booking.setPaymentMethod(paymentMethod);
+            booking.setPickupAddress(bookingRequest.pickupAddress().trim());
+            booking.setDropoffAddress(bookingRequest.dropoffAddress().trim());
+            // Price the trip here, or take a signed quote; the client's estimatedCost is never trusted
+            QuoteService.FareQuote quote;
+            if (bookingRequest.quoteToken() != null && !bookingRequest.quoteToken().isBlank()) {
+                try {
+                    quote = quoteService.verify(bookingRequest.quoteToken(), customerId, vehicleId, bookingRequest.route());
+                } catch (RuntimeException e) {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("message", e.getMessage());
+                    return ResponseEntity.badRequest().body(error);
+                }
+            } else {
+                try {
+                    quote = quoteService.price(vehicle, customerId, bookingRequest.route(),
+                            bookingRequest.estimatedDistance(), bookingRequest.estimatedDuration(),
+                            bookingRequest.promoCode()).quote();
+                } catch (RuntimeException e) {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("message", e.getMessage());
+                    return ResponseEntity.badRequest().body(error);
+                }
+            }
+            if (!evScheduler.canCover(vehicle, quote.distanceKm())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", String.format("Vehicle battery range (%.0f km) cannot cover this trip plus reserve (%.0f km)",
+                        evScheduler.rangeKm(vehicle), evScheduler.requiredKm(quote.distanceKm())));
+                return ResponseEntity.badRequest().body(error);
+            }
+            if (quote.promoCode() != null && !promoService.redeem(quote.promoCode())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Promo code usage limit reached");
+                return ResponseEntity.badRequest().body(error);
+            }
+            booking.setEstimatedDistance(quote.distanceKm());
+            booking.setEstimatedDuration(quote.durationMinutes());
+            booking.setEstimatedCost(quote.total());
+            booking.setPromoCode(quote.promoCode());
+            booking.setDiscountAmount(quote.discount());
+            booking.setPassengerCount(bookingRequest.passengerCount());
+            booking.setPaymentMethod(bookingRequest.paymentMethod());
             booking.setPaymentStatus("PENDING");
             booking.setStatus("PENDING");
             
@@ -137,27 +164,37 @@ public class BookingController {
             booking.setActualPickupTime(null);
             booking.setActualDropoffTime(null);
             
-            // Set coordinates (mock data for now)
-            booking.setPickupLatitude(null);
-            booking.setPickupLongitude(null);
-            booking.setDropoffLatitude(null);
-            booking.setDropoffLongitude(null);
-            
-            Booking savedBooking = bookingService.createBooking(booking);
-            System.out.println("BOOKING CREATED SUCCESSFULLY: " + savedBooking.getId());
+            booking.setPickupLatitude(bookingRequest.pickupLatitude());
+            booking.setPickupLongitude(bookingRequest.pickupLongitude());
+            booking.setDropoffLatitude(bookingRequest.dropoffLatitude());
+            booking.setDropoffLongitude(bookingRequest.dropoffLongitude());
+            booking.setScheduledPickupTime(bookingRequest.scheduledPickupTime());
+            
+            Booking savedBooking;
+            try {
+                savedBooking = bookingService.createBooking(booking);
+            } catch (RuntimeException e) {
+                if (quote.promoCode() != null) {
+                    promoService.release(quote.promoCode());
+                }
+                throw e;
+            }
+            pricingService.recordDemand(quote.zone(), System.currentTimeMillis());
+            lifecycleService.track(savedBooking);
+            log.info("Booking {} created for customer {} on vehicle {}", savedBooking.getId(), customerId, vehicleId);
             
             // Prepare success response
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Booking created successfully");
-            response.put("booking", savedBooking);
+            response.put("booking", BookingResponse.from(savedBooking));
+            response.put("surgeMultiplier", quote.surgeMultiplier());
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to create booking: " + e.getMessage());
-            System.out.println("BOOKING CREATION ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to create booking", e);
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -165,28 +202,11 @@ public class BookingController {
     // Get all bookings
     @GetMapping
     public ResponseEntity<?> getAllBookings() {
-        System.out.println("=== GET ALL BOOKINGS REQUEST ===");
-        
         try {
             List<Booking> allBookings = bookingService.getAllBookings();
-            System.out.println("FOUND " + allBookings.size() + " TOTAL BOOKINGS");
+            log.debug("Found {} bookings", allBookings.size());
 
-            // Convert to simplified DTOs to avoid lazy-loading / serialization problems
-            List<Map<String, Object>> simple = allBookings.stream().map(b -> {
-                Map<String, Object> m = new HashMap<>();
-                m.put("id", b.getId());
-                m.put("customerId", b.getCustomer() != null ? b.getCustomer().getId() : null);
-                m.put("vehicleId", b.getVehicle() != null ? b.getVehicle().getId() : null);
-                m.put("pickupAddress", b.getPickupAddress());
-                m.put("dropoffAddress", b.getDropoffAddress());
-                m.put("estimatedCost", b.getEstimatedCost());
-                m.put("status", b.getStatus());
-                m.put("paymentStatus", b.getPaymentStatus());
-                m.put("actualPickupTime", b.getActualPickupTime() != null ? b.getActualPickupTime().toString() : null);
-                m.put("actualDropoffTime", b.getActualDropoffTime() != null ? b.getActualDropoffTime().toString() : null);
-                m.put("createdAt", b.getCreatedAt() != null ? b.getCreatedAt().toString() : null);
-                return m;
-            }).toList();
+            List<BookingResponse> simple = allBookings.stream().map(BookingResponse::from).toList();
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "All bookings retrieved successfully");
@@ -198,8 +218,7 @@ public class BookingController {
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to fetch all bookings: " + e.getMessage());
-            System.out.println("ALL BOOKINGS ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to fetch all bookings", e);
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -207,26 +226,20 @@ public class BookingController {
     // Get bookings by customer ID
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<?> getCustomerBookings(@PathVariable Long customerId) {
-        System.out.println("=== GET CUSTOMER BOOKINGS REQUEST ===");
-        System.out.println("Customer ID: " + customerId);
-        
         try {
             // Validate customer exists
             User customer = userRepository.findById(customerId).orElse(null);
             if (customer == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Customer not found with ID: " + customerId);
-                System.out.println("CUSTOMER NOT FOUND: " + customerId);
                 return ResponseEntity.badRequest().body(error);
             }
             
-            // Get all bookings and filter by customer
-            List<Booking> allBookings = bookingService.getAllBookings();
-            List<Booking> customerBookings = allBookings.stream()
-                .filter(booking -> booking.getCustomer().getId().equals(customerId))
-                .collect(Collectors.toList());
+            List<BookingResponse> customerBookings = bookingService.getBookingsByCustomer(customerId).stream()
+                .map(BookingResponse::from)
+                .toList();
             
-            System.out.println("FOUND " + customerBookings.size() + " BOOKINGS FOR CUSTOMER: " + customerId);
+            log.debug("Found {} bookings for customer {}", customerBookings.size(), customerId);
             
             // Prepare response
             Map<String, Object> response = new HashMap<>();
@@ -239,96 +252,138 @@ public class BookingController {
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to fetch customer bookings: " + e.getMessage());
-            System.out.println("CUSTOMER BOOKINGS ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to fetch bookings of customer {}", customerId, e);
             return ResponseEntity.badRequest().body(error);
         }
     }
 
     // Get vehicle recommendations for booking
     @PostMapping(value = "/recommendations", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<?> getVehicleRecommendations(@RequestBody Map<String, Object> criteria) {
-        System.out.println("=== VEHICLE RECOMMENDATIONS REQUEST ===");
-        System.out.println("Criteria: " + criteria);
-        
+    public ResponseEntity<?> getVehicleRecommendations(@Valid @RequestBody RecommendationRequest criteria) {
         try {
-            // Extract and validate criteria
-            String vehicleType = extractString(criteria, "vehicleType");
-            Integer passengerCount = extractInteger(criteria, "passengerCount", 1);
-            Boolean evPreference = criteria.get("evPreference") != null ? 
-                Boolean.valueOf(criteria.get("evPreference").toString()) : false;
-            
-            System.out.println("Extracted criteria - vehicleType: " + vehicleType + ", passengerCount: " + passengerCount + ", evPreference: " + evPreference);
-            
-            // Validate passenger count
-            if (passengerCount < 1 || passengerCount > 8) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "Passenger count must be between 1 and 8");
-                System.out.println("BOOKING CREATION FAILED: Passenger count validation failed - " + passengerCount);
-                return ResponseEntity.badRequest().body(error);
-            }
-            
-            // Validate vehicle type if provided
-            if (vehicleType != null && !vehicleType.trim().isEmpty()) {
-                String normalizedType = vehicleType.trim().toUpperCase();
-                if (!normalizedType.equals("SEDAN") && !normalizedType.equals("SUV") && !normalizedType.equals("EV")) {
-                    Map<String, String> error = new HashMap<>();
-                    error.put("message", "Invalid vehicle type. Must be one of: SEDAN, SUV, EV");
-                    System.out.println("BOOKING CREATION FAILED: Invalid vehicle type - " + normalizedType);
-                    return ResponseEntity.badRequest().body(error);
-                }
-                vehicleType = normalizedType;
-            }
+            String vehicleType = criteria.vehicleType();
+            Integer passengerCount = criteria.passengerCount();
+            Boolean evPreference = criteria.evPreference();
             
-            System.out.println("Calling vehicleService.getVehicleRecommendations...");
-            List<Vehicle> recommendations = vehicleService.getVehicleRecommendations(vehicleType, passengerCount, evPreference);
-            System.out.println("RECOMMENDATIONS FOUND: " + recommendations.size() + " vehicles");
+            List<Vehicle> recommendations = vehicleService.getVehicleRecommendations(vehicleType, passengerCount, evPreference, criteria.estimatedDistance());
+            log.debug("Found {} recommendations for {}", recommendations.size(), criteria);
             
             // Prepare response
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Vehicle recommendations retrieved successfully");
             response.put("count", recommendations.size());
-            response.put("vehicles", recommendations);
+            response.put("vehicles", recommendations.stream().map(VehicleResponse::from).toList());
             
-            System.out.println("Sending response: " + response);
             return ResponseEntity.ok(response);
             
-        } catch (NumberFormatException e) {
+        } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
-            error.put("message", "Invalid number format: " + e.getMessage());
-            System.out.println("RECOMMENDATIONS FAILED: Number format error - " + e.getMessage());
-            e.printStackTrace();
+            error.put("message", "Failed to get vehicle recommendations: " + e.getMessage());
+            log.warn("Failed to get vehicle recommendations for {}", criteria, e);
             return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Quote a fare (surge and promo code included); the returned token can be used to book at this price
+    @PostMapping(value = "/quote", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<?> quoteFare(@Valid @RequestBody QuoteRequest quoteRequest) {
+        try {
+            Vehicle vehicle = vehicleRepository.findById(quoteRequest.vehicleId()).orElse(null);
+            if (vehicle == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Vehicle not found with ID: " + quoteRequest.vehicleId());
+                return ResponseEntity.badRequest().body(error);
+            }
+            QuoteService.PricedQuote priced = quoteService.price(vehicle, quoteRequest.customerId(), quoteRequest.route(),
+                    quoteRequest.estimatedDistance(), quoteRequest.estimatedDuration(), quoteRequest.promoCode());
+            return ResponseEntity.ok(QuoteResponse.from(priced, quoteService.sign(priced.quote())));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
-            error.put("message", "Failed to get vehicle recommendations: " + e.getMessage());
-            System.out.println("RECOMMENDATIONS ERROR: " + e.getMessage());
-            e.printStackTrace();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Predict trip distance and duration from learned per-area speeds
+    @GetMapping("/eta")
+    public ResponseEntity<?> estimateEta(@RequestParam double pickupLatitude,
+                                         @RequestParam double pickupLongitude,
+                                         @RequestParam double dropoffLatitude,
+                                         @RequestParam double dropoffLongitude,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departure) {
+        if (Math.abs(pickupLatitude) > 90 || Math.abs(dropoffLatitude) > 90
+                || Math.abs(pickupLongitude) > 180 || Math.abs(dropoffLongitude) > 180) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Coordinates out of range");
             return ResponseEntity.badRequest().body(error);
         }
+        LocalDateTime leaving = departure != null ? departure : LocalDateTime.now();
+        EtaService.Estimate estimate = etaService.estimate(pickupLatitude, pickupLongitude, dropoffLatitude, dropoffLongitude, leaving);
+        return ResponseEntity.ok(EtaResponse.from(estimate, leaving));
     }
 
     // Confirm booking (change status from PENDING to CONFIRMED)
     @PutMapping("/{bookingId}/confirm")
     public ResponseEntity<?> confirmBooking(@PathVariable Long bookingId) {
-        System.out.println("=== CONFIRM BOOKING REQUEST ===");
-        System.out.println("Booking ID: " + bookingId);
-        
         try {
             Booking booking = bookingService.confirmBooking(bookingId);
-            System.out.println("BOOKING CONFIRMED SUCCESSFULLY: " + bookingId);
+            log.info("Booking {} confirmed", bookingId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Booking confirmed successfully");
-            response.put("booking", booking);
+            response.put("booking", BookingResponse.from(booking));
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to confirm booking: " + e.getMessage());
-            System.out.println("CONFIRM BOOKING ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to confirm booking {}: {}", bookingId, e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Start booking (CONFIRMED to IN_PROGRESS); driverId overrides the dispatcher's choice
+    @PutMapping("/{bookingId}/start")
+    public ResponseEntity<?> startBooking(@PathVariable Long bookingId, @RequestParam(required = false) Long driverId) {
+        try {
+            Booking booking = bookingService.startBooking(bookingId, driverId);
+            log.info("Booking {} started", bookingId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Booking started successfully");
+            response.put("booking", BookingResponse.from(booking));
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to start booking: " + e.getMessage());
+            log.warn("Failed to start booking {}: {}", bookingId, e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Complete booking; releases the vehicle and feeds the trip to the health and ETA models
+    @PutMapping("/{bookingId}/complete")
+    public ResponseEntity<?> completeBooking(@PathVariable Long bookingId,
+                                             @RequestParam(required = false) Double actualCost,
+                                             @RequestParam(required = false) Double actualDistance,
+                                             @RequestParam(required = false) Double actualDuration) {
+        try {
+            Booking booking = bookingService.completeBooking(bookingId, actualCost, actualDistance, actualDuration);
+            log.info("Booking {} completed", bookingId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Booking completed successfully");
+            response.put("booking", BookingResponse.from(booking));
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to complete booking: " + e.getMessage());
+            log.warn("Failed to complete booking {}: {}", bookingId, e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -336,24 +391,20 @@ public class BookingController {
     // Cancel booking (change status to CANCELLED)
     @PutMapping("/{bookingId}/cancel")
     public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId) {
-        System.out.println("=== CANCEL BOOKING REQUEST ===");
-        System.out.println("Booking ID: " + bookingId);
-        
         try {
             Booking booking = bookingService.cancelBooking(bookingId);
-            System.out.println("BOOKING CANCELLED SUCCESSFULLY: " + bookingId);
+            log.info("Booking {} cancelled", bookingId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Booking cancelled successfully");
-            response.put("booking", booking);
+            response.put("booking", BookingResponse.from(booking));
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to cancel booking: " + e.getMessage());
-            System.out.println("CANCEL BOOKING ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to cancel booking {}: {}", bookingId, e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -361,16 +412,13 @@ public class BookingController {
     // Get bookings by status
     @GetMapping(params = "status")
     public ResponseEntity<?> getBookingsByStatus(@RequestParam String status) {
-        System.out.println("=== GET BOOKINGS BY STATUS REQUEST ===");
-        System.out.println("Status: " + status);
-        
         try {
             List<Booking> bookings = bookingService.getBookingsByStatus(status);
-            System.out.println("FOUND " + bookings.size() + " BOOKINGS WITH STATUS: " + status);
+            log.debug("Found {} bookings with status {}", bookings.size(), status);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Bookings retrieved successfully");
-            response.put("bookings", bookings);
+            response.put("bookings", bookings.stream().map(BookingResponse::from).toList());
             response.put("count", bookings.size());
             
             return ResponseEntity.ok(response);
@@ -378,62 +426,8 @@ public class BookingController {
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to fetch bookings by status: " + e.getMessage());
-            System.out.println("BOOKINGS BY STATUS ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to fetch bookings with status {}", status, e);
             return ResponseEntity.badRequest().body(error);
         }
     }
-
-    // Helper methods for safe data extraction
-    private Long extractLong(Map<String, Object> data, String key) {
-        return extractLong(data, key, null);
-    }
-    
-    private Long extractLong(Map<String, Object> data, String key, Long defaultValue) {
-        Object value = data.get(key);
-        if (value == null) return defaultValue;
-        try {
-            return Long.parseLong(value.toString());
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException(key + " must be a valid number");
-        }
-    }
-    
-    private Integer extractInteger(Map<String, Object> data, String key) {
-        return extractInteger(data, key, null);
-    }
-    
-    private Integer extractInteger(Map<String, Object> data, String key, Integer defaultValue) {
-        Object value = data.get(key);
-        if (value == null) return defaultValue;
-        try {
-            return Integer.parseInt(value.toString());
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException(key + " must be a valid number");
-        }
-    }
-    
-    private String extractString(Map<String, Object> data, String key) {
-        return extractString(data, key, "");
-    }
-    
-    private String extractString(Map<String, Object> data, String key, String defaultValue) {
-        Object value = data.get(key);
-        if (value == null) return defaultValue;
-        return value.toString();
-    }
-    
-    private Double extractDouble(Map<String, Object> data, String key) {
-        return extractDouble(data, key, null);
-    }
-    
-    private Double extractDouble(Map<String, Object> data, String key, Double defaultValue) {
-        Object value = data.get(key);
-        if (value == null) return defaultValue;
-        try {
-            return Double.parseDouble(value.toString());
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException(key + " must be a valid number");
-        }
-    }
 }
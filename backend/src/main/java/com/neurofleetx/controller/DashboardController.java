@@ -1,15 +1,30 @@
 package com.neurofleetx.controller;
 
 import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.service.TripSketches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class DashboardController {
+
+    // Default window of the activity endpoints and of activeUsers
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    @Autowired
+    private TripSketches tripSketches;
     
     @GetMapping("/admin/metrics")
     public Map<String, Object> getAdminMetrics() {
@@ -17,12 +32,70 @@ public class DashboardController {
         metrics.put("totalUsers", 1250);
         metrics.put("totalFleets", 45);
         metrics.put("totalBookings", 8967);
-        metrics.put("activeUsers", 892);
+        LocalDate today = LocalDate.now();
+        try {
+            metrics.put("activeUsers", tripSketches.summary(today.minusDays(DEFAULT_WINDOW_DAYS - 1), today, List.of()).activeUsers());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         metrics.put("completedTrips", 7845);
         metrics.put("totalRevenue", 456789.50);
         return metrics;
     }
     
+    // Approximate distinct active customers and drivers and completed-trip duration and cost
+    // percentiles over from..to (default: the last 30 days)
+    @GetMapping("/admin/activity")
+    public ResponseEntity<?> getActivity(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return mergedActivity(from, to, List.of());
+    }
+
+    // This node's sketches for from..to, for another node's /admin/activity/merge
+    @GetMapping("/admin/activity/sketches")
+    public Map<String, Object> getActivitySketches(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        Map<String, Object> sketches = new HashMap<>();
+        sketches.put("from", start);
+        sketches.put("to", end);
+        sketches.put("sketches", Base64.getUrlEncoder().withoutPadding().encodeToString(tripSketches.export(start, end)));
+        return sketches;
+    }
+
+    // Activity across nodes: this node's sketches merged with the given exports of the other nodes
+    // for the same window
+    @PostMapping("/admin/activity/merge")
+    public ResponseEntity<?> mergeActivity(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestBody List<String> sketches) {
+        return mergedActivity(from, to, sketches);
+    }
+
+    private ResponseEntity<?> mergedActivity(LocalDate from, LocalDate to, List<String> encoded) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        Map<String, String> error = new HashMap<>();
+        if (start.isAfter(end)) {
+            error.put("message", "from must not be after to");
+            return ResponseEntity.badRequest().body(error);
+        }
+        try {
+            List<byte[]> remote = new ArrayList<>(encoded.size());
+            for (String sketch : encoded) {
+                remote.add(Base64.getUrlDecoder().decode(sketch));
+            }
+            return ResponseEntity.ok(tripSketches.summary(start, end, remote));
+        } catch (IllegalArgumentException | IOException e) {
+            error.put("message", "Invalid sketches: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @GetMapping("/fleet-manager/metrics")
     public Map<String, Object> getFleetManagerMetrics() {
         Map<String, Object> metrics = new HashMap<>();
@@ -0,0 +1,48 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.dto.DriverLocationRequest;
+import com.neurofleetx.service.DispatchService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dispatch")
+@CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class DispatchController {
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    // Report a driver's current position; 404 unless the id belongs to a driver
+    @PutMapping(value = "/drivers/{driverId}/location", consumes = "application/json")
+    public ResponseEntity<Void> reportLocation(@PathVariable Long driverId, @Valid @RequestBody DriverLocationRequest location) {
+        if (!dispatchService.reportLocation(driverId, location.latitude(), location.longitude())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Run a dispatch round now instead of waiting for the scheduled one
+    @PostMapping("/run")
+    public ResponseEntity<?> runDispatch() {
+        try {
+            DispatchService.DispatchResult result = dispatchService.dispatch();
+            if (result == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "A dispatch round is already running");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+            }
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to dispatch drivers: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
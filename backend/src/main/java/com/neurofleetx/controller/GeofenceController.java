@@ -0,0 +1,36 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.service.GeofenceEvent;
+import com.neurofleetx.service.GeofenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/geofences")
+@CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class GeofenceController {
+
+    @Autowired
+    private GeofenceService geofenceService;
+
+    // Configured zones with their bounding boxes
+    @GetMapping
+    public ResponseEntity<List<GeofenceService.ZoneSummary>> getZones() {
+        return ResponseEntity.ok(geofenceService.zones());
+    }
+
+    // Latest enter/exit events, newest first
+    @GetMapping("/events")
+    public ResponseEntity<List<GeofenceEvent>> getRecentEvents(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(geofenceService.recentEvents(limit));
+    }
+
+    // Zones a vehicle is currently in
+    @GetMapping("/vehicles/{vehicleId}")
+    public ResponseEntity<List<String>> getVehicleZones(@PathVariable Long vehicleId) {
+        return ResponseEntity.ok(geofenceService.zonesOf(vehicleId));
+    }
+}
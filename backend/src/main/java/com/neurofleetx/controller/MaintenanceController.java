@@ -0,0 +1,55 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.dto.MaintenanceAlertResponse;
+import com.neurofleetx.service.MaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/maintenance")
+@CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class MaintenanceController {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceController.class);
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    // Get open maintenance alerts
+    @GetMapping("/alerts")
+    public ResponseEntity<List<MaintenanceAlertResponse>> getOpenAlerts() {
+        try {
+            return ResponseEntity.ok(maintenanceService.getOpenAlerts().stream().map(MaintenanceAlertResponse::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Get alert history of a vehicle
+    @GetMapping("/alerts/vehicle/{vehicleId}")
+    public ResponseEntity<List<MaintenanceAlertResponse>> getAlertsByVehicle(@PathVariable Long vehicleId) {
+        try {
+            return ResponseEntity.ok(maintenanceService.getAlertsByVehicle(vehicleId).stream().map(MaintenanceAlertResponse::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Resolve an alert
+    @PutMapping("/alerts/{id}/resolve")
+    public ResponseEntity<MaintenanceAlertResponse> resolveAlert(@PathVariable Long id) {
+        try {
+            return maintenanceService.resolveAlert(id)
+                    .map(alert -> ResponseEntity.ok(MaintenanceAlertResponse.from(alert)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error resolving maintenance alert {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.TelemetryRequest;
+import com.neurofleetx.dto.VehicleResponse;
 import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.EvChargingScheduler;
+import com.neurofleetx.service.TelemetryReading;
+import com.neurofleetx.service.TelemetryService;
 import com.neurofleetx.service.VehicleService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,15 +24,23 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class VehicleController {
 
+    private static final Logger log = LoggerFactory.getLogger(VehicleController.class);
+
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private EvChargingScheduler evScheduler;
+
     // Get all vehicles
     @GetMapping
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
+    public ResponseEntity<List<VehicleResponse>> getAllVehicles() {
         try {
             List<Vehicle> vehicles = vehicleService.getAllVehicles();
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -32,10 +48,10 @@ public class VehicleController {
 
     // Get vehicle by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Vehicle> getVehicleById(@PathVariable Long id) {
+    public ResponseEntity<VehicleResponse> getVehicleById(@PathVariable Long id) {
         try {
             return vehicleService.getVehicleById(id)
-                    .map(vehicle -> ResponseEntity.ok(vehicle))
+                    .map(vehicle -> ResponseEntity.ok(VehicleResponse.from(vehicle)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -44,10 +60,10 @@ public class VehicleController {
 
     // Get vehicle by license plate
     @GetMapping("/license/{licensePlate}")
-    public ResponseEntity<Vehicle> getVehicleByLicensePlate(@PathVariable String licensePlate) {
+    public ResponseEntity<VehicleResponse> getVehicleByLicensePlate(@PathVariable String licensePlate) {
         try {
             return vehicleService.getVehicleByLicensePlate(licensePlate)
-                    .map(vehicle -> ResponseEntity.ok(vehicle))
+                    .map(vehicle -> ResponseEntity.ok(VehicleResponse.from(vehicle)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -56,10 +72,10 @@ public class VehicleController {
 
     // Get vehicles by type
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Vehicle>> getVehiclesByType(@PathVariable String type) {
+    public ResponseEntity<List<VehicleResponse>> getVehiclesByType(@PathVariable String type) {
         try {
             List<Vehicle> vehicles = vehicleService.getVehiclesByType(type);
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -67,10 +83,10 @@ public class VehicleController {
 
     // Get available vehicles
     @GetMapping("/available")
-    public ResponseEntity<List<Vehicle>> getAvailableVehicles() {
+    public ResponseEntity<List<VehicleResponse>> getAvailableVehicles() {
         try {
             List<Vehicle> vehicles = vehicleService.getAvailableVehicles();
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -78,10 +94,10 @@ public class VehicleController {
 
     // Get available vehicles by type
     @GetMapping("/available/{type}")
-    public ResponseEntity<List<Vehicle>> getAvailableVehiclesByType(@PathVariable String type) {
+    public ResponseEntity<List<VehicleResponse>> getAvailableVehiclesByType(@PathVariable String type) {
         try {
             List<Vehicle> vehicles = vehicleService.getAvailableVehiclesByType(type);
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -90,8 +106,7 @@ public class VehicleController {
     // Create new vehicle
     @PostMapping(consumes = "application/json", produces = "application/json")
     public ResponseEntity<?> createVehicle(@RequestBody Vehicle vehicle) {
-        System.out.println("=== VEHICLE CREATION REQUEST ===");
-        System.out.println("Vehicle data: " + vehicle.getMake() + " " + vehicle.getModel());
+        log.debug("Create vehicle request: {} {}", vehicle.getMake(), vehicle.getModel());
         
         try {
             // Simplified validation for testing
@@ -133,56 +148,65 @@ public class VehicleController {
             }
             
             Vehicle createdVehicle = vehicleService.createVehicle(vehicle);
-            System.out.println("VEHICLE CREATED SUCCESSFULLY: " + createdVehicle.getId());
+            log.info("Vehicle {} created ({})", createdVehicle.getId(), createdVehicle.getLicensePlate());
             
             // Prepare success response
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Vehicle created successfully");
-            response.put("vehicle", createdVehicle);
+            response.put("vehicle", VehicleResponse.from(createdVehicle));
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to create vehicle: " + e.getMessage());
-            System.out.println("VEHICLE CREATION ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to create vehicle", e);
             return ResponseEntity.badRequest().body(error);
         }
     }
 
     // Update vehicle
     @PutMapping("/{id}")
-    public ResponseEntity<Vehicle> updateVehicle(@PathVariable Long id, @RequestBody Vehicle vehicleDetails) {
+    public ResponseEntity<VehicleResponse> updateVehicle(@PathVariable Long id, @RequestBody Vehicle vehicleDetails) {
         try {
-            System.out.println("=== VEHICLE UPDATE REQUEST ===");
-            System.out.println("Updating vehicle ID: " + id);
-            
             Vehicle updatedVehicle = vehicleService.updateVehicle(id, vehicleDetails);
-            System.out.println("VEHICLE UPDATED SUCCESSFULLY: " + id);
-            return ResponseEntity.ok(updatedVehicle);
+            log.info("Vehicle {} updated", id);
+            return ResponseEntity.ok(VehicleResponse.from(updatedVehicle));
             
         } catch (Exception e) {
-            System.err.println("Error updating vehicle: " + e.getMessage());
+            log.error("Error updating vehicle {}", id, e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
     // Update vehicle availability
     @PutMapping("/{id}/availability")
-    public ResponseEntity<Vehicle> updateVehicleAvailability(@PathVariable Long id, @RequestBody Map<String, Boolean> availabilityRequest) {
+    public ResponseEntity<VehicleResponse> updateVehicleAvailability(@PathVariable Long id, @RequestBody Map<String, Boolean> availabilityRequest) {
         try {
             Boolean isAvailable = availabilityRequest.get("available");
             Optional<Vehicle> updatedVehicle = vehicleService.updateVehicleAvailability(id, isAvailable);
-            System.out.println("VEHICLE AVAILABILITY UPDATED: " + id + " -> " + isAvailable);
+            log.info("Vehicle {} availability set to {}", id, isAvailable);
             
             if (updatedVehicle.isPresent()) {
-                return ResponseEntity.ok(updatedVehicle.get());
+                return ResponseEntity.ok(VehicleResponse.from(updatedVehicle.get()));
             } else {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error updating vehicle availability: " + e.getMessage());
+            log.error("Error updating availability of vehicle {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Record that a vehicle was serviced today
+    @PutMapping("/{id}/maintenance")
+    public ResponseEntity<VehicleResponse> recordMaintenance(@PathVariable Long id) {
+        try {
+            return vehicleService.recordMaintenance(id)
+                    .map(vehicle -> ResponseEntity.ok(VehicleResponse.from(vehicle)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error recording maintenance of vehicle {}", id, e);
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -191,25 +215,32 @@ public class VehicleController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVehicle(@PathVariable Long id) {
         try {
-            System.out.println("=== VEHICLE DELETION REQUEST ===");
-            System.out.println("Deleting vehicle ID: " + id);
-            
             vehicleService.deleteVehicle(id);
-            System.out.println("VEHICLE DELETED SUCCESSFULLY: " + id);
+            log.info("Vehicle {} deleted", id);
             return ResponseEntity.ok().build();
             
         } catch (Exception e) {
-            System.err.println("Error deleting vehicle: " + e.getMessage());
+            log.error("Error deleting vehicle {}", id, e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
     // Get vehicles needing maintenance
     @GetMapping("/maintenance-needed")
-    public ResponseEntity<List<Vehicle>> getVehiclesNeedingMaintenance() {
+    public ResponseEntity<List<VehicleResponse>> getVehiclesNeedingMaintenance() {
         try {
             List<Vehicle> vehicles = vehicleService.getVehiclesNeedingMaintenance();
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Planned charging windows for EVs, refreshed every minute
+    @GetMapping("/charging-plan")
+    public ResponseEntity<EvChargingScheduler.ChargingPlan> getChargingPlan() {
+        try {
+            return ResponseEntity.ok(evScheduler.currentPlan());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -217,10 +248,22 @@ public class VehicleController {
 
     // Search vehicles
     @GetMapping("/search")
-    public ResponseEntity<List<Vehicle>> searchVehicles(@RequestParam String q) {
+    public ResponseEntity<List<VehicleResponse>> searchVehicles(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<Vehicle> vehicles = vehicleService.searchVehicles(q);
-            return ResponseEntity.ok(vehicles);
+            List<Vehicle> vehicles = vehicleService.searchVehicles(q, Math.min(limit, 100));
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Typeahead suggestions for the search box
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestVehicles(@RequestParam String prefix,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(vehicleService.suggestVehicles(prefix, Math.min(limit, 50)));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -228,10 +271,10 @@ public class VehicleController {
 
     // Get vehicles by passenger capacity
     @GetMapping("/capacity/{passengerCount}")
-    public ResponseEntity<List<Vehicle>> getVehiclesByPassengerCapacity(@PathVariable Integer passengerCount) {
+    public ResponseEntity<List<VehicleResponse>> getVehiclesByPassengerCapacity(@PathVariable Integer passengerCount) {
         try {
             List<Vehicle> vehicles = vehicleService.getVehiclesByPassengerCapacity(passengerCount);
-            return ResponseEntity.ok(vehicles);
+            return ResponseEntity.ok(vehicles.stream().map(VehicleResponse::from).toList());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -248,26 +291,29 @@ public class VehicleController {
         }
     }
 
-    // Simulate vehicle telemetry update
+    // Ingest a vehicle telemetry reading; maintenance rules are evaluated on the spot
     @PostMapping("/{id}/telemetry")
-    public ResponseEntity<Map<String, Object>> updateTelemetry(@PathVariable Long id, @RequestBody Map<String, Object> telemetryData) {
+    public ResponseEntity<Map<String, Object>> updateTelemetry(@PathVariable Long id, @Valid @RequestBody TelemetryRequest telemetry) {
         try {
-            System.out.println("=== TELEMETRY UPDATE ===");
-            System.out.println("Vehicle ID: " + id);
-            System.out.println("Telemetry data: " + telemetryData);
-            
-            // In a real application, this would update vehicle telemetry
-            // For now, just return success response
+            Optional<TelemetryReading> reading = telemetryService.ingest(id, telemetry);
+            if (reading.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Telemetry updated successfully");
             response.put("vehicleId", id);
-            response.put("timestamp", java.time.LocalDateTime.now().toString());
+            response.put("timestamp", reading.get().timestamp());
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
-            System.err.println("Error updating telemetry: " + e.getMessage());
+            log.error("Error ingesting telemetry for vehicle {}", id, e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
+}
\ No newline at end of file
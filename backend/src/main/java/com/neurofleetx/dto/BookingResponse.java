@@ -0,0 +1,45 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.Vehicle;
+
+import java.time.LocalDateTime;
+
+// Flat booking view returned by the booking endpoints.
+// Only the fields the dashboards render (booking lists, pending-booking management, CSV export);
+// the customer and vehicle are exposed by id, plus the vehicle make/model shown next to a trip.
+public record BookingResponse(
+        Long id,
+        Long customerId,
+        Long vehicleId,
+        String vehicleMake,
+        String vehicleModel,
+        String pickupAddress,
+        String dropoffAddress,
+        LocalDateTime scheduledPickupTime,
+        LocalDateTime actualPickupTime,
+        LocalDateTime actualDropoffTime,
+        Double estimatedCost,
+        String paymentStatus,
+        String status) {
+
+    public static BookingResponse from(Booking b) {
+        User customer = b.getCustomer();
+        Vehicle vehicle = b.getVehicle();
+        return new BookingResponse(
+                b.getId(),
+                customer != null ? customer.getId() : null,
+                vehicle != null ? vehicle.getId() : null,
+                vehicle != null ? vehicle.getMake() : null,
+                vehicle != null ? vehicle.getModel() : null,
+                b.getPickupAddress(),
+                b.getDropoffAddress(),
+                b.getScheduledPickupTime(),
+                b.getActualPickupTime(),
+                b.getActualDropoffTime(),
+                b.getEstimatedCost(),
+                b.getPaymentStatus(),
+                b.getStatus());
+    }
+}
@@ -0,0 +1,70 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.service.QuoteService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+// Body of POST /api/bookings, bound directly by Jackson.
+// A missing id and a non-positive one are reported separately (@NotNull, then @Positive).
+// estimatedCost is accepted for older clients but ignored: the fare is priced server-side, or taken
+// from quoteToken, a signed quote from POST /api/bookings/quote issued for the same customer, vehicle
+// and route. estimatedDistance is only used when the coordinates are missing.
+public record CreateBookingRequest(
+        @NotNull(message = "Missing required fields: customerId, vehicleId, pickupAddress, dropoffAddress")
+        @Positive(message = "customerId must be positive")
+        Long customerId,
+        @NotNull(message = "Missing required fields: customerId, vehicleId, pickupAddress, dropoffAddress")
+        @Positive(message = "vehicleId must be positive")
+        Long vehicleId,
+        @NotBlank(message = "Pickup address cannot be empty")
+        String pickupAddress,
+        @NotBlank(message = "Dropoff address cannot be empty")
+        String dropoffAddress,
+        // Same ranges as GET /api/bookings/eta; they feed pricing zones, ETA and geofencing
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double pickupLatitude,
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double pickupLongitude,
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double dropoffLatitude,
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double dropoffLongitude,
+        Double estimatedDistance,
+        Double estimatedDuration,
+        Double estimatedCost,
+        @Min(value = 1, message = "Passenger count must be between 1 and 8")
+        @Max(value = 8, message = "Passenger count must be between 1 and 8")
+        Integer passengerCount,
+        String paymentMethod,
+        String promoCode,
+        String quoteToken,
+        // Optional; drives the pickup reminder and no-show timeout
+        @Future(message = "Scheduled pickup time must be in the future")
+        LocalDateTime scheduledPickupTime) {
+
+    public CreateBookingRequest {
+        if (passengerCount == null) {
+            passengerCount = 1;
+        }
+        if (paymentMethod == null) {
+            paymentMethod = "credit_card";
+        }
+    }
+
+    public QuoteService.Route route() {
+        return new QuoteService.Route(pickupLatitude, pickupLongitude, dropoffLatitude, dropoffLongitude,
+                pickupAddress, dropoffAddress);
+    }
+}
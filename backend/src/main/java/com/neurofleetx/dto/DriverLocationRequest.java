@@ -0,0 +1,17 @@
+package com.neurofleetx.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+// Body of PUT /api/dispatch/drivers/{id}/location
+public record DriverLocationRequest(
+        @NotNull(message = "latitude and longitude are required")
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double latitude,
+        @NotNull(message = "latitude and longitude are required")
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double longitude) {
+}
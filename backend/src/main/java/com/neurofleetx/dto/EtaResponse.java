@@ -0,0 +1,22 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.service.EtaService;
+
+import java.time.LocalDateTime;
+
+// Response of GET /api/bookings/eta
+public record EtaResponse(
+        double estimatedDistance,
+        double estimatedDuration,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        double coverage) {
+
+    public static EtaResponse from(EtaService.Estimate estimate, LocalDateTime departure) {
+        double distance = Math.round(estimate.distanceKm() * 100) / 100.0;
+        double duration = Math.round(estimate.durationMinutes() * 10) / 10.0;
+        return new EtaResponse(distance, duration, departure,
+                departure.plusSeconds(Math.round(estimate.durationMinutes() * 60)),
+                Math.round(estimate.coverage() * 100) / 100.0);
+    }
+}
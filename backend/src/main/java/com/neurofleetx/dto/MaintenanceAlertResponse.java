@@ -0,0 +1,35 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.entity.MaintenanceAlert;
+
+import java.time.LocalDateTime;
+
+// Flat maintenance alert view returned by the maintenance endpoints
+public record MaintenanceAlertResponse(
+        Long id,
+        Long vehicleId,
+        String ruleName,
+        String metric,
+        String severity,
+        String message,
+        Double metricValue,
+        Double threshold,
+        LocalDateTime triggeredAt,
+        boolean resolved,
+        LocalDateTime resolvedAt) {
+
+    public static MaintenanceAlertResponse from(MaintenanceAlert a) {
+        return new MaintenanceAlertResponse(
+                a.getId(),
+                a.getVehicle() != null ? a.getVehicle().getId() : null,
+                a.getRuleName(),
+                a.getMetric(),
+                a.getSeverity(),
+                a.getMessage(),
+                a.getMetricValue(),
+                a.getThreshold(),
+                a.getTriggeredAt(),
+                a.isResolved(),
+                a.getResolvedAt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.service.QuoteService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+// Body of POST /api/bookings/quote. Either estimatedDistance or all four coordinates are needed;
+// with coordinates the distance is computed server-side. The quote only books the same customer,
+// vehicle, addresses and coordinates.
+public record QuoteRequest(
+        @Positive(message = "Vehicle ID is required")
+        long vehicleId,
+        @Positive(message = "Customer ID is required")
+        long customerId,
+        @NotBlank(message = "Pickup address cannot be empty")
+        String pickupAddress,
+        @NotBlank(message = "Dropoff address cannot be empty")
+        String dropoffAddress,
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double pickupLatitude,
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double pickupLongitude,
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double dropoffLatitude,
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double dropoffLongitude,
+        Double estimatedDistance,
+        Double estimatedDuration,
+        String promoCode) {
+
+    public QuoteService.Route route() {
+        return new QuoteService.Route(pickupLatitude, pickupLongitude, dropoffLatitude, dropoffLongitude,
+                pickupAddress, dropoffAddress);
+    }
+}
@@ -0,0 +1,26 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.service.QuoteService;
+
+// Response of POST /api/bookings/quote; quoteToken can be sent back with POST /api/bookings
+public record QuoteResponse(
+        long vehicleId,
+        double estimatedDistance,
+        Double estimatedDuration,
+        double basePricePerKm,
+        double surgeMultiplier,
+        double fare,
+        String promoCode,
+        String promoMessage,
+        double discountAmount,
+        double estimatedCost,
+        long expiresAt,
+        String quoteToken) {
+
+    public static QuoteResponse from(QuoteService.PricedQuote priced, String token) {
+        QuoteService.FareQuote q = priced.quote();
+        return new QuoteResponse(q.vehicleId(), q.distanceKm(), q.durationMinutes(), q.basePricePerKm(),
+                q.surgeMultiplier(), q.fare(), q.promoCode(), priced.promoRejection(), q.discount(), q.total(),
+                q.expiresAt(), token);
+    }
+}
@@ -0,0 +1,27 @@
+package com.neurofleetx.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+// Body of POST /api/bookings/recommendations
+public record RecommendationRequest(
+        @Pattern(regexp = "(?i)\\s*(SEDAN|SUV|EV)?\\s*", message = "Invalid vehicle type. Must be one of: SEDAN, SUV, EV")
+        String vehicleType,
+        @Min(value = 1, message = "Passenger count must be between 1 and 8")
+        @Max(value = 8, message = "Passenger count must be between 1 and 8")
+        Integer passengerCount,
+        boolean evPreference,
+        @Positive(message = "Estimated distance must be positive")
+        Double estimatedDistance) {
+
+    public RecommendationRequest {
+        if (passengerCount == null) {
+            passengerCount = 1;
+        }
+        if (vehicleType != null) {
+            vehicleType = vehicleType.isBlank() ? null : vehicleType.trim().toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.neurofleetx.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Body of POST /api/auth/register
+public record RegisterRequest(
+        @NotBlank(message = "Name is required")
+        String name,
+        @NotBlank(message = "Email is required")
+        String email,
+        @NotNull(message = "Password must be at least 6 characters")
+        @Size(min = 6, message = "Password must be at least 6 characters")
+        String password,
+        String role,
+        String companyName,
+        String licenseNumber) {
+
+    public RegisterRequest {
+        if (role == null) {
+            role = "CUSTOMER";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RegisterRequest[name=" + name + ", email=" + email + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,21 @@
+package com.neurofleetx.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+// Body of POST /api/vehicles/{id}/telemetry. Every metric is optional; timestamp is epoch millis
+// and may not be ahead of the server clock by more than a few minutes.
+public record TelemetryRequest(
+        Double fuelLevel,
+        Double batteryLevel,
+        // Same ranges as CreateBookingRequest; positions feed ETA cells, geofences and EV planning
+        @DecimalMin(value = "-90", message = "Coordinates out of range")
+        @DecimalMax(value = "90", message = "Coordinates out of range")
+        Double latitude,
+        @DecimalMin(value = "-180", message = "Coordinates out of range")
+        @DecimalMax(value = "180", message = "Coordinates out of range")
+        Double longitude,
+        Double speed,
+        Double engineTemperature,
+        Long timestamp) {
+}
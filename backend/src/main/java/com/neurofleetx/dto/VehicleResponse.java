@@ -0,0 +1,50 @@
+package com.neurofleetx.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.neurofleetx.entity.Vehicle;
+
+// Flat vehicle view returned by the vehicle and recommendation endpoints
+public record VehicleResponse(
+        Long id,
+        Long driverId,
+        String make,
+        String model,
+        String licensePlate,
+        String type,
+        Integer passengerCapacity,
+        Integer year,
+        String color,
+        Double basePricePerKm,
+        @JsonProperty("isAvailable") Boolean isAvailable,
+        Double currentFuelLevel,
+        String fuelType,
+        String status,
+        Double batteryLevel,
+        Double healthScore,
+        String lastMaintenanceDate,
+        Double currentLatitude,
+        Double currentLongitude) {
+
+    public static VehicleResponse from(Vehicle v) {
+        return new VehicleResponse(
+                v.getId(),
+                v.getDriver() != null ? v.getDriver().getId() : null,
+                v.getMake(),
+                v.getModel(),
+                v.getLicensePlate(),
+                v.getType(),
+                v.getPassengerCapacity(),
+                v.getYear(),
+                v.getColor(),
+                v.getBasePricePerKm(),
+                v.getIsAvailable(),
+                v.getCurrentFuelLevel(),
+                v.getFuelType(),
+                v.getStatus(),
+                v.getBatteryLevel(),
+                v.getHealthScore(),
+                v.getLastMaintenanceDate(),
+                v.getCurrentLatitude(),
+                v.getCurrentLongitude());
+    }
+}
@@ -1,12 +1,21 @@
 package com.neurofleetx.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+// Indexes as created by db.migration.V2__hot_query_indexes
 @Entity
-@Table(name = "bookings")
-@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_customer_status", columnList = "customer_id, status"),
+        @Index(name = "idx_bookings_customer_created", columnList = "customer_id, created_at"),
+        @Index(name = "idx_bookings_vehicle_status", columnList = "vehicle_id, status"),
+        @Index(name = "idx_bookings_driver_status", columnList = "driver_id, status"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_bookings_status_driver_created", columnList = "status, driver_id, created_at"),
+        @Index(name = "idx_bookings_scheduled_pickup", columnList = "scheduled_pickup_time"),
+        @Index(name = "idx_bookings_payment_status_cost", columnList = "payment_status, estimated_cost"),
+        @Index(name = "idx_bookings_promo_code", columnList = "promo_code")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,87 @@
+package com.neurofleetx.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.LocalDateTime;
+
+// Indexes as created by db.migration.V2__hot_query_indexes
+@Entity
+@Table(name = "maintenance_alerts", indexes = {
+        @Index(name = "idx_maintenance_alerts_resolved_triggered", columnList = "resolved, triggered_at"),
+        @Index(name = "idx_maintenance_alerts_vehicle_resolved", columnList = "vehicle_id, resolved, triggered_at")
+})
+public class MaintenanceAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Vehicle vehicle;
+
+    @Column(name = "rule_name", nullable = false)
+    private String ruleName;
+
+    @Column(nullable = false)
+    private String metric;
+
+    @Column(nullable = false)
+    private String severity;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "metric_value")
+    private Double metricValue;
+
+    @Column(name = "threshold")
+    private Double threshold;
+
+    @Column(name = "triggered_at", nullable = false)
+    private LocalDateTime triggeredAt;
+
+    @Column(nullable = false)
+    private boolean resolved = false;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    // Constructors
+    public MaintenanceAlert() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Vehicle getVehicle() { return vehicle; }
+    public void setVehicle(Vehicle vehicle) { this.vehicle = vehicle; }
+
+    public String getRuleName() { return ruleName; }
+    public void setRuleName(String ruleName) { this.ruleName = ruleName; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public String getSeverity() { return severity; }
+    public void setSeverity(String severity) { this.severity = severity; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Double getMetricValue() { return metricValue; }
+    public void setMetricValue(Double metricValue) { this.metricValue = metricValue; }
+
+    public Double getThreshold() { return threshold; }
+    public void setThreshold(Double threshold) { this.threshold = threshold; }
+
+    public LocalDateTime getTriggeredAt() { return triggeredAt; }
+    public void setTriggeredAt(LocalDateTime triggeredAt) { this.triggeredAt = triggeredAt; }
+
+    public boolean isResolved() { return resolved; }
+    public void setResolved(boolean resolved) { this.resolved = resolved; }
+
+    public LocalDateTime getResolvedAt() { return resolvedAt; }
+    public void setResolvedAt(LocalDateTime resolvedAt) { this.resolvedAt = resolvedAt; }
+}
@@ -1,12 +1,17 @@
 package com.neurofleetx.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
+// Indexes as created by db.migration.V2__hot_query_indexes
 @Entity
-@Table(name = "users")
-@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_active", columnList = "role, active")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,12 +1,19 @@
 package com.neurofleetx.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
+// Indexes as created by db.migration.V2__hot_query_indexes
 @Entity
-@Table(name = "vehicles")
-@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicles_type_available", columnList = "type, is_available"),
+        @Index(name = "idx_vehicles_available", columnList = "is_available"),
+        @Index(name = "idx_vehicles_passenger_capacity", columnList = "passenger_capacity")
+})
 public class Vehicle {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,33 +1,62 @@
 package com.neurofleetx.repository;
 
 import com.neurofleetx.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    // List endpoints load customer, vehicle and driver in the same query (left joins)
+    // so mapping each row to a response never issues a per-booking select.
+    // Finders filter on the foreign-key column (b.customer.id) with an explicit query: derived from
+    // the method name next to an entity graph, the filter lands on the joined row instead, and no
+    // index on bookings can serve it.
+
+    // Find all bookings
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
+    @Query("SELECT b FROM Booking b")
+    List<Booking> findAllWithDetails();
+
     // Find bookings by customer
-    List<Booking> findByCustomerId(Long customerId);
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
+    @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId")
+    List<Booking> findByCustomerId(@Param("customerId") Long customerId);
     
     // Find bookings by vehicle
-    List<Booking> findByVehicleId(Long vehicleId);
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
+    @Query("SELECT b FROM Booking b WHERE b.vehicle.id = :vehicleId")
+    List<Booking> findByVehicleId(@Param("vehicleId") Long vehicleId);
     
     // Find bookings by driver
-    List<Booking> findByDriverId(Long driverId);
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
+    @Query("SELECT b FROM Booking b WHERE b.driver.id = :driverId")
+    List<Booking> findByDriverId(@Param("driverId") Long driverId);
     
     // Find bookings by status
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
     List<Booking> findByStatus(String status);
     
     // Find bookings by customer and status
-    List<Booking> findByCustomerIdAndStatus(Long customerId, String status);
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
+    @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId AND b.status = :status")
+    List<Booking> findByCustomerIdAndStatus(@Param("customerId") Long customerId, @Param("status") String status);
     
     // Find bookings within date range
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
     @Query("SELECT b FROM Booking b WHERE b.scheduledPickupTime BETWEEN :startDate AND :endDate")
     List<Booking> findBookingsInDateRange(@Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate);
@@ -41,14 +70,77 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Double calculateTotalRevenue();
     
     // Find recent bookings for a customer
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
     @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId ORDER BY b.createdAt DESC")
     List<Booking> findRecentBookingsByCustomer(@Param("customerId") Long customerId);
     
     // Find active bookings
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
     @Query("SELECT b FROM Booking b WHERE b.status IN ('PENDING', 'CONFIRMED', 'IN_PROGRESS')")
     List<Booking> findActiveBookings();
     
     // Find completed bookings
+    @EntityGraph(attributePaths = {"customer", "vehicle", "driver"})
     @Query("SELECT b FROM Booking b WHERE b.status = 'COMPLETED' ORDER BY b.createdAt DESC")
     List<Booking> findCompletedBookings();
+
+    // Vehicle id, drop-off time and distance of every completed trip (health model warm-up)
+    @Query("SELECT b.vehicle.id, b.actualDropoffTime, b.actualDistance FROM Booking b WHERE b.status = 'COMPLETED'")
+    List<Object[]> findCompletedTripSummaries();
+
+    // Status, payment method, vehicle id, driver id, update and drop-off time, cost, distance,
+    // duration and rating of finished bookings (trip analytics warm-up)
+    @Query("SELECT b.status, b.paymentMethod, b.vehicle.id, b.driver.id, b.updatedAt, b.actualDropoffTime, "
+            + "b.actualCost, b.actualDistance, b.actualDuration, b.driverRating FROM Booking b WHERE b.status IN ('COMPLETED', 'CANCELLED')")
+    List<Object[]> findFinishedTripMetrics();
+
+    // Redemptions per promo code (promo usage caps)
+    @Query("SELECT b.promoCode, COUNT(b) FROM Booking b WHERE b.promoCode IS NOT NULL GROUP BY b.promoCode")
+    List<Object[]> countPromoUsage();
+
+    // Id, pickup and vehicle position of confirmed bookings still waiting for a driver, oldest first (dispatcher)
+    @Query("SELECT b.id, b.pickupLatitude, b.pickupLongitude, v.currentLatitude, v.currentLongitude "
+            + "FROM Booking b JOIN b.vehicle v WHERE b.status = 'CONFIRMED' AND b.driver IS NULL ORDER BY b.createdAt")
+    List<Object[]> findUnassignedConfirmed(Pageable page);
+
+    // Which of the given drivers have a confirmed or running booking (dispatcher, before assigning)
+    @Query("SELECT DISTINCT b.driver.id FROM Booking b WHERE b.driver.id IN :driverIds AND b.status IN ('CONFIRMED', 'IN_PROGRESS')")
+    List<Long> findBusyDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // Bookings with their vehicles, for applying a batch of driver assignments
+    @EntityGraph(attributePaths = {"vehicle"})
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids")
+    List<Booking> findAllWithVehicleByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The same, locked until the transaction ends and in id order, so timeouts and confirm/start on
+    // the same bookings run one after the other instead of overwriting each other (lifecycle timeouts)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"vehicle"})
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllWithVehicleByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Id, status, creation and scheduled pickup time of open bookings (lifecycle timers warm-up)
+    @Query("SELECT b.id, b.status, b.createdAt, b.scheduledPickupTime FROM Booking b WHERE b.status IN ('PENDING', 'CONFIRMED')")
+    List<Object[]> findOpenBookingTimes();
+
+    // Ids of finished bookings created before the cutoff, oldest first (archiver)
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN ('COMPLETED', 'CANCELLED') AND b.createdAt < :cutoff ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+    // Deletes the given bookings that are still finished; returns how many went (archiver, after the
+    // rows are safely in a segment)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND b.status IN ('COMPLETED', 'CANCELLED')")
+    int deleteFinishedByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Booking row locked until the transaction ends, for status changes that must happen once
+    // (confirming, starting, completing, cancelling)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    // Which of the given bookings are still open (reminders)
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status IN ('PENDING', 'CONFIRMED')")
+    List<Long> findOpenIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.neurofleetx.repository;
+
+import com.neurofleetx.entity.MaintenanceAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MaintenanceAlertRepository extends JpaRepository<MaintenanceAlert, Long> {
+
+    // Find open alerts, newest first
+    List<MaintenanceAlert> findByResolvedFalseOrderByTriggeredAtDesc();
+
+    // Find alerts for a vehicle, newest first
+    @Query("SELECT a FROM MaintenanceAlert a WHERE a.vehicle.id = :vehicleId ORDER BY a.triggeredAt DESC")
+    List<MaintenanceAlert> findByVehicleIdOrderByTriggeredAtDesc(@Param("vehicleId") Long vehicleId);
+
+    // Vehicle id and rule name of every open alert (used to restore de-duplication state)
+    @Query("SELECT a.vehicle.id, a.ruleName FROM MaintenanceAlert a WHERE a.resolved = false")
+    List<Object[]> findOpenAlertKeys();
+
+    // Count open alerts
+    @Query("SELECT COUNT(a) FROM MaintenanceAlert a WHERE a.resolved = false")
+    Long countOpenAlerts();
+
+    // Find open alerts for a vehicle
+    @Query("SELECT a FROM MaintenanceAlert a WHERE a.vehicle.id = :vehicleId AND a.resolved = false")
+    List<MaintenanceAlert> findOpenAlertsByVehicle(@Param("vehicleId") Long vehicleId);
+}
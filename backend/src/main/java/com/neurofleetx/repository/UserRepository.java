@@ -2,13 +2,26 @@ package com.neurofleetx.repository;
 
 import com.neurofleetx.entity.User;
 import com.neurofleetx.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    boolean existsByIdAndRole(Long id, UserRole role);
+
+    // Active users with the given role and no confirmed or running booking (dispatcher)
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.active = true AND NOT EXISTS "
+            + "(SELECT 1 FROM Booking b WHERE b.driver = u AND b.status IN ('CONFIRMED', 'IN_PROGRESS'))")
+    List<Long> findFreeUserIds(@Param("role") UserRole role);
 }
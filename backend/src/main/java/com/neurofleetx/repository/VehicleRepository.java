@@ -1,7 +1,11 @@
 package com.neurofleetx.repository;
 
 import com.neurofleetx.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,18 +14,52 @@ import java.util.Optional;
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     
+    // Catalog finders are query-cacheable; the hint is a no-op unless the "cache" profile is active
+
     // Find vehicle by license plate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Vehicle> findByLicensePlate(String licensePlate);
     
     // Find vehicles by type
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Vehicle> findByType(String type);
     
     // Find available vehicles
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Vehicle> findByIsAvailableTrue();
     
     // Find vehicles by type and availability
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Vehicle> findByTypeAndIsAvailable(String type, Boolean isAvailable);
     
     // Find vehicles by passenger capacity
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Vehicle> findByPassengerCapacityGreaterThanEqual(Integer passengerCount);
+
+    // Find vehicles with at least one open maintenance alert
+    // (driven from the open alerts, so vehicles are fetched by id rather than scanned)
+    @Query("SELECT v FROM Vehicle v WHERE v.id IN (SELECT a.vehicle.id FROM MaintenanceAlert a WHERE a.resolved = false)")
+    List<Vehicle> findVehiclesWithOpenAlerts();
+
+    // Count vehicles with at least one open maintenance alert
+    @Query("SELECT COUNT(DISTINCT a.vehicle.id) FROM MaintenanceAlert a WHERE a.resolved = false")
+    long countVehiclesWithOpenAlerts();
+
+    // Id, last maintenance date and stored health score of every vehicle (health model warm-up)
+    @Query("SELECT v.id, v.lastMaintenanceDate, v.healthScore FROM Vehicle v")
+    List<Object[]> findHealthSnapshots();
+
+    // Position of every available vehicle (surge pricing supply)
+    @Query("SELECT v.currentLatitude, v.currentLongitude FROM Vehicle v WHERE v.isAvailable = true")
+    List<Object[]> findAvailablePositions();
+
+    // Driver id and position of every vehicle with a driver (dispatcher fallback for driver locations)
+    @Query("SELECT v.driver.id, v.currentLatitude, v.currentLongitude FROM Vehicle v "
+            + "WHERE v.driver IS NOT NULL AND v.currentLatitude IS NOT NULL AND v.currentLongitude IS NOT NULL")
+    List<Object[]> findDriverPositions();
+
+    // Id, battery level and position of every electric vehicle (charging scheduler warm-up)
+    @Query("SELECT v.id, v.batteryLevel, v.currentLatitude, v.currentLongitude FROM Vehicle v "
+            + "WHERE v.type = 'EV' OR UPPER(v.fuelType) = 'ELECTRIC'")
+    List<Object[]> findElectricSnapshots();
 }
@@ -0,0 +1,35 @@
+package com.neurofleetx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs in-memory side effects of a write (search index, schedulers, analytics) only once the
+// surrounding transaction has committed, so a rollback never leaves them ahead of the tables.
+// Outside a transaction the write has already committed and the action runs right away.
+// A failing action is logged, not thrown: the write it follows has already succeeded.
+final class AfterCommit {
+
+    private static final Logger log = LoggerFactory.getLogger(AfterCommit.class);
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.warn("After-commit action failed", e);
+                }
+            }
+        });
+    }
+}
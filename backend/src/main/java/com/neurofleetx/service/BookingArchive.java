@@ -0,0 +1,431 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.service.BookingArchiveFile.Column;
+import com.neurofleetx.service.BookingArchiveFile.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cold storage for finished bookings, partitioned by the month they were created in.
+//
+// The bookings table holds the hot data: everything open, and finished trips for hot-days days.
+// archive() moves older COMPLETED and CANCELLED rows into segment files (see BookingArchiveFile),
+// one or more per month, named bookings-YYYY-MM-NNNN.nfa. Segments are written before the rows are
+// deleted, and rows already present in a segment are not written again, so an archiver run that
+// dies half way is simply repeated by the next one. A month that collects more than
+// max-segments-per-month segments is compacted into one. The delete re-checks the status, so a row
+// that is no longer finished stays in the table (the table is read first, so it also wins there).
+//
+// Off by default (neurofleetx.archive.enabled). Archiving deletes rows from the shared bookings
+// table, so exactly one instance may run it, and every instance must read the same archive
+// directory (a shared volume); otherwise archived history is only visible on the node that wrote it.
+//
+// The segment headers (row counts per status, paid revenue, promo redemptions, id range, customer,
+// vehicle and driver id filters) are kept in memory, so stats never open a file and lookups by id,
+// customer, vehicle or driver only open segments whose header may hold a match. BookingService
+// reads the table first and the archive second.
+@Service
+public class BookingArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchive.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("bookings-(\\d{4})-(\\d{2})-(\\d{4})\\.nfa");
+
+    private record Segment(Path file, YearMonth month, int sequence, Header header) {}
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Path directory;
+    private final boolean enabled;
+    private final int hotDays;
+    private final int batchSize;
+    private final int maxSegmentsPerMonth;
+
+    // Newest month first, then newest segment first; guarded by lock
+    private final TreeMap<YearMonth, List<Segment>> segments = new TreeMap<>(Comparator.reverseOrder());
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookingArchive(@Value("${neurofleetx.archive.dir:data/archive}") String directory,
+                          @Value("${neurofleetx.archive.enabled:false}") boolean enabled,
+                          @Value("${neurofleetx.archive.hot-days:30}") int hotDays,
+                          @Value("${neurofleetx.archive.batch-size:5000}") int batchSize,
+                          @Value("${neurofleetx.archive.max-segments-per-month:8}") int maxSegmentsPerMonth) {
+        this.directory = Paths.get(directory);
+        this.enabled = enabled;
+        this.hotDays = hotDays;
+        this.batchSize = batchSize;
+        this.maxSegmentsPerMonth = maxSegmentsPerMonth;
+        reload();
+    }
+
+    // Rebuild the in-memory segment list from the files in the archive directory
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "bookings-*.nfa")) {
+                for (Path file : files) {
+                    Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+                    if (name.matches()) {
+                        YearMonth month = YearMonth.of(Integer.parseInt(name.group(1)), Integer.parseInt(name.group(2)));
+                        add(new Segment(file, month, Integer.parseInt(name.group(3)), BookingArchiveFile.readHeader(file)));
+                    }
+                }
+            }
+            log.info("Booking archive: {} segments, {} bookings in {}", segmentCount(), archivedCount(), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read booking archive " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Archive finished bookings older than hot-days
+    @Scheduled(fixedDelayString = "${neurofleetx.archive.interval-ms:3600000}")
+    public void archive() {
+        if (enabled) {
+            archiveOlderThan(LocalDateTime.now().minusDays(hotDays));
+        }
+    }
+
+    // Move finished bookings created before the cutoff from the table into the archive, batch by batch
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int archived = 0;
+        while (true) {
+            List<Long> ids = bookingRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            append(bookingRepository.findAllWithVehicleByIdIn(ids));
+            archived += bookingRepository.deleteFinishedByIdIn(ids);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} bookings created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    // Write the bookings into new segments, one per creation month
+    public void append(List<Booking> bookings) {
+        Map<YearMonth, List<Booking>> byMonth = new TreeMap<>();
+        for (Booking booking : bookings) {
+            byMonth.computeIfAbsent(YearMonth.from(booking.getCreatedAt()), m -> new ArrayList<>()).add(booking);
+        }
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<YearMonth, List<Booking>> month : byMonth.entrySet()) {
+                List<Booking> rows = notYetArchived(month.getKey(), month.getValue());
+                if (!rows.isEmpty()) {
+                    add(writeSegment(month.getKey(), rows));
+                }
+                if (segments.get(month.getKey()) != null && segments.get(month.getKey()).size() > maxSegmentsPerMonth) {
+                    compact(month.getKey());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write booking archive", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Archived booking by id
+    public Optional<Booking> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            for (Segment segment : all()) {
+                if (id < segment.header().minId() || id > segment.header().maxId()) {
+                    continue;
+                }
+                try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(segment.file())) {
+                    List<Booking> found = reader.bookings(reader.column(Column.ID).matching(id));
+                    if (!found.isEmpty()) {
+                        return Optional.of(found.get(0));
+                    }
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every archived booking of a customer, vehicle or driver (CUSTOMER_ID, VEHICLE_ID, DRIVER_ID), newest first;
+    // segments whose id filter rules the id out are never opened
+    public List<Booking> findBy(Column column, long id) {
+        return scan(Integer.MAX_VALUE, null, header -> header.mightContain(column, id),
+                reader -> reader.column(column).matching(id));
+    }
+
+    // Archived bookings with the given status, newest month first, at most limit
+    public List<Booking> findByStatus(String status, int limit) {
+        return scan(limit, status, header -> true, reader -> reader.column(Column.STATUS).matching(status));
+    }
+
+    // Archived bookings, newest month first, at most limit
+    public List<Booking> findRecent(int limit) {
+        return scan(limit, null, header -> true, reader -> {
+            BitSet all = new BitSet(reader.rows());
+            all.set(0, reader.rows());
+            return all;
+        });
+    }
+
+    public interface SegmentVisitor {
+        void visit(BookingArchiveFile.Reader reader) throws IOException;
+    }
+
+    // Hands every segment to the visitor, oldest month first; the visitor reads the columns it needs
+    public void forEachSegment(SegmentVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            List<Segment> all = all();
+            for (int i = all.size() - 1; i >= 0; i--) {
+                try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(all.get(i).file())) {
+                    visitor.visit(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private interface RowFilter {
+        BitSet rows(BookingArchiveFile.Reader reader) throws IOException;
+    }
+
+    // Segments newest first; segments whose header shows no row with the status, or that the header
+    // check rejects, are never opened
+    private List<Booking> scan(int limit, String status, Predicate<Header> headerCheck, RowFilter filter) {
+        List<Booking> found = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : all()) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                if (status != null && !segment.header().statusCounts().containsKey(status)) {
+                    continue;
+                }
+                if (!headerCheck.test(segment.header())) {
+                    continue;
+                }
+                try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(segment.file())) {
+                    List<Booking> rows = reader.bookings(filter.rows(reader));
+                    rows.sort(Comparator.comparing(Booking::getCreatedAt).reversed());
+                    for (Booking booking : rows) {
+                        if (found.size() < limit && seen.add(booking.getId())) {
+                            found.add(booking);
+                        }
+                    }
+                }
+            }
+            return found;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Vehicle id, drop-off time and distance of every archived completed trip, in the shape of
+    // BookingRepository.findCompletedTripSummaries (health model warm-up)
+    public List<Object[]> findCompletedTripSummaries() {
+        List<Object[]> trips = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : all()) {
+                if (!segment.header().statusCounts().containsKey("COMPLETED")) {
+                    continue;
+                }
+                try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(segment.file())) {
+                    BitSet completed = reader.column(Column.STATUS).matching("COMPLETED");
+                    BookingArchiveFile.Values vehicle = reader.column(Column.VEHICLE_ID);
+                    BookingArchiveFile.Values dropoff = reader.column(Column.ACTUAL_DROPOFF_TIME);
+                    BookingArchiveFile.Values distance = reader.column(Column.ACTUAL_DISTANCE);
+                    for (int row = completed.nextSetBit(0); row >= 0; row = completed.nextSetBit(row + 1)) {
+                        trips.add(new Object[] {
+                                vehicle.isNull(row) ? null : vehicle.getLong(row),
+                                dropoff.isNull(row) ? null : dropoff.get(row),
+                                distance.isNull(row) ? null : distance.getDouble(row)});
+                    }
+                }
+            }
+            return trips;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Archived bookings with the given status, from the segment headers
+    public long countByStatus(String status) {
+        lock.readLock().lock();
+        try {
+            return all().stream().mapToLong(s -> s.header().statusCounts().getOrDefault(status, 0)).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long archivedCount() {
+        lock.readLock().lock();
+        try {
+            return all().stream().mapToLong(s -> s.header().rows()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Estimated cost of archived PAID bookings, from the segment headers
+    public double paidRevenue() {
+        lock.readLock().lock();
+        try {
+            return all().stream().mapToDouble(s -> s.header().paidRevenue()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Archived redemptions per promo code, from the segment headers
+    public Map<String, Integer> promoUsage() {
+        Map<String, Integer> usage = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : all()) {
+                segment.header().promoCounts().forEach((code, count) -> usage.merge(code, count, Integer::sum));
+            }
+            return usage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("months", segments.size());
+            stats.put("segments", segmentCount());
+            stats.put("bookings", archivedCount());
+            stats.put("newestMonth", segments.isEmpty() ? null : segments.firstKey().toString());
+            stats.put("oldestMonth", segments.isEmpty() ? null : segments.lastKey().toString());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    // Callers hold the lock
+    private List<Segment> all() {
+        List<Segment> all = new ArrayList<>();
+        segments.values().forEach(all::addAll);
+        return all;
+    }
+
+    private int segmentCount() {
+        return segments.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void add(Segment segment) {
+        List<Segment> month = segments.computeIfAbsent(segment.month(), m -> new ArrayList<>());
+        month.add(segment);
+        month.sort(Comparator.comparingInt(Segment::sequence).reversed());
+    }
+
+    // Drops bookings that a segment of the month already holds (a repeated run after a crash
+    // between writing a segment and deleting its rows); only the id column of overlapping segments is read
+    private List<Booking> notYetArchived(YearMonth month, List<Booking> bookings) throws IOException {
+        List<Segment> existing = segments.getOrDefault(month, List.of());
+        if (existing.isEmpty()) {
+            return bookings;
+        }
+        Set<Long> archived = new HashSet<>();
+        long min = bookings.stream().mapToLong(Booking::getId).min().orElse(0);
+        long max = bookings.stream().mapToLong(Booking::getId).max().orElse(0);
+        for (Segment segment : existing) {
+            if (segment.header().maxId() < min || segment.header().minId() > max) {
+                continue;
+            }
+            try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(segment.file())) {
+                BookingArchiveFile.Values ids = reader.column(Column.ID);
+                for (int row = 0; row < reader.rows(); row++) {
+                    archived.add(ids.getLong(row));
+                }
+            }
+        }
+        return bookings.stream().filter(b -> !archived.contains(b.getId())).toList();
+    }
+
+    private Segment writeSegment(YearMonth month, List<Booking> rows) throws IOException {
+        List<Segment> existing = segments.getOrDefault(month, List.of());
+        int sequence = existing.isEmpty() ? 1 : existing.get(0).sequence() + 1;
+        Path file = directory.resolve(String.format("bookings-%04d-%02d-%04d.nfa", month.getYear(), month.getMonthValue(), sequence));
+        return new Segment(file, month, sequence, BookingArchiveFile.write(file, rows));
+    }
+
+    // Merge all segments of a month into one; the merged segment is in place before the old ones go
+    private void compact(YearMonth month) throws IOException {
+        List<Segment> old = segments.get(month);
+        Map<Long, Booking> rows = new TreeMap<>();
+        for (Segment segment : old) {
+            try (BookingArchiveFile.Reader reader = BookingArchiveFile.open(segment.file())) {
+                BitSet all = new BitSet(reader.rows());
+                all.set(0, reader.rows());
+                for (Booking booking : reader.bookings(all)) {
+                    rows.putIfAbsent(booking.getId(), booking);
+                }
+            }
+        }
+        Segment merged = writeSegment(month, new ArrayList<>(rows.values()));
+        for (Segment segment : old) {
+            Files.deleteIfExists(segment.file());
+        }
+        segments.put(month, new ArrayList<>(List.of(merged)));
+        log.info("Compacted {} archive segments of {} into {}", old.size(), month, merged.file().getFileName());
+    }
+}
@@ -0,0 +1,685 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.Vehicle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// One archive segment: a batch of finished bookings stored column by column. Layout:
+//
+//   header     magic, version, rows, min/max id, bookings per status, paid revenue, redemptions per promo code,
+//              id filter per customer, vehicle and driver column
+//   directory  compressed length of every column block, in Column order
+//   blocks     one deflated block per column: null bitmap, then the non-null values
+//
+// Longs and timestamps (epoch microseconds) are delta + zigzag varint encoded, rows being in id order;
+// strings are dictionary encoded. A reader inflates only the columns it asks for, so filtering on
+// customer id touches one block, and the header alone answers the stats queries. The id filters let a
+// lookup by customer, vehicle or driver skip segments without opening them.
+public final class BookingArchiveFile {
+
+    private static final int MAGIC = 0x4E465842; // "NFXB"
+    private static final short VERSION = 1;
+
+    enum Type { LONG, TIME, INT, DOUBLE, STRING }
+
+    // Every persistent Booking field; vehicle make/model/plate are kept as they were at archive time
+    public enum Column {
+        ID(Type.LONG, Booking::getId, (b, v) -> b.setId((Long) v)),
+        CREATED_AT(Type.TIME, Booking::getCreatedAt, (b, v) -> b.setCreatedAt((LocalDateTime) v)),
+        UPDATED_AT(Type.TIME, Booking::getUpdatedAt, (b, v) -> b.setUpdatedAt((LocalDateTime) v)),
+        CUSTOMER_ID(Type.LONG, b -> b.getCustomer() != null ? b.getCustomer().getId() : null, (b, v) -> b.setCustomer(user((Long) v))),
+        DRIVER_ID(Type.LONG, b -> b.getDriver() != null ? b.getDriver().getId() : null, (b, v) -> b.setDriver(user((Long) v))),
+        VEHICLE_ID(Type.LONG, b -> b.getVehicle() != null ? b.getVehicle().getId() : null, (b, v) -> vehicle(b).setId((Long) v)),
+        VEHICLE_MAKE(Type.STRING, b -> b.getVehicle() != null ? b.getVehicle().getMake() : null, (b, v) -> vehicle(b).setMake((String) v)),
+        VEHICLE_MODEL(Type.STRING, b -> b.getVehicle() != null ? b.getVehicle().getModel() : null, (b, v) -> vehicle(b).setModel((String) v)),
+        VEHICLE_PLATE(Type.STRING, b -> b.getVehicle() != null ? b.getVehicle().getLicensePlate() : null, (b, v) -> vehicle(b).setLicensePlate((String) v)),
+        STATUS(Type.STRING, Booking::getStatus, (b, v) -> b.setStatus((String) v)),
+        PAYMENT_METHOD(Type.STRING, Booking::getPaymentMethod, (b, v) -> b.setPaymentMethod((String) v)),
+        PAYMENT_STATUS(Type.STRING, Booking::getPaymentStatus, (b, v) -> b.setPaymentStatus((String) v)),
+        PROMO_CODE(Type.STRING, Booking::getPromoCode, (b, v) -> b.setPromoCode((String) v)),
+        SCHEDULED_PICKUP_TIME(Type.TIME, Booking::getScheduledPickupTime, (b, v) -> b.setScheduledPickupTime((LocalDateTime) v)),
+        ACTUAL_PICKUP_TIME(Type.TIME, Booking::getActualPickupTime, (b, v) -> b.setActualPickupTime((LocalDateTime) v)),
+        ACTUAL_DROPOFF_TIME(Type.TIME, Booking::getActualDropoffTime, (b, v) -> b.setActualDropoffTime((LocalDateTime) v)),
+        PICKUP_LATITUDE(Type.DOUBLE, Booking::getPickupLatitude, (b, v) -> b.setPickupLatitude((Double) v)),
+        PICKUP_LONGITUDE(Type.DOUBLE, Booking::getPickupLongitude, (b, v) -> b.setPickupLongitude((Double) v)),
+        DROPOFF_LATITUDE(Type.DOUBLE, Booking::getDropoffLatitude, (b, v) -> b.setDropoffLatitude((Double) v)),
+        DROPOFF_LONGITUDE(Type.DOUBLE, Booking::getDropoffLongitude, (b, v) -> b.setDropoffLongitude((Double) v)),
+        ESTIMATED_DISTANCE(Type.DOUBLE, Booking::getEstimatedDistance, (b, v) -> b.setEstimatedDistance((Double) v)),
+        ESTIMATED_DURATION(Type.DOUBLE, Booking::getEstimatedDuration, (b, v) -> b.setEstimatedDuration((Double) v)),
+        ESTIMATED_COST(Type.DOUBLE, Booking::getEstimatedCost, (b, v) -> b.setEstimatedCost((Double) v)),
+        ACTUAL_DISTANCE(Type.DOUBLE, Booking::getActualDistance, (b, v) -> b.setActualDistance((Double) v)),
+        ACTUAL_DURATION(Type.DOUBLE, Booking::getActualDuration, (b, v) -> b.setActualDuration((Double) v)),
+        ACTUAL_COST(Type.DOUBLE, Booking::getActualCost, (b, v) -> b.setActualCost((Double) v)),
+        DISCOUNT_AMOUNT(Type.DOUBLE, Booking::getDiscountAmount, (b, v) -> b.setDiscountAmount((Double) v)),
+        PASSENGER_COUNT(Type.INT, Booking::getPassengerCount, (b, v) -> b.setPassengerCount((Integer) v)),
+        DRIVER_RATING(Type.INT, Booking::getDriverRating, (b, v) -> b.setDriverRating((Integer) v)),
+        PICKUP_ADDRESS(Type.STRING, Booking::getPickupAddress, (b, v) -> b.setPickupAddress((String) v)),
+        DROPOFF_ADDRESS(Type.STRING, Booking::getDropoffAddress, (b, v) -> b.setDropoffAddress((String) v)),
+        CUSTOMER_FEEDBACK(Type.STRING, Booking::getCustomerFeedback, (b, v) -> b.setCustomerFeedback((String) v));
+
+        final Type type;
+        final Function<Booking, Object> getter;
+        final BiConsumer<Booking, Object> setter;
+
+        Column(Type type, Function<Booking, ?> getter, BiConsumer<Booking, Object> setter) {
+            this.type = type;
+            this.getter = getter::apply;
+            this.setter = setter;
+        }
+    }
+
+    // Columns with an IdFilter in the header, in file order
+    static final Column[] FILTERED = {Column.CUSTOMER_ID, Column.VEHICLE_ID, Column.DRIVER_ID};
+
+    public record Header(int rows, long minId, long maxId, Map<String, Integer> statusCounts,
+                         double paidRevenue, Map<String, Integer> promoCounts, Map<Column, IdFilter> idFilters) {
+
+        // False if the segment certainly has no row with this value in the column
+        public boolean mightContain(Column column, long id) {
+            return idFilters.get(column).mightContain(id);
+        }
+    }
+
+    // Value range plus a Bloom filter (~10 bits per distinct value, 3 probes, about 1% false
+    // positives) over the non-null values of a LONG column
+    public static final class IdFilter {
+
+        private static final int BITS_PER_VALUE = 10;
+        private static final int PROBES = 3;
+
+        private final long min;
+        private final long max;
+        private final long[] words;
+
+        private IdFilter(long min, long max, long[] words) {
+            this.min = min;
+            this.max = max;
+            this.words = words;
+        }
+
+        static IdFilter of(Column column, List<Booking> rows) {
+            Set<Long> values = new HashSet<>();
+            for (Booking booking : rows) {
+                Object value = column.getter.apply(booking);
+                if (value != null) {
+                    values.add((Long) value);
+                }
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long[] words = new long[(values.size() * BITS_PER_VALUE + 63) / 64];
+            for (long value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                long hash = mix(value);
+                for (int i = 0; i < PROBES; i++) {
+                    int bit = bit(hash, i, words.length);
+                    words[bit >>> 6] |= 1L << bit;
+                }
+            }
+            return new IdFilter(min, max, words);
+        }
+
+        public boolean mightContain(long value) {
+            if (value < min || value > max) {
+                return false;
+            }
+            long hash = mix(value);
+            for (int i = 0; i < PROBES; i++) {
+                int bit = bit(hash, i, words.length);
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Double hashing over the two halves of one 64-bit hash
+        private static int bit(long hash, int probe, int wordCount) {
+            int combined = (int) hash + probe * (int) (hash >>> 32);
+            return Math.floorMod(combined, wordCount * 64);
+        }
+
+        // SplitMix64 finalizer: ids are sequential, so spread them before probing
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+
+    private BookingArchiveFile() {}
+
+    // Writes the bookings (sorted by id here) to a temporary file, syncs it and moves it into place,
+    // so a segment is either complete or absent
+    public static Header write(Path file, List<Booking> bookings) throws IOException {
+        List<Booking> rows = new ArrayList<>(bookings);
+        rows.sort(Comparator.comparing(Booking::getId));
+
+        Map<String, Integer> statusCounts = new LinkedHashMap<>();
+        Map<String, Integer> promoCounts = new LinkedHashMap<>();
+        double paidRevenue = 0;
+        for (Booking booking : rows) {
+            statusCounts.merge(booking.getStatus(), 1, Integer::sum);
+            if (booking.getPromoCode() != null) {
+                promoCounts.merge(booking.getPromoCode(), 1, Integer::sum);
+            }
+            if ("PAID".equals(booking.getPaymentStatus()) && booking.getEstimatedCost() != null) {
+                paidRevenue += booking.getEstimatedCost();
+            }
+        }
+        Map<Column, IdFilter> idFilters = new EnumMap<>(Column.class);
+        for (Column column : FILTERED) {
+            idFilters.put(column, IdFilter.of(column, rows));
+        }
+        Header header = new Header(rows.size(),
+                rows.isEmpty() ? 0 : rows.get(0).getId(),
+                rows.isEmpty() ? 0 : rows.get(rows.size() - 1).getId(),
+                statusCounts, paidRevenue, promoCounts, idFilters);
+
+        Column[] columns = Column.values();
+        byte[][] blocks = new byte[columns.length][];
+        for (Column column : columns) {
+            blocks[column.ordinal()] = deflate(encode(column, rows));
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeHeader(out, header);
+            out.writeShort(columns.length);
+            for (byte[] block : blocks) {
+                out.writeInt(block.length);
+            }
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return header;
+    }
+
+    public static Header readHeader(Path file) throws IOException {
+        try (Reader reader = open(file)) {
+            return reader.header();
+        }
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    // Reads column blocks on demand; decoded columns are kept for the reader's lifetime
+    public static final class Reader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final Header header;
+        private final long[] offsets;
+        private final int[] lengths;
+        private final Map<Column, Values> decoded = new EnumMap<>(Column.class);
+
+        private Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a booking archive segment: " + file);
+                }
+                short version = in.readShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported archive version " + version + ": " + file);
+                }
+                header = readHeader(in);
+                int count = in.readShort();
+                if (count != Column.values().length) {
+                    throw new IOException("Expected " + Column.values().length + " columns, found " + count + ": " + file);
+                }
+                lengths = new int[count];
+                for (int i = 0; i < count; i++) {
+                    lengths[i] = in.readInt();
+                }
+                offsets = new long[count];
+                long offset = channel.size();
+                for (int i = count - 1; i >= 0; i--) {
+                    offset -= lengths[i];
+                    offsets[i] = offset;
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public Header header() {
+            return header;
+        }
+
+        public int rows() {
+            return header.rows();
+        }
+
+        public Values column(Column column) throws IOException {
+            Values values = decoded.get(column);
+            if (values == null) {
+                ByteBuffer block = ByteBuffer.allocate(lengths[column.ordinal()]);
+                long position = offsets[column.ordinal()];
+                while (block.hasRemaining()) {
+                    int n = channel.read(block, position + block.position());
+                    if (n < 0) {
+                        throw new EOFException("Truncated archive segment");
+                    }
+                }
+                values = decode(column, inflate(block.array()), header.rows());
+                decoded.put(column, values);
+            }
+            return values;
+        }
+
+        // Rebuilds the selected rows as detached bookings; customer, driver and vehicle are stubs
+        // carrying only what was archived
+        public List<Booking> bookings(BitSet selected) throws IOException {
+            List<Booking> bookings = new ArrayList<>(selected.cardinality());
+            if (selected.isEmpty()) {
+                return bookings;
+            }
+            Values[] columns = new Values[Column.values().length];
+            for (Column column : Column.values()) {
+                columns[column.ordinal()] = column(column);
+            }
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+                Booking booking = new Booking();
+                for (Column column : Column.values()) {
+                    Object value = columns[column.ordinal()].get(row);
+                    if (value != null) {
+                        column.setter.accept(booking, value);
+                    }
+                }
+                bookings.add(booking);
+            }
+            return bookings;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // A decoded column: one array per type, nulls in a bitmap
+    public static final class Values {
+        private final Type type;
+        private final BitSet nulls;
+        private final long[] longs;
+        private final double[] doubles;
+        private final String[] strings;
+
+        private Values(Type type, BitSet nulls, long[] longs, double[] doubles, String[] strings) {
+            this.type = type;
+            this.nulls = nulls;
+            this.longs = longs;
+            this.doubles = doubles;
+            this.strings = strings;
+        }
+
+        public boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        public long getLong(int row) {
+            return longs[row];
+        }
+
+        public double getDouble(int row) {
+            return doubles[row];
+        }
+
+        public String getString(int row) {
+            return strings[row];
+        }
+
+        // Rows whose value equals the given long (LONG columns)
+        public BitSet matching(long value) {
+            BitSet rows = new BitSet(longs.length);
+            for (int row = 0; row < longs.length; row++) {
+                if (longs[row] == value && !nulls.get(row)) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        // Rows whose value equals the given string (STRING columns); dictionary entries are shared
+        // instances, but equals() keeps this correct for any string
+        public BitSet matching(String value) {
+            BitSet rows = new BitSet(strings.length);
+            for (int row = 0; row < strings.length; row++) {
+                if (value.equals(strings[row])) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            return switch (type) {
+                case LONG -> longs[row];
+                case TIME -> fromMicros(longs[row]);
+                case INT -> (int) longs[row];
+                case DOUBLE -> doubles[row];
+                case STRING -> strings[row];
+            };
+        }
+    }
+
+    private static byte[] encode(Column column, List<Booking> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        BitSet nulls = new BitSet(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            if (column.getter.apply(rows.get(row)) == null) {
+                nulls.set(row);
+            }
+        }
+        byte[] bitmap = nulls.toByteArray();
+        writeVarint(out, bitmap.length);
+        out.write(bitmap);
+
+        switch (column.type) {
+            case LONG, TIME -> {
+                long previous = 0;
+                for (Booking booking : rows) {
+                    Object value = column.getter.apply(booking);
+                    if (value != null) {
+                        long current = column.type == Type.TIME ? toMicros((LocalDateTime) value) : (Long) value;
+                        writeVarint(out, zigzag(current - previous));
+                        previous = current;
+                    }
+                }
+            }
+            case INT -> {
+                for (Booking booking : rows) {
+                    Object value = column.getter.apply(booking);
+                    if (value != null) {
+                        writeVarint(out, zigzag((Integer) value));
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (Booking booking : rows) {
+                    Object value = column.getter.apply(booking);
+                    if (value != null) {
+                        out.writeDouble((Double) value);
+                    }
+                }
+            }
+            case STRING -> {
+                Map<String, Integer> dictionary = new LinkedHashMap<>();
+                int[] codes = new int[rows.size()];
+                for (int row = 0; row < rows.size(); row++) {
+                    Object value = column.getter.apply(rows.get(row));
+                    if (value != null) {
+                        Integer code = dictionary.putIfAbsent((String) value, dictionary.size());
+                        codes[row] = code != null ? code : dictionary.size() - 1;
+                    }
+                }
+                writeVarint(out, dictionary.size());
+                for (String entry : dictionary.keySet()) {
+                    writeString(out, entry);
+                }
+                for (int row = 0; row < rows.size(); row++) {
+                    if (!nulls.get(row)) {
+                        writeVarint(out, codes[row]);
+                    }
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Values decode(Column column, byte[] block, int rows) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+        byte[] bitmap = new byte[(int) readVarint(in)];
+        in.readFully(bitmap);
+        BitSet nulls = BitSet.valueOf(bitmap);
+
+        switch (column.type) {
+            case LONG, TIME, INT -> {
+                long[] longs = new long[rows];
+                long previous = 0;
+                for (int row = 0; row < rows; row++) {
+                    if (!nulls.get(row)) {
+                        long value = unzigzag(readVarint(in));
+                        if (column.type == Type.INT) {
+                            longs[row] = value;
+                        } else {
+                            previous += value;
+                            longs[row] = previous;
+                        }
+                    }
+                }
+                return new Values(column.type, nulls, longs, null, null);
+            }
+            case DOUBLE -> {
+                double[] doubles = new double[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (!nulls.get(row)) {
+                        doubles[row] = in.readDouble();
+                    }
+                }
+                return new Values(column.type, nulls, null, doubles, null);
+            }
+            default -> {
+                String[] dictionary = new String[(int) readVarint(in)];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = readString(in);
+                }
+                String[] strings = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (!nulls.get(row)) {
+                        strings[row] = dictionary[(int) readVarint(in)];
+                    }
+                }
+                return new Values(column.type, nulls, null, null, strings);
+            }
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, Header header) throws IOException {
+        out.writeInt(header.rows());
+        out.writeLong(header.minId());
+        out.writeLong(header.maxId());
+        writeCounts(out, header.statusCounts());
+        out.writeDouble(header.paidRevenue());
+        writeCounts(out, header.promoCounts());
+        for (Column column : FILTERED) {
+            IdFilter filter = header.idFilters().get(column);
+            out.writeLong(filter.min);
+            out.writeLong(filter.max);
+            writeVarint(out, filter.words.length);
+            for (long word : filter.words) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        int rows = in.readInt();
+        long minId = in.readLong();
+        long maxId = in.readLong();
+        Map<String, Integer> statusCounts = readCounts(in);
+        double paidRevenue = in.readDouble();
+        Map<String, Integer> promoCounts = readCounts(in);
+        Map<Column, IdFilter> idFilters = new EnumMap<>(Column.class);
+        for (Column column : FILTERED) {
+            long min = in.readLong();
+            long max = in.readLong();
+            long[] words = new long[(int) readVarint(in)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            idFilters.put(column, new IdFilter(min, max, words));
+        }
+        return new Header(rows, minId, maxId, statusCounts, paidRevenue, promoCounts, idFilters);
+    }
+
+    private static void writeCounts(DataOutputStream out, Map<String, Integer> counts) throws IOException {
+        writeVarint(out, counts.size());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            writeString(out, entry.getKey());
+            writeVarint(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readCounts(DataInputStream in) throws IOException {
+        int size = (int) readVarint(in);
+        Map<String, Integer> counts = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            counts.put(readString(in), (int) readVarint(in));
+        }
+        return counts;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive column block");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive column block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Length-prefixed UTF-8; unlike writeUTF, not limited to 64 KB (addresses are TEXT)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // LocalDateTime as UTC epoch microseconds: lossless for DATETIME(6) and only an encoding
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Vehicle vehicle(Booking booking) {
+        if (booking.getVehicle() == null) {
+            booking.setVehicle(new Vehicle());
+        }
+        return booking.getVehicle();
+    }
+}
@@ -0,0 +1,16 @@
+package com.neurofleetx.service;
+
+import java.time.LocalDateTime;
+
+// A booking timer that fired; published as an application event by BookingLifecycleService
+public record BookingLifecycleEvent(long bookingId, Type type, LocalDateTime at) {
+
+    public enum Type {
+        // Still PENDING when its confirmation window ran out; now EXPIRED
+        EXPIRED,
+        // Still CONFIRMED past its scheduled pickup plus the grace period; now NO_SHOW
+        NO_SHOW,
+        // Scheduled pickup is coming up
+        REMINDER
+    }
+}
@@ -0,0 +1,172 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.service.BookingLifecycleEvent.Type;
+import com.neurofleetx.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// Booking timeouts: unconfirmed bookings expire, confirmed bookings nobody started by their
+// scheduled pickup (plus a grace period) become no-shows, and a reminder goes out ahead of each
+// scheduled pickup. Either timeout makes the booking's vehicle available again.
+//
+// Timers live in an in-process TimingWheel instead of being found by scanning the bookings table:
+// a booking gets its timers when it is created, and the wheel is rebuilt from open bookings at
+// startup. Timers are never cancelled; when one fires the booking's status is checked again, so a
+// booking confirmed, cancelled or started in the meantime is simply skipped. Timers that fire
+// together are applied in batches of up to batch-size bookings, one transaction per batch.
+@Service
+public class BookingLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingLifecycleService.class);
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final long RETRY_MS = 30_000L;
+
+    private record Timer(long bookingId, Type type) {}
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final ApplicationEventPublisher publisher;
+    private final long pendingTtlMillis;
+    private final long noShowGraceMillis;
+    private final long reminderLeadMillis;
+    private final int batchSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Guarded by this
+    private final TimingWheel<Timer> wheel;
+
+    public BookingLifecycleService(ApplicationEventPublisher publisher,
+                                   @Value("${neurofleetx.booking.pending-ttl-minutes:15}") long pendingTtlMinutes,
+                                   @Value("${neurofleetx.booking.no-show-grace-minutes:15}") long noShowGraceMinutes,
+                                   @Value("${neurofleetx.booking.reminder-lead-minutes:30}") long reminderLeadMinutes,
+                                   @Value("${neurofleetx.booking.timer-tick-ms:1000}") long tickMillis,
+                                   @Value("${neurofleetx.booking.timer-batch-size:500}") int batchSize) {
+        this.publisher = publisher;
+        this.pendingTtlMillis = pendingTtlMinutes * MINUTE_MS;
+        this.noShowGraceMillis = noShowGraceMinutes * MINUTE_MS;
+        this.reminderLeadMillis = reminderLeadMinutes * MINUTE_MS;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    // Re-create the timers of every open booking
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = bookingRepository.findOpenBookingTimes();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (Object[] row : rows) {
+                schedule(((Number) row[0]).longValue(), (String) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3], now);
+            }
+        }
+    }
+
+    // Set the timers of a newly created booking
+    public synchronized void track(Booking booking) {
+        schedule(booking.getId(), booking.getStatus(), booking.getCreatedAt(), booking.getScheduledPickupTime(),
+                System.currentTimeMillis());
+    }
+
+    public synchronized int pendingTimers() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${neurofleetx.booking.timer-interval-ms:${neurofleetx.booking.timer-tick-ms:1000}}")
+    public void tick() {
+        advance(System.currentTimeMillis());
+    }
+
+    // Fire every timer due by now and apply them; returns the number of events published
+    public int advance(long now) {
+        List<Long> expired = new ArrayList<>();
+        List<Long> noShows = new ArrayList<>();
+        List<Long> reminders = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(now, timer -> {
+                switch (timer.type()) {
+                    case EXPIRED -> expired.add(timer.bookingId());
+                    case NO_SHOW -> noShows.add(timer.bookingId());
+                    case REMINDER -> reminders.add(timer.bookingId());
+                }
+            });
+        }
+        LocalDateTime at = time(now);
+        int published = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            published += apply(expired.subList(from, Math.min(from + batchSize, expired.size())), Type.EXPIRED, at, now);
+        }
+        for (int from = 0; from < noShows.size(); from += batchSize) {
+            published += apply(noShows.subList(from, Math.min(from + batchSize, noShows.size())), Type.NO_SHOW, at, now);
+        }
+        for (int from = 0; from < reminders.size(); from += batchSize) {
+            published += apply(reminders.subList(from, Math.min(from + batchSize, reminders.size())), Type.REMINDER, at, now);
+        }
+        return published;
+    }
+
+    private int apply(List<Long> bookingIds, Type type, LocalDateTime at, long now) {
+        List<Long> affected;
+        try {
+            affected = switch (type) {
+                case EXPIRED -> bookingService.timeOutBookings(bookingIds, "PENDING", "EXPIRED");
+                case NO_SHOW -> bookingService.timeOutBookings(bookingIds, "CONFIRMED", "NO_SHOW");
+                case REMINDER -> bookingRepository.findOpenIdsByIdIn(bookingIds);
+            };
+        } catch (RuntimeException e) {
+            log.warn("Error applying {} booking {} timers, retrying: {}", bookingIds.size(), type, e.getMessage());
+            synchronized (this) {
+                for (Long id : bookingIds) {
+                    wheel.schedule(now + RETRY_MS, new Timer(id, type));
+                }
+            }
+            return 0;
+        }
+        for (Long id : affected) {
+            publisher.publishEvent(new BookingLifecycleEvent(id, type, at));
+        }
+        return affected.size();
+    }
+
+    private void schedule(long bookingId, String status, LocalDateTime createdAt, LocalDateTime scheduledPickup, long now) {
+        if ("PENDING".equals(status)) {
+            long created = createdAt != null ? millis(createdAt) : now;
+            wheel.schedule(created + pendingTtlMillis, new Timer(bookingId, Type.EXPIRED));
+        }
+        if (scheduledPickup != null && ("PENDING".equals(status) || "CONFIRMED".equals(status))) {
+            long pickup = millis(scheduledPickup);
+            // A reminder for a pickup that has already passed is pointless
+            if (pickup > now) {
+                wheel.schedule(pickup - reminderLeadMillis, new Timer(bookingId, Type.REMINDER));
+            }
+            wheel.schedule(pickup + noShowGraceMillis, new Timer(bookingId, Type.NO_SHOW));
+        }
+    }
+
+    private long millis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime time(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+}
@@ -3,24 +3,61 @@ package com.neurofleetx.service;
 import com.neurofleetx.entity.Booking;
 import com.neurofleetx.entity.Vehicle;
 import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
 import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
 import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingArchiveFile.Column;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleHealthModel healthModel;
+
+    @Autowired
+    private EtaService etaService;
+
+    @Autowired
+    private BookingArchive archive;
+
+    @Autowired
+    private TripAnalytics tripAnalytics;
+
+    @Autowired
+    private TripSketches tripSketches;
+
+    // Archived rows added to the unfiltered and per-status listings
+    @Value("${neurofleetx.archive.listing-limit:1000}")
+    private int archiveListingLimit;
+
     // Create a new booking
     public Booking createBooking(Booking booking) {
         try {
@@ -35,87 +72,213 @@ public class BookingService {
                 vehicleRepository.save(booking.getVehicle());
             }
             
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            AfterCommit.run(() -> tripSketches.onBooking(saved));
+            return saved;
         } catch (Exception e) {
-            System.err.println("Error creating booking: " + e.getMessage());
+            log.error("Error creating booking: {}", e.getMessage());
             throw new RuntimeException("Failed to create booking: " + e.getMessage());
         }
     }
 
+    // Reads go to the bookings table first and then to the archive (BookingArchive), which holds
+    // finished bookings older than neurofleetx.archive.hot-days. Archived bookings are read-only.
+
     // Get booking by ID
+    @Transactional(readOnly = true)
     public Optional<Booking> getBookingById(Long id) {
-        return bookingRepository.findById(id);
+        Optional<Booking> booking = bookingRepository.findById(id);
+        return booking.isPresent() ? booking : archive.findById(id);
     }
 
     // Get all bookings
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+        return withArchived(bookingRepository.findAllWithDetails(), archive.findRecent(archiveListingLimit));
     }
 
     // Get bookings by customer
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByCustomer(Long customerId) {
-        return bookingRepository.findByCustomerId(customerId);
+        return withArchived(bookingRepository.findByCustomerId(customerId), archive.findBy(Column.CUSTOMER_ID, customerId));
     }
 
     // Get bookings by vehicle
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByVehicle(Long vehicleId) {
-        return bookingRepository.findByVehicleId(vehicleId);
+        return withArchived(bookingRepository.findByVehicleId(vehicleId), archive.findBy(Column.VEHICLE_ID, vehicleId));
     }
 
     // Get bookings by driver
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByDriver(Long driverId) {
-        return bookingRepository.findByDriverId(driverId);
+        return withArchived(bookingRepository.findByDriverId(driverId), archive.findBy(Column.DRIVER_ID, driverId));
     }
 
     // Get bookings by status
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByStatus(String status) {
-        return bookingRepository.findByStatus(status);
+        return withArchived(bookingRepository.findByStatus(status), archive.findByStatus(status, archiveListingLimit));
     }
 
-    // Update booking status
-    public Booking updateBookingStatus(Long bookingId, String status) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-        if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
-            booking.setStatus(status);
-            booking.setUpdatedAt(LocalDateTime.now());
-            return bookingRepository.save(booking);
+    // Hot rows, then archived rows the table no longer has
+    private static List<Booking> withArchived(List<Booking> hot, List<Booking> archived) {
+        if (archived.isEmpty()) {
+            return hot;
         }
-        throw new RuntimeException("Booking not found with ID: " + bookingId);
+        Set<Long> ids = new HashSet<>();
+        List<Booking> all = new ArrayList<>(hot.size() + archived.size());
+        for (Booking booking : hot) {
+            ids.add(booking.getId());
+            all.add(booking);
+        }
+        for (Booking booking : archived) {
+            if (ids.add(booking.getId())) {
+                all.add(booking);
+            }
+        }
+        return all;
     }
 
-    // Cancel booking
+    // Cancel a booking that has not finished; cancelling it again changes nothing. The row is locked
+    // so trip analytics sees each booking finish once, either completed or cancelled.
+    @Transactional
     public Booking cancelBooking(Long bookingId) {
-        return updateBookingStatus(bookingId, "CANCELLED");
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        String status = booking.getStatus();
+        if ("CANCELLED".equals(status)) {
+            return booking;
+        }
+        if (!"PENDING".equals(status) && !"CONFIRMED".equals(status) && !"IN_PROGRESS".equals(status)) {
+            throw new IllegalStateException("Booking " + bookingId + " is " + status + " and can no longer be cancelled");
+        }
+        booking.setStatus("CANCELLED");
+        booking.setUpdatedAt(LocalDateTime.now());
+        Booking cancelled = bookingRepository.save(booking);
+        AfterCommit.run(() -> {
+            tripAnalytics.onTripFinished(cancelled);
+            tripSketches.onBooking(cancelled);
+        });
+        return cancelled;
     }
 
-    // Confirm booking
+    // Confirm a pending booking. The row is locked, so a confirm racing the expiry timeout either
+    // wins or fails; an expired booking's vehicle has been released and it cannot be confirmed.
+    @Transactional
     public Booking confirmBooking(Long bookingId) {
-        return updateBookingStatus(bookingId, "CONFIRMED");
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        if (!"PENDING".equals(booking.getStatus())) {
+            throw new IllegalStateException("Booking " + bookingId + " is " + booking.getStatus()
+                    + "; only pending bookings can be confirmed");
+        }
+        booking.setStatus("CONFIRMED");
+        booking.setUpdatedAt(LocalDateTime.now());
+        return bookingRepository.save(booking);
     }
 
-    // Start booking (assign driver)
+    // Start a confirmed booking; driverId overrides the driver picked by the dispatcher, if any.
+    // The row is locked, so a start cannot race a no-show timeout, a cancel or a second start.
+    @Transactional
     public Booking startBooking(Long bookingId, Long driverId) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-        if (bookingOpt.isPresent()) {
-            Booking booking = bookingOpt.get();
-            booking.setStatus("IN_PROGRESS");
-            booking.setUpdatedAt(LocalDateTime.now());
-            
-            // Assign driver (you'd need to fetch User entity here)
-            // User driver = userRepository.findById(driverId).orElse(null);
-            // booking.setDriver(driver);
-            
-            return bookingRepository.save(booking);
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        if (!"CONFIRMED".equals(booking.getStatus())) {
+            throw new IllegalStateException("Booking " + bookingId + " is " + booking.getStatus()
+                    + "; only confirmed bookings can be started");
         }
-        throw new RuntimeException("Booking not found with ID: " + bookingId);
+        if (driverId != null) {
+            User driver = userRepository.findById(driverId)
+                    .orElseThrow(() -> new RuntimeException("Driver not found with ID: " + driverId));
+            if (driver.getRole() != UserRole.DRIVER) {
+                throw new RuntimeException("User " + driverId + " is not a driver");
+            }
+            assign(booking, driver);
+        } else if (booking.getDriver() == null) {
+            throw new RuntimeException("No driver assigned to booking " + bookingId);
+        }
+        booking.setStatus("IN_PROGRESS");
+        booking.setActualPickupTime(LocalDateTime.now());
+        booking.setUpdatedAt(LocalDateTime.now());
+
+        Booking saved = bookingRepository.save(booking);
+        AfterCommit.run(() -> tripSketches.onBooking(saved));
+        return saved;
     }
 
-    // Complete booking
+    // Apply a batch of dispatcher assignments (booking id -> driver id) in one transaction.
+    // Bookings that were cancelled or got a driver since the batch was computed are skipped, and so
+    // are drivers that were deactivated or took another booking in the meantime.
+    @Transactional
+    public int assignDrivers(Map<Long, Long> driverByBooking) {
+        if (driverByBooking.isEmpty()) {
+            return 0;
+        }
+        Set<Long> busy = new HashSet<>(bookingRepository.findBusyDriverIds(driverByBooking.values()));
+        Map<Long, User> drivers = new HashMap<>();
+        for (User driver : userRepository.findAllById(driverByBooking.values())) {
+            if (driver.isActive() && !busy.contains(driver.getId())) {
+                drivers.put(driver.getId(), driver);
+            }
+        }
+        List<Booking> assigned = new ArrayList<>();
+        for (Booking booking : bookingRepository.findAllWithVehicleByIdIn(driverByBooking.keySet())) {
+            User driver = drivers.get(driverByBooking.get(booking.getId()));
+            if (driver != null && "CONFIRMED".equals(booking.getStatus()) && booking.getDriver() == null) {
+                assign(booking, driver);
+                booking.setUpdatedAt(LocalDateTime.now());
+                assigned.add(booking);
+            }
+        }
+        bookingRepository.saveAll(assigned);
+        return assigned.size();
+    }
+
+    // Apply a batch of lifecycle timeouts in one transaction: bookings still in fromStatus move to
+    // toStatus and their vehicles become available again. Returns the ids that changed; bookings
+    // that moved on since the timer was set are skipped. The rows are locked before their status is
+    // checked, so a concurrent confirm or start either lands first and is seen here, or waits.
+    @Transactional
+    public List<Long> timeOutBookings(Collection<Long> bookingIds, String fromStatus, String toStatus) {
+        List<Booking> changed = new ArrayList<>();
+        List<Vehicle> released = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : bookingRepository.findAllWithVehicleByIdInForUpdate(bookingIds)) {
+            if (fromStatus.equals(booking.getStatus())) {
+                booking.setStatus(toStatus);
+                booking.setUpdatedAt(now);
+                changed.add(booking);
+                if (booking.getVehicle() != null) {
+                    booking.getVehicle().setIsAvailable(true);
+                    released.add(booking.getVehicle());
+                }
+            }
+        }
+        vehicleRepository.saveAll(released);
+        bookingRepository.saveAll(changed);
+        return changed.stream().map(Booking::getId).toList();
+    }
+
+    // The vehicle's driver is its last known driver; the dispatcher uses its position as theirs
+    private void assign(Booking booking, User driver) {
+        booking.setDriver(driver);
+        if (booking.getVehicle() != null) {
+            booking.getVehicle().setDriver(driver);
+        }
+    }
+
+    // Complete a confirmed or started booking. The row is locked so a repeated request waits and then
+    // fails instead of feeding the same trip to the models twice.
+    @Transactional
     public Booking completeBooking(Long bookingId, Double actualCost, Double actualDistance, Double actualDuration) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
+        Optional<Booking> bookingOpt = bookingRepository.findByIdForUpdate(bookingId);
         if (bookingOpt.isPresent()) {
             Booking booking = bookingOpt.get();
+            if (!"CONFIRMED".equals(booking.getStatus()) && !"IN_PROGRESS".equals(booking.getStatus())) {
+                throw new IllegalStateException("Booking " + bookingId + " is " + booking.getStatus()
+                        + "; only confirmed or started bookings can be completed");
+            }
             booking.setStatus("COMPLETED");
             booking.setActualCost(actualCost);
             booking.setActualDistance(actualDistance);
@@ -129,25 +292,40 @@ public class BookingService {
                 vehicleRepository.save(booking.getVehicle());
             }
             
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            AfterCommit.run(() -> {
+                if (saved.getVehicle() != null) {
+                    healthModel.onTripCompleted(saved.getVehicle().getId(), actualDistance);
+                }
+                etaService.onTripCompleted(saved);
+                tripAnalytics.onTripFinished(saved);
+                tripSketches.onBooking(saved);
+            });
+            return saved;
         }
         throw new RuntimeException("Booking not found with ID: " + bookingId);
     }
 
     // Get recent bookings for customer (dashboard)
+    @Transactional(readOnly = true)
     public List<Booking> getRecentBookingsByCustomer(Long customerId, int limit) {
         List<Booking> bookings = bookingRepository.findRecentBookingsByCustomer(customerId);
-        return bookings.stream().limit(limit).toList();
+        if (bookings.size() >= limit) {
+            return bookings.stream().limit(limit).toList();
+        }
+        return withArchived(bookings, archive.findBy(Column.CUSTOMER_ID, customerId)).stream().limit(limit).toList();
     }
 
     // Get active bookings
+    @Transactional(readOnly = true)
     public List<Booking> getActiveBookings() {
         return bookingRepository.findActiveBookings();
     }
 
     // Get completed bookings
+    @Transactional(readOnly = true)
     public List<Booking> getCompletedBookings() {
-        return bookingRepository.findCompletedBookings();
+        return withArchived(bookingRepository.findCompletedBookings(), archive.findByStatus("COMPLETED", archiveListingLimit));
     }
 
     // Delete booking
@@ -156,14 +334,18 @@ public class BookingService {
     }
 
     // Get booking statistics
+    @Transactional(readOnly = true)
     public BookingStats getBookingStats() {
         BookingStats stats = new BookingStats();
-        stats.setTotalBookings(bookingRepository.count());
+        stats.setTotalBookings(bookingRepository.count() + archive.archivedCount());
         stats.setPendingBookings(bookingRepository.countByStatus("PENDING"));
         stats.setConfirmedBookings(bookingRepository.countByStatus("CONFIRMED"));
-        stats.setCompletedBookings(bookingRepository.countByStatus("COMPLETED"));
-        stats.setCancelledBookings(bookingRepository.countByStatus("CANCELLED"));
-        stats.setTotalRevenue(bookingRepository.calculateTotalRevenue());
+        stats.setCompletedBookings(bookingRepository.countByStatus("COMPLETED") + archive.countByStatus("COMPLETED"));
+        stats.setCancelledBookings(bookingRepository.countByStatus("CANCELLED") + archive.countByStatus("CANCELLED"));
+        Double hotRevenue = bookingRepository.calculateTotalRevenue();
+        double archivedRevenue = archive.paidRevenue();
+        stats.setTotalRevenue(hotRevenue == null && archivedRevenue == 0 ? hotRevenue
+                : (hotRevenue != null ? hotRevenue : 0) + archivedRevenue);
         return stats;
     }
 
@@ -0,0 +1,179 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.util.GeoGrid;
+import com.neurofleetx.util.HungarianAssignment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+// Assigns free drivers to confirmed bookings that do not have one yet.
+//
+// Every few seconds the waiting bookings (oldest first, up to max-batch) and the free drivers
+// are matched as a whole with the Hungarian algorithm, minimising the total predicted time for
+// drivers to reach their pickups, instead of handing each booking the nearest driver in turn.
+// The cost matrix (one ETA per booking x driver pair) is built in parallel; pairs farther apart
+// than max-pickup-km are never matched. The result is written in one transaction, which skips
+// drivers that became busy meanwhile.
+//
+// A driver's position is the last one they reported, else the position of the vehicle they last
+// drove. Bookings are reached at their pickup point, else where their vehicle is parked. Pairs where
+// either position is unknown are never matched either: the distance cutoff cannot be checked, and
+// a driver of unknown whereabouts must not win over a nearby one.
+@Service
+public class DispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    // Cost of a pair that must not be matched; kept finite so the solver's arithmetic stays exact
+    private static final double FORBIDDEN = 1e9;
+
+    public record Assignment(long bookingId, long driverId, double pickupMinutes) {}
+
+    public record DispatchResult(int bookings, int drivers, List<Assignment> assignments, int applied) {}
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EtaService etaService;
+
+    private final int maxBatch;
+    private final double maxPickupKm;
+
+    // Positions reported by drivers: {latitude, longitude}
+    private final ConcurrentHashMap<Long, double[]> reportedPositions = new ConcurrentHashMap<>();
+    private final ReentrantLock running = new ReentrantLock();
+
+    public DispatchService(@Value("${neurofleetx.dispatch.max-batch:500}") int maxBatch,
+                           @Value("${neurofleetx.dispatch.max-pickup-km:25}") double maxPickupKm) {
+        this.maxBatch = maxBatch;
+        this.maxPickupKm = maxPickupKm;
+    }
+
+    // Returns false (and stores nothing) if the id is not a driver
+    public boolean reportLocation(long driverId, double latitude, double longitude) {
+        if (!userRepository.existsByIdAndRole(driverId, UserRole.DRIVER)) {
+            return false;
+        }
+        reportedPositions.put(driverId, new double[] {latitude, longitude});
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${neurofleetx.dispatch.interval-ms:5000}")
+    public void scheduledDispatch() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.error("Error dispatching drivers", e);
+        }
+    }
+
+    // One dispatch round; returns null if a round is already running
+    public DispatchResult dispatch() {
+        if (!running.tryLock()) {
+            return null;
+        }
+        try {
+            List<Object[]> bookings = bookingRepository.findUnassignedConfirmed(PageRequest.of(0, maxBatch));
+            if (bookings.isEmpty()) {
+                return new DispatchResult(0, 0, List.of(), 0);
+            }
+            List<Long> drivers = userRepository.findFreeUserIds(UserRole.DRIVER);
+            if (drivers.isEmpty()) {
+                return new DispatchResult(bookings.size(), 0, List.of(), 0);
+            }
+
+            double[][] targets = new double[bookings.size()][];
+            for (int b = 0; b < targets.length; b++) {
+                Object[] row = bookings.get(b);
+                targets[b] = position(row[1], row[2]);
+                if (targets[b] == null) {
+                    targets[b] = position(row[3], row[4]);
+                }
+            }
+            double[][] origins = driverPositions(drivers);
+            double[][] cost = costMatrix(targets, origins, System.currentTimeMillis());
+
+            int[] match = HungarianAssignment.solve(cost);
+            List<Assignment> assignments = new ArrayList<>();
+            Map<Long, Long> driverByBooking = new HashMap<>();
+            for (int b = 0; b < match.length; b++) {
+                int d = match[b];
+                if (d >= 0 && cost[b][d] < FORBIDDEN) {
+                    long bookingId = ((Number) bookings.get(b)[0]).longValue();
+                    assignments.add(new Assignment(bookingId, drivers.get(d), cost[b][d]));
+                    driverByBooking.put(bookingId, drivers.get(d));
+                }
+            }
+            int applied = bookingService.assignDrivers(driverByBooking);
+            return new DispatchResult(bookings.size(), drivers.size(), assignments, applied);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    // Predicted minutes for each driver (column) to reach each booking (row)
+    private double[][] costMatrix(double[][] targets, double[][] origins, long nowMillis) {
+        double[][] cost = new double[targets.length][origins.length];
+        IntStream.range(0, targets.length).parallel().forEach(b -> {
+            double[] target = targets[b];
+            double[] row = cost[b];
+            for (int d = 0; d < origins.length; d++) {
+                double[] origin = origins[d];
+                if (target == null || origin == null
+                        || GeoGrid.haversineKm(origin[0], origin[1], target[0], target[1]) > maxPickupKm) {
+                    row[d] = FORBIDDEN;
+                } else {
+                    row[d] = etaService.estimate(origin[0], origin[1], target[0], target[1], nowMillis).durationMinutes();
+                }
+            }
+        });
+        return cost;
+    }
+
+    private double[][] driverPositions(List<Long> drivers) {
+        Map<Long, double[]> lastVehicle = new HashMap<>();
+        for (Object[] row : vehicleRepository.findDriverPositions()) {
+            lastVehicle.put(((Number) row[0]).longValue(), position(row[1], row[2]));
+        }
+        double[][] positions = new double[drivers.size()][];
+        for (int d = 0; d < positions.length; d++) {
+            Long id = drivers.get(d);
+            double[] reported = reportedPositions.get(id);
+            positions[d] = reported != null ? reported : lastVehicle.get(id);
+        }
+        return positions;
+    }
+
+    private static double[] position(Object latitude, Object longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return new double[] {((Number) latitude).doubleValue(), ((Number) longitude).doubleValue()};
+    }
+}
@@ -0,0 +1,244 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.util.GeoGrid;
+import com.neurofleetx.util.SlotMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Learns typical driving speed per grid cell and hour of the week, and predicts trip durations
+// by walking the straight pickup-dropoff line cell by cell.
+//
+// Speeds and sample weights are two float[] indexed by cellSlot * 168 + hourOfWeek. Each sample
+// updates a running mean that turns into an exponential average after MAX_WEIGHT samples, so
+// learning stays O(1) and recent traffic wins. Cells or hours without enough samples fall back to
+// the city-wide average for that hour, then to the configured default speed.
+//
+// Fed by telemetry (point speeds) and completed bookings (average trip speed spread over the
+// cells along the route). compact() runs nightly to age out old samples and drop idle cells.
+@Service
+public class EtaService implements TelemetryListener {
+
+    public static final int HOURS_PER_WEEK = 168;
+
+    private static final int INITIAL_CELLS = 4096;
+    private static final float MAX_WEIGHT = 50;
+    private static final float MIN_SAMPLES = 3;
+    private static final float TRIP_SAMPLE_WEIGHT = 0.5f;
+    private static final double MIN_SPEED_KMH = 1;
+    private static final double MAX_SPEED_KMH = 200;
+
+    // Result of an ETA query; coverage is the share of the route priced from learned cell speeds
+    public record Estimate(double distanceKm, double durationMinutes, double coverage) {}
+
+    private final GeoGrid grid;
+    private final double defaultSpeedKmh;
+    private final double routeFactor;
+    private final double decay;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private SlotMap cells = new SlotMap(INITIAL_CELLS);
+    private float[] speeds = new float[INITIAL_CELLS * HOURS_PER_WEEK];
+    private float[] weights = new float[INITIAL_CELLS * HOURS_PER_WEEK];
+    private final float[] hourSpeeds = new float[HOURS_PER_WEEK];
+    private final float[] hourWeights = new float[HOURS_PER_WEEK];
+
+    public EtaService(@Value("${neurofleetx.eta.cell-size-degrees:0.01}") double cellDegrees,
+                      @Value("${neurofleetx.eta.default-speed-kmh:30}") double defaultSpeedKmh,
+                      @Value("${neurofleetx.eta.route-factor:1.3}") double routeFactor,
+                      @Value("${neurofleetx.eta.nightly-decay:0.5}") double decay) {
+        this.grid = new GeoGrid(cellDegrees);
+        this.defaultSpeedKmh = defaultSpeedKmh;
+        this.routeFactor = routeFactor;
+        this.decay = decay;
+    }
+
+    @Override
+    public void onTelemetry(TelemetryReading reading) {
+        double speed = reading.speed();
+        if (!reading.hasPosition() || !(speed >= MIN_SPEED_KMH && speed <= MAX_SPEED_KMH)) {
+            return;
+        }
+        long cell = grid.cell(reading.latitude(), reading.longitude());
+        int hour = hourOfWeek(reading.timestamp());
+        lock.writeLock().lock();
+        try {
+            observe(cellSlot(cell), hour, (float) speed, 1f);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Spread the average speed of a finished trip over the cells along its straight line
+    public void onTripCompleted(Booking booking) {
+        if (booking.getPickupLatitude() == null || booking.getPickupLongitude() == null
+                || booking.getDropoffLatitude() == null || booking.getDropoffLongitude() == null
+                || booking.getActualDistance() == null || booking.getActualDuration() == null
+                || booking.getActualDistance() <= 0 || booking.getActualDuration() <= 0) {
+            return;
+        }
+        double speed = booking.getActualDistance() / (booking.getActualDuration() / 60.0);
+        if (speed < MIN_SPEED_KMH || speed > MAX_SPEED_KMH) {
+            return;
+        }
+        LocalDateTime start = booking.getActualPickupTime() != null ? booking.getActualPickupTime()
+                : booking.getActualDropoffTime() != null ? booking.getActualDropoffTime().minusSeconds((long) (booking.getActualDuration() * 60))
+                : LocalDateTime.now();
+        int hour = hourOfWeek(start.atZone(zone));
+
+        double fromLat = booking.getPickupLatitude();
+        double fromLng = booking.getPickupLongitude();
+        double toLat = booking.getDropoffLatitude();
+        double toLng = booking.getDropoffLongitude();
+        int steps = steps(GeoGrid.haversineKm(fromLat, fromLng, toLat, toLng));
+
+        lock.writeLock().lock();
+        try {
+            long previous = Long.MIN_VALUE;
+            for (int i = 0; i < steps; i++) {
+                double f = (i + 0.5) / steps;
+                long cell = grid.cell(fromLat + (toLat - fromLat) * f, fromLng + (toLng - fromLng) * f);
+                if (cell != previous) {
+                    observe(cellSlot(cell), hour, (float) speed, TRIP_SAMPLE_WEIGHT);
+                    previous = cell;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Predicted driving time from A to B leaving at departureMillis
+    public Estimate estimate(double fromLat, double fromLng, double toLat, double toLng, long departureMillis) {
+        double straightKm = GeoGrid.haversineKm(fromLat, fromLng, toLat, toLng);
+        double distanceKm = straightKm * routeFactor;
+        int steps = steps(straightKm);
+        double stepKm = distanceKm / steps;
+        int startHour = hourOfWeek(departureMillis);
+        double startMinute = minuteOfHour(departureMillis);
+
+        double minutes = 0;
+        double learnedKm = 0;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < steps; i++) {
+                double f = (i + 0.5) / steps;
+                long cell = grid.cell(fromLat + (toLat - fromLat) * f, fromLng + (toLng - fromLng) * f);
+                int hour = (startHour + (int) ((startMinute + minutes) / 60)) % HOURS_PER_WEEK;
+                int slot = cells.get(cell);
+                double speed;
+                if (slot >= 0 && weights[slot * HOURS_PER_WEEK + hour] >= MIN_SAMPLES) {
+                    speed = speeds[slot * HOURS_PER_WEEK + hour];
+                    learnedKm += stepKm;
+                } else if (hourWeights[hour] >= MIN_SAMPLES) {
+                    speed = hourSpeeds[hour];
+                } else {
+                    speed = defaultSpeedKmh;
+                }
+                minutes += stepKm / speed * 60;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Estimate(distanceKm, minutes, distanceKm > 0 ? learnedKm / distanceKm : 0);
+    }
+
+    public Estimate estimate(double fromLat, double fromLng, double toLat, double toLng, LocalDateTime departure) {
+        return estimate(fromLat, fromLng, toLat, toLng, departure.atZone(zone).toInstant().toEpochMilli());
+    }
+
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Nightly: age every sample so recent traffic dominates, then rebuild the arrays without
+    // cells that have no meaningful weight left
+    @Scheduled(cron = "${neurofleetx.eta.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            long[] keys = cells.keys();
+            SlotMap kept = new SlotMap(keys.length);
+            float[] newSpeeds = new float[speeds.length];
+            float[] newWeights = new float[weights.length];
+            for (int slot = 0; slot < keys.length; slot++) {
+                int from = slot * HOURS_PER_WEEK;
+                float total = 0;
+                for (int h = 0; h < HOURS_PER_WEEK; h++) {
+                    weights[from + h] *= (float) decay;
+                    total += weights[from + h];
+                }
+                if (total < MIN_SAMPLES) {
+                    continue;
+                }
+                int to = kept.getOrAssign(keys[slot]) * HOURS_PER_WEEK;
+                System.arraycopy(speeds, from, newSpeeds, to, HOURS_PER_WEEK);
+                System.arraycopy(weights, from, newWeights, to, HOURS_PER_WEEK);
+            }
+            for (int h = 0; h < HOURS_PER_WEEK; h++) {
+                hourWeights[h] *= (float) decay;
+            }
+            int capacity = Math.max(INITIAL_CELLS, kept.size() * 2) * HOURS_PER_WEEK;
+            cells = kept;
+            speeds = Arrays.copyOf(newSpeeds, capacity);
+            weights = Arrays.copyOf(newWeights, capacity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void observe(int slot, int hour, float speed, float weight) {
+        int i = slot * HOURS_PER_WEEK + hour;
+        weights[i] = update(speeds, weights, i, speed, weight);
+        hourWeights[hour] = update(hourSpeeds, hourWeights, hour, speed, weight);
+    }
+
+    // Weighted running mean, exponential once the weight is capped; returns the new weight
+    private static float update(float[] means, float[] weights, int i, float sample, float weight) {
+        float total = Math.min(weights[i] + weight, MAX_WEIGHT);
+        means[i] += (sample - means[i]) * (weight / total);
+        return total;
+    }
+
+    private int cellSlot(long cell) {
+        int slot = cells.getOrAssign(cell);
+        if ((slot + 1) * HOURS_PER_WEEK > speeds.length) {
+            speeds = Arrays.copyOf(speeds, speeds.length * 2);
+            weights = Arrays.copyOf(weights, weights.length * 2);
+        }
+        return slot;
+    }
+
+    // Walk in half-cell steps so no cell on the line is skipped
+    private int steps(double km) {
+        return Math.max(1, (int) Math.ceil(km / (grid.cellKm() / 2)));
+    }
+
+    private int hourOfWeek(long epochMillis) {
+        return hourOfWeek(Instant.ofEpochMilli(epochMillis).atZone(zone));
+    }
+
+    private static int hourOfWeek(ZonedDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    private double minuteOfHour(long epochMillis) {
+        ZonedDateTime time = Instant.ofEpochMilli(epochMillis).atZone(zone);
+        return time.getMinute() + time.getSecond() / 60.0;
+    }
+}
@@ -0,0 +1,315 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.config.EvProperties;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.util.SlotMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Battery state of every EV, range checks for bookings and a rolling charging plan.
+//
+// Battery level, measured drain and position live in flat arrays indexed by SlotMap slot and are
+// kept current by telemetry, so checking whether an EV can cover a trip is an O(1) lookup.
+//
+// refreshPlan() runs every minute: EVs are queued by the time they are predicted to fall to the charge
+// threshold, and taken earliest-first onto the configured chargers. Each charger has `capacity`
+// units with a next-free time; an EV gets the unit where it can plug in soonest, leaving so it
+// arrives as it reaches the threshold. EVs that would run flat before a unit frees up are
+// flagged at risk. The plan is kept as an immutable snapshot for the API.
+@Service
+public class EvChargingScheduler implements TelemetryListener {
+
+    private static final int INITIAL_VEHICLES = 256;
+    private static final double ALPHA = 0.2;
+    private static final double MIN_DRAIN_PER_HOUR = 0.5;
+    private static final long MAX_SAMPLE_GAP_MS = 60 * 60 * 1000L;
+    private static final long HOUR_MS = 3_600_000L;
+
+    public record ChargingWindow(
+            long vehicleId,
+            double batteryLevel,
+            LocalDateTime reachesThresholdAt,
+            String charger,
+            LocalDateTime leaveAt,
+            LocalDateTime startAt,
+            LocalDateTime endAt,
+            double chargeToPercent,
+            boolean atRisk) {}
+
+    public record ChargingPlan(LocalDateTime generatedAt, int electricVehicles, int atRisk, List<ChargingWindow> windows) {}
+
+    private record Need(int vehicle, long reachesThresholdAt) {}
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private final EvProperties properties;
+    private final EtaService etaService;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Guarded by this
+    private final SlotMap slots = new SlotMap(INITIAL_VEHICLES);
+    private boolean[] tracked = new boolean[INITIAL_VEHICLES];
+    private double[] battery = new double[INITIAL_VEHICLES];
+    private double[] storedBattery = new double[INITIAL_VEHICLES];
+    private double[] drain = new double[INITIAL_VEHICLES];
+    private double[] latitude = new double[INITIAL_VEHICLES];
+    private double[] longitude = new double[INITIAL_VEHICLES];
+    private long[] lastTimestamp = new long[INITIAL_VEHICLES];
+
+    private volatile ChargingPlan plan;
+
+    public EvChargingScheduler(EvProperties properties, EtaService etaService) {
+        this.properties = properties;
+        this.etaService = etaService;
+    }
+
+    public static boolean isElectric(Vehicle vehicle) {
+        return "EV".equals(vehicle.getType()) || "ELECTRIC".equalsIgnoreCase(vehicle.getFuelType());
+    }
+
+    // Seed battery levels and positions of all EVs from the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = vehicleRepository.findElectricSnapshots();
+        synchronized (this) {
+            for (Object[] row : rows) {
+                track(((Number) row[0]).longValue(), (Double) row[1], (Double) row[2], (Double) row[3]);
+            }
+        }
+        refreshPlan();
+    }
+
+    // Start or stop tracking a created or updated vehicle depending on whether it is electric
+    public synchronized void track(Vehicle vehicle) {
+        if (isElectric(vehicle)) {
+            track(vehicle.getId(), vehicle.getBatteryLevel(), vehicle.getCurrentLatitude(), vehicle.getCurrentLongitude());
+        } else {
+            forget(vehicle.getId());
+        }
+    }
+
+    public synchronized void forget(long vehicleId) {
+        int slot = slots.get(vehicleId);
+        if (slot >= 0) {
+            tracked[slot] = false;
+        }
+    }
+
+    @Override
+    public synchronized void onTelemetry(TelemetryReading reading) {
+        int slot = slots.get(reading.vehicleId());
+        if (slot < 0 || !tracked[slot]) {
+            return;
+        }
+        long now = reading.timestamp();
+        long last = lastTimestamp[slot];
+        if (last != 0 && now <= last) {
+            return; // out-of-order reading
+        }
+        double level = reading.batteryLevel();
+        if (!Double.isNaN(level)) {
+            double previous = battery[slot];
+            if (last != 0 && now - last <= MAX_SAMPLE_GAP_MS && !Double.isNaN(previous) && level <= previous) {
+                double sample = (previous - level) / ((now - last) / (double) HOUR_MS);
+                drain[slot] = Double.isNaN(drain[slot]) ? sample : drain[slot] + ALPHA * (sample - drain[slot]);
+            }
+            battery[slot] = level;
+        }
+        if (reading.hasPosition()) {
+            latitude[slot] = reading.latitude();
+            longitude[slot] = reading.longitude();
+        }
+        lastTimestamp[slot] = now;
+    }
+
+    // Remaining range in km; +Infinity for vehicles that are not electric or whose level is unknown
+    public double rangeKm(Vehicle vehicle) {
+        if (!isElectric(vehicle)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double level;
+        synchronized (this) {
+            int slot = slots.get(vehicle.getId());
+            level = slot >= 0 && tracked[slot] ? battery[slot] : Double.NaN;
+        }
+        if (Double.isNaN(level) && vehicle.getBatteryLevel() != null) {
+            level = vehicle.getBatteryLevel();
+        }
+        return Double.isNaN(level) ? Double.POSITIVE_INFINITY : level / 100 * properties.getRangeKm();
+    }
+
+    // Whether the vehicle can drive tripKm and still keep the configured reserve
+    public boolean canCover(Vehicle vehicle, double tripKm) {
+        return rangeKm(vehicle) >= requiredKm(tripKm);
+    }
+
+    public double requiredKm(double tripKm) {
+        return tripKm + properties.getRangeKm() * properties.getReservePercent() / 100;
+    }
+
+    // Latest charging plan
+    public ChargingPlan currentPlan() {
+        ChargingPlan current = plan;
+        if (current == null) {
+            current = plan(System.currentTimeMillis());
+            plan = current;
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${neurofleetx.ev.plan-interval-ms:60000}")
+    public void refreshPlan() {
+        plan = plan(System.currentTimeMillis());
+    }
+
+    public ChargingPlan plan(long now) {
+        long[] ids;
+        double[] levels;
+        double[] drains;
+        double[] lats;
+        double[] lngs;
+        synchronized (this) {
+            long[] keys = slots.keys();
+            int n = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (tracked[slot] && !Double.isNaN(battery[slot])) {
+                    n++;
+                }
+            }
+            ids = new long[n];
+            levels = new double[n];
+            drains = new double[n];
+            lats = new double[n];
+            lngs = new double[n];
+            int i = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (tracked[slot] && !Double.isNaN(battery[slot])) {
+                    ids[i] = keys[slot];
+                    levels[i] = battery[slot];
+                    drains[i] = Double.isNaN(drain[slot]) ? properties.getDefaultDrainPercentPerHour() : Math.max(MIN_DRAIN_PER_HOUR, drain[slot]);
+                    lats[i] = latitude[slot];
+                    lngs[i] = longitude[slot];
+                    i++;
+                }
+            }
+        }
+
+        double threshold = properties.getChargeThresholdPercent();
+        long horizon = now + (long) (properties.getPlanHorizonHours() * HOUR_MS);
+        PriorityQueue<Need> queue = new PriorityQueue<>(Comparator.comparingLong(Need::reachesThresholdAt));
+        for (int i = 0; i < ids.length; i++) {
+            long reachesAt = now + (long) (Math.max(0, levels[i] - threshold) / drains[i] * HOUR_MS);
+            if (reachesAt <= horizon) {
+                queue.add(new Need(i, reachesAt));
+            }
+        }
+
+        List<EvProperties.Charger> chargers = properties.getChargers();
+        long[][] unitFreeAt = new long[chargers.size()][];
+        for (int c = 0; c < unitFreeAt.length; c++) {
+            unitFreeAt[c] = new long[Math.max(1, chargers.get(c).getCapacity())];
+            Arrays.fill(unitFreeAt[c], now);
+        }
+
+        List<ChargingWindow> windows = new ArrayList<>(queue.size());
+        int atRisk = 0;
+        while (!queue.isEmpty()) {
+            Need need = queue.poll();
+            int i = need.vehicle();
+            long emptyAt = now + (long) (levels[i] / drains[i] * HOUR_MS);
+
+            int bestCharger = -1;
+            int bestUnit = -1;
+            long bestStart = Long.MAX_VALUE;
+            long bestTravel = 0;
+            for (int c = 0; c < unitFreeAt.length; c++) {
+                long travel = travelMillis(lats[i], lngs[i], chargers.get(c), now);
+                long arrival = Math.max(now + travel, need.reachesThresholdAt());
+                for (int u = 0; u < unitFreeAt[c].length; u++) {
+                    long start = Math.max(arrival, unitFreeAt[c][u]);
+                    if (start < bestStart || (start == bestStart && travel < bestTravel)) {
+                        bestCharger = c;
+                        bestUnit = u;
+                        bestStart = start;
+                        bestTravel = travel;
+                    }
+                }
+            }
+
+            if (bestCharger < 0) {
+                boolean risk = emptyAt <= horizon;
+                atRisk += risk ? 1 : 0;
+                windows.add(new ChargingWindow(ids[i], levels[i], time(need.reachesThresholdAt()), null, null, null, null,
+                        properties.getChargeTargetPercent(), risk));
+                continue;
+            }
+            EvProperties.Charger charger = chargers.get(bestCharger);
+            double levelAtStart = Math.max(0, levels[i] - drains[i] * (bestStart - now) / HOUR_MS);
+            double hours = Math.max(0, properties.getChargeTargetPercent() - levelAtStart) / charger.getPercentPerHour();
+            long end = bestStart + (long) (hours * HOUR_MS);
+            unitFreeAt[bestCharger][bestUnit] = end;
+            boolean risk = bestStart > emptyAt;
+            atRisk += risk ? 1 : 0;
+            windows.add(new ChargingWindow(ids[i], levels[i], time(need.reachesThresholdAt()), charger.getName(),
+                    time(Math.max(now, bestStart - bestTravel)), time(bestStart), time(end), properties.getChargeTargetPercent(), risk));
+        }
+        return new ChargingPlan(time(now), ids.length, atRisk, windows);
+    }
+
+    private void track(long vehicleId, Double level, Double lat, Double lng) {
+        int slot = slots.getOrAssign(vehicleId);
+        if (slot >= tracked.length) {
+            int capacity = tracked.length * 2;
+            tracked = Arrays.copyOf(tracked, capacity);
+            battery = Arrays.copyOf(battery, capacity);
+            storedBattery = Arrays.copyOf(storedBattery, capacity);
+            drain = Arrays.copyOf(drain, capacity);
+            latitude = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            lastTimestamp = Arrays.copyOf(lastTimestamp, capacity);
+        }
+        double stored = level != null ? level : Double.NaN;
+        if (!tracked[slot]) {
+            tracked[slot] = true;
+            battery[slot] = stored;
+            storedBattery[slot] = stored;
+            latitude[slot] = lat != null ? lat : Double.NaN;
+            longitude[slot] = lng != null ? lng : Double.NaN;
+            drain[slot] = Double.NaN;
+            lastTimestamp[slot] = 0;
+        } else if (!Double.isNaN(stored) && Double.compare(stored, storedBattery[slot]) != 0) {
+            // The stored level was corrected: it wins over telemetry, and the next reading starts a
+            // new drain sample instead of measuring against the correction
+            battery[slot] = stored;
+            storedBattery[slot] = stored;
+            lastTimestamp[slot] = 0;
+        }
+        // Otherwise telemetry is newer than the stored row
+    }
+
+    private long travelMillis(double lat, double lng, EvProperties.Charger charger, long now) {
+        if (Double.isNaN(lat) || Double.isNaN(lng)) {
+            return 0;
+        }
+        double minutes = etaService.estimate(lat, lng, charger.getLatitude(), charger.getLongitude(), now).durationMinutes();
+        return (long) (minutes * 60_000);
+    }
+
+    private LocalDateTime time(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+}
@@ -0,0 +1,18 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.config.GeofenceProperties.ZoneType;
+
+import java.time.LocalDateTime;
+
+// A vehicle crossing a geofence boundary; published as an application event by GeofenceService
+public record GeofenceEvent(
+        long vehicleId,
+        String zone,
+        ZoneType zoneType,
+        Transition transition,
+        double latitude,
+        double longitude,
+        LocalDateTime at) {
+
+    public enum Transition { ENTER, EXIT }
+}
@@ -0,0 +1,292 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.config.GeofenceProperties;
+import com.neurofleetx.config.GeofenceProperties.ZoneType;
+import com.neurofleetx.util.GeoGrid;
+import com.neurofleetx.util.SlotMap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Tracks which geofences (depots, restricted zones, service areas) each vehicle is in and
+// publishes a GeofenceEvent whenever a vehicle enters or leaves one.
+//
+// Zones are compiled once into a uniform grid. Every cell touched by a zone's bounding box holds
+// a bitmask of candidate zones, plus a second mask of zones that cover the whole cell, so most
+// positions are answered by a map lookup and a ray-casting test against at most a few polygons
+// along zone borders. Per vehicle only a long bitmask of the zones it is in is kept; a reading
+// costs one XOR against it and events are created only for the bits that changed.
+@Service
+public class GeofenceService implements TelemetryListener {
+
+    public static final int MAX_ZONES = Long.SIZE;
+
+    private static final int INITIAL_VEHICLES = 1024;
+    private static final int RECENT_EVENTS = 1000;
+    private static final long MAX_INDEXED_CELLS = 1_000_000;
+
+    public record ZoneSummary(String name, ZoneType type, double minLatitude, double minLongitude,
+                              double maxLatitude, double maxLongitude) {}
+
+    private final ApplicationEventPublisher publisher;
+    private final ZoneId timeZone = ZoneId.systemDefault();
+
+    // Immutable after construction
+    private final GeoGrid grid;
+    private final String[] names;
+    private final ZoneType[] types;
+    private final double[][] lats;
+    private final double[][] lngs;
+    private final double[] minLat;
+    private final double[] maxLat;
+    private final double[] minLng;
+    private final double[] maxLng;
+    private final SlotMap cells;
+    private final long[] candidateMasks;
+    private final long[] coveredMasks;
+
+    // Guarded by this
+    private final SlotMap vehicles = new SlotMap(INITIAL_VEHICLES);
+    private long[] inside = new long[INITIAL_VEHICLES];
+    private long[] lastTimestamp = new long[INITIAL_VEHICLES];
+    private final GeofenceEvent[] recent = new GeofenceEvent[RECENT_EVENTS];
+    private long eventCount;
+
+    public GeofenceService(GeofenceProperties properties, ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+        List<GeofenceProperties.Zone> zones = properties.getZones();
+        if (zones.size() > MAX_ZONES) {
+            throw new IllegalStateException("At most " + MAX_ZONES + " geofences are supported, got " + zones.size());
+        }
+        int n = zones.size();
+        grid = new GeoGrid(properties.getCellSizeDegrees());
+        names = new String[n];
+        types = new ZoneType[n];
+        lats = new double[n][];
+        lngs = new double[n][];
+        minLat = new double[n];
+        maxLat = new double[n];
+        minLng = new double[n];
+        maxLng = new double[n];
+        for (int z = 0; z < n; z++) {
+            GeofenceProperties.Zone zone = zones.get(z);
+            if (zone.getName() == null || zone.getPolygon() == null) {
+                throw new IllegalStateException("Geofence " + z + " needs a name and a polygon");
+            }
+            names[z] = zone.getName();
+            types[z] = zone.getType();
+            parsePolygon(z, zone.getPolygon());
+        }
+
+        // Index every cell of every zone's bounding box
+        long cellCount = 0;
+        for (int z = 0; z < n; z++) {
+            cellCount += (grid.row(maxLat[z]) - grid.row(minLat[z]) + 1) * (grid.col(maxLng[z]) - grid.col(minLng[z]) + 1);
+        }
+        if (cellCount > MAX_INDEXED_CELLS) {
+            throw new IllegalStateException("Geofences cover " + cellCount + " grid cells; use a larger neurofleetx.geofence.cell-size-degrees");
+        }
+        cells = new SlotMap((int) cellCount);
+        long[] candidates = new long[(int) cellCount];
+        long[] covered = new long[(int) cellCount];
+        for (int z = 0; z < n; z++) {
+            long bit = 1L << z;
+            for (long row = grid.row(minLat[z]); row <= grid.row(maxLat[z]); row++) {
+                for (long col = grid.col(minLng[z]); col <= grid.col(maxLng[z]); col++) {
+                    int slot = cells.getOrAssign(GeoGrid.cell(row, col));
+                    candidates[slot] |= bit;
+                    if (coversCell(z, row, col)) {
+                        covered[slot] |= bit;
+                    }
+                }
+            }
+        }
+        candidateMasks = Arrays.copyOf(candidates, cells.size());
+        coveredMasks = Arrays.copyOf(covered, cells.size());
+    }
+
+    @Override
+    public void onTelemetry(TelemetryReading reading) {
+        if (names.length == 0 || !reading.hasPosition()) {
+            return;
+        }
+        long zones = zonesAt(reading.latitude(), reading.longitude());
+        List<GeofenceEvent> events;
+        synchronized (this) {
+            int slot = slotOf(reading.vehicleId());
+            if (lastTimestamp[slot] != 0 && reading.timestamp() <= lastTimestamp[slot]) {
+                return; // out-of-order reading
+            }
+            lastTimestamp[slot] = reading.timestamp();
+            long changed = inside[slot] ^ zones;
+            if (changed == 0) {
+                return;
+            }
+            inside[slot] = zones;
+            events = new ArrayList<>(Long.bitCount(changed));
+            LocalDateTime at = LocalDateTime.ofInstant(Instant.ofEpochMilli(reading.timestamp()), timeZone);
+            for (long bits = changed; bits != 0; bits &= bits - 1) {
+                int z = Long.numberOfTrailingZeros(bits);
+                GeofenceEvent.Transition transition = (zones & (1L << z)) != 0 ? GeofenceEvent.Transition.ENTER : GeofenceEvent.Transition.EXIT;
+                GeofenceEvent event = new GeofenceEvent(reading.vehicleId(), names[z], types[z], transition,
+                        reading.latitude(), reading.longitude(), at);
+                recent[(int) (eventCount++ % RECENT_EVENTS)] = event;
+                events.add(event);
+            }
+        }
+        for (GeofenceEvent event : events) {
+            publisher.publishEvent(event);
+        }
+    }
+
+    // Bitmask of the zones containing the point (bit i = i-th configured zone)
+    public long zonesAt(double latitude, double longitude) {
+        int slot = cells.get(grid.cell(latitude, longitude));
+        if (slot < 0) {
+            return 0;
+        }
+        long result = coveredMasks[slot];
+        for (long bits = candidateMasks[slot] & ~result; bits != 0; bits &= bits - 1) {
+            int z = Long.numberOfTrailingZeros(bits);
+            if (latitude >= minLat[z] && latitude <= maxLat[z] && longitude >= minLng[z] && longitude <= maxLng[z]
+                    && contains(z, latitude, longitude)) {
+                result |= 1L << z;
+            }
+        }
+        return result;
+    }
+
+    public List<String> zoneNames(long mask) {
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            result.add(names[Long.numberOfTrailingZeros(bits)]);
+        }
+        return result;
+    }
+
+    // Zones the vehicle was in at its last reading
+    public synchronized List<String> zonesOf(long vehicleId) {
+        int slot = vehicles.get(vehicleId);
+        return slot >= 0 ? zoneNames(inside[slot]) : List.of();
+    }
+
+    // Most recent enter/exit events, newest first
+    public synchronized List<GeofenceEvent> recentEvents(int limit) {
+        int count = (int) Math.min(Math.min(limit, RECENT_EVENTS), eventCount);
+        List<GeofenceEvent> result = new ArrayList<>(Math.max(0, count));
+        for (long i = eventCount - 1; i >= eventCount - count; i--) {
+            result.add(recent[(int) (i % RECENT_EVENTS)]);
+        }
+        return result;
+    }
+
+    public List<ZoneSummary> zones() {
+        List<ZoneSummary> result = new ArrayList<>(names.length);
+        for (int z = 0; z < names.length; z++) {
+            result.add(new ZoneSummary(names[z], types[z], minLat[z], minLng[z], maxLat[z], maxLng[z]));
+        }
+        return result;
+    }
+
+    // Ray casting: count polygon edges crossed by a ray running east from the point
+    private boolean contains(int z, double latitude, double longitude) {
+        double[] ys = lats[z];
+        double[] xs = lngs[z];
+        boolean in = false;
+        for (int i = 0, j = ys.length - 1; i < ys.length; j = i++) {
+            if ((ys[i] > latitude) != (ys[j] > latitude)
+                    && longitude < (xs[j] - xs[i]) * (latitude - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                in = !in;
+            }
+        }
+        return in;
+    }
+
+    // True if the zone contains the whole cell: all corners inside and no edge crossing the cell
+    private boolean coversCell(int z, long row, long col) {
+        double south = grid.rowLatitude(row);
+        double north = grid.rowLatitude(row + 1);
+        double west = grid.colLongitude(col);
+        double east = grid.colLongitude(col + 1);
+        if (!contains(z, south, west) || !contains(z, south, east) || !contains(z, north, west) || !contains(z, north, east)) {
+            return false;
+        }
+        double[] ys = lats[z];
+        double[] xs = lngs[z];
+        for (int i = 0, j = ys.length - 1; i < ys.length; j = i++) {
+            if (segmentTouchesBox(xs[j], ys[j], xs[i], ys[i], west, south, east, north)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Liang-Barsky clipping of the segment against the box
+    private static boolean segmentTouchesBox(double x0, double y0, double x1, double y1,
+                                             double minX, double minY, double maxX, double maxY) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x0 - minX, maxX - x0, y0 - minY, maxY - y0};
+        double t0 = 0;
+        double t1 = 1;
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) {
+                    return false;
+                }
+            } else {
+                double t = q[k] / p[k];
+                if (p[k] < 0) {
+                    t0 = Math.max(t0, t);
+                } else {
+                    t1 = Math.min(t1, t);
+                }
+                if (t0 > t1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void parsePolygon(int z, String polygon) {
+        String[] corners = polygon.split(",");
+        if (corners.length < 3) {
+            throw new IllegalStateException("Geofence " + names[z] + " needs at least three corners");
+        }
+        lats[z] = new double[corners.length];
+        lngs[z] = new double[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            String[] parts = corners[i].trim().split("\\s+");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Geofence " + names[z] + " corner must be \"lat lng\": " + corners[i].trim());
+            }
+            try {
+                lats[z][i] = Double.parseDouble(parts[0]);
+                lngs[z][i] = Double.parseDouble(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Geofence " + names[z] + " corner must be \"lat lng\": " + corners[i].trim());
+            }
+        }
+        minLat[z] = Arrays.stream(lats[z]).min().getAsDouble();
+        maxLat[z] = Arrays.stream(lats[z]).max().getAsDouble();
+        minLng[z] = Arrays.stream(lngs[z]).min().getAsDouble();
+        maxLng[z] = Arrays.stream(lngs[z]).max().getAsDouble();
+    }
+
+    private int slotOf(long vehicleId) {
+        int slot = vehicles.getOrAssign(vehicleId);
+        if (slot >= inside.length) {
+            inside = Arrays.copyOf(inside, inside.length * 2);
+            lastTimestamp = Arrays.copyOf(lastTimestamp, lastTimestamp.length * 2);
+        }
+        return slot;
+    }
+}
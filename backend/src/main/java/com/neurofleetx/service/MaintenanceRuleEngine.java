@@ -0,0 +1,323 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.config.MaintenanceRuleProperties;
+import com.neurofleetx.config.MaintenanceRuleProperties.Metric;
+import com.neurofleetx.config.MaintenanceRuleProperties.Rule;
+import com.neurofleetx.config.MaintenanceRuleProperties.Type;
+import com.neurofleetx.repository.MaintenanceAlertRepository;
+import com.neurofleetx.util.SlotMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Evaluates the configured maintenance rules against every telemetry reading as it arrives.
+//
+// Rules are compiled into parallel arrays. Each vehicle gets a dense slot (SlotMap) and a
+// fixed-size stretch of one shared double[] holding its rule state: nothing for THRESHOLD,
+// [last value, last timestamp] for RATE_OF_CHANGE, [count, sum, ring of `window` values] for
+// WINDOW_AVERAGE. A per-vehicle long bitmask marks rules with an open alert, so an alert is
+// raised only when a rule goes from clear to firing and is not raised again until resolved.
+//
+// New alerts are queued and written by flush() in one JDBC batch every few hundred ms. The queue
+// holds at most MAX_PENDING alerts; a rule that fires while it is full stays clear and fires again
+// on a later reading. A batch that fails to write is retried alone, so newer alerts wait behind it,
+// and is dropped after MAX_FLUSH_ATTEMPTS; its rules are cleared so they can fire again.
+@Service
+public class MaintenanceRuleEngine implements TelemetryListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceRuleEngine.class);
+
+    private static final int MAX_RULES = Long.SIZE;
+    private static final int INITIAL_VEHICLES = 1024;
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_PENDING = 10_000;
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    // Selecting from vehicles skips alerts for vehicles deleted (or never created) in the meantime
+    private static final String INSERT_ALERT =
+            "INSERT INTO maintenance_alerts (vehicle_id, rule_name, metric, severity, message, metric_value, threshold, triggered_at, resolved) "
+            + "SELECT id, ?, ?, ?, ?, ?, ?, ?, FALSE FROM vehicles WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MaintenanceAlertRepository alertRepository;
+
+    private final String[] names;
+    private final Metric[] metrics;
+    private final Type[] types;
+    private final boolean[] above;
+    private final double[] thresholds;
+    private final int[] windows;
+    private final String[] severities;
+    private final int[] stateOffset;
+    private final int[][] rulesByMetric;
+    private final int stride;
+
+    // Guarded by this
+    private final SlotMap slots = new SlotMap(INITIAL_VEHICLES);
+    private double[] state;
+    private long[] active = new long[INITIAL_VEHICLES];
+    private List<PendingAlert> pending = new ArrayList<>();
+
+    // Guarded by flushLock
+    private final Object flushLock = new Object();
+    private List<PendingAlert> failed = List.of();
+    private int failedAttempts;
+
+    private record PendingAlert(long vehicleId, int rule, double value, long timestamp) {}
+
+    public MaintenanceRuleEngine(MaintenanceRuleProperties properties) {
+        List<Rule> rules = properties.getRules();
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalStateException("At most " + MAX_RULES + " maintenance rules are supported, got " + rules.size());
+        }
+        int n = rules.size();
+        names = new String[n];
+        metrics = new Metric[n];
+        types = new Type[n];
+        above = new boolean[n];
+        thresholds = new double[n];
+        windows = new int[n];
+        severities = new String[n];
+        stateOffset = new int[n];
+
+        int offset = 0;
+        for (int r = 0; r < n; r++) {
+            Rule rule = rules.get(r);
+            if (rule.getName() == null || rule.getMetric() == null) {
+                throw new IllegalStateException("Maintenance rule " + r + " needs a name and a metric");
+            }
+            names[r] = rule.getName();
+            metrics[r] = rule.getMetric();
+            types[r] = rule.getType();
+            above[r] = rule.getOperator() == MaintenanceRuleProperties.Operator.ABOVE;
+            thresholds[r] = rule.getThreshold();
+            windows[r] = Math.max(1, rule.getWindow());
+            severities[r] = rule.getSeverity();
+            stateOffset[r] = offset;
+            offset += switch (types[r]) {
+                case THRESHOLD -> 0;
+                case RATE_OF_CHANGE -> 2;
+                case WINDOW_AVERAGE -> 2 + windows[r];
+            };
+        }
+        stride = offset;
+
+        rulesByMetric = new int[Metric.values().length][];
+        for (Metric metric : Metric.values()) {
+            rulesByMetric[metric.ordinal()] = IntStream.range(0, n).filter(r -> metrics[r] == metric).toArray();
+        }
+        state = new double[INITIAL_VEHICLES * stride];
+    }
+
+    // Mark rules that already have an open alert so a restart does not raise them again
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOpenAlerts() {
+        List<Object[]> keys = alertRepository.findOpenAlertKeys();
+        synchronized (this) {
+            for (Object[] key : keys) {
+                int rule = ruleIndex((String) key[1]);
+                if (rule >= 0) {
+                    active[slotOf(((Number) key[0]).longValue())] |= 1L << rule;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onTelemetry(TelemetryReading reading) {
+        int slot = slotOf(reading.vehicleId());
+        evaluate(slot, reading.vehicleId(), Metric.FUEL_LEVEL, reading.fuelLevel(), reading.timestamp());
+        evaluate(slot, reading.vehicleId(), Metric.BATTERY_LEVEL, reading.batteryLevel(), reading.timestamp());
+        evaluate(slot, reading.vehicleId(), Metric.ENGINE_TEMPERATURE, reading.engineTemperature(), reading.timestamp());
+        evaluate(slot, reading.vehicleId(), Metric.SPEED, reading.speed(), reading.timestamp());
+    }
+
+    // Health scores are derived by VehicleHealthModel rather than reported by the vehicle
+    public synchronized void onHealthScore(long vehicleId, double score, long timestamp) {
+        evaluate(slotOf(vehicleId), vehicleId, Metric.HEALTH_SCORE, score, timestamp);
+    }
+
+    private void evaluate(int slot, long vehicleId, Metric metric, double value, long timestamp) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        int base = slot * stride;
+        for (int r : rulesByMetric[metric.ordinal()]) {
+            double observed = switch (types[r]) {
+                case THRESHOLD -> value;
+                case RATE_OF_CHANGE -> rateOfChange(base + stateOffset[r], value, timestamp);
+                case WINDOW_AVERAGE -> windowAverage(base + stateOffset[r], windows[r], value);
+            };
+            if (Double.isNaN(observed)) {
+                continue;
+            }
+            boolean firing = above[r] ? observed > thresholds[r] : observed < thresholds[r];
+            long bit = 1L << r;
+            if (firing && (active[slot] & bit) == 0 && pending.size() < MAX_PENDING) {
+                active[slot] |= bit;
+                pending.add(new PendingAlert(vehicleId, r, observed, timestamp));
+            }
+        }
+    }
+
+    // Write queued alerts in one batch
+    @Scheduled(fixedDelayString = "${neurofleetx.maintenance.flush-interval-ms:250}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (!failed.isEmpty()) {
+                if (write(failed)) {
+                    failed = List.of();
+                } else if (++failedAttempts < MAX_FLUSH_ATTEMPTS) {
+                    return;
+                } else {
+                    log.error("Dropping {} maintenance alerts after {} failed writes", failed.size(), failedAttempts);
+                    release(failed);
+                    failed = List.of();
+                }
+            }
+
+            List<PendingAlert> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            if (!write(batch)) {
+                failed = batch;
+                failedAttempts = 1;
+            }
+        }
+    }
+
+    private boolean write(List<PendingAlert> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ALERT, batch, BATCH_SIZE, (ps, alert) -> {
+                int r = alert.rule();
+                ps.setString(1, names[r]);
+                ps.setString(2, metrics[r].name());
+                ps.setString(3, severities[r]);
+                ps.setString(4, describe(r, alert.value()));
+                ps.setDouble(5, alert.value());
+                ps.setDouble(6, thresholds[r]);
+                ps.setTimestamp(7, new Timestamp(alert.timestamp()));
+                ps.setLong(8, alert.vehicleId());
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Error writing maintenance alerts, will retry: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Alerts that were never written: let their rules fire again
+    private synchronized void release(List<PendingAlert> batch) {
+        for (PendingAlert alert : batch) {
+            int slot = slots.get(alert.vehicleId());
+            if (slot >= 0) {
+                active[slot] &= ~(1L << alert.rule());
+            }
+        }
+    }
+
+    // Called when an alert is resolved so the rule can fire again for that vehicle
+    public synchronized void reset(Long vehicleId, String ruleName) {
+        int slot = slots.get(vehicleId);
+        int rule = ruleIndex(ruleName);
+        if (slot >= 0 && rule >= 0) {
+            active[slot] &= ~(1L << rule);
+        }
+    }
+
+    // Drop the rule state of a deleted vehicle; its slot goes to the next new one
+    public synchronized void forget(long vehicleId) {
+        int slot = slots.remove(vehicleId);
+        if (slot >= 0) {
+            active[slot] = 0;
+            Arrays.fill(state, slot * stride, (slot + 1) * stride, 0);
+        }
+    }
+
+    public synchronized int pendingAlerts() {
+        return pending.size();
+    }
+
+    private double rateOfChange(int at, double value, long timestamp) {
+        double lastValue = state[at];
+        long lastTimestamp = (long) state[at + 1];
+        if (lastTimestamp != 0 && timestamp <= lastTimestamp) {
+            return Double.NaN; // out-of-order reading
+        }
+        state[at] = value;
+        state[at + 1] = timestamp;
+        if (lastTimestamp == 0) {
+            return Double.NaN;
+        }
+        return (value - lastValue) / ((timestamp - lastTimestamp) / 60000.0);
+    }
+
+    private double windowAverage(int at, int window, double value) {
+        long count = (long) state[at];
+        int pos = (int) (count % window);
+        int ring = at + 2;
+        if (pos == 0 && count > 0) {
+            // Recompute once per lap so the running sum cannot drift
+            double sum = 0;
+            for (int i = 0; i < window; i++) {
+                sum += state[ring + i];
+            }
+            state[at + 1] = sum;
+        }
+        if (count >= window) {
+            state[at + 1] -= state[ring + pos];
+        }
+        state[ring + pos] = value;
+        state[at + 1] += value;
+        state[at] = count + 1;
+        return count + 1 >= window ? state[at + 1] / window : Double.NaN;
+    }
+
+    private int slotOf(long vehicleId) {
+        int slot = slots.getOrAssign(vehicleId);
+        if (slot >= active.length) {
+            int capacity = active.length * 2;
+            active = Arrays.copyOf(active, capacity);
+            state = Arrays.copyOf(state, capacity * stride);
+        }
+        return slot;
+    }
+
+    private int ruleIndex(String name) {
+        for (int r = 0; r < names.length; r++) {
+            if (names[r].equals(name)) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    private String describe(int r, double value) {
+        String what = switch (types[r]) {
+            case THRESHOLD -> metrics[r].name();
+            case RATE_OF_CHANGE -> metrics[r].name() + " change per minute";
+            case WINDOW_AVERAGE -> metrics[r].name() + " average over " + windows[r] + " readings";
+        };
+        return String.format("%s %s %s %.2f (was %.2f)", names[r], what, above[r] ? "above" : "below", thresholds[r], value);
+    }
+}
@@ -0,0 +1,51 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.MaintenanceAlert;
+import com.neurofleetx.repository.MaintenanceAlertRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class MaintenanceService {
+
+    @Autowired
+    private MaintenanceAlertRepository alertRepository;
+
+    @Autowired
+    private MaintenanceRuleEngine ruleEngine;
+
+    // Get open alerts, newest first
+    @Transactional(readOnly = true)
+    public List<MaintenanceAlert> getOpenAlerts() {
+        return alertRepository.findByResolvedFalseOrderByTriggeredAtDesc();
+    }
+
+    // Get all alerts of a vehicle, newest first
+    @Transactional(readOnly = true)
+    public List<MaintenanceAlert> getAlertsByVehicle(Long vehicleId) {
+        return alertRepository.findByVehicleIdOrderByTriggeredAtDesc(vehicleId);
+    }
+
+    // Resolve an alert; the rule may fire again for the vehicle afterwards
+    @Transactional
+    public Optional<MaintenanceAlert> resolveAlert(Long alertId) {
+        Optional<MaintenanceAlert> alertOpt = alertRepository.findById(alertId);
+        if (alertOpt.isPresent()) {
+            MaintenanceAlert alert = alertOpt.get();
+            if (!alert.isResolved()) {
+                alert.setResolved(true);
+                alert.setResolvedAt(LocalDateTime.now());
+                alertRepository.save(alert);
+                Long vehicleId = alert.getVehicle().getId();
+                String ruleName = alert.getRuleName();
+                AfterCommit.run(() -> ruleEngine.reset(vehicleId, ruleName));
+            }
+        }
+        return alertOpt;
+    }
+}
@@ -0,0 +1,174 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.util.GeoGrid;
+import com.neurofleetx.util.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Server-side fares with a surge multiplier per pricing zone (a coarse GeoGrid cell).
+//
+// Demand is the number of bookings requested from a zone over a sliding window, kept in
+// lock-free bucketed counters. Supply is the number of available vehicles parked in the zone,
+// refreshed from the database every few seconds into an immutable snapshot. The surge for a
+// zone is computed at most once per quote TTL and cached, so quoting is a couple of map reads.
+// Zones come from client coordinates, so both maps only keep live zones: each supply refresh
+// drops counters with no requests left in the window and expired surges.
+@Service
+public class PricingService {
+
+    // Zone of a point that has no coordinates; always priced at 1.0x
+    public static final long NO_ZONE = Long.MIN_VALUE;
+
+    public record Quote(long zone, double distanceKm, double basePricePerKm, double surgeMultiplier, double fare) {}
+
+    private record Surge(double multiplier, long expiresAt) {}
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private final GeoGrid zones;
+    private final int windowBuckets;
+    private final long bucketMillis;
+    private final double sensitivity;
+    private final double maxMultiplier;
+    private final long quoteTtlMillis;
+
+    private final ConcurrentHashMap<Long, SlidingWindowCounter> demand = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Surge> surges = new ConcurrentHashMap<>();
+    private volatile Map<Long, Integer> supply = Map.of();
+    private final LongAdder surgeHits = new LongAdder();
+    private final LongAdder surgeMisses = new LongAdder();
+
+    public PricingService(@Value("${neurofleetx.pricing.zone-size-degrees:0.05}") double zoneDegrees,
+                          @Value("${neurofleetx.pricing.demand-window-minutes:10}") int windowMinutes,
+                          @Value("${neurofleetx.pricing.demand-bucket-seconds:30}") int bucketSeconds,
+                          @Value("${neurofleetx.pricing.surge-sensitivity:0.5}") double sensitivity,
+                          @Value("${neurofleetx.pricing.max-surge:3.0}") double maxMultiplier,
+                          @Value("${neurofleetx.pricing.quote-ttl-ms:5000}") long quoteTtlMillis) {
+        this.zones = new GeoGrid(zoneDegrees);
+        this.bucketMillis = bucketSeconds * 1000L;
+        this.windowBuckets = Math.max(1, (int) (windowMinutes * 60_000L / bucketMillis));
+        this.sensitivity = sensitivity;
+        this.maxMultiplier = maxMultiplier;
+        this.quoteTtlMillis = quoteTtlMillis;
+    }
+
+    public long zoneOf(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return NO_ZONE;
+        }
+        if (!inRange(latitude, longitude)) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        return zones.cell(latitude, longitude);
+    }
+
+    // Count a booking request against its pickup zone
+    public void recordDemand(long zone, long nowMillis) {
+        if (zone != NO_ZONE) {
+            demand.computeIfAbsent(zone, z -> new SlidingWindowCounter(windowBuckets, bucketMillis)).increment(nowMillis);
+        }
+    }
+
+    // Fare for driving `vehicle` distanceKm from the given zone
+    public Quote quote(Vehicle vehicle, long zone, double distanceKm) {
+        double multiplier = surge(zone, System.currentTimeMillis());
+        double base = vehicle.getBasePricePerKm() != null ? vehicle.getBasePricePerKm() : 0;
+        double fare = Math.round(base * distanceKm * multiplier * 100) / 100.0;
+        return new Quote(zone, distanceKm, base, multiplier, fare);
+    }
+
+    public double surge(long zone, long nowMillis) {
+        if (zone == NO_ZONE) {
+            return 1.0;
+        }
+        Surge cached = surges.get(zone);
+        if (cached != null && cached.expiresAt() > nowMillis) {
+            surgeHits.increment();
+            return cached.multiplier();
+        }
+        surgeMisses.increment();
+        double multiplier = computeSurge(zone, nowMillis);
+        surges.put(zone, new Surge(multiplier, nowMillis + quoteTtlMillis));
+        return multiplier;
+    }
+
+    public long surgeCacheHits() {
+        return surgeHits.sum();
+    }
+
+    public long surgeCacheMisses() {
+        return surgeMisses.sum();
+    }
+
+    public long demand(long zone, long nowMillis) {
+        SlidingWindowCounter counter = demand.get(zone);
+        return counter != null ? counter.sum(nowMillis) : 0;
+    }
+
+    public int supply(long zone) {
+        return supply.getOrDefault(zone, 0);
+    }
+
+    // Zones with a demand counter or a cached surge
+    public int trackedZones() {
+        return Math.max(demand.size(), surges.size());
+    }
+
+    // Rebuild the available-vehicles-per-zone snapshot and drop idle zones
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${neurofleetx.pricing.supply-refresh-ms:5000}", initialDelayString = "${neurofleetx.pricing.supply-refresh-ms:5000}")
+    public void refreshSupply() {
+        updateSupply(vehicleRepository.findAvailablePositions());
+        evictIdleZones(System.currentTimeMillis());
+    }
+
+    // Rows of (latitude, longitude); rows without a valid position are ignored
+    public void updateSupply(List<Object[]> positions) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : positions) {
+            if (row[0] != null && row[1] != null) {
+                double latitude = ((Number) row[0]).doubleValue();
+                double longitude = ((Number) row[1]).doubleValue();
+                if (inRange(latitude, longitude)) {
+                    counts.merge(zones.cell(latitude, longitude), 1, Integer::sum);
+                }
+            }
+        }
+        supply = Map.copyOf(counts);
+    }
+
+    // Drop demand counters with nothing left in the window and expired surges. A request counted
+    // while its zone's empty counter is being dropped can be lost; it only delays a surge.
+    public void evictIdleZones(long nowMillis) {
+        demand.entrySet().removeIf(entry -> entry.getValue().sum(nowMillis) == 0);
+        surges.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= nowMillis);
+    }
+
+    private static boolean inRange(double latitude, double longitude) {
+        return Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+    }
+
+    // 1.0 while requests per available vehicle stay at or below 1, then rising linearly, in 0.1 steps
+    private double computeSurge(long zone, long nowMillis) {
+        long requests = demand(zone, nowMillis);
+        if (requests == 0) {
+            return 1.0;
+        }
+        double ratio = (double) requests / Math.max(1, supply(zone));
+        double multiplier = Math.min(maxMultiplier, 1.0 + sensitivity * Math.max(0, ratio - 1));
+        return Math.round(multiplier * 10) / 10.0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.config.PromoProperties;
+import com.neurofleetx.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Promo code rules compiled once into a lookup table of parallel arrays.
+// Evaluating a code is a map lookup plus a few comparisons; redemptions are counted in an
+// AtomicIntegerArray so usage caps hold under concurrent bookings without locking.
+// Quotes only evaluate; a use is taken when the booking is created.
+@Service
+public class PromoService {
+
+    public record Evaluation(String code, double discount, String rejection) {
+        public boolean applied() {
+            return rejection == null && discount > 0;
+        }
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchive archive;
+
+    private final Map<String, Integer> index;
+    private final String[] codes;
+    private final boolean[] percent;
+    private final double[] values;
+    private final double[] maxDiscounts;
+    private final double[] minFares;
+    private final long[] validFrom;
+    private final long[] validUntil;
+    private final int[] maxUses;
+    private final AtomicIntegerArray uses;
+
+    public PromoService(PromoProperties properties) {
+        List<PromoProperties.Promo> promos = properties.getCodes();
+        int n = promos.size();
+        Map<String, Integer> byCode = new HashMap<>();
+        codes = new String[n];
+        percent = new boolean[n];
+        values = new double[n];
+        maxDiscounts = new double[n];
+        minFares = new double[n];
+        validFrom = new long[n];
+        validUntil = new long[n];
+        maxUses = new int[n];
+        uses = new AtomicIntegerArray(n);
+        ZoneId zone = ZoneId.systemDefault();
+        for (int i = 0; i < n; i++) {
+            PromoProperties.Promo promo = promos.get(i);
+            String code = normalize(promo.getCode());
+            if (code == null || byCode.put(code, i) != null) {
+                throw new IllegalStateException("Promo codes must be present and unique: " + promo.getCode());
+            }
+            codes[i] = code;
+            percent[i] = promo.getType() == PromoProperties.Type.PERCENT;
+            values[i] = promo.getValue();
+            maxDiscounts[i] = promo.getMaxDiscount();
+            minFares[i] = promo.getMinFare();
+            validFrom[i] = toMillis(promo.getValidFrom(), zone, Long.MIN_VALUE);
+            validUntil[i] = toMillis(promo.getValidUntil(), zone, Long.MAX_VALUE);
+            maxUses[i] = promo.getMaxUses();
+        }
+        index = Map.copyOf(byCode);
+    }
+
+    // Count redemptions already stored in bookings and the booking archive so caps survive restarts
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUsage() {
+        for (Object[] row : bookingRepository.countPromoUsage()) {
+            addUses((String) row[0], ((Number) row[1]).intValue());
+        }
+        archive.promoUsage().forEach(this::addUses);
+    }
+
+    private void addUses(String code, int count) {
+        Integer i = index.get(normalize(code));
+        if (i != null) {
+            uses.addAndGet(i, count);
+        }
+    }
+
+    // Discount the code gives on `fare` right now; never consumes a use
+    public Evaluation evaluate(String rawCode, double fare, long nowMillis) {
+        String code = normalize(rawCode);
+        if (code == null) {
+            return null;
+        }
+        Integer i = index.get(code);
+        if (i == null) {
+            return new Evaluation(code, 0, "Unknown promo code");
+        }
+        if (nowMillis < validFrom[i] || nowMillis > validUntil[i]) {
+            return new Evaluation(code, 0, "Promo code is not valid at this time");
+        }
+        if (maxUses[i] > 0 && uses.get(i) >= maxUses[i]) {
+            return new Evaluation(code, 0, "Promo code usage limit reached");
+        }
+        if (fare < minFares[i]) {
+            return new Evaluation(code, 0, "Fare is below the promo minimum of " + minFares[i]);
+        }
+        double discount = percent[i] ? fare * values[i] / 100 : values[i];
+        if (maxDiscounts[i] > 0) {
+            discount = Math.min(discount, maxDiscounts[i]);
+        }
+        discount = Math.round(Math.min(discount, fare) * 100) / 100.0;
+        return new Evaluation(code, discount, null);
+    }
+
+    // Take one use of the code; false once the cap is reached
+    public boolean redeem(String rawCode) {
+        Integer i = index.get(normalize(rawCode));
+        if (i == null) {
+            return false;
+        }
+        if (maxUses[i] <= 0) {
+            uses.incrementAndGet(i);
+            return true;
+        }
+        while (true) {
+            int used = uses.get(i);
+            if (used >= maxUses[i]) {
+                return false;
+            }
+            if (uses.compareAndSet(i, used, used + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Give back a use taken for a booking that was not created
+    public void release(String rawCode) {
+        Integer i = index.get(normalize(rawCode));
+        if (i != null) {
+            uses.decrementAndGet(i);
+        }
+    }
+
+    public int uses(String rawCode) {
+        Integer i = index.get(normalize(rawCode));
+        return i != null ? uses.get(i) : 0;
+    }
+
+    private static String normalize(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static long toMillis(LocalDateTime time, ZoneId zone, long fallback) {
+        return time != null ? time.atZone(zone).toInstant().toEpochMilli() : fallback;
+    }
+}
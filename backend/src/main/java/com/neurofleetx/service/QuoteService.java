@@ -0,0 +1,227 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Vehicle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Prices a trip (distance from the ETA model, zone surge, promo discount) and signs the result so
+// POST /api/bookings can take the quote back without pricing it again. The client's distance is
+// only used when the trip has no coordinates.
+//
+// A quote is bound to its customer, vehicle and route (a fingerprint of the rounded coordinates
+// and the normalized addresses), so a token cannot be reused for another trip.
+// A token is base64url(payload) + "." + base64url(HMAC-SHA256(payload)). Without a configured
+// neurofleetx.quote.secret a random key is generated at startup, so tokens do not survive a
+// restart and are only valid on the instance that issued them.
+@Service
+public class QuoteService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "q2";
+
+    // Pickup and dropoff of a trip; coordinates are optional but come all four or not at all
+    public record Route(Double pickupLatitude, Double pickupLongitude, Double dropoffLatitude, Double dropoffLongitude,
+                        String pickupAddress, String dropoffAddress) {
+
+        public boolean hasCoordinates() {
+            return pickupLatitude != null && pickupLongitude != null && dropoffLatitude != null && dropoffLongitude != null;
+        }
+
+        // Coordinates rounded to 4 decimals (about 11 m) and addresses trimmed, lower-cased and with
+        // collapsed whitespace, hashed
+        public String fingerprint() {
+            String canonical = String.join("|", coordinate(pickupLatitude), coordinate(pickupLongitude),
+                    coordinate(dropoffLatitude), coordinate(dropoffLongitude), address(pickupAddress), address(dropoffAddress));
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("Quote signing is unavailable: " + e.getMessage());
+            }
+        }
+
+        private static String coordinate(Double value) {
+            return value != null ? String.format(Locale.ROOT, "%.4f", value) : "";
+        }
+
+        private static String address(String value) {
+            return value != null ? value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT) : "";
+        }
+    }
+
+    public record FareQuote(
+            long vehicleId,
+            long customerId,
+            String route,
+            long zone,
+            double distanceKm,
+            Double durationMinutes,
+            double basePricePerKm,
+            double surgeMultiplier,
+            double fare,
+            String promoCode,
+            double discount,
+            double total,
+            long expiresAt) {}
+
+    // A fresh quote plus why a requested promo code was not applied, if it was not
+    public record PricedQuote(FareQuote quote, String promoRejection) {}
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private EtaService etaService;
+
+    @Autowired
+    private PromoService promoService;
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    // Mac instances are not thread-safe and costly to create, so they are pooled
+    private final ConcurrentLinkedQueue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    public QuoteService(@Value("${neurofleetx.quote.secret:}") String secret,
+                        @Value("${neurofleetx.quote.ttl-seconds:120}") long ttlSeconds) {
+        byte[] bytes;
+        if (secret.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // Price a trip. With coordinates, distance and duration come from the ETA model; the client's
+    // estimates are only used for trips without them.
+    public PricedQuote price(Vehicle vehicle, long customerId, Route route,
+                             Double distanceKm, Double durationMinutes, String promoCode) {
+        long now = System.currentTimeMillis();
+        long zone;
+        if (route.hasCoordinates()) {
+            zone = pricingService.zoneOf(route.pickupLatitude(), route.pickupLongitude());
+            EtaService.Estimate eta = etaService.estimate(route.pickupLatitude(), route.pickupLongitude(),
+                    route.dropoffLatitude(), route.dropoffLongitude(), now);
+            distanceKm = Math.round(eta.distanceKm() * 100) / 100.0;
+            durationMinutes = Math.round(eta.durationMinutes() * 10) / 10.0;
+        } else {
+            zone = pricingService.zoneOf(vehicle.getCurrentLatitude(), vehicle.getCurrentLongitude());
+        }
+        if (distanceKm == null || distanceKm <= 0) {
+            throw new RuntimeException("Estimated distance or pickup/dropoff coordinates are required");
+        }
+
+        PricingService.Quote fare = pricingService.quote(vehicle, zone, distanceKm);
+
+        PromoService.Evaluation promo = promoService.evaluate(promoCode, fare.fare(), now);
+        String appliedCode = promo != null && promo.applied() ? promo.code() : null;
+        double discount = appliedCode != null ? promo.discount() : 0;
+        double total = Math.round((fare.fare() - discount) * 100) / 100.0;
+
+        FareQuote quote = new FareQuote(vehicle.getId(), customerId, route.fingerprint(), zone, distanceKm, durationMinutes,
+                fare.basePricePerKm(), fare.surgeMultiplier(), fare.fare(), appliedCode, discount, total, now + ttlMillis);
+        return new PricedQuote(quote, promo != null ? promo.rejection() : null);
+    }
+
+    public String sign(FareQuote q) {
+        String payload = String.join("|", VERSION,
+                Long.toString(q.vehicleId()),
+                Long.toString(q.customerId()),
+                q.route(),
+                Long.toString(q.zone()),
+                Double.toString(q.distanceKm()),
+                q.durationMinutes() != null ? q.durationMinutes().toString() : "",
+                Double.toString(q.basePricePerKm()),
+                Double.toString(q.surgeMultiplier()),
+                Double.toString(q.fare()),
+                q.promoCode() != null ? q.promoCode() : "",
+                Double.toString(q.discount()),
+                Double.toString(q.total()),
+                Long.toString(q.expiresAt()));
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(mac(bytes));
+    }
+
+    // Decode a token issued by sign(); throws if it was tampered with, has expired, or was issued
+    // for another customer, vehicle or route
+    public FareQuote verify(String token, long customerId, long vehicleId, Route route) {
+        FareQuote quote = verify(token);
+        if (quote.customerId() != customerId || quote.vehicleId() != vehicleId || !quote.route().equals(route.fingerprint())) {
+            throw new RuntimeException("Quote does not match this booking");
+        }
+        return quote;
+    }
+
+    // Decode a token issued by sign(); throws if it was tampered with or has expired
+    public FareQuote verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new RuntimeException("Invalid quote token");
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid quote token");
+        }
+        if (!MessageDigest.isEqual(mac(payload), signature)) {
+            throw new RuntimeException("Invalid quote token");
+        }
+
+        String[] f = new String(payload, StandardCharsets.UTF_8).split("\\|", -1);
+        if (f.length != 14 || !VERSION.equals(f[0])) {
+            throw new RuntimeException("Invalid quote token");
+        }
+        FareQuote quote = new FareQuote(
+                Long.parseLong(f[1]),
+                Long.parseLong(f[2]),
+                f[3],
+                Long.parseLong(f[4]),
+                Double.parseDouble(f[5]),
+                f[6].isEmpty() ? null : Double.valueOf(f[6]),
+                Double.parseDouble(f[7]),
+                Double.parseDouble(f[8]),
+                Double.parseDouble(f[9]),
+                f[10].isEmpty() ? null : f[10],
+                Double.parseDouble(f[11]),
+                Double.parseDouble(f[12]),
+                Long.parseLong(f[13]));
+        if (quote.expiresAt() < System.currentTimeMillis()) {
+            throw new RuntimeException("Quote has expired, please request a new one");
+        }
+        return quote;
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = macs.poll();
+            if (mac == null) {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+            }
+            byte[] result = mac.doFinal(payload);
+            macs.offer(mac);
+            return result;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Quote signing is unavailable: " + e.getMessage());
+        }
+    }
+}
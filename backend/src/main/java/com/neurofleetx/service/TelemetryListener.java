@@ -0,0 +1,8 @@
+package com.neurofleetx.service;
+
+// Consumer of vehicle telemetry. Implementations are Spring beans picked up by TelemetryService
+// and are called on the request thread, so onTelemetry must be O(1) and must not block on I/O.
+public interface TelemetryListener {
+
+    void onTelemetry(TelemetryReading reading);
+}
@@ -0,0 +1,36 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.TelemetryRequest;
+
+// One telemetry sample as seen by the telemetry listeners. Missing metrics are NaN so
+// listeners can work on primitives without null checks on boxed values.
+public record TelemetryReading(
+        long vehicleId,
+        long timestamp,
+        double fuelLevel,
+        double batteryLevel,
+        double latitude,
+        double longitude,
+        double speed,
+        double engineTemperature) {
+
+    public static TelemetryReading from(long vehicleId, TelemetryRequest request, long now) {
+        return new TelemetryReading(
+                vehicleId,
+                request.timestamp() != null ? request.timestamp() : now,
+                orNaN(request.fuelLevel()),
+                orNaN(request.batteryLevel()),
+                orNaN(request.latitude()),
+                orNaN(request.longitude()),
+                orNaN(request.speed()),
+                orNaN(request.engineTemperature()));
+    }
+
+    public boolean hasPosition() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    private static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
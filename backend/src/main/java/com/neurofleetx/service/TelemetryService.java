@@ -0,0 +1,45 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.TelemetryRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class TelemetryService {
+
+    // Sampled in logback-spring.xml; one event per reading would otherwise dominate the log
+    private static final Logger telemetryLog = LoggerFactory.getLogger("com.neurofleetx.telemetry");
+
+    // Listeners drop readings older than the last one they saw, so a single far-future timestamp
+    // would freeze a vehicle's state; device clocks may run at most this far ahead of ours
+    static final long MAX_CLOCK_SKEW_MS = 5 * 60_000L;
+
+    @Autowired
+    private List<TelemetryListener> listeners;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    // Fan a telemetry reading out to every listener (rule engine, models, ...).
+    // Empty if the vehicle does not exist: listeners keep per-vehicle state for every id they see.
+    public Optional<TelemetryReading> ingest(Long vehicleId, TelemetryRequest request) {
+        long now = System.currentTimeMillis();
+        if (request.timestamp() != null && request.timestamp() > now + MAX_CLOCK_SKEW_MS) {
+            throw new IllegalArgumentException("Telemetry timestamp is in the future");
+        }
+        if (!vehicleService.vehicleExists(vehicleId)) {
+            return Optional.empty();
+        }
+        TelemetryReading reading = TelemetryReading.from(vehicleId, request, now);
+        for (TelemetryListener listener : listeners) {
+            listener.onTelemetry(reading);
+        }
+        telemetryLog.info("Telemetry {}", reading);
+        return Optional.of(reading);
+    }
+}
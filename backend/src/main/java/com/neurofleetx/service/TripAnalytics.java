@@ -0,0 +1,497 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.service.BookingArchiveFile.Column;
+import com.neurofleetx.util.SlotMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// Column store of finished trips (COMPLETED and CANCELLED bookings) for the analytics endpoints.
+//
+// Each attribute is one primitive array indexed by row: epoch day and hour of the trip, vehicle and
+// driver as dense SlotMap codes, status and payment method as byte dictionary codes, cost, distance
+// and duration as doubles (NaN when unknown) and the rating as a byte (0 when unrated). A row takes
+// 40 bytes; ten million trips fit in 400 MB with no per-row objects.
+//
+// query() runs vectorized: rows are processed in blocks of BLOCK, each filter narrows a selection
+// vector of row numbers with one tight loop over a single column, and the surviving rows are
+// aggregated into per-group sums addressed by the group column's code. A zone map (first and last
+// day of each block) skips blocks outside the requested days; rows arrive roughly in time order,
+// so a one-month query reads about one month of blocks. Nothing is boxed or allocated per row.
+// Large stores are scanned in parallel, one range of blocks per core, and the partial sums merged.
+//
+// Loaded from the bookings table and the booking archive at startup, then fed by BookingService
+// as trips complete or are cancelled. A trip is dated by its drop-off, or by its last update when
+// it never had one (cancellations).
+@Service
+public class TripAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(TripAnalytics.class);
+
+    private static final int INITIAL_ROWS = 1 << 16;
+    private static final int BLOCK = 4096;
+    // Queries over at least this many rows are split across the common fork/join pool
+    private static final int PARALLEL_ROWS = 1 << 20;
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_DICTIONARY = 255;
+    private static final double NO_VALUE = Double.NaN;
+
+    public enum Dimension { NONE, DAY, HOUR, STATUS, PAYMENT_METHOD, VEHICLE, DRIVER, RATING }
+
+    // Null fields do not filter; days are inclusive
+    public record Filter(LocalDate from, LocalDate to, String status, String paymentMethod, Long vehicleId, Long driverId) {
+        public static final Filter ALL = new Filter(null, null, null, null, null, null);
+    }
+
+    // Averages are over the trips that have the value
+    public record Group(String key, long trips, double revenue, double averageCost, double distanceKm,
+                       double averageDistanceKm, double averageDurationMinutes, long ratedTrips, double averageRating) {}
+
+    public record Result(Dimension groupBy, long scannedRows, long matchedRows, double elapsedMillis, List<Group> groups) {}
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchive archive;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private int rows;
+    private int firstDay = Integer.MAX_VALUE;
+    private int lastDay = Integer.MIN_VALUE;
+    private int[] days = new int[INITIAL_ROWS];
+    // Zone map: first and last day of every BLOCK rows
+    private int[] blockFirstDay = new int[INITIAL_ROWS / BLOCK];
+    private int[] blockLastDay = new int[INITIAL_ROWS / BLOCK];
+    private byte[] hours = new byte[INITIAL_ROWS];
+    private int[] vehicles = new int[INITIAL_ROWS];       // slot + 1, 0 when none
+    private int[] drivers = new int[INITIAL_ROWS];        // slot + 1, 0 when none
+    private byte[] statuses = new byte[INITIAL_ROWS];
+    private byte[] payments = new byte[INITIAL_ROWS];
+    private double[] costs = new double[INITIAL_ROWS];
+    private double[] distances = new double[INITIAL_ROWS];
+    private double[] durations = new double[INITIAL_ROWS];
+    private byte[] ratings = new byte[INITIAL_ROWS];
+    private final SlotMap vehicleSlots = new SlotMap(1024);
+    private final SlotMap driverSlots = new SlotMap(1024);
+    private final Dictionary statusCodes = new Dictionary();
+    private final Dictionary paymentCodes = new Dictionary();
+
+    // Trips finished before startup: the archive, then the finished bookings still in the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        // A trip finished while this runs may be counted twice or not at all; startup is not worth a lock over it
+        archive.forEachSegment(reader -> {
+            BookingArchiveFile.Values status = reader.column(Column.STATUS);
+            BookingArchiveFile.Values payment = reader.column(Column.PAYMENT_METHOD);
+            BookingArchiveFile.Values vehicle = reader.column(Column.VEHICLE_ID);
+            BookingArchiveFile.Values driver = reader.column(Column.DRIVER_ID);
+            BookingArchiveFile.Values updated = reader.column(Column.UPDATED_AT);
+            BookingArchiveFile.Values dropoff = reader.column(Column.ACTUAL_DROPOFF_TIME);
+            BookingArchiveFile.Values cost = reader.column(Column.ACTUAL_COST);
+            BookingArchiveFile.Values distance = reader.column(Column.ACTUAL_DISTANCE);
+            BookingArchiveFile.Values duration = reader.column(Column.ACTUAL_DURATION);
+            BookingArchiveFile.Values rating = reader.column(Column.DRIVER_RATING);
+            lock.writeLock().lock();
+            try {
+                for (int row = 0; row < reader.rows(); row++) {
+                    append(status.getString(row), payment.getString(row),
+                            vehicle.isNull(row) ? null : vehicle.getLong(row),
+                            driver.isNull(row) ? null : driver.getLong(row),
+                            (LocalDateTime) (dropoff.isNull(row) ? updated.get(row) : dropoff.get(row)),
+                            cost.isNull(row) ? NO_VALUE : cost.getDouble(row),
+                            distance.isNull(row) ? NO_VALUE : distance.getDouble(row),
+                            duration.isNull(row) ? NO_VALUE : duration.getDouble(row),
+                            rating.isNull(row) ? 0 : (int) rating.getLong(row));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        List<Object[]> hot = bookingRepository.findFinishedTripMetrics();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : hot) {
+                LocalDateTime at = row[5] != null ? (LocalDateTime) row[5] : (LocalDateTime) row[4];
+                append((String) row[0], (String) row[1], (Long) row[2], (Long) row[3], at,
+                        doubleOrNone(row[6]), doubleOrNone(row[7]), doubleOrNone(row[8]),
+                        row[9] != null ? ((Number) row[9]).intValue() : 0);
+            }
+            log.info("Trip analytics loaded {} trips in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A booking reached COMPLETED or CANCELLED. Rows are not de-duplicated: BookingService changes
+    // status on the locked row and only forwards (confirm from PENDING, start from CONFIRMED), so a
+    // booking reaches either status only once.
+    public void onTripFinished(Booking booking) {
+        LocalDateTime at = booking.getActualDropoffTime() != null ? booking.getActualDropoffTime()
+                : booking.getUpdatedAt() != null ? booking.getUpdatedAt() : LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            append(booking.getStatus(), booking.getPaymentMethod(),
+                    booking.getVehicle() != null ? booking.getVehicle().getId() : null,
+                    booking.getDriver() != null ? booking.getDriver().getId() : null,
+                    at,
+                    doubleOrNone(booking.getActualCost()),
+                    doubleOrNone(booking.getActualDistance()),
+                    doubleOrNone(booking.getActualDuration()),
+                    booking.getDriverRating() != null ? booking.getDriverRating() : 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result query(Filter filter, Dimension groupBy) {
+        long started = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            int fromDay = filter.from() != null ? (int) filter.from().toEpochDay() : Integer.MIN_VALUE;
+            int toDay = filter.to() != null ? (int) filter.to().toEpochDay() : Integer.MAX_VALUE;
+            int status = filter.status() != null ? statusCodes.code(filter.status()) : -1;
+            int payment = filter.paymentMethod() != null ? paymentCodes.code(filter.paymentMethod()) + 1 : -1;
+            int vehicle = filter.vehicleId() != null ? vehicleSlots.get(filter.vehicleId()) + 1 : -1;
+            int driver = filter.driverId() != null ? driverSlots.get(filter.driverId()) + 1 : -1;
+            // A filter value never seen matches nothing
+            boolean none = (filter.status() != null && status < 0) || payment == 0 || vehicle == 0 || driver == 0;
+
+            int minDay = 0;
+            int groupCount;
+            switch (groupBy) {
+                case DAY -> {
+                    minDay = Math.max(firstDay, fromDay);
+                    groupCount = (int) Math.max(0, (long) Math.min(lastDay, toDay) - minDay + 1);
+                }
+                case HOUR -> groupCount = 24;
+                case STATUS -> groupCount = statusCodes.size();
+                case PAYMENT_METHOD -> groupCount = paymentCodes.size() + 1;
+                case VEHICLE -> groupCount = vehicleSlots.size() + 1;
+                case DRIVER -> groupCount = driverSlots.size() + 1;
+                case RATING -> groupCount = 6;
+                default -> groupCount = 1;
+            }
+            Plan plan = new Plan(groupBy, fromDay, toDay, status, payment, vehicle, driver, minDay, groupCount);
+            int blocks = none || groupCount == 0 ? 0 : (rows + BLOCK - 1) / BLOCK;
+            int parts = rows >= PARALLEL_ROWS ? Math.min(PARALLELISM, blocks) : Math.min(1, blocks);
+            // Parts are merged in order, so a query's result does not depend on thread timing
+            Aggregates aggregates = IntStream.range(0, parts).parallel()
+                    .mapToObj(part -> scan(plan, (int) ((long) blocks * part / parts), (int) ((long) blocks * (part + 1) / parts)))
+                    .reduce(Aggregates::merge)
+                    .orElseGet(() -> new Aggregates(groupCount));
+            long[] keys = groupBy == Dimension.VEHICLE ? vehicleSlots.keys() : groupBy == Dimension.DRIVER ? driverSlots.keys() : null;
+            List<Group> result = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                if (aggregates.trips(g) > 0) {
+                    result.add(aggregates.group(g, groupKey(groupBy, g, minDay, keys)));
+                }
+            }
+            return new Result(groupBy, rows, aggregates.matched, (System.nanoTime() - started) / 1e6, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Plan(Dimension groupBy, int fromDay, int toDay, int status, int payment, int vehicle, int driver,
+                        int minDay, int groupCount) {}
+
+    // Filters and aggregates blocks [firstBlock, lastBlock); callers hold the read lock
+    private Aggregates scan(Plan plan, int firstBlock, int lastBlock) {
+        Aggregates aggregates = new Aggregates(plan.groupCount());
+        int[] selection = new int[BLOCK];
+        int[] groups = new int[BLOCK];
+        int fromDay = plan.fromDay();
+        int toDay = plan.toDay();
+        for (int block = firstBlock; block < lastBlock; block++) {
+            // Zone map: skip blocks entirely outside the days asked for, skip the day filter for
+            // blocks entirely inside
+            if (blockLastDay[block] < fromDay || blockFirstDay[block] > toDay) {
+                continue;
+            }
+            int start = block * BLOCK;
+            int end = Math.min(rows, start + BLOCK);
+            int n = 0;
+            if (blockFirstDay[block] >= fromDay && blockLastDay[block] <= toDay) {
+                for (int row = start; row < end; row++) {
+                    selection[n++] = row;
+                }
+            } else {
+                for (int row = start; row < end; row++) {
+                    selection[n] = row;
+                    n += (days[row] >= fromDay & days[row] <= toDay) ? 1 : 0;
+                }
+            }
+            if (plan.status() >= 0) {
+                n = select(selection, n, statuses, (byte) plan.status());
+            }
+            if (plan.payment() > 0) {
+                n = select(selection, n, payments, (byte) plan.payment());
+            }
+            if (plan.vehicle() > 0) {
+                n = select(selection, n, vehicles, plan.vehicle());
+            }
+            if (plan.driver() > 0) {
+                n = select(selection, n, drivers, plan.driver());
+            }
+            if (plan.groupBy() == Dimension.NONE) {
+                aggregates.addAll(selection, n, costs, distances, durations, ratings);
+            } else {
+                groupCodes(plan.groupBy(), selection, n, groups, plan.minDay());
+                aggregates.add(selection, groups, n, costs, distances, durations, ratings);
+            }
+            aggregates.matched += n;
+        }
+        return aggregates;
+    }
+
+    // Callers hold the write lock
+    private void append(String status, String payment, Long vehicle, Long driver, LocalDateTime at,
+                        double cost, double distance, double duration, int rating) {
+        if (rows == days.length) {
+            grow();
+        }
+        int day = (int) at.toLocalDate().toEpochDay();
+        firstDay = Math.min(firstDay, day);
+        lastDay = Math.max(lastDay, day);
+        days[rows] = day;
+        int block = rows / BLOCK;
+        if (rows % BLOCK == 0) {
+            blockFirstDay[block] = day;
+            blockLastDay[block] = day;
+        } else {
+            blockFirstDay[block] = Math.min(blockFirstDay[block], day);
+            blockLastDay[block] = Math.max(blockLastDay[block], day);
+        }
+        hours[rows] = (byte) at.getHour();
+        vehicles[rows] = vehicle != null ? vehicleSlots.getOrAssign(vehicle) + 1 : 0;
+        drivers[rows] = driver != null ? driverSlots.getOrAssign(driver) + 1 : 0;
+        statuses[rows] = (byte) statusCodes.codeOrAssign(status != null ? status : "UNKNOWN");
+        payments[rows] = (byte) (payment != null ? paymentCodes.codeOrAssign(payment) + 1 : 0);
+        costs[rows] = cost;
+        distances[rows] = distance;
+        durations[rows] = duration;
+        ratings[rows] = (byte) Math.max(0, Math.min(5, rating));
+        rows++;
+    }
+
+    private void grow() {
+        int capacity = days.length * 2;
+        days = Arrays.copyOf(days, capacity);
+        blockFirstDay = Arrays.copyOf(blockFirstDay, capacity / BLOCK);
+        blockLastDay = Arrays.copyOf(blockLastDay, capacity / BLOCK);
+        hours = Arrays.copyOf(hours, capacity);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        drivers = Arrays.copyOf(drivers, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        payments = Arrays.copyOf(payments, capacity);
+        costs = Arrays.copyOf(costs, capacity);
+        distances = Arrays.copyOf(distances, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+    }
+
+    // Keeps the selected rows whose code matches, in place; branch-free so the loop stays tight
+    private static int select(int[] selection, int n, byte[] column, byte code) {
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            int row = selection[i];
+            selection[kept] = row;
+            kept += column[row] == code ? 1 : 0;
+        }
+        return kept;
+    }
+
+    private static int select(int[] selection, int n, int[] column, int code) {
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            int row = selection[i];
+            selection[kept] = row;
+            kept += column[row] == code ? 1 : 0;
+        }
+        return kept;
+    }
+
+    private void groupCodes(Dimension groupBy, int[] selection, int n, int[] groups, int minDay) {
+        switch (groupBy) {
+            case DAY -> { for (int i = 0; i < n; i++) groups[i] = days[selection[i]] - minDay; }
+            case HOUR -> { for (int i = 0; i < n; i++) groups[i] = hours[selection[i]]; }
+            case STATUS -> { for (int i = 0; i < n; i++) groups[i] = statuses[selection[i]] & 0xFF; }
+            case PAYMENT_METHOD -> { for (int i = 0; i < n; i++) groups[i] = payments[selection[i]] & 0xFF; }
+            case VEHICLE -> { for (int i = 0; i < n; i++) groups[i] = vehicles[selection[i]]; }
+            case DRIVER -> { for (int i = 0; i < n; i++) groups[i] = drivers[selection[i]]; }
+            case RATING -> { for (int i = 0; i < n; i++) groups[i] = ratings[selection[i]]; }
+            default -> Arrays.fill(groups, 0, n, 0);
+        }
+    }
+
+    private String groupKey(Dimension groupBy, int g, int minDay, long[] keys) {
+        return switch (groupBy) {
+            case DAY -> LocalDate.ofEpochDay(minDay + g).toString();
+            case HOUR, RATING -> Integer.toString(g);
+            case STATUS -> statusCodes.value(g);
+            case PAYMENT_METHOD -> g == 0 ? null : paymentCodes.value(g - 1);
+            case VEHICLE, DRIVER -> g == 0 ? null : Long.toString(keys[g - 1]);
+            default -> "all";
+        };
+    }
+
+    private static double doubleOrNone(Object value) {
+        return value != null ? ((Number) value).doubleValue() : NO_VALUE;
+    }
+
+    // Per-group running sums, interleaved so one group's sums share a cache line; NaN values are
+    // added as zero and not counted. Counts are kept as doubles, exact up to 2^53.
+    private static final class Aggregates {
+        private static final int TRIPS = 0, COST = 1, COSTED = 2, DISTANCE = 3, MEASURED = 4,
+                DURATION = 5, TIMED = 6, RATING_SUM = 7, RATED = 8, WIDTH = 9;
+
+        private final double[] sums;
+        long matched;
+
+        Aggregates(int groups) {
+            sums = new double[groups * WIDTH];
+        }
+
+        void add(int[] selection, int[] groups, int n, double[] costs, double[] distances, double[] durations, byte[] ratings) {
+            double[] sums = this.sums;
+            for (int i = 0; i < n; i++) {
+                int row = selection[i];
+                int at = groups[i] * WIDTH;
+                double c = costs[row];
+                double d = distances[row];
+                double t = durations[row];
+                int r = ratings[row];
+                sums[at + TRIPS] += 1;
+                sums[at + COST] += c == c ? c : 0;
+                sums[at + COSTED] += c == c ? 1 : 0;
+                sums[at + DISTANCE] += d == d ? d : 0;
+                sums[at + MEASURED] += d == d ? 1 : 0;
+                sums[at + DURATION] += t == t ? t : 0;
+                sums[at + TIMED] += t == t ? 1 : 0;
+                sums[at + RATING_SUM] += r;
+                sums[at + RATED] += r > 0 ? 1 : 0;
+            }
+        }
+
+        // Single group: the sums stay in registers
+        void addAll(int[] selection, int n, double[] costs, double[] distances, double[] durations, byte[] ratings) {
+            double cost = 0, costed = 0, distance = 0, measured = 0, duration = 0, timed = 0;
+            long ratingSum = 0, rated = 0;
+            for (int i = 0; i < n; i++) {
+                int row = selection[i];
+                double c = costs[row];
+                double d = distances[row];
+                double t = durations[row];
+                int r = ratings[row];
+                cost += c == c ? c : 0;
+                costed += c == c ? 1 : 0;
+                distance += d == d ? d : 0;
+                measured += d == d ? 1 : 0;
+                duration += t == t ? t : 0;
+                timed += t == t ? 1 : 0;
+                ratingSum += r;
+                rated += r > 0 ? 1 : 0;
+            }
+            sums[TRIPS] += n;
+            sums[COST] += cost;
+            sums[COSTED] += costed;
+            sums[DISTANCE] += distance;
+            sums[MEASURED] += measured;
+            sums[DURATION] += duration;
+            sums[TIMED] += timed;
+            sums[RATING_SUM] += ratingSum;
+            sums[RATED] += rated;
+        }
+
+        Aggregates merge(Aggregates other) {
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+            }
+            matched += other.matched;
+            return this;
+        }
+
+        long trips(int g) {
+            return (long) sums[g * WIDTH + TRIPS];
+        }
+
+        Group group(int g, String key) {
+            int at = g * WIDTH;
+            return new Group(key, (long) sums[at + TRIPS], round(sums[at + COST]), average(sums[at + COST], sums[at + COSTED]),
+                    round(sums[at + DISTANCE]), average(sums[at + DISTANCE], sums[at + MEASURED]),
+                    average(sums[at + DURATION], sums[at + TIMED]), (long) sums[at + RATED],
+                    average(sums[at + RATING_SUM], sums[at + RATED]));
+        }
+
+        private static double average(double sum, double count) {
+            return count == 0 ? 0 : round(sum / count);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    // String <-> small int code; at most MAX_DICTIONARY values, later ones share the last code
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        int codeOrAssign(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() == MAX_DICTIONARY - 1) {
+                values.add("OTHER");
+            }
+            if (values.size() >= MAX_DICTIONARY) {
+                return MAX_DICTIONARY - 1;
+            }
+            codes.put(value, values.size());
+            values.add(value);
+            return values.size() - 1;
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
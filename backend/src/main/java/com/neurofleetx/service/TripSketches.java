@@ -0,0 +1,285 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.util.HyperLogLog;
+import com.neurofleetx.util.KllSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Approximate admin metrics from mergeable sketches, one set per day: HyperLogLogs of the distinct
+// customers and drivers active that day (booked, started, finished or cancelled a trip), an exact
+// count of completed trips and KLL sketches of their actual duration and cost (trips without a
+// duration or cost are counted but not sketched). A day takes about 8 KB of HyperLogLog
+// registers plus about 600 retained values per KLL sketch, and days older than retention-days
+// are dropped, so memory stays bounded whatever the traffic.
+//
+// A window of days is answered by merging its day sketches. Windows can be exported (serialized,
+// URL-safe base64) and merged with the windows of other nodes, giving fleet-wide distinct counts
+// and percentiles without double counting users seen by several nodes.
+//
+// The sketches are written to neurofleetx.sketches.file every flush interval and at shutdown, and
+// read back at startup; updates since the last flush are lost on a crash.
+@Service
+public class TripSketches {
+
+    private static final Logger log = LoggerFactory.getLogger(TripSketches.class);
+
+    private static final int FILE_MAGIC = 0x4E465853; // "NFXS"
+    private static final byte WINDOW_FORMAT = 1;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    // Sketches for one day or a merged window of days
+    private static final class Sketches {
+        final HyperLogLog customers;
+        final HyperLogLog drivers;
+        final KllSketch durations;
+        final KllSketch costs;
+        long completed;
+
+        Sketches() {
+            this(new HyperLogLog(), new HyperLogLog(), new KllSketch(), new KllSketch(), 0);
+        }
+
+        private Sketches(HyperLogLog customers, HyperLogLog drivers, KllSketch durations, KllSketch costs, long completed) {
+            this.customers = customers;
+            this.drivers = drivers;
+            this.durations = durations;
+            this.costs = costs;
+            this.completed = completed;
+        }
+
+        void merge(Sketches other) {
+            customers.merge(other.customers);
+            drivers.merge(other.drivers);
+            durations.merge(other.durations);
+            costs.merge(other.costs);
+            completed += other.completed;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            customers.writeTo(out);
+            drivers.writeTo(out);
+            durations.writeTo(out);
+            costs.writeTo(out);
+            out.writeLong(completed);
+        }
+
+        static Sketches readFrom(DataInputStream in) throws IOException {
+            return new Sketches(HyperLogLog.readFrom(in), HyperLogLog.readFrom(in), KllSketch.readFrom(in), KllSketch.readFrom(in),
+                    in.readLong());
+        }
+    }
+
+    public record Percentiles(double p50, double p90, double p99, double min, double max) {}
+
+    public record Summary(LocalDate from, LocalDate to, int nodes, long activeUsers, long activeCustomers,
+                          long activeDrivers, long completedTrips, Percentiles durationMinutes, Percentiles cost) {}
+
+    private final Path file;
+    private final int retentionDays;
+
+    // Guarded by this
+    private final TreeMap<LocalDate, Sketches> days = new TreeMap<>();
+
+    public TripSketches(@Value("${neurofleetx.sketches.file:data/sketches.bin}") String file,
+                        @Value("${neurofleetx.sketches.retention-days:90}") int retentionDays) {
+        this.file = Paths.get(file);
+        this.retentionDays = retentionDays;
+        load();
+    }
+
+    // Booking created, started, cancelled or completed: its customer and driver were active today;
+    // a completed trip also adds its duration and cost
+    public void onBooking(Booking booking) {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            Sketches day = day(today);
+            if (booking.getCustomer() != null && booking.getCustomer().getId() != null) {
+                day.customers.add(booking.getCustomer().getId());
+            }
+            if (booking.getDriver() != null && booking.getDriver().getId() != null) {
+                day.drivers.add(booking.getDriver().getId());
+            }
+            if ("COMPLETED".equals(booking.getStatus())) {
+                day.completed++;
+                day.durations.add(booking.getActualDuration() != null ? booking.getActualDuration() : Double.NaN);
+                day.costs.add(booking.getActualCost() != null ? booking.getActualCost() : Double.NaN);
+            }
+        }
+    }
+
+    // Metrics over the days from..to (inclusive), optionally merged with other nodes' exported windows
+    public Summary summary(LocalDate from, LocalDate to, List<byte[]> remoteWindows) throws IOException {
+        Sketches window = window(from, to);
+        for (byte[] remote : remoteWindows) {
+            window.merge(readWindow(remote));
+        }
+        HyperLogLog users = window.customers.copy();
+        users.merge(window.drivers);
+        return new Summary(from, to, 1 + remoteWindows.size(), users.estimate(), window.customers.estimate(),
+                window.drivers.estimate(), window.completed, percentiles(window.durations), percentiles(window.costs));
+    }
+
+    // The window's merged sketches, for another node's summary()
+    public byte[] export(LocalDate from, LocalDate to) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(WINDOW_FORMAT);
+            window(from, to).writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Days held and their approximate memory use
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("days", days.size());
+        stats.put("oldestDay", days.isEmpty() ? null : days.firstKey().toString());
+        long bytes = 0;
+        for (Sketches day : days.values()) {
+            bytes += (2L << day.customers.precision()) + 8L * (day.durations.retained() + day.costs.retained());
+        }
+        stats.put("approximateBytes", bytes);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${neurofleetx.sketches.flush-interval-ms:60000}")
+    public void flush() {
+        Map<LocalDate, byte[]> snapshot = new TreeMap<>();
+        synchronized (this) {
+            expire();
+            for (Map.Entry<LocalDate, Sketches> day : days.entrySet()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try {
+                    day.getValue().writeTo(new DataOutputStream(bytes));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                snapshot.put(day.getKey(), bytes.toByteArray());
+            }
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(tmp)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<LocalDate, byte[]> day : snapshot.entrySet()) {
+                    out.writeLong(day.getKey().toEpochDay());
+                    out.write(day.getValue());
+                }
+                out.flush();
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to write sketches to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Replace the in-memory sketches with the ones in the file, if any
+    public synchronized void load() {
+        days.clear();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (InputStream stream = Files.newInputStream(file)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("not a sketch file");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                days.put(LocalDate.ofEpochDay(in.readLong()), Sketches.readFrom(in));
+            }
+            expire();
+            log.info("Loaded sketches for {} days from {}", days.size(), file);
+        } catch (IOException e) {
+            days.clear();
+            log.warn("Ignoring unreadable sketch file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Sketches window(LocalDate from, LocalDate to) {
+        Sketches window = new Sketches();
+        synchronized (this) {
+            for (Sketches day : days.subMap(from, true, to, true).values()) {
+                window.merge(day);
+            }
+        }
+        return window;
+    }
+
+    private static Sketches readWindow(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte format = in.readByte();
+        if (format != WINDOW_FORMAT) {
+            throw new IOException("Unsupported sketch window format " + format);
+        }
+        return Sketches.readFrom(in);
+    }
+
+    // Callers hold the lock
+    private Sketches day(LocalDate date) {
+        Sketches day = days.get(date);
+        if (day == null) {
+            day = new Sketches();
+            days.put(date, day);
+            expire();
+        }
+        return day;
+    }
+
+    private void expire() {
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        days.headMap(oldest, false).clear();
+    }
+
+    private static Percentiles percentiles(KllSketch sketch) {
+        double[] values = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            values[i] = round(sketch.quantile(QUANTILES[i]));
+        }
+        return new Percentiles(values[0], values[1], values[2], round(sketch.min()), round(sketch.max()));
+    }
+
+    private static double round(double value) {
+        return Double.isNaN(value) ? 0 : Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,385 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.util.GeoGrid;
+import com.neurofleetx.util.SlotMap;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Online health score per vehicle, updated in O(1) per telemetry reading.
+//
+// The score starts at 100 and loses capped points for: distance driven and days elapsed since
+// the last maintenance, trips completed since then, and exponentially weighted averages of fuel
+// drain, battery drain and engine temperature that sit above normal levels. All state lives in
+// one flat double[] (STRIDE values per vehicle slot); nothing is recomputed from history.
+//
+// Changed scores, together with the latest fuel, battery and position, are written to the
+// vehicles table by flush() in one JDBC batch and every new score is handed to the rule engine
+// as the HEALTH_SCORE metric.
+@Service
+public class VehicleHealthModel implements TelemetryListener {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleHealthModel.class);
+
+    private static final int INITIAL_VEHICLES = 1024;
+    private static final int BATCH_SIZE = 500;
+
+    // Weight of the newest sample in the exponentially weighted averages
+    private static final double ALPHA = 0.1;
+    // Drain samples over longer gaps (parked, powered off) say nothing about the vehicle
+    private static final long MAX_SAMPLE_GAP_MS = 60 * 60 * 1000L;
+    // Position jumps faster than this are GPS glitches, not driving
+    private static final double MAX_SPEED_KMH = 250;
+
+    private static final double KM_PER_POINT = 500;           // 2 points per 1000 km
+    private static final double MAX_DISTANCE_PENALTY = 30;
+    private static final double DAYS_PER_POINT = 15;
+    private static final double MAX_AGE_PENALTY = 20;
+    private static final double POINTS_PER_TRIP = 0.05;
+    private static final double MAX_TRIP_PENALTY = 15;
+    private static final double NORMAL_FUEL_DRAIN = 12;       // % per hour
+    private static final double NORMAL_BATTERY_DRAIN = 15;    // % per hour
+    private static final double MAX_DRAIN_PENALTY = 15;
+    private static final double NORMAL_ENGINE_TEMPERATURE = 100;
+    private static final double MAX_TEMPERATURE_PENALTY = 20;
+
+    // Per-slot layout of the state array
+    private static final int LAST_TIMESTAMP = 0;
+    private static final int FUEL = 1;
+    private static final int BATTERY = 2;
+    private static final int LATITUDE = 3;
+    private static final int LONGITUDE = 4;
+    private static final int FUEL_DRAIN = 5;
+    private static final int BATTERY_DRAIN = 6;
+    private static final int ENGINE_TEMPERATURE = 7;
+    private static final int TELEMETRY_KM = 8;
+    private static final int TRIP_KM = 9;
+    private static final int TRIPS = 10;
+    private static final int MAINTENANCE_DAY = 11;
+    private static final int SCORE = 12;
+    private static final int STRIDE = 13;
+
+    private static final String UPDATE_VEHICLE =
+            "UPDATE vehicles SET health_score = ?, current_fuel_level = COALESCE(?, current_fuel_level), "
+            + "battery_level = COALESCE(?, battery_level), current_latitude = COALESCE(?, current_latitude), "
+            + "current_longitude = COALESCE(?, current_longitude) WHERE id = ?";
+
+    @Autowired
+    private MaintenanceRuleEngine ruleEngine;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchive archive;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Guarded by this
+    private final SlotMap slots = new SlotMap(INITIAL_VEHICLES);
+    private double[] state = new double[INITIAL_VEHICLES * STRIDE];
+    private final BitSet dirty = new BitSet();
+
+    // Seed maintenance dates, trips and distance since maintenance from the database and the booking archive
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> vehicles = vehicleRepository.findHealthSnapshots();
+        List<Object[]> trips = new ArrayList<>(bookingRepository.findCompletedTripSummaries());
+        trips.addAll(archive.findCompletedTripSummaries());
+        synchronized (this) {
+            for (Object[] row : vehicles) {
+                int at = slotOf(((Number) row[0]).longValue()) * STRIDE;
+                state[at + MAINTENANCE_DAY] = parseEpochDay((String) row[1]);
+            }
+            for (Object[] row : trips) {
+                if (row[0] == null) {
+                    continue;
+                }
+                int at = slotOf(((Number) row[0]).longValue()) * STRIDE;
+                LocalDateTime completedAt = (LocalDateTime) row[1];
+                double maintenanceDay = state[at + MAINTENANCE_DAY];
+                if (!Double.isNaN(maintenanceDay) && completedAt != null && completedAt.toLocalDate().toEpochDay() < maintenanceDay) {
+                    continue;
+                }
+                state[at + TRIPS]++;
+                state[at + TRIP_KM] += row[2] != null ? ((Number) row[2]).doubleValue() : 0;
+            }
+            for (Object[] row : vehicles) {
+                int slot = slots.get(((Number) row[0]).longValue());
+                double score = rescore(slot * STRIDE, System.currentTimeMillis());
+                Double stored = (Double) row[2];
+                if (stored == null || Math.abs(stored - score) >= 0.1) {
+                    dirty.set(slot);
+                }
+            }
+        }
+    }
+
+    // Start tracking a newly created vehicle
+    public synchronized void track(Vehicle vehicle) {
+        int at = slotOf(vehicle.getId()) * STRIDE;
+        state[at + MAINTENANCE_DAY] = parseEpochDay(vehicle.getLastMaintenanceDate());
+    }
+
+    // Stop tracking a deleted vehicle; its slot goes to the next new one
+    public synchronized void forget(long vehicleId) {
+        int slot = slots.remove(vehicleId);
+        if (slot >= 0) {
+            dirty.clear(slot);
+        }
+    }
+
+    @Override
+    public void onTelemetry(TelemetryReading reading) {
+        double score;
+        synchronized (this) {
+            int slot = slotOf(reading.vehicleId());
+            int at = slot * STRIDE;
+            long now = reading.timestamp();
+            long last = (long) state[at + LAST_TIMESTAMP];
+            boolean inOrder = last == 0 || now > last;
+            long gap = now - last;
+            boolean sampleable = last != 0 && gap > 0 && gap <= MAX_SAMPLE_GAP_MS;
+            double hours = gap / 3_600_000.0;
+
+            if (!Double.isNaN(reading.fuelLevel())) {
+                if (sampleable && !Double.isNaN(state[at + FUEL]) && reading.fuelLevel() <= state[at + FUEL]) {
+                    ewma(at + FUEL_DRAIN, (state[at + FUEL] - reading.fuelLevel()) / hours);
+                }
+                if (inOrder) {
+                    state[at + FUEL] = reading.fuelLevel();
+                }
+            }
+            if (!Double.isNaN(reading.batteryLevel())) {
+                if (sampleable && !Double.isNaN(state[at + BATTERY]) && reading.batteryLevel() <= state[at + BATTERY]) {
+                    ewma(at + BATTERY_DRAIN, (state[at + BATTERY] - reading.batteryLevel()) / hours);
+                }
+                if (inOrder) {
+                    state[at + BATTERY] = reading.batteryLevel();
+                }
+            }
+            if (!Double.isNaN(reading.engineTemperature())) {
+                ewma(at + ENGINE_TEMPERATURE, reading.engineTemperature());
+            }
+            if (reading.hasPosition()) {
+                if (sampleable && !Double.isNaN(state[at + LATITUDE])) {
+                    double km = GeoGrid.haversineKm(state[at + LATITUDE], state[at + LONGITUDE], reading.latitude(), reading.longitude());
+                    if (km / hours <= MAX_SPEED_KMH) {
+                        state[at + TELEMETRY_KM] += km;
+                    }
+                }
+                if (inOrder) {
+                    state[at + LATITUDE] = reading.latitude();
+                    state[at + LONGITUDE] = reading.longitude();
+                }
+            }
+            if (inOrder) {
+                state[at + LAST_TIMESTAMP] = now;
+            }
+            score = rescore(at, now);
+            dirty.set(slot);
+        }
+        ruleEngine.onHealthScore(reading.vehicleId(), score, reading.timestamp());
+    }
+
+    // A completed booking adds a trip and, for vehicles without GPS telemetry, its distance
+    public void onTripCompleted(Long vehicleId, Double distanceKm) {
+        double score;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            int slot = slotOf(vehicleId);
+            int at = slot * STRIDE;
+            state[at + TRIPS]++;
+            state[at + TRIP_KM] += distanceKm != null ? distanceKm : 0;
+            score = rescore(at, now);
+            dirty.set(slot);
+        }
+        ruleEngine.onHealthScore(vehicleId, score, now);
+    }
+
+    // Serviced today: distance, trips and drain history start over
+    public synchronized void onMaintenance(Long vehicleId, LocalDate date) {
+        int slot = slotOf(vehicleId);
+        int at = slot * STRIDE;
+        state[at + MAINTENANCE_DAY] = date.toEpochDay();
+        state[at + TELEMETRY_KM] = 0;
+        state[at + TRIP_KM] = 0;
+        state[at + TRIPS] = 0;
+        state[at + FUEL_DRAIN] = Double.NaN;
+        state[at + BATTERY_DRAIN] = Double.NaN;
+        state[at + ENGINE_TEMPERATURE] = Double.NaN;
+        rescore(at, System.currentTimeMillis());
+        dirty.set(slot);
+    }
+
+    // The score onMaintenance(vehicleId, date) will give, without touching any state, so callers can
+    // store it in their transaction and apply the maintenance after commit
+    public double scoreAfterMaintenance(LocalDate date) {
+        return score(0, date.toEpochDay(), 0, Double.NaN, Double.NaN, Double.NaN, System.currentTimeMillis());
+    }
+
+    // Vehicles whose score or telemetry is waiting for the next flush
+    public synchronized int dirtyVehicles() {
+        return dirty.cardinality();
+    }
+
+    // Current score of a vehicle, or NaN if it is not tracked
+    public synchronized double score(Long vehicleId) {
+        int slot = slots.get(vehicleId);
+        return slot >= 0 ? state[slot * STRIDE + SCORE] : Double.NaN;
+    }
+
+    // Write changed scores and the latest telemetry values back to the vehicles table
+    @Scheduled(fixedDelayString = "${neurofleetx.health.flush-interval-ms:5000}")
+    public void flush() {
+        long[] ids;
+        double[][] rows;
+        synchronized (this) {
+            int count = dirty.cardinality();
+            if (count == 0) {
+                return;
+            }
+            long[] vehicleIds = slots.keys();
+            ids = new long[count];
+            rows = new double[count][];
+            int i = 0;
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                int at = slot * STRIDE;
+                ids[i] = vehicleIds[slot];
+                rows[i++] = new double[] {state[at + SCORE], state[at + FUEL], state[at + BATTERY], state[at + LATITUDE], state[at + LONGITUDE]};
+            }
+            dirty.clear();
+        }
+
+        try {
+            List<Integer> indexes = IntStream.range(0, ids.length).boxed().toList();
+            jdbcTemplate.batchUpdate(UPDATE_VEHICLE, indexes, BATCH_SIZE, (ps, i) -> {
+                double[] row = rows[i];
+                for (int c = 0; c < row.length; c++) {
+                    setNullable(ps, c + 1, row[c]);
+                }
+                ps.setLong(row.length + 1, ids[i]);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Error writing vehicle health scores, will retry: {}", e.getMessage());
+            synchronized (this) {
+                for (long id : ids) {
+                    int slot = slots.get(id);
+                    if (slot >= 0) {
+                        dirty.set(slot);
+                    }
+                }
+            }
+            return;
+        }
+        // Written behind Hibernate's back, so drop any cached copies
+        for (long id : ids) {
+            entityManagerFactory.getCache().evict(Vehicle.class, id);
+        }
+    }
+
+    private double rescore(int at, long now) {
+        double score = score(Math.max(state[at + TELEMETRY_KM], state[at + TRIP_KM]), state[at + MAINTENANCE_DAY],
+                state[at + TRIPS], state[at + FUEL_DRAIN], state[at + BATTERY_DRAIN], state[at + ENGINE_TEMPERATURE], now);
+        state[at + SCORE] = score;
+        return score;
+    }
+
+    private static double score(double km, double maintenanceDay, double trips, double fuelDrain,
+                                double batteryDrain, double engineTemperature, long now) {
+        double penalty = 0;
+        penalty += Math.min(MAX_DISTANCE_PENALTY, km / KM_PER_POINT);
+        if (!Double.isNaN(maintenanceDay)) {
+            double days = Math.max(0, now / 86_400_000.0 - maintenanceDay);
+            penalty += Math.min(MAX_AGE_PENALTY, days / DAYS_PER_POINT);
+        }
+        penalty += Math.min(MAX_TRIP_PENALTY, trips * POINTS_PER_TRIP);
+        penalty += excess(fuelDrain, NORMAL_FUEL_DRAIN, MAX_DRAIN_PENALTY);
+        penalty += excess(batteryDrain, NORMAL_BATTERY_DRAIN, MAX_DRAIN_PENALTY);
+        penalty += excess(engineTemperature, NORMAL_ENGINE_TEMPERATURE, MAX_TEMPERATURE_PENALTY);
+        return Math.round(Math.max(0, 100 - penalty) * 10) / 10.0;
+    }
+
+    private void ewma(int at, double sample) {
+        state[at] = Double.isNaN(state[at]) ? sample : state[at] + ALPHA * (sample - state[at]);
+    }
+
+    // One point per unit above normal, capped; no penalty without samples
+    private static double excess(double value, double normal, double cap) {
+        return Double.isNaN(value) ? 0 : Math.min(cap, Math.max(0, value - normal));
+    }
+
+    private int slotOf(long vehicleId) {
+        int slot = slots.get(vehicleId);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = slots.getOrAssign(vehicleId);
+        if ((slot + 1) * STRIDE > state.length) {
+            state = Arrays.copyOf(state, state.length * 2);
+        }
+        initSlot(slot * STRIDE);
+        return slot;
+    }
+
+    private void initSlot(int at) {
+        Arrays.fill(state, at, at + STRIDE, 0);
+        state[at + FUEL] = Double.NaN;
+        state[at + BATTERY] = Double.NaN;
+        state[at + LATITUDE] = Double.NaN;
+        state[at + LONGITUDE] = Double.NaN;
+        state[at + FUEL_DRAIN] = Double.NaN;
+        state[at + BATTERY_DRAIN] = Double.NaN;
+        state[at + ENGINE_TEMPERATURE] = Double.NaN;
+        state[at + MAINTENANCE_DAY] = Double.NaN;
+        state[at + SCORE] = 100;
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    private static double parseEpochDay(String date) {
+        if (date == null || date.isBlank()) {
+            return Double.NaN;
+        }
+        try {
+            return LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.util.PostingList;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory search index over vehicle make, model, license plate and color.
+//
+// Every field is broken into trigrams and whole-word tokens, each mapping to a compressed
+// posting list of internal doc ids. Terms of 3+ characters are answered by intersecting their
+// trigram postings; shorter terms use token prefixes. Candidates are then verified and ranked.
+//
+// Doc ids only ever grow, so postings stay append-only: an updated vehicle is re-added under a
+// new doc id and its old doc is tombstoned. The index is rebuilt once tombstones pile up.
+// Kept up to date by VehicleService on create/update/delete; never reads the database itself.
+@Component
+public class VehicleSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private static final int FIELD_PLATE = 0;
+    private static final int FIELD_MAKE = 1;
+    private static final int FIELD_MODEL = 2;
+    private static final int FIELD_COLOR = 3;
+    private static final double[] FIELD_WEIGHT = {1.2, 1.0, 1.0, 0.5};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> docByVehicle = new HashMap<>();
+    private final Map<Long, PostingList> trigrams = new HashMap<>();
+    private final NavigableMap<String, PostingList> tokens = new TreeMap<>();
+
+    // One indexed vehicle: original field values for suggestions, lowercased ones for matching
+    private record Doc(long vehicleId, String[] values, String[] lowered) {}
+
+    // Replaces the whole index, e.g. at startup
+    public void rebuild(List<Vehicle> vehicles) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Vehicle vehicle : vehicles) {
+                addDoc(vehicle.getId(), fieldsOf(vehicle));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds or re-indexes a vehicle
+    public void index(Vehicle vehicle) {
+        if (vehicle.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDoc(vehicle.getId());
+            addDoc(vehicle.getId(), fieldsOf(vehicle));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long vehicleId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(vehicleId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long vehicleId) {
+        lock.readLock().lock();
+        try {
+            return docByVehicle.containsKey(vehicleId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByVehicle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Vehicle ids matching every term of the query, best match first
+    public List<Long> search(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            int n = 0;
+            for (String term : terms) {
+                if (candidates == null) {
+                    candidates = candidatesFor(term);
+                    n = candidates.length;
+                } else {
+                    n = intersect(candidates, n, candidatesFor(term));
+                }
+                if (n == 0) {
+                    return List.of();
+                }
+            }
+
+            // Keep the best `limit` docs in a small array sorted by score
+            long[] topIds = new long[Math.min(limit, n)];
+            double[] topScores = new double[topIds.length];
+            int found = 0;
+            for (int i = 0; i < n; i++) {
+                int docId = candidates[i];
+                if (deleted.get(docId)) {
+                    continue;
+                }
+                Doc doc = docs.get(docId);
+                double score = score(doc, terms);
+                if (score <= 0) {
+                    continue;
+                }
+                if (found < topIds.length) {
+                    found++;
+                } else if (score <= topScores[found - 1]) {
+                    continue;
+                }
+                int pos = found - 1;
+                while (pos > 0 && topScores[pos - 1] < score) {
+                    topScores[pos] = topScores[pos - 1];
+                    topIds[pos] = topIds[pos - 1];
+                    pos--;
+                }
+                topScores[pos] = score;
+                topIds[pos] = doc.vehicleId();
+            }
+
+            List<Long> result = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                result.add(topIds[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Typeahead: distinct field values (make, model, plate, color) having a word that starts with prefix
+    public List<String> suggest(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> suggestions = new LinkedHashSet<>();
+            for (Map.Entry<String, PostingList> entry : tokens.subMap(p, true, p + Character.MAX_VALUE, false).entrySet()) {
+                PostingList postings = entry.getValue();
+                int[] ids = new int[postings.size()];
+                postings.decode(ids);
+                for (int docId : ids) {
+                    if (deleted.get(docId)) {
+                        continue;
+                    }
+                    Doc doc = docs.get(docId);
+                    for (int f = 0; f < doc.values().length; f++) {
+                        if (startsWithWord(doc.lowered()[f], p)) {
+                            suggestions.add(doc.values()[f]);
+                        }
+                    }
+                    if (suggestions.size() >= limit) {
+                        return new ArrayList<>(suggestions).subList(0, limit);
+                    }
+                }
+            }
+            return new ArrayList<>(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidatesFor(String term) {
+        if (term.length() < 3) {
+            // Short terms: union of postings of every token starting with the term
+            BitSet union = new BitSet();
+            for (PostingList postings : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                int[] ids = new int[postings.size()];
+                postings.decode(ids);
+                for (int id : ids) {
+                    union.set(id);
+                }
+            }
+            return union.stream().toArray();
+        }
+
+        // Intersect trigram postings, smallest first
+        int grams = term.length() - 2;
+        PostingList[] lists = new PostingList[grams];
+        for (int i = 0; i < grams; i++) {
+            lists[i] = trigrams.get(trigram(term, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        int[] result = new int[lists[0].size()];
+        int n = lists[0].decode(result);
+        for (int i = 1; i < lists.length && n > 0; i++) {
+            n = lists[i].retainAll(result, n);
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static int intersect(int[] a, int n, int[] b) {
+        int out = 0;
+        int j = 0;
+        for (int i = 0; i < n && j < b.length; i++) {
+            while (j < b.length && b[j] < a[i]) {
+                j++;
+            }
+            if (j < b.length && b[j] == a[i]) {
+                a[out++] = a[i];
+            }
+        }
+        return out;
+    }
+
+    // Sum over terms of the best field match; 0 if any term is only a trigram false positive
+    private static double score(Doc doc, String[] terms) {
+        double total = 0;
+        for (String term : terms) {
+            double best = 0;
+            for (int f = 0; f < doc.lowered().length; f++) {
+                String field = doc.lowered()[f];
+                double s;
+                if (field.equals(term)) {
+                    s = 100;
+                } else if (field.startsWith(term)) {
+                    s = 60;
+                } else if (startsWithWord(field, term)) {
+                    s = 40;
+                } else if (term.length() >= 3 && field.contains(term)) {
+                    s = 15;
+                } else {
+                    continue;
+                }
+                // Prefer tighter matches: "Model S" over "Model S Plaid Long Range" for "model s"
+                s = s * FIELD_WEIGHT[f] + 10.0 * term.length() / field.length();
+                best = Math.max(best, s);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private void addDoc(long vehicleId, String[] values) {
+        String[] lowered = new String[values.length];
+        for (int f = 0; f < values.length; f++) {
+            lowered[f] = normalize(values[f]);
+        }
+        int docId = docs.size();
+        docs.add(new Doc(vehicleId, values, lowered));
+        docByVehicle.put(vehicleId, docId);
+
+        // A doc may produce the same gram/token twice; postings must only see it once
+        Set<Long> seenGrams = new HashSet<>();
+        Set<String> seenTokens = new HashSet<>();
+        for (String field : lowered) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                long gram = trigram(field, i);
+                if (seenGrams.add(gram)) {
+                    trigrams.computeIfAbsent(gram, k -> new PostingList()).add(docId);
+                }
+            }
+            for (String token : field.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty() && seenTokens.add(token)) {
+                    tokens.computeIfAbsent(token, k -> new PostingList()).add(docId);
+                }
+            }
+        }
+    }
+
+    private void removeDoc(Long vehicleId) {
+        Integer docId = docByVehicle.remove(vehicleId);
+        if (docId != null) {
+            deleted.set(docId);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = deleted.cardinality();
+        if (dead > 64 && dead > docByVehicle.size() / 4) {
+            List<Doc> live = new ArrayList<>(docByVehicle.size());
+            for (int docId : docByVehicle.values()) {
+                live.add(docs.get(docId));
+            }
+            live.sort((a, b) -> Long.compare(a.vehicleId(), b.vehicleId()));
+            clear();
+            for (Doc doc : live) {
+                addDoc(doc.vehicleId(), doc.values());
+            }
+        }
+    }
+
+    private void clear() {
+        docs.clear();
+        deleted.clear();
+        docByVehicle.clear();
+        trigrams.clear();
+        tokens.clear();
+    }
+
+    private static String[] fieldsOf(Vehicle v) {
+        String[] values = new String[4];
+        values[FIELD_PLATE] = nullToEmpty(v.getLicensePlate());
+        values[FIELD_MAKE] = nullToEmpty(v.getMake());
+        values[FIELD_MODEL] = nullToEmpty(v.getModel());
+        values[FIELD_COLOR] = nullToEmpty(v.getColor());
+        return values;
+    }
+
+    private static String[] terms(String query) {
+        String q = normalize(query);
+        return q.isEmpty() ? new String[0] : q.split(" ");
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static boolean startsWithWord(String field, String prefix) {
+        int from = 0;
+        while (from <= field.length() - prefix.length()) {
+            if (field.startsWith(prefix, from)) {
+                return true;
+            }
+            int next = indexOfSeparator(field, from);
+            if (next < 0) {
+                return false;
+            }
+            from = next + 1;
+        }
+        return false;
+    }
+
+    private static int indexOfSeparator(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (!Character.isLetterOrDigit(s.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
@@ -2,20 +2,47 @@ package com.neurofleetx.service;
 
 import com.neurofleetx.entity.Vehicle;
 import com.neurofleetx.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class VehicleService {
 
+    private static final Logger log = LoggerFactory.getLogger(VehicleService.class);
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private VehicleSearchIndex searchIndex;
+
+    @Autowired
+    private VehicleHealthModel healthModel;
+
+    @Autowired
+    private EvChargingScheduler evScheduler;
+
+    @Autowired
+    private MaintenanceRuleEngine ruleEngine;
+
+    // Load the search index once at startup; searches never scan the vehicles table
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        searchIndex.rebuild(vehicleRepository.findAll());
+    }
+
     // Create a new vehicle
     @Transactional
     public Vehicle createVehicle(Vehicle vehicle) {
@@ -51,39 +78,60 @@ public class VehicleService {
                 vehicle.setHealthScore(95.0);
             }
             
-            return vehicleRepository.save(vehicle);
+            Vehicle saved = vehicleRepository.save(vehicle);
+            AfterCommit.run(() -> searchIndex.index(saved));
+            AfterCommit.run(() -> healthModel.track(saved));
+            AfterCommit.run(() -> evScheduler.track(saved));
+            return saved;
         } catch (Exception e) {
-            System.err.println("Error creating vehicle: " + e.getMessage());
+            log.error("Error creating vehicle: {}", e.getMessage());
             throw new RuntimeException("Failed to create vehicle: " + e.getMessage());
         }
     }
 
     // Get vehicle by ID
+    @Transactional(readOnly = true)
     public Optional<Vehicle> getVehicleById(Long id) {
         return vehicleRepository.findById(id);
     }
 
+    // Whether a vehicle exists, answered from the search index; a vehicle the index misses (e.g. inserted
+    // by SQL after startup) is looked up once and indexed, so unknown ids never reach the in-memory models
+    public boolean vehicleExists(Long id) {
+        if (searchIndex.contains(id)) {
+            return true;
+        }
+        Optional<Vehicle> vehicle = vehicleRepository.findById(id);
+        vehicle.ifPresent(searchIndex::index);
+        return vehicle.isPresent();
+    }
+
     // Get all vehicles
+    @Transactional(readOnly = true)
     public List<Vehicle> getAllVehicles() {
         return vehicleRepository.findAll();
     }
 
     // Get vehicle by license plate
+    @Transactional(readOnly = true)
     public Optional<Vehicle> getVehicleByLicensePlate(String licensePlate) {
         return vehicleRepository.findByLicensePlate(licensePlate);
     }
 
     // Get vehicles by type
+    @Transactional(readOnly = true)
     public List<Vehicle> getVehiclesByType(String type) {
         return vehicleRepository.findByType(type);
     }
 
     // Get available vehicles
+    @Transactional(readOnly = true)
     public List<Vehicle> getAvailableVehicles() {
         return vehicleRepository.findByIsAvailableTrue();
     }
 
     // Get vehicles by type and availability
+    @Transactional(readOnly = true)
     public List<Vehicle> getAvailableVehiclesByType(String type) {
         return vehicleRepository.findByTypeAndIsAvailable(type, true);
     }
@@ -102,8 +150,14 @@ public class VehicleService {
             vehicle.setColor(vehicleDetails.getColor());
             vehicle.setBasePricePerKm(vehicleDetails.getBasePricePerKm());
             vehicle.setIsAvailable(vehicleDetails.getIsAvailable());
+            if (vehicleDetails.getBatteryLevel() != null) {
+                vehicle.setBatteryLevel(vehicleDetails.getBatteryLevel());
+            }
             vehicle.setUpdatedAt(LocalDateTime.now());
-            return vehicleRepository.save(vehicle);
+            Vehicle saved = vehicleRepository.save(vehicle);
+            AfterCommit.run(() -> searchIndex.index(saved));
+            AfterCommit.run(() -> evScheduler.track(saved));
+            return saved;
         }
         throw new RuntimeException("Vehicle not found with ID: " + id);
     }
@@ -120,36 +174,71 @@ public class VehicleService {
         return Optional.empty();
     }
 
+    // Record a maintenance visit today; the health model starts counting wear from here
+    @Transactional
+    public Optional<Vehicle> recordMaintenance(Long id) {
+        Optional<Vehicle> vehicleOpt = vehicleRepository.findById(id);
+        if (vehicleOpt.isPresent()) {
+            Vehicle vehicle = vehicleOpt.get();
+            LocalDate today = LocalDate.now();
+            vehicle.setLastMaintenanceDate(today.toString());
+            vehicle.setUpdatedAt(LocalDateTime.now());
+            vehicle.setHealthScore(healthModel.scoreAfterMaintenance(today));
+            Vehicle saved = vehicleRepository.save(vehicle);
+            AfterCommit.run(() -> healthModel.onMaintenance(id, today));
+            return Optional.of(saved);
+        }
+        return Optional.empty();
+    }
+
     // Delete vehicle
     public void deleteVehicle(Long id) {
         vehicleRepository.deleteById(id);
+        AfterCommit.run(() -> searchIndex.remove(id));
+        AfterCommit.run(() -> evScheduler.forget(id));
+        AfterCommit.run(() -> healthModel.forget(id));
+        AfterCommit.run(() -> ruleEngine.forget(id));
     }
 
     // Get vehicles by passenger capacity
+    @Transactional(readOnly = true)
     public List<Vehicle> getVehiclesByPassengerCapacity(Integer passengerCount) {
         return vehicleRepository.findByPassengerCapacityGreaterThanEqual(passengerCount);
     }
 
-    // Get vehicles needing maintenance (simplified version)
+    // Get vehicles needing maintenance: those with an open alert from the rule engine
+    @Transactional(readOnly = true)
     public List<Vehicle> getVehiclesNeedingMaintenance() {
-        List<Vehicle> allVehicles = vehicleRepository.findAll();
-        return allVehicles.stream()
-            .filter(v -> v.getHealthScore() != null && v.getHealthScore() < 70.0)
-            .filter(v -> v.getCurrentFuelLevel() != null && v.getCurrentFuelLevel() < 20.0)
-            .toList();
+        return vehicleRepository.findVehiclesWithOpenAlerts();
     }
 
-    // Search vehicles (simplified version)
+    // Search vehicles by make, model, license plate or color, best match first
+    @Transactional(readOnly = true)
     public List<Vehicle> searchVehicles(String searchTerm) {
-        List<Vehicle> allVehicles = vehicleRepository.findAll();
-        String searchLower = searchTerm.toLowerCase();
-        return allVehicles.stream()
-            .filter(v -> v.getMake().toLowerCase().contains(searchLower) || 
-                       v.getModel().toLowerCase().contains(searchLower))
+        return searchVehicles(searchTerm, VehicleSearchIndex.DEFAULT_LIMIT);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Vehicle> searchVehicles(String searchTerm, int limit) {
+        List<Long> ids = searchIndex.search(searchTerm, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Vehicle> byId = vehicleRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Vehicle::getId, v -> v));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .toList();
     }
 
+    // Typeahead suggestions, answered from the in-memory index only
+    public List<String> suggestVehicles(String prefix, int limit) {
+        return searchIndex.suggest(prefix, limit);
+    }
+
     // Get vehicle statistics
+    @Transactional(readOnly = true)
     public VehicleStats getVehicleStats() {
         VehicleStats stats = new VehicleStats();
         List<Vehicle> allVehicles = vehicleRepository.findAll();
@@ -159,13 +248,15 @@ public class VehicleService {
         stats.setSedanVehicles(allVehicles.stream().mapToLong(v -> "SEDAN".equals(v.getType()) ? 1L : 0L).sum());
         stats.setSuvVehicles(allVehicles.stream().mapToLong(v -> "SUV".equals(v.getType()) ? 1L : 0L).sum());
         stats.setEvVehicles(allVehicles.stream().mapToLong(v -> "EV".equals(v.getType()) ? 1L : 0L).sum());
-        stats.setVehiclesNeedingMaintenance(getVehiclesNeedingMaintenance().stream().count());
+        stats.setVehiclesNeedingMaintenance(vehicleRepository.countVehiclesWithOpenAlerts());
         
         return stats;
     }
 
     // AI-powered vehicle recommendations
-    public List<Vehicle> getVehicleRecommendations(String vehicleType, Integer passengerCount, Boolean evPreference) {
+    // EVs are skipped when estimatedDistance is given and their battery cannot cover it plus the reserve
+    @Transactional(readOnly = true)
+    public List<Vehicle> getVehicleRecommendations(String vehicleType, Integer passengerCount, Boolean evPreference, Double estimatedDistance) {
         List<Vehicle> availableVehicles = getAvailableVehicles();
         
         return availableVehicles.stream()
@@ -186,6 +277,11 @@ public class VehicleService {
                 if (evPreference != null && evPreference && !"EV".equals(vehicle.getType())) {
                     return false;
                 }
+
+                // Filter out EVs without enough range for the trip
+                if (estimatedDistance != null && !evScheduler.canCover(vehicle, estimatedDistance)) {
+                    return false;
+                }
                 
                 return true;
             })
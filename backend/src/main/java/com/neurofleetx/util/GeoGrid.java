@@ -0,0 +1,69 @@
+package com.neurofleetx.util;
+
+// Fixed-size lat/lng grid. A cell is identified by its row and column packed into one long,
+// so cells can key a SlotMap without allocating.
+public class GeoGrid {
+
+    public static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double cellDegrees;
+
+    public GeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    public double cellDegrees() {
+        return cellDegrees;
+    }
+
+    // Approximate cell edge length (north-south) in km
+    public double cellKm() {
+        return cellDegrees * KM_PER_DEGREE;
+    }
+
+    public long cell(double latitude, double longitude) {
+        return cell(row(latitude), col(longitude));
+    }
+
+    public long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    public long col(double longitude) {
+        return (long) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    public static long cell(long row, long col) {
+        return (row << 32) | col;
+    }
+
+    // South-west corner of a cell
+    public double rowLatitude(long row) {
+        return row * cellDegrees - 90;
+    }
+
+    public double colLongitude(long col) {
+        return col * cellDegrees - 180;
+    }
+
+    public double cellLatitude(long cell) {
+        return ((cell >>> 32) + 0.5) * cellDegrees - 90;
+    }
+
+    public double cellLongitude(long cell) {
+        return ((cell & 0xFFFFFFFFL) + 0.5) * cellDegrees - 180;
+    }
+
+    // Great-circle distance in km
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
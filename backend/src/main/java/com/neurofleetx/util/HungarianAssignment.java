@@ -0,0 +1,96 @@
+package com.neurofleetx.util;
+
+import java.util.Arrays;
+
+// Minimum-cost assignment of rows to columns (Hungarian algorithm with potentials, O(n^2 m)).
+// Rectangular matrices are fine: every row is matched when rows <= columns, otherwise every
+// column is. Costs must be finite; callers mark forbidden pairs with a large cost and drop
+// those matches afterwards.
+public final class HungarianAssignment {
+
+    private HungarianAssignment() {}
+
+    // Column matched to each row, or -1 for rows left over when there are more rows than columns
+    public static int[] solve(double[][] cost) {
+        int rows = cost.length;
+        int cols = rows == 0 ? 0 : cost[0].length;
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        if (rows == 0 || cols == 0) {
+            return result;
+        }
+        if (rows <= cols) {
+            int[] match = solve(cost, rows, cols, false);
+            for (int j = 0; j < cols; j++) {
+                if (match[j] >= 0) {
+                    result[match[j]] = j;
+                }
+            }
+        } else {
+            int[] match = solve(cost, cols, rows, true);
+            for (int j = 0; j < rows; j++) {
+                result[j] = match[j];
+            }
+        }
+        return result;
+    }
+
+    // n <= m; returns the row (0-based, -1 if none) matched to each of the m columns.
+    // With transposed set, row i / column j of the problem is cost[j][i].
+    private static int[] solve(double[][] cost, int n, int m, boolean transposed) {
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double c = transposed ? cost[j - 1][i0 - 1] : cost[i0 - 1][j - 1];
+                    double reduced = c - u[i0] - v[j];
+                    if (reduced < minv[j]) {
+                        minv[j] = reduced;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] match = new int[m];
+        for (int j = 1; j <= m; j++) {
+            match[j - 1] = p[j] - 1;
+        }
+        return match;
+    }
+}
@@ -0,0 +1,286 @@
+package com.neurofleetx.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+// KLL quantile sketch (Karnin, Lang, Liberty): quantiles of a stream of doubles in bounded memory,
+// about 3k values whatever the stream length. With the default k = 200 a quantile's rank is off by
+// roughly 1% of the count at most.
+//
+// Values go into level 0. A level that reaches its capacity is sorted and compacted: every other
+// value, starting at a random offset, moves up a level and the rest are dropped, so a value on
+// level h stands for 2^h original ones. Capacities shrink by 2/3 per level below the top, which
+// keeps the error bound while the sketch grows by one level per doubling of the stream.
+//
+// Sketches merge level by level and compact again, so per-day sketches merge into a window and
+// sketches from different nodes merge into one. Not thread-safe.
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final byte FORMAT = 1;
+    private static final double SHRINK = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+    private double[][] levels = new double[0][];
+    private int[] sizes = new int[0];
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long random = System.nanoTime() | 1;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < MIN_CAPACITY || k > 65_535) {
+            throw new IllegalArgumentException("k must be between " + MIN_CAPACITY + " and 65535");
+        }
+        this.k = k;
+        grow();
+    }
+
+    // NaN is ignored
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        compress();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    // Value at quantile q (0..1), NaN when empty
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        double target = q * total;
+        long cumulative = 0;
+        for (int i : order) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compress();
+    }
+
+    public KllSketch copy() {
+        KllSketch copy = new KllSketch(k);
+        copy.merge(this);
+        return copy;
+    }
+
+    // Values held, for the memory bound
+    public int retained() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    // format, k, count, min, max, level count, then per level: size and values
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(FORMAT);
+        out.writeShort(k);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeByte(levels.length);
+        for (int h = 0; h < levels.length; h++) {
+            out.writeInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                out.writeDouble(levels[h][i]);
+            }
+        }
+    }
+
+    public static KllSketch readFrom(DataInputStream in) throws IOException {
+        byte format = in.readByte();
+        if (format != FORMAT) {
+            throw new IOException("Unsupported KLL format " + format);
+        }
+        KllSketch sketch;
+        try {
+            sketch = new KllSketch(in.readUnsignedShort());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int height = in.readUnsignedByte();
+        if (height > 64) {
+            throw new IOException("Corrupt KLL sketch: " + height + " levels");
+        }
+        while (sketch.levels.length < height) {
+            sketch.grow();
+        }
+        for (int h = 0; h < height; h++) {
+            int size = in.readInt();
+            if (size < 0 || size > 1 << 24) {
+                throw new IOException("Corrupt KLL sketch: level of " + size + " values");
+            }
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, in.readDouble());
+            }
+        }
+        sketch.compress();
+        return sketch;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writeTo(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static KllSketch fromBytes(byte[] bytes) throws IOException {
+        return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private int capacity(int h) {
+        int depth = levels.length - h - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(SHRINK, depth)));
+    }
+
+    private int maxRetained() {
+        int total = 0;
+        for (int h = 0; h < levels.length; h++) {
+            total += capacity(h);
+        }
+        return total;
+    }
+
+    private void grow() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new double[MIN_CAPACITY];
+    }
+
+    private void append(int h, double value) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+        }
+        levels[h][sizes[h]++] = value;
+    }
+
+    // Compact the lowest full level until the sketch is within its budget
+    private void compress() {
+        while (retained() >= maxRetained()) {
+            for (int h = 0; h < levels.length; h++) {
+                if (sizes[h] >= capacity(h)) {
+                    if (h + 1 == levels.length) {
+                        grow();
+                    }
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Sort the level and promote every other value; with an odd size the largest value stays
+    private void compact(int h) {
+        double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+        int pairs = size / 2;
+        int offset = nextBit();
+        for (int i = 0; i < pairs; i++) {
+            append(h + 1, level[2 * i + offset]);
+        }
+        if (size % 2 == 1) {
+            level[0] = level[size - 1];
+            sizes[h] = 1;
+        } else {
+            sizes[h] = 0;
+        }
+    }
+
+    // xorshift coin for the compaction offset
+    private int nextBit() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) (random >>> 63);
+    }
+}
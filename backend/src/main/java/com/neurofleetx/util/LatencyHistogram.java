@@ -0,0 +1,104 @@
+package com.neurofleetx.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free, allocation-free latency histogram for hot paths.
+// Values (nanoseconds) land in log-linear buckets: every power of two is split into 16 equal
+// sub-buckets, so a bucket is at most 1/16 (~6%) wide relative to its values. Values below 32ns are
+// exact; values above MAX_NANOS (about 18 minutes) are clamped. Recording is a few shifts and one
+// atomic increment per counter; percentiles are computed from a snapshot when someone asks.
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BITS) * SUB_BUCKETS;
+
+    public record Snapshot(long count, long errors, double meanMillis, double p50Millis, double p90Millis,
+                           double p99Millis, double p999Millis, double maxMillis) {}
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_NANOS);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    // Count a failed call; its latency is recorded separately with record()
+    public void error() {
+        errors.increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    // Consistent enough for monitoring: buckets are read one by one while writers keep going
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long maxNanos = max.get();
+        if (total == 0) {
+            return new Snapshot(0, errors.sum(), 0, 0, 0, 0, 0, 0);
+        }
+        return new Snapshot(total, errors.sum(), millis(totalNanos.sum() / (double) count.sum()),
+                millis(percentile(counts, total, 0.50, maxNanos)), millis(percentile(counts, total, 0.90, maxNanos)),
+                millis(percentile(counts, total, 0.99, maxNanos)), millis(percentile(counts, total, 0.999, maxNanos)),
+                millis(maxNanos));
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowestValue(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    // Midpoint of the bucket holding the requested rank, never above the largest value seen
+    private static double percentile(long[] counts, long total, double quantile, long maxNanos) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long low = lowestValue(i);
+                long width = i + 1 < BUCKETS ? lowestValue(i + 1) - low : 1;
+                return Math.min(low + (width - 1) / 2.0, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 100.0) / 10_000.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.neurofleetx.util;
+
+import java.util.Arrays;
+
+// Append-only sorted int list stored as delta-encoded varints.
+// Ids must be added in strictly increasing order; a typical posting of dense ids costs ~1 byte per entry.
+public class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int count;
+    private int last = -1;
+
+    public void add(int id) {
+        if (id <= last) {
+            throw new IllegalArgumentException("Posting ids must be increasing: " + id + " after " + last);
+        }
+        int delta = id - last;
+        last = id;
+        count++;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int bytes() {
+        return length;
+    }
+
+    // Decodes the whole list into dst (which must hold size() ints) and returns the count
+    public int decode(int[] dst) {
+        int pos = 0;
+        int value = -1;
+        for (int i = 0; i < count; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            dst[i] = value;
+        }
+        return count;
+    }
+
+    // Keeps only the entries of sorted[0..n) that are also in this list; returns the new n
+    public int retainAll(int[] sorted, int n) {
+        int pos = 0;
+        int value = -1;
+        int read = 0;
+        int out = 0;
+        int i = 0;
+        while (i < n && read < count) {
+            if (value < sorted[i]) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                read++;
+            }
+            while (i < n && sorted[i] < value) {
+                i++;
+            }
+            if (i < n && sorted[i] == value) {
+                sorted[out++] = value;
+                i++;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,58 @@
+package com.neurofleetx.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free event counter over a sliding time window split into fixed buckets.
+// Each slot packs the bucket number (upper 40 bits) and its count (lower 24 bits) into one long,
+// so rolling a slot over to a new bucket and counting into it is a single CAS.
+public class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    public void increment(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        int i = (int) (bucket % buckets);
+        while (true) {
+            long current = slots.get(i);
+            long next;
+            if (current >>> COUNT_BITS == bucket) {
+                if ((current & COUNT_MASK) == COUNT_MASK) {
+                    return; // saturated
+                }
+                next = current + 1;
+            } else if (current >>> COUNT_BITS > bucket) {
+                return; // a late event for a bucket that already rolled over
+            } else {
+                next = (bucket << COUNT_BITS) | 1;
+            }
+            if (slots.compareAndSet(i, current, next)) {
+                return;
+            }
+        }
+    }
+
+    // Events in the last `buckets` buckets, including the current one
+    public long sum(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long value = slots.get(i);
+            long b = value >>> COUNT_BITS;
+            if (b <= bucket && b > bucket - buckets) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,132 @@
+package com.neurofleetx.util;
+
+import java.util.Arrays;
+
+// Maps long keys (vehicle ids, grid cells) to dense slots 0..n-1 so per-key state can live in
+// flat primitive arrays. Open addressing over a long[] of keys. A removed key's slot is handed to
+// the next new key, so callers that remove keys must reset the slot's state first.
+// Not thread-safe: callers guard it with the same lock as the arrays it indexes.
+public class SlotMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int live;
+    private int[] freed = new int[0];
+    private int freedCount;
+
+    public SlotMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Existing slot of the key, or -1
+    public int get(long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Slot of the key, assigning the next free one on first sight
+    public int getOrAssign(long key) {
+        int slot = get(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        if ((live + 1) * 2 > keys.length) {
+            grow();
+        }
+        live++;
+        if (freedCount > 0) {
+            slot = freed[--freedCount];
+            insert(key, slot);
+            return slot;
+        }
+        insert(key, size);
+        return size++;
+    }
+
+    // Frees the key's slot for reuse; returns it, or -1 if the key had none
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        int slot = values[i];
+        // Backward-shift deletion: pull later keys of the probe run into the gap so lookups
+        // never stop early at it
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = EMPTY;
+        live--;
+        if (freedCount == freed.length) {
+            freed = Arrays.copyOf(freed, Math.max(16, freed.length * 2));
+        }
+        freed[freedCount++] = slot;
+        return slot;
+    }
+
+    // Slots handed out so far, freed ones included: arrays indexed by slot need this many entries
+    public int size() {
+        return size;
+    }
+
+    // Key stored in each slot, indexed by slot (freed slots hold 0)
+    public long[] keys() {
+        long[] result = new long[size];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result[values[i]] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private void insert(long key, int value) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,139 @@
+package com.neurofleetx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel (Varghese & Lauck): four levels of 256 slots each, so timers up to
+// 2^32 ticks ahead are scheduled in O(1) and the clock advances in O(1) per tick plus the timers
+// that fire. Level 0 holds timers due within the next 256 ticks, one slot per tick; level n holds
+// timers due within 256^(n+1) ticks, one slot per 256^n ticks, and a slot is moved down a level
+// ("cascaded") when the clock reaches it. Ticks where no level below the lowest occupied one can
+// change are skipped, so an idle or sparse wheel catches up on a long gap in a few steps.
+//
+// A timer never fires early: a deadline is rounded up to the next tick, and deadlines already in
+// the past fire on the next tick. Cancellation is left to the caller (check the timer's target
+// when it fires). Not thread-safe: callers guard it with their own lock.
+public class TimingWheel<T> {
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (BITS * LEVELS);
+
+    private record Entry<T>(long tick, T item) {}
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> buckets = new ArrayList<>(LEVELS * SLOTS);
+    private final int[] levelSizes = new int[LEVELS];
+    // Every timer due at or before this tick has fired
+    private long now;
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.now = Math.floorDiv(startMillis, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            buckets.add(null);
+        }
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    // Timers scheduled and not yet fired
+    public int size() {
+        return size;
+    }
+
+    public void schedule(long deadlineMillis, T item) {
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), now + 1);
+        place(new Entry<>(tick, item));
+        size++;
+    }
+
+    // Move the clock to nowMillis, handing every timer that came due to the sink (in deadline order
+    // across ticks); returns how many fired
+    public int advance(long nowMillis, Consumer<T> sink) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        int fired = 0;
+        while (now < target) {
+            if (size == 0) {
+                now = target;
+                break;
+            }
+            // Nothing below level k can fire or cascade before the next level-k slot starts: skip ahead
+            int k = 0;
+            while (k < LEVELS - 1 && levelSizes[k] == 0) {
+                k++;
+            }
+            if (k > 0) {
+                long nextSlot = ((now >>> (BITS * k)) + 1) << (BITS * k);
+                now = Math.min(target, nextSlot - 1);
+                if (now == target) {
+                    break;
+                }
+            }
+            now++;
+            // Higher levels first, so a cascaded timer can land in a lower slot that cascades this tick too
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((now & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            List<Entry<T>> due = take(0, now);
+            if (due != null) {
+                for (Entry<T> entry : due) {
+                    sink.accept(entry.item());
+                }
+                fired += due.size();
+                size -= due.size();
+            }
+        }
+        return fired;
+    }
+
+    private void cascade(int level) {
+        List<Entry<T>> entries = take(level, now);
+        if (entries != null) {
+            for (Entry<T> entry : entries) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick() - now;
+        // Beyond the top level: park in its farthest slot, the next cascade places it again
+        long slotTick = delta < SPAN ? entry.tick() : now + SPAN - 1;
+        delta = slotTick - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int index = level * SLOTS + (int) ((slotTick >>> (BITS * level)) & MASK);
+        List<Entry<T>> bucket = buckets.get(index);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets.set(index, bucket);
+        }
+        bucket.add(entry);
+        levelSizes[level]++;
+    }
+
+    private List<Entry<T>> take(int level, long tick) {
+        int index = level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK);
+        List<Entry<T>> bucket = buckets.get(index);
+        if (bucket == null || bucket.isEmpty()) {
+            return null;
+        }
+        buckets.set(index, null);
+        levelSizes[level] -= bucket.size();
+        return bucket;
+    }
+}
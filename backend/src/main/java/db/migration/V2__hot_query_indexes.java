@@ -0,0 +1,85 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+// Indexes for the repository finders, one per access path (same names in the entities' @Table(indexes),
+// so ddl-auto=update databases get them too). Such a database is baselined at V1 when it first runs
+// the prod profile and may already have some or all of them, so each index is only created when no
+// index of that name exists on its table; MySQL has no CREATE INDEX IF NOT EXISTS.
+// MySQL drops the implicit foreign-key index on customer_id, vehicle_id and driver_id once a composite
+// index below starts with that column.
+public class V2__hot_query_indexes extends BaseJavaMigration {
+
+    private static final String[][] INDEXES = {
+            // BookingRepository: findByCustomerId, findByCustomerIdAndStatus
+            {"bookings", "idx_bookings_customer_status", "customer_id, status"},
+            // BookingRepository: findRecentBookingsByCustomer (ORDER BY created_at)
+            {"bookings", "idx_bookings_customer_created", "customer_id, created_at"},
+            // BookingRepository: findByVehicleId
+            {"bookings", "idx_bookings_vehicle_status", "vehicle_id, status"},
+            // BookingRepository: findByDriverId, findBusyDriverIds; UserRepository.findFreeUserIds (NOT EXISTS on driver and status)
+            {"bookings", "idx_bookings_driver_status", "driver_id, status"},
+            // BookingRepository: findByStatus, countByStatus, findActiveBookings, findOpenBookingTimes,
+            // findCompletedTripSummaries, findCompletedBookings (ORDER BY created_at)
+            {"bookings", "idx_bookings_status_created", "status, created_at"},
+            // BookingRepository: findUnassignedConfirmed (status, driver IS NULL, oldest first), every dispatch tick
+            {"bookings", "idx_bookings_status_driver_created", "status, driver_id, created_at"},
+            // BookingRepository: findBookingsInDateRange
+            {"bookings", "idx_bookings_scheduled_pickup", "scheduled_pickup_time"},
+            // BookingRepository: calculateTotalRevenue (covering: the sum is read from the index)
+            {"bookings", "idx_bookings_payment_status_cost", "payment_status, estimated_cost"},
+            // BookingRepository: countPromoUsage
+            {"bookings", "idx_bookings_promo_code", "promo_code"},
+
+            // VehicleRepository: findByType, findByTypeAndIsAvailable
+            {"vehicles", "idx_vehicles_type_available", "type, is_available"},
+            // VehicleRepository: findByIsAvailableTrue, findAvailablePositions
+            {"vehicles", "idx_vehicles_available", "is_available"},
+            // VehicleRepository: findByPassengerCapacityGreaterThanEqual
+            {"vehicles", "idx_vehicles_passenger_capacity", "passenger_capacity"},
+
+            // MaintenanceAlertRepository: findByResolvedFalseOrderByTriggeredAtDesc, countOpenAlerts, findOpenAlertKeys;
+            // VehicleRepository: countVehiclesWithOpenAlerts
+            {"maintenance_alerts", "idx_maintenance_alerts_resolved_triggered", "resolved, triggered_at"},
+            // MaintenanceAlertRepository: findByVehicleIdOrderByTriggeredAtDesc, findOpenAlertsByVehicle;
+            // VehicleRepository: findVehiclesWithOpenAlerts (EXISTS per vehicle)
+            {"maintenance_alerts", "idx_maintenance_alerts_vehicle_resolved", "vehicle_id, resolved, triggered_at"},
+
+            // UserRepository: findFreeUserIds
+            {"users", "idx_users_role_active", "role, active"},
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String[] index : INDEXES) {
+                if (!indexExists(connection, index[0], index[1])) {
+                    statement.execute("CREATE INDEX " + index[1] + " ON " + index[0] + " (" + index[2] + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean indexExists(Connection connection, String table, String name) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        String stored = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT)
+                : meta.storesLowerCaseIdentifiers() ? table.toLowerCase(Locale.ROOT) : table;
+        try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), connection.getSchema(), stored, false, false)) {
+            while (rs.next()) {
+                if (name.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
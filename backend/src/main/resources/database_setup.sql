@@ -0,0 +1,5 @@
+-- One-time MySQL setup: mysql -u root -p < backend/src/main/resources/database_setup.sql
+-- Creates the database only (name as in application-mysql.properties). Tables, keys and indexes are
+-- owned by the versioned migrations in db/migration, applied by Flyway in the prod profile
+-- (V1__baseline.sql, db.migration.V2__hot_query_indexes, ...); add schema changes there, not here.
+CREATE DATABASE IF NOT EXISTS neurofleetx_db CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
@@ -0,0 +1,97 @@
+-- Baseline schema, as Hibernate maps the entities (MySQL 8; also runs on H2 in MySQL mode).
+-- Databases created earlier by ddl-auto=update are adopted at this version (baseline-on-migrate)
+-- instead of running it. Later schema changes go in new V<n>__*.sql files, never in this one.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    company_name VARCHAR(255),
+    license_number VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    active BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE vehicles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    driver_id BIGINT,
+    make VARCHAR(255) NOT NULL,
+    model VARCHAR(255) NOT NULL,
+    license_plate VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    passenger_capacity INTEGER NOT NULL,
+    vehicle_year INTEGER NOT NULL,
+    color VARCHAR(255) NOT NULL,
+    base_price_per_km FLOAT(53) NOT NULL,
+    is_available BIT NOT NULL,
+    current_fuel_level FLOAT(53) NOT NULL,
+    fuel_type VARCHAR(255),
+    status VARCHAR(255),
+    battery_level FLOAT(53),
+    health_score FLOAT(53),
+    last_maintenance_date VARCHAR(255),
+    current_latitude FLOAT(53),
+    current_longitude FLOAT(53),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_vehicles_license_plate UNIQUE (license_plate),
+    CONSTRAINT fk_vehicles_driver FOREIGN KEY (driver_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    driver_id BIGINT,
+    pickup_address TEXT NOT NULL,
+    dropoff_address TEXT NOT NULL,
+    pickup_latitude FLOAT(53),
+    pickup_longitude FLOAT(53),
+    dropoff_latitude FLOAT(53),
+    dropoff_longitude FLOAT(53),
+    scheduled_pickup_time DATETIME(6),
+    actual_pickup_time DATETIME(6),
+    actual_dropoff_time DATETIME(6),
+    estimated_distance FLOAT(53),
+    actual_distance FLOAT(53),
+    estimated_duration FLOAT(53),
+    actual_duration FLOAT(53),
+    estimated_cost FLOAT(53),
+    actual_cost FLOAT(53),
+    passenger_count INTEGER,
+    payment_method VARCHAR(255),
+    payment_status VARCHAR(255),
+    promo_code VARCHAR(255),
+    discount_amount FLOAT(53),
+    customer_feedback VARCHAR(255),
+    driver_rating INTEGER,
+    status VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_customer FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id),
+    CONSTRAINT fk_bookings_driver FOREIGN KEY (driver_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE maintenance_alerts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    vehicle_id BIGINT NOT NULL,
+    rule_name VARCHAR(255) NOT NULL,
+    metric VARCHAR(255) NOT NULL,
+    severity VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    metric_value FLOAT(53),
+    threshold FLOAT(53),
+    triggered_at DATETIME(6) NOT NULL,
+    resolved BIT NOT NULL,
+    resolved_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_maintenance_alerts_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,228 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingArchive;
+import com.neurofleetx.service.BookingArchiveFile;
+import com.neurofleetx.service.BookingArchiveFile.Column;
+import com.neurofleetx.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:neurofleetx_archive;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "neurofleetx.archive.dir=target/booking-archive-test",
+        "neurofleetx.archive.max-segments-per-month=3"})
+class BookingArchiveTest {
+
+    private static final Path DIRECTORY = Paths.get("target/booking-archive-test");
+
+    @Autowired
+    private BookingArchive archive;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private User customer;
+    private User driver;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bookingRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+        archive.reload();
+        customer = user(UserRole.CUSTOMER);
+        driver = user(UserRole.DRIVER);
+        vehicle = vehicleRepository.save(new Vehicle("Toyota", "Prius", "ARCHIVE-" + System.nanoTime(), "SEDAN", 4, 2022, "White", 1.5, true));
+    }
+
+    @Test
+    void oldFinishedBookingsMoveToTheArchiveAndStayReadable() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Booking completed = booking("COMPLETED", now.minusDays(65));
+        completed.setActualCost(18.5);
+        completed.setActualDistance(7.25);
+        completed.setActualDuration(21.0);
+        completed.setActualPickupTime(now.minusDays(65).plusMinutes(5));
+        completed.setActualDropoffTime(now.minusDays(65).plusMinutes(26));
+        completed.setPaymentStatus("PAID");
+        completed.setPaymentMethod("CARD");
+        completed.setPromoCode("WELCOME10");
+        completed.setDriverRating(5);
+        completed.setCustomerFeedback("Smooth ride");
+        completed = bookingRepository.save(completed);
+        Booking cancelled = booking("CANCELLED", now.minusDays(40));
+        Booking oldPending = booking("PENDING", now.minusDays(40));
+        Booking recent = booking("COMPLETED", now.minusDays(2));
+
+        assertEquals(2, archive.archiveOlderThan(now.minusDays(30)));
+
+        assertEquals(List.of(oldPending.getId(), recent.getId()),
+                bookingRepository.findAll().stream().map(Booking::getId).sorted().toList());
+        assertEquals(2, archive.archivedCount());
+
+        Booking archived = bookingService.getBookingById(completed.getId()).orElseThrow();
+        assertEquals(completed.getCreatedAt(), archived.getCreatedAt());
+        assertEquals(completed.getActualDropoffTime(), archived.getActualDropoffTime());
+        assertEquals(18.5, archived.getActualCost());
+        assertEquals(7.25, archived.getActualDistance());
+        assertEquals(5, archived.getDriverRating());
+        assertEquals("WELCOME10", archived.getPromoCode());
+        assertEquals("Smooth ride", archived.getCustomerFeedback());
+        assertEquals(customer.getId(), archived.getCustomer().getId());
+        assertEquals(driver.getId(), archived.getDriver().getId());
+        assertEquals(vehicle.getLicensePlate(), archived.getVehicle().getLicensePlate());
+
+        // Hot rows first, then the archive
+        assertEquals(List.of(oldPending.getId(), recent.getId(), cancelled.getId(), completed.getId()),
+                ids(bookingService.getBookingsByCustomer(customer.getId())));
+        assertEquals(List.of(recent.getId(), completed.getId()), ids(bookingService.getCompletedBookings()));
+
+        BookingService.BookingStats stats = bookingService.getBookingStats();
+        assertEquals(4, stats.getTotalBookings());
+        assertEquals(2, stats.getCompletedBookings());
+        assertEquals(1, stats.getCancelledBookings());
+        assertEquals(12.0, stats.getTotalRevenue());
+
+        // Nothing left to move, and the segments read back the same after a restart
+        assertEquals(0, archive.archiveOlderThan(now.minusDays(30)));
+        archive.reload();
+        assertEquals(2, archive.archivedCount());
+        assertTrue(bookingService.getBookingById(cancelled.getId()).isPresent());
+    }
+
+    @Test
+    void rowsAlreadyArchivedAreNotWrittenAgainAndFullMonthsAreCompacted() throws IOException {
+        LocalDateTime createdAt = LocalDateTime.now().minusMonths(3).withDayOfMonth(10);
+        List<Booking> batches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Booking booking = booking("COMPLETED", createdAt.plusHours(i));
+            batches.add(bookingRepository.findAllWithVehicleByIdIn(List.of(booking.getId())).get(0));
+        }
+
+        // A run that wrote its segment but died before deleting the rows, then the repeated run
+        archive.append(batches.subList(0, 1));
+        archive.append(batches.subList(0, 1));
+        assertEquals(1, archive.archivedCount());
+
+        for (Booking booking : batches.subList(1, 5)) {
+            archive.append(List.of(booking));
+        }
+        assertEquals(5, archive.archivedCount());
+        // The fourth segment triggered a compaction into one, the fifth booking went to a new one
+        assertEquals(2, segmentFiles());
+        for (Booking booking : batches) {
+            assertTrue(archive.findById(booking.getId()).isPresent());
+        }
+        assertFalse(archive.findById(batches.get(4).getId() + 1).isPresent());
+    }
+
+    @Test
+    void segmentHeadersRuleOutCustomersAndVehiclesTheyDoNotHold() throws IOException {
+        List<Booking> rows = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setStatus("COMPLETED");
+            booking.setCustomer(stub(i * 10));
+            Vehicle stubVehicle = new Vehicle();
+            stubVehicle.setId(5000 + i);
+            booking.setVehicle(stubVehicle);
+            rows.add(booking);
+        }
+        Files.createDirectories(DIRECTORY);
+        Path file = DIRECTORY.resolve("filter-test.nfa");
+        BookingArchiveFile.write(file, rows);
+        BookingArchiveFile.Header header = BookingArchiveFile.readHeader(file);
+
+        int falsePositives = 0;
+        for (long id = 10; id <= 1000; id++) {
+            boolean held = id % 10 == 0;
+            boolean maybe = header.mightContain(Column.CUSTOMER_ID, id);
+            if (held) {
+                assertTrue(maybe);
+            } else if (maybe) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 900 / 10, "false positives: " + falsePositives);
+        assertFalse(header.mightContain(Column.CUSTOMER_ID, 5));
+        assertFalse(header.mightContain(Column.CUSTOMER_ID, 1010));
+        assertTrue(header.mightContain(Column.VEHICLE_ID, 5050));
+        assertFalse(header.mightContain(Column.VEHICLE_ID, 10));
+        // No row has a driver
+        assertFalse(header.mightContain(Column.DRIVER_ID, driver.getId()));
+    }
+
+    private static User stub(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(DIRECTORY)) {
+            return files.filter(file -> file.toString().endsWith(".nfa")).count();
+        }
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).toList();
+    }
+
+    private User user(UserRole role) {
+        User user = new User();
+        user.setName(role.name());
+        user.setEmail(role.name().toLowerCase() + System.nanoTime() + "@archive.test");
+        user.setPassword("secret");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Booking booking(String status, LocalDateTime createdAt) {
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setDriver(driver);
+        booking.setVehicle(vehicle);
+        booking.setPickupAddress("Pickup");
+        booking.setDropoffAddress("Dropoff");
+        booking.setEstimatedCost(12.0);
+        booking.setStatus(status);
+        booking.setCreatedAt(createdAt);
+        booking.setUpdatedAt(createdAt);
+        return bookingRepository.save(booking);
+    }
+}
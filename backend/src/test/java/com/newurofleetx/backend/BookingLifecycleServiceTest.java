@@ -0,0 +1,164 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingLifecycleEvent;
+import com.neurofleetx.service.BookingLifecycleService;
+import com.neurofleetx.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@RecordApplicationEvents
+class BookingLifecycleServiceTest {
+
+    @Autowired
+    private BookingLifecycleService lifecycleService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    // The service's clock only moves forward; each test advances it a couple of ticks past the last
+    private static long clock;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        // Other contexts recreate the shared H2 schema, so cached rows from earlier tests can alias new ids
+        entityManagerFactory.getCache().evictAll();
+        User user = new User();
+        user.setName("Customer");
+        user.setEmail("customer" + System.nanoTime() + "@lifecycle.test");
+        user.setPassword("secret");
+        user.setRole(UserRole.CUSTOMER);
+        customer = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+        vehicleRepository.deleteAll(vehicles);
+        userRepository.delete(customer);
+    }
+
+    @Test
+    void unconfirmedBookingsExpireAndReleaseTheirVehicle() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking stale = booking("PENDING", now.minusMinutes(20), null);
+        Booking fresh = booking("PENDING", now, null);
+        Booking confirmedMeanwhile = booking("PENDING", now.minusMinutes(20), null);
+        confirmedMeanwhile.setStatus("CONFIRMED");
+        bookingRepository.save(confirmedMeanwhile);
+
+        assertEquals(1, advance());
+
+        assertEquals("EXPIRED", statusOf(stale));
+        assertTrue(vehicleOf(stale).getIsAvailable());
+        assertEquals("PENDING", statusOf(fresh));
+        assertFalse(vehicleOf(fresh).getIsAvailable());
+        assertEquals("CONFIRMED", statusOf(confirmedMeanwhile));
+        assertEquals(List.of(stale.getId()), published(BookingLifecycleEvent.Type.EXPIRED));
+
+        // Its vehicle is released, so the expired booking cannot be confirmed any more
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmBooking(stale.getId()));
+        assertEquals("EXPIRED", statusOf(stale));
+    }
+
+    @Test
+    void confirmedBookingsGetAReminderAndBecomeNoShowsAfterTheGracePeriod() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking upcoming = booking("CONFIRMED", now, now.plusMinutes(10));
+        Booking missed = booking("CONFIRMED", now.minusHours(1), now.minusMinutes(20));
+        Booking started = booking("CONFIRMED", now.minusHours(1), now.minusMinutes(20));
+        started.setStatus("IN_PROGRESS");
+        bookingRepository.save(started);
+
+        advance();
+
+        assertEquals(List.of(upcoming.getId()), published(BookingLifecycleEvent.Type.REMINDER));
+        assertEquals(List.of(missed.getId()), published(BookingLifecycleEvent.Type.NO_SHOW));
+        assertEquals("CONFIRMED", statusOf(upcoming));
+        assertEquals("NO_SHOW", statusOf(missed));
+        assertTrue(vehicleOf(missed).getIsAvailable());
+        assertEquals("IN_PROGRESS", statusOf(started));
+    }
+
+    private int advance() {
+        clock = Math.max(clock, System.currentTimeMillis()) + 2000;
+        return lifecycleService.advance(clock);
+    }
+
+    private List<Long> published(BookingLifecycleEvent.Type type) {
+        return events.stream(BookingLifecycleEvent.class)
+                .filter(event -> event.type() == type)
+                .map(BookingLifecycleEvent::bookingId)
+                .filter(id -> bookings.stream().anyMatch(booking -> booking.getId() == id))
+                .toList();
+    }
+
+    private String statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private Vehicle vehicleOf(Booking booking) {
+        return vehicleRepository.findById(booking.getVehicle().getId()).orElseThrow();
+    }
+
+    // Saved and handed to the lifecycle service the way BookingController does
+    private Booking booking(String status, LocalDateTime createdAt, LocalDateTime scheduledPickup) {
+        Vehicle vehicle = new Vehicle("Toyota", "Prius", "LIFECYCLE-" + System.nanoTime(), "SEDAN", 4, 2022, "White", 1.5, false);
+        vehicles.add(0, vehicleRepository.save(vehicle));
+
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setVehicle(vehicle);
+        booking.setPickupAddress("Pickup");
+        booking.setDropoffAddress("Dropoff");
+        booking.setStatus(status);
+        booking.setCreatedAt(createdAt);
+        booking.setUpdatedAt(createdAt);
+        booking.setScheduledPickupTime(scheduledPickup);
+        bookings.add(0, bookingRepository.save(booking));
+        lifecycleService.track(bookings.get(0));
+        return bookings.get(0);
+    }
+}
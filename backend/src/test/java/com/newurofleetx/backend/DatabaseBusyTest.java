@@ -0,0 +1,67 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.config.DbConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties = {
+        "neurofleetx.db.concurrency-limit.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250"})
+@AutoConfigureMockMvc
+class DatabaseBusyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DbConcurrencyLimiter limiter;
+
+    // Endpoints whose catch (Exception e) would otherwise answer 500 or 400 still answer 503
+    @Test
+    void requestsThatCannotGetAPermitAnswer503() throws Exception {
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(limiter, "permits");
+        permits.acquire(2);
+        try {
+            mockMvc.perform(get("/api/vehicles"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.message").exists());
+            mockMvc.perform(put("/api/bookings/1/confirm"))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            permits.release(2);
+        }
+
+        mockMvc.perform(get("/api/vehicles")).andExpect(status().isOk());
+    }
+
+    // A request holds one permit from controller entry to return, so its nested service and
+    // repository calls never queue for a second one and cannot be rejected halfway through
+    @Test
+    void aRequestRunsOnASinglePermit() throws Exception {
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(limiter, "permits");
+        permits.acquire(1);
+        try {
+            mockMvc.perform(get("/api/vehicles")).andExpect(status().isOk());
+            assertEquals(1, limiter.availablePermits());
+        } finally {
+            permits.release(1);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingService;
+import com.neurofleetx.service.DispatchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+class DispatchServiceTest {
+
+    // Points along a north-south line, roughly x km north of the origin
+    private static final double LAT = 60.0;
+    private static final double LNG = 25.0;
+    private static final double KM = 1 / 111.32;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        // Other contexts recreate the shared H2 schema, so cached rows from earlier tests can alias new ids
+        entityManagerFactory.getCache().evictAll();
+        customer = user(UserRole.CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+        vehicleRepository.deleteAll(vehicles);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void assignsDriversToMinimiseTotalPickupTime() {
+        // Nearest-driver-first would give the older booking driver 1 (1 km) and the other driver 2 (4 km)
+        Booking older = booking(0, LocalDateTime.now().minusMinutes(2));
+        Booking newer = booking(2, LocalDateTime.now().minusMinutes(1));
+        User driver1 = user(UserRole.DRIVER);
+        User driver2 = user(UserRole.DRIVER);
+        dispatchService.reportLocation(driver1.getId(), LAT + 1 * KM, LNG);
+        dispatchService.reportLocation(driver2.getId(), LAT - 2 * KM, LNG);
+
+        DispatchService.DispatchResult result = dispatchService.dispatch();
+
+        assertEquals(2, result.applied());
+        assertEquals(driver2.getId(), driverOf(older));
+        assertEquals(driver1.getId(), driverOf(newer));
+        // The vehicle remembers its driver for the next round's positions
+        assertEquals(driver2.getId(), bookingRepository.findAllWithVehicleByIdIn(List.of(older.getId())).get(0).getVehicle().getDriver().getId());
+
+        // Both drivers are busy now, so a new booking waits
+        Booking waiting = booking(1, LocalDateTime.now());
+        dispatchService.dispatch();
+        assertNull(driverOf(waiting));
+    }
+
+    @Test
+    void driversTooFarAwayAreNotAssigned() {
+        Booking booking = booking(0, LocalDateTime.now());
+        User driver = user(UserRole.DRIVER);
+        dispatchService.reportLocation(driver.getId(), LAT + 100 * KM, LNG);
+
+        dispatchService.dispatch();
+
+        assertNull(driverOf(booking));
+    }
+
+    @Test
+    void driversWithoutAKnownLocationAreNotAssigned() {
+        Booking booking = booking(0, LocalDateTime.now());
+        user(UserRole.DRIVER);
+
+        DispatchService.DispatchResult result = dispatchService.dispatch();
+
+        assertEquals(0, result.applied());
+        assertNull(driverOf(booking));
+    }
+
+    @Test
+    void onlyDriversCanReportALocation() {
+        User driver = user(UserRole.DRIVER);
+
+        assertTrue(dispatchService.reportLocation(driver.getId(), LAT, LNG));
+        assertFalse(dispatchService.reportLocation(customer.getId(), LAT, LNG));
+        assertFalse(dispatchService.reportLocation(Long.MAX_VALUE, LAT, LNG));
+    }
+
+    @Test
+    void driversThatTookAnotherBookingMeanwhileAreSkipped() {
+        Booking first = booking(0, LocalDateTime.now());
+        Booking second = booking(1, LocalDateTime.now());
+        User driver = user(UserRole.DRIVER);
+        bookingService.startBooking(first.getId(), driver.getId());
+
+        assertEquals(0, bookingService.assignDrivers(Map.of(second.getId(), driver.getId())));
+        assertNull(driverOf(second));
+    }
+
+    @Test
+    void startBookingAssignsTheGivenDriver() {
+        Booking booking = booking(0, LocalDateTime.now());
+        User driver = user(UserRole.DRIVER);
+
+        assertThrows(RuntimeException.class, () -> bookingService.startBooking(booking.getId(), null));
+        assertThrows(RuntimeException.class, () -> bookingService.startBooking(booking.getId(), customer.getId()));
+
+        Booking started = bookingService.startBooking(booking.getId(), driver.getId());
+        assertEquals("IN_PROGRESS", started.getStatus());
+        assertEquals(driver.getId(), driverOf(booking));
+    }
+
+    private Long driverOf(Booking booking) {
+        User driver = bookingRepository.findAllWithVehicleByIdIn(List.of(booking.getId())).get(0).getDriver();
+        return driver != null ? driver.getId() : null;
+    }
+
+    private User user(UserRole role) {
+        User user = new User();
+        user.setName(role.name());
+        user.setEmail(role.name().toLowerCase() + System.nanoTime() + "@dispatch.test");
+        user.setPassword("secret");
+        user.setRole(role);
+        users.add(0, userRepository.save(user));
+        return users.get(0);
+    }
+
+    private Booking booking(double kmNorth, LocalDateTime createdAt) {
+        Vehicle vehicle = new Vehicle("Toyota", "Prius", "DISPATCH-" + System.nanoTime(), "SEDAN", 4, 2022, "White", 1.5, false);
+        vehicles.add(0, vehicleRepository.save(vehicle));
+
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setVehicle(vehicle);
+        booking.setPickupAddress("Pickup");
+        booking.setDropoffAddress("Dropoff");
+        booking.setPickupLatitude(LAT + kmNorth * KM);
+        booking.setPickupLongitude(LNG);
+        booking.setStatus("CONFIRMED");
+        booking.setCreatedAt(createdAt);
+        booking.setUpdatedAt(createdAt);
+        bookings.add(0, bookingRepository.save(booking));
+        return bookings.get(0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.service.EtaService;
+import com.neurofleetx.service.TelemetryReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EtaServiceTest {
+
+    // Monday 08:00 and 14:00 local time
+    private static final LocalDateTime RUSH_HOUR = LocalDateTime.of(2024, 1, 8, 8, 0);
+    private static final LocalDateTime AFTERNOON = LocalDateTime.of(2024, 1, 8, 14, 0);
+
+    private static final double FROM_LAT = 18.50, FROM_LNG = 73.80;
+    private static final double TO_LAT = 18.55, TO_LNG = 73.80;
+
+    private EtaService eta;
+
+    @BeforeEach
+    void setUp() {
+        eta = new EtaService(0.01, 30, 1.0, 0.5);
+    }
+
+    @Test
+    void unknownAreasUseTheDefaultSpeed() {
+        EtaService.Estimate estimate = eta.estimate(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG, RUSH_HOUR);
+
+        assertEquals(5.56, estimate.distanceKm(), 0.01);
+        assertEquals(estimate.distanceKm() / 30 * 60, estimate.durationMinutes(), 0.01);
+        assertEquals(0.0, estimate.coverage());
+    }
+
+    @Test
+    void telemetrySpeedsArePerCellAndHourOfWeek() {
+        driveAlongRoute(RUSH_HOUR, 15);
+
+        EtaService.Estimate rush = eta.estimate(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG, RUSH_HOUR.plusWeeks(1));
+        assertEquals(rush.distanceKm() / 15 * 60, rush.durationMinutes(), 0.5);
+        assertEquals(1.0, rush.coverage(), 0.01);
+
+        // No samples for the afternoon anywhere yet, so the default speed applies
+        EtaService.Estimate afternoon = eta.estimate(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG, AFTERNOON);
+        assertEquals(afternoon.distanceKm() / 30 * 60, afternoon.durationMinutes(), 0.5);
+        assertEquals(0.0, afternoon.coverage());
+    }
+
+    @Test
+    void completedTripsTeachTheRoute() {
+        for (int i = 0; i < 10; i++) {
+            Booking booking = new Booking();
+            booking.setPickupLatitude(FROM_LAT);
+            booking.setPickupLongitude(FROM_LNG);
+            booking.setDropoffLatitude(TO_LAT);
+            booking.setDropoffLongitude(TO_LNG);
+            booking.setActualPickupTime(AFTERNOON);
+            booking.setActualDistance(6.0);
+            booking.setActualDuration(9.0); // 40 km/h
+            eta.onTripCompleted(booking);
+        }
+
+        EtaService.Estimate estimate = eta.estimate(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG, AFTERNOON);
+        assertEquals(estimate.distanceKm() / 40 * 60, estimate.durationMinutes(), 0.5);
+        assertEquals(1.0, estimate.coverage(), 0.01);
+    }
+
+    @Test
+    void compactionAgesSamplesAndDropsIdleCells() {
+        driveAlongRoute(RUSH_HOUR, 15);
+        int cells = eta.cellCount();
+        assertTrue(cells >= 5);
+
+        eta.compact();
+        assertEquals(cells, eta.cellCount(), "cells with plenty of samples survive a night");
+        assertEquals(1.0, eta.estimate(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG, RUSH_HOUR).coverage(), 0.01);
+
+        for (int i = 0; i < 4; i++) {
+            eta.compact();
+        }
+        assertEquals(0, eta.cellCount(), "cells without new samples are dropped after a few nights");
+    }
+
+    // Ten readings per cell at the given speed, spread over the route
+    private void driveAlongRoute(LocalDateTime at, double speed) {
+        long millis = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (int i = 0; i <= 100; i++) {
+            double lat = FROM_LAT + (TO_LAT - FROM_LAT) * i / 100.0;
+            for (int n = 0; n < 10; n++) {
+                eta.onTelemetry(new TelemetryReading(1, millis + n * 1000L, Double.NaN, Double.NaN, lat, FROM_LNG, speed, Double.NaN));
+            }
+        }
+    }
+}
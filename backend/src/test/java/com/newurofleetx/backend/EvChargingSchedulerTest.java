@@ -0,0 +1,130 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.config.EvProperties;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.EtaService;
+import com.neurofleetx.service.EvChargingScheduler;
+import com.neurofleetx.service.EvChargingScheduler.ChargingPlan;
+import com.neurofleetx.service.EvChargingScheduler.ChargingWindow;
+import com.neurofleetx.service.TelemetryReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvChargingSchedulerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+    private static final double LAT = 18.52;
+    private static final double LNG = 73.85;
+
+    private EvProperties properties;
+    private EvChargingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // 300 km range, 30 km reserve, charge from 20% to 80%, 10% per hour assumed drain
+        properties = new EvProperties();
+        properties.setDefaultDrainPercentPerHour(10);
+        properties.getChargers().add(new EvProperties.Charger("depot", LAT, LNG, 1, 60));
+        scheduler = new EvChargingScheduler(properties, new EtaService(0.01, 30, 1.3, 0.5));
+    }
+
+    @Test
+    void evsMustCoverTheTripPlusReserve() {
+        Vehicle ev = vehicle(1, "EV", 20.0);
+        Vehicle sedan = vehicle(2, "SEDAN", 0.0);
+        scheduler.track(ev);
+        scheduler.track(sedan);
+
+        assertEquals(60.0, scheduler.rangeKm(ev), 1e-9);
+        assertTrue(scheduler.canCover(ev, 25));
+        assertFalse(scheduler.canCover(ev, 35));
+        assertTrue(scheduler.canCover(sedan, 1000));
+
+        // Telemetry is newer than the entity the caller holds
+        scheduler.onTelemetry(reading(1, NOW, 50));
+        assertTrue(scheduler.canCover(ev, 100));
+
+        // Saving the vehicle again does not roll telemetry back, but a corrected stored level wins
+        scheduler.track(ev);
+        assertTrue(scheduler.canCover(ev, 100));
+        ev.setBatteryLevel(15.0);
+        scheduler.track(ev);
+        assertEquals(45.0, scheduler.rangeKm(ev), 1e-9);
+        assertFalse(scheduler.canCover(ev, 20));
+    }
+
+    @Test
+    void drainIsMeasuredFromTelemetry() {
+        scheduler.track(vehicle(1, "EV", 60.0));
+        scheduler.onTelemetry(reading(1, NOW, 60));
+        scheduler.onTelemetry(reading(1, NOW + HOUR / 2, 50)); // 20% per hour
+
+        // Reaches 20% two hours from now, then charges 60% at 60% per hour
+        ChargingWindow window = scheduler.plan(NOW + HOUR / 2).windows().get(0);
+        assertEquals(time(NOW + HOUR / 2 + 3 * HOUR / 2), window.reachesThresholdAt());
+        assertEquals(window.reachesThresholdAt(), window.startAt());
+        assertEquals(time(NOW + HOUR / 2 + 5 * HOUR / 2), window.endAt());
+    }
+
+    @Test
+    void earliestDepletionChargesFirstAndOthersQueueForTheCharger() {
+        scheduler.track(vehicle(1, "EV", 30.0));
+        scheduler.track(vehicle(2, "EV", 25.0));
+        scheduler.track(vehicle(3, "EV", 90.0));
+        properties.setPlanHorizonHours(6);
+
+        ChargingPlan plan = scheduler.plan(NOW);
+
+        // Vehicle 3 does not need a charger within the horizon
+        assertEquals(3, plan.electricVehicles());
+        assertEquals(2, plan.windows().size());
+        ChargingWindow first = plan.windows().get(0);
+        ChargingWindow second = plan.windows().get(1);
+        assertEquals(2, first.vehicleId());
+        assertEquals(time(NOW + HOUR / 2), first.startAt());
+        assertEquals(time(NOW + 3 * HOUR / 2), first.endAt());
+        assertEquals(1, second.vehicleId());
+        assertEquals(first.endAt(), second.startAt());
+        assertEquals(0, plan.atRisk());
+    }
+
+    @Test
+    void vehiclesThatRunFlatBeforeAChargerFreesUpAreAtRisk() {
+        for (long id = 1; id <= 3; id++) {
+            scheduler.track(vehicle(id, "EV", 21.0));
+        }
+
+        List<ChargingWindow> windows = scheduler.plan(NOW).windows();
+
+        assertFalse(windows.get(0).atRisk());
+        assertFalse(windows.get(1).atRisk());
+        assertTrue(windows.get(2).atRisk());
+    }
+
+    private static Vehicle vehicle(long id, String type, Double battery) {
+        Vehicle vehicle = new Vehicle("Make", "Model", "EV-" + id, type, 4, 2023, "White", 1.5, true);
+        vehicle.setId(id);
+        vehicle.setBatteryLevel(battery);
+        vehicle.setCurrentLatitude(LAT);
+        vehicle.setCurrentLongitude(LNG);
+        return vehicle;
+    }
+
+    private static TelemetryReading reading(long vehicleId, long timestamp, double battery) {
+        return new TelemetryReading(vehicleId, timestamp, Double.NaN, battery, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    private static LocalDateTime time(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,48 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The prod profile builds the schema from db/migration only; Hibernate then validates the entities
+// against it, so a context that starts here means migrations and mappings agree.
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:neurofleetx_flyway;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsBuildTheSchemaTheEntitiesExpect() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class));
+    }
+
+    @Test
+    void indexMigrationToleratesIndexesCreatedByDdlAutoUpdate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:neurofleetx_flyway_adopted;DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        // As created from the entities' @Table(indexes) before the database switched to the prod profile
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE INDEX idx_bookings_customer_status ON bookings (customer_id, status)");
+        jdbc.execute("CREATE INDEX idx_users_role_active ON users (role, active)");
+
+        Flyway migrations = Flyway.configure().dataSource(dataSource).load();
+        migrations.migrate();
+
+        assertEquals("2", migrations.info().current().getVersion().getVersion());
+    }
+}
@@ -0,0 +1,132 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.config.GeofenceProperties;
+import com.neurofleetx.config.GeofenceProperties.ZoneType;
+import com.neurofleetx.service.GeofenceEvent;
+import com.neurofleetx.service.GeofenceEvent.Transition;
+import com.neurofleetx.service.GeofenceService;
+import com.neurofleetx.service.TelemetryReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeofenceServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final List<GeofenceEvent> published = new ArrayList<>();
+    private GeofenceService service;
+
+    @BeforeEach
+    void setUp() {
+        GeofenceProperties properties = new GeofenceProperties();
+        // Square depot, with a restricted strip overlapping its east side
+        properties.getZones().add(new GeofenceProperties.Zone("depot", ZoneType.DEPOT,
+                "18.50 73.80, 18.50 73.90, 18.60 73.90, 18.60 73.80"));
+        properties.getZones().add(new GeofenceProperties.Zone("strip", ZoneType.RESTRICTED,
+                "18.50 73.88, 18.50 73.95, 18.55 73.95, 18.55 73.88"));
+        // U shape: the notch between 73.72 and 73.78 above 18.45 is outside
+        properties.getZones().add(new GeofenceProperties.Zone("u", ZoneType.SERVICE_AREA,
+                "18.40 73.70, 18.40 73.80, 18.50 73.80, 18.50 73.78, 18.45 73.78, 18.45 73.72, 18.50 73.72, 18.50 73.70"));
+        service = new GeofenceService(properties, event -> published.add((GeofenceEvent) event));
+    }
+
+    @Test
+    void enterAndExitFireOnlyOnTransitions() {
+        service.onTelemetry(reading(1, NOW, 18.40, 73.85));
+        service.onTelemetry(reading(1, NOW + 1000, 18.55, 73.85));
+        service.onTelemetry(reading(1, NOW + 2000, 18.56, 73.84));
+        service.onTelemetry(reading(1, NOW + 3000, 18.70, 73.85));
+
+        assertEquals(2, published.size());
+        assertEquals(Transition.ENTER, published.get(0).transition());
+        assertEquals("depot", published.get(0).zone());
+        assertEquals(ZoneType.DEPOT, published.get(0).zoneType());
+        assertEquals(Transition.EXIT, published.get(1).transition());
+        assertEquals(List.of(), service.zonesOf(1));
+    }
+
+    @Test
+    void overlappingZonesAreTrackedIndependently() {
+        service.onTelemetry(reading(1, NOW, 18.58, 73.89));
+        assertEquals(List.of("depot"), service.zonesOf(1));
+
+        service.onTelemetry(reading(1, NOW + 1000, 18.52, 73.89));
+        assertEquals(List.of("depot", "strip"), service.zonesOf(1));
+
+        service.onTelemetry(reading(1, NOW + 2000, 18.52, 73.92));
+        assertEquals(List.of("strip"), service.zonesOf(1));
+
+        assertEquals(List.of(Transition.ENTER, Transition.ENTER, Transition.EXIT),
+                published.stream().map(GeofenceEvent::transition).toList());
+        assertEquals(List.of("depot", "strip", "depot"), published.stream().map(GeofenceEvent::zone).toList());
+    }
+
+    @Test
+    void concavePolygonsMatchABruteForceCheck() {
+        assertEquals(List.of("u"), service.zoneNames(service.zonesAt(18.48, 73.71)));
+        assertEquals(List.of(), service.zoneNames(service.zonesAt(18.48, 73.75)));
+        assertEquals(List.of("u"), service.zoneNames(service.zonesAt(18.42, 73.75)));
+
+        // Grid shortcuts must agree with plain ray casting everywhere
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            double lat = 18.35 + random.nextDouble() * 0.3;
+            double lng = 73.65 + random.nextDouble() * 0.35;
+            long expected = (inRect(lat, lng, 18.50, 73.80, 18.60, 73.90) ? 1 : 0)
+                    | (inRect(lat, lng, 18.50, 73.88, 18.55, 73.95) ? 2 : 0)
+                    | (inU(lat, lng) ? 4 : 0);
+            assertEquals(expected, service.zonesAt(lat, lng), lat + " " + lng);
+        }
+    }
+
+    @Test
+    void outOfOrderReadingsAreIgnored() {
+        service.onTelemetry(reading(1, NOW, 18.55, 73.85));
+        service.onTelemetry(reading(1, NOW - 1000, 18.70, 73.85));
+
+        assertEquals(1, published.size());
+        assertEquals(List.of("depot"), service.zonesOf(1));
+    }
+
+    @Test
+    void recentEventsAreNewestFirst() {
+        service.onTelemetry(reading(1, NOW, 18.55, 73.85));
+        service.onTelemetry(reading(2, NOW, 18.52, 73.92));
+        service.onTelemetry(reading(1, NOW + 1000, 18.70, 73.85));
+
+        List<GeofenceEvent> recent = service.recentEvents(2);
+        assertEquals(2, recent.size());
+        assertEquals(1, recent.get(0).vehicleId());
+        assertEquals(Transition.EXIT, recent.get(0).transition());
+        assertEquals(2, recent.get(1).vehicleId());
+        assertEquals(3, service.recentEvents(100).size());
+    }
+
+    @Test
+    void malformedPolygonsAreRejected() {
+        GeofenceProperties properties = new GeofenceProperties();
+        properties.getZones().add(new GeofenceProperties.Zone("line", ZoneType.DEPOT, "18.5 73.8, 18.6 73.9"));
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> new GeofenceService(properties, event -> {}));
+        assertTrue(e.getMessage().contains("line"));
+    }
+
+    private static boolean inRect(double lat, double lng, double south, double west, double north, double east) {
+        return lat > south && lat < north && lng > west && lng < east;
+    }
+
+    private static boolean inU(double lat, double lng) {
+        return inRect(lat, lng, 18.40, 73.70, 18.50, 73.80) && !inRect(lat, lng, 18.45, 73.72, 18.51, 73.78);
+    }
+
+    private static TelemetryReading reading(long vehicleId, long timestamp, double lat, double lng) {
+        return new TelemetryReading(vehicleId, timestamp, Double.NaN, Double.NaN, lat, lng, Double.NaN, Double.NaN);
+    }
+}
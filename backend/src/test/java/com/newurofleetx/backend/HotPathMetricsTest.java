@@ -0,0 +1,68 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@AutoConfigureMockMvc
+class HotPathMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void endpointAndRepositoryCallsShowUpInHotPaths() throws Exception {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setMake("Metrics");
+        vehicle.setModel("Probe");
+        vehicle.setLicensePlate("MET-" + System.nanoTime());
+        vehicle.setType("SEDAN");
+        vehicle.setPassengerCapacity(4);
+        vehicle.setYear(2023);
+        vehicle.setColor("White");
+        vehicle.setBasePricePerKm(0.5);
+        vehicle.setIsAvailable(true);
+        vehicle.setCurrentFuelLevel(80.0);
+        vehicle = vehicleRepository.save(vehicle);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/vehicles/" + vehicle.getId())).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/vehicles/available")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/hotpaths"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints['GET /api/vehicles/{id}'].count", greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.endpoints['GET /api/vehicles/{id}'].errors").value(0))
+                .andExpect(jsonPath("$.endpoints['GET /api/vehicles/available'].count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.repositories['VehicleRepository.save'].count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.connectionPool.acquire.count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.connectionPool.max").value(10))
+                .andExpect(jsonPath("$.caches.surge.hitRatio").isNumber())
+                .andExpect(jsonPath("$.queues.bookingTimers").isNumber());
+    }
+}
@@ -0,0 +1,79 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.util.HungarianAssignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class HungarianAssignmentTest {
+
+    @Test
+    void beatsGreedyMatching() {
+        // Greedy gives row 0 column 0 (1) and row 1 column 1 (100); optimal is 2 + 3
+        double[][] cost = {
+                {1, 2},
+                {3, 100}};
+        assertArrayEquals(new int[] {1, 0}, HungarianAssignment.solve(cost));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomRectangularMatrices() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = 1 + random.nextInt(6);
+            double[][] cost = new double[rows][cols];
+            for (double[] row : cost) {
+                for (int j = 0; j < cols; j++) {
+                    row[j] = random.nextInt(50);
+                }
+            }
+            int[] match = HungarianAssignment.solve(cost);
+
+            int matched = 0;
+            boolean[] usedCols = new boolean[cols];
+            double total = 0;
+            for (int i = 0; i < rows; i++) {
+                if (match[i] >= 0) {
+                    assertFalse(usedCols[match[i]], "column matched twice");
+                    usedCols[match[i]] = true;
+                    total += cost[i][match[i]];
+                    matched++;
+                }
+            }
+            assertEquals(Math.min(rows, cols), matched);
+            assertEquals(bruteForce(cost, 0, new boolean[cols], Math.min(rows, cols)), total, 1e-9);
+        }
+    }
+
+    @Test
+    void emptyInputs() {
+        assertEquals(0, HungarianAssignment.solve(new double[0][0]).length);
+        assertArrayEquals(new int[] {-1, -1}, HungarianAssignment.solve(new double[2][0]));
+        assertNotEquals(-1, HungarianAssignment.solve(new double[][] {{5}})[0]);
+    }
+
+    // Cheapest way to match `remaining` more rows starting at `row`, rows may be skipped
+    private static double bruteForce(double[][] cost, int row, boolean[] usedCols, int remaining) {
+        if (remaining == 0) {
+            return 0;
+        }
+        if (cost.length - row < remaining) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double best = bruteForce(cost, row + 1, usedCols, remaining);
+        for (int j = 0; j < usedCols.length; j++) {
+            if (!usedCols[j]) {
+                usedCols[j] = true;
+                best = Math.min(best, cost[row][j] + bruteForce(cost, row + 1, usedCols, remaining - 1));
+                usedCols[j] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,80 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.util.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesAreWithinBucketPrecisionOfExactOnes() {
+        Random random = new Random(7);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform from 1us to 1s
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.count());
+        assertClose(values[49_999], snapshot.p50Millis());
+        assertClose(values[89_999], snapshot.p90Millis());
+        assertClose(values[98_999], snapshot.p99Millis());
+        assertClose(values[99_899], snapshot.p999Millis());
+        assertEquals(values[values.length - 1] / 1e6, snapshot.maxMillis(), 1e-4);
+        assertClose((long) Arrays.stream(values).average().orElseThrow(), snapshot.meanMillis());
+    }
+
+    @Test
+    void concurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(1_000 + offset * 1_000L + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        histogram.error();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(400_000, snapshot.count());
+        assertEquals(1, snapshot.errors());
+        assertEquals((1_000 + 7 * 1_000 + 49_999) / 1e6, snapshot.maxMillis(), 1e-4);
+    }
+
+    @Test
+    void emptyAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().count());
+        assertEquals(0, histogram.snapshot().p99Millis());
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.count());
+        assertEquals(0, snapshot.p50Millis());
+        assertTrue(snapshot.maxMillis() > 1_000_000, "clamped, not dropped");
+    }
+
+    // Buckets are 1/16 of a power of two wide, so a reported percentile is within ~6.25% of the exact one
+    private static void assertClose(long expectedNanos, double actualMillis) {
+        double expected = expectedNanos / 1e6;
+        assertTrue(Math.abs(actualMillis - expected) <= expected * 0.0625 + 1e-4,
+                "expected ~" + expected + "ms, got " + actualMillis + "ms");
+    }
+}
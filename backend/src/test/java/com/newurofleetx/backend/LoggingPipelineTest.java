@@ -0,0 +1,62 @@
+package com.newurofleetx.backend;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.config.JsonLineEncoder;
+import com.neurofleetx.config.SamplingTurboFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggingPipelineTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Test
+    void encoderWritesOneParseableJsonObjectPerLine() throws Exception {
+        Logger logger = context.getLogger("com.neurofleetx.controller.BookingController");
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN,
+                "Failed to create booking {}", new IllegalStateException("no \"vehicle\"\nfound"), new Object[] {42});
+
+        String line = new String(new JsonLineEncoder().encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.split("\n").length, "a multi-line stack trace must stay on one line");
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals("com.neurofleetx.controller.BookingController", json.get("logger").asText());
+        assertEquals("Failed to create booking 42", json.get("message").asText());
+        assertTrue(json.get("exception").asText().contains("no \"vehicle\"\nfound"));
+        assertTrue(json.get("ts").asText().endsWith("Z"));
+    }
+
+    @Test
+    void samplingKeepsAboutOneInRateBelowWarn() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerPrefix("com.neurofleetx.telemetry");
+        filter.setRate(100);
+        Logger telemetry = context.getLogger("com.neurofleetx.telemetry");
+        Logger other = context.getLogger("com.neurofleetx.service.BookingService");
+
+        int kept = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.decide(null, telemetry, Level.INFO, "Telemetry {}", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertTrue(kept > 800 && kept < 1200, "kept " + kept);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, telemetry, Level.WARN, "Telemetry {}", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, telemetry, Level.INFO, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.INFO, "Booking {}", null, null));
+    }
+}
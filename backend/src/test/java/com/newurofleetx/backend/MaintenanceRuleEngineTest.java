@@ -0,0 +1,164 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.config.MaintenanceRuleProperties;
+import com.neurofleetx.dto.TelemetryRequest;
+import com.neurofleetx.entity.MaintenanceAlert;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.MaintenanceAlertRepository;
+import com.neurofleetx.service.MaintenanceRuleEngine;
+import com.neurofleetx.service.MaintenanceService;
+import com.neurofleetx.service.TelemetryReading;
+import com.neurofleetx.service.TelemetryService;
+import com.neurofleetx.service.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+class MaintenanceRuleEngineTest {
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private MaintenanceRuleEngine ruleEngine;
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private MaintenanceAlertRepository alertRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        Vehicle v = new Vehicle("Tesla", "Model 3", "ALERT-" + System.nanoTime(), "EV", 5, 2023, "White", 1.5, true);
+        vehicle = vehicleService.createVehicle(v);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleEngine.flush();
+        vehicleService.deleteVehicle(vehicle.getId());
+    }
+
+    @Test
+    void thresholdRuleFiresOnceUntilResolved() {
+        send(reading(15.0, null, null, 1_000));
+        send(reading(12.0, null, null, 2_000));
+        send(reading(10.0, null, null, 3_000));
+        ruleEngine.flush();
+
+        List<MaintenanceAlert> alerts = alertsFor("low-fuel");
+        assertEquals(1, alerts.size(), "a firing rule raises one alert until it is resolved");
+        assertEquals(15.0, alerts.get(0).getMetricValue());
+        assertTrue(vehicleService.getVehiclesNeedingMaintenance().stream().anyMatch(v -> v.getId().equals(vehicle.getId())));
+
+        maintenanceService.resolveAlert(alerts.get(0).getId());
+        send(reading(50.0, null, null, 4_000));
+        ruleEngine.flush();
+        assertEquals(1, alertsFor("low-fuel").size(), "no alert while the rule is clear");
+
+        send(reading(9.0, null, null, 5_000));
+        ruleEngine.flush();
+        assertEquals(2, alertsFor("low-fuel").size(), "a resolved rule can fire again");
+    }
+
+    @Test
+    void windowAverageNeedsAFullWindow() {
+        long t = 1_000;
+        for (int i = 0; i < 4; i++) {
+            send(reading(null, null, 130.0, t += 1_000));
+        }
+        ruleEngine.flush();
+        assertEquals(0, alertsFor("engine-overheating").size(), "four readings do not fill a five-reading window");
+
+        send(reading(130.0, null, 60.0, t += 1_000));
+        ruleEngine.flush();
+        assertEquals(1, alertsFor("engine-overheating").size());
+    }
+
+    @Test
+    void rateOfChangeUsesReadingTimestamps() {
+        send(reading(null, 90.0, null, 60_000));
+        send(reading(null, 89.5, null, 120_000));
+        ruleEngine.flush();
+        assertEquals(0, alertsFor("fast-battery-drain").size(), "0.5 per minute is a normal drain");
+
+        send(reading(null, 80.0, null, 180_000));
+        ruleEngine.flush();
+        List<MaintenanceAlert> alerts = alertsFor("fast-battery-drain");
+        assertEquals(1, alerts.size());
+        assertEquals(-9.5, alerts.get(0).getMetricValue(), 1e-9);
+    }
+
+    @Test
+    void telemetryOfUnknownVehiclesOrFromTheFutureIsRejected() {
+        assertTrue(telemetryService.ingest(Long.MAX_VALUE, reading(5.0, null, null, 1_000)).isEmpty());
+
+        long future = System.currentTimeMillis() + 3_600_000L;
+        assertThrows(IllegalArgumentException.class, () -> send(reading(5.0, null, null, future)));
+        send(reading(5.0, null, null, 1_000));
+        ruleEngine.flush();
+        assertEquals(1, alertsFor("low-fuel").size(), "a rejected reading does not block later ones");
+    }
+
+    @Test
+    void aBatchThatKeepsFailingIsDroppedAndItsRulesCanFireAgain() {
+        AtomicInteger writes = new AtomicInteger();
+        MaintenanceRuleEngine engine = new MaintenanceRuleEngine(new MaintenanceRuleProperties());
+        ReflectionTestUtils.setField(engine, "jdbcTemplate", new JdbcTemplate() {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                writes.incrementAndGet();
+                throw new DataAccessResourceFailureException("bad row");
+            }
+        });
+
+        engine.onTelemetry(new TelemetryReading(7, 1_000, 5.0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN));
+        assertEquals(1, engine.pendingAlerts());
+        for (int i = 0; i < 5; i++) {
+            engine.flush();
+        }
+        assertEquals(5, writes.get(), "retried until the attempt limit");
+        engine.flush();
+        assertEquals(5, writes.get(), "then dropped");
+
+        engine.onTelemetry(new TelemetryReading(7, 2_000, 4.0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN));
+        assertEquals(1, engine.pendingAlerts(), "the dropped alert's rule fires again");
+    }
+
+    private void send(TelemetryRequest request) {
+        telemetryService.ingest(vehicle.getId(), request);
+    }
+
+    private List<MaintenanceAlert> alertsFor(String ruleName) {
+        return alertRepository.findByVehicleIdOrderByTriggeredAtDesc(vehicle.getId()).stream()
+                .filter(a -> a.getRuleName().equals(ruleName))
+                .toList();
+    }
+
+    private static TelemetryRequest reading(Double fuel, Double battery, Double engineTemperature, long timestamp) {
+        return new TelemetryRequest(fuel, battery, null, null, null, engineTemperature, timestamp);
+    }
+}
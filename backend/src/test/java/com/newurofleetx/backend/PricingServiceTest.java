@@ -0,0 +1,127 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.PricingService;
+import com.neurofleetx.util.SlidingWindowCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000;
+
+    private PricingService pricing;
+    private long zone;
+
+    @BeforeEach
+    void setUp() {
+        // 10 minute window in 30s buckets, +0.5x per extra request per vehicle, capped at 3x, 5s quote cache
+        pricing = new PricingService(0.05, 10, 30, 0.5, 3.0, 5000);
+        zone = pricing.zoneOf(18.52, 73.85);
+    }
+
+    @Test
+    void noDemandMeansNoSurge() {
+        pricing.updateSupply(positions(2, 18.52, 73.85));
+        Vehicle vehicle = vehicle(2.5);
+
+        PricingService.Quote quote = pricing.quote(vehicle, zone, 10);
+        assertEquals(1.0, quote.surgeMultiplier());
+        assertEquals(25.0, quote.fare());
+        assertEquals(1.0, pricing.surge(PricingService.NO_ZONE, NOW));
+    }
+
+    @Test
+    void surgeFollowsRequestsPerAvailableVehicle() {
+        pricing.updateSupply(positions(2, 18.52, 73.85));
+        for (int i = 0; i < 6; i++) {
+            pricing.recordDemand(zone, NOW);
+        }
+        // 6 requests / 2 vehicles = 3 -> 1 + 0.5 * 2
+        assertEquals(2.0, pricing.surge(zone, NOW));
+
+        // Other zones are unaffected
+        assertEquals(1.0, pricing.surge(pricing.zoneOf(19.07, 72.87), NOW));
+    }
+
+    @Test
+    void surgeIsCachedForTheQuoteTtlAndDemandSlidesOut() {
+        pricing.updateSupply(positions(1, 18.52, 73.85));
+        for (int i = 0; i < 3; i++) {
+            pricing.recordDemand(zone, NOW);
+        }
+        assertEquals(2.0, pricing.surge(zone, NOW));
+
+        pricing.recordDemand(zone, NOW + 1000);
+        assertEquals(2.0, pricing.surge(zone, NOW + 1000), "cached for 5s");
+        assertEquals(2.5, pricing.surge(zone, NOW + 6000));
+
+        assertEquals(1.0, pricing.surge(zone, NOW + 11 * MINUTE), "requests older than the window no longer count");
+    }
+
+    @Test
+    void surgeIsCapped() {
+        for (int i = 0; i < 100; i++) {
+            pricing.recordDemand(zone, NOW);
+        }
+        assertEquals(3.0, pricing.surge(zone, NOW));
+    }
+
+    @Test
+    void idleZonesAreEvictedAndBadCoordinatesRejected() {
+        for (int i = 0; i < 1000; i++) {
+            long z = pricing.zoneOf(-60.0 + i * 0.1, 10.0);
+            pricing.recordDemand(z, NOW);
+            pricing.surge(z, NOW);
+        }
+        pricing.recordDemand(zone, NOW + 10 * MINUTE);
+        assertEquals(1001, pricing.trackedZones());
+
+        pricing.evictIdleZones(NOW + 10 * MINUTE + 1);
+        assertEquals(1, pricing.trackedZones(), "only the zone with requests still in the window is kept");
+        assertEquals(1, pricing.demand(zone, NOW + 10 * MINUTE + 1));
+
+        assertThrows(IllegalArgumentException.class, () -> pricing.zoneOf(91.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> pricing.zoneOf(0.0, Double.NaN));
+        assertEquals(PricingService.NO_ZONE, pricing.zoneOf(null, 73.85));
+    }
+
+    @Test
+    void counterLosesNoConcurrentIncrements() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(20, 30_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(NOW + (i % 4) * 30_000L);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(80_000, counter.sum(NOW + 3 * 30_000L));
+    }
+
+    private static List<Object[]> positions(int count, double lat, double lng) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {lat, lng});
+        }
+        rows.add(new Object[] {null, null});
+        return rows;
+    }
+
+    private static Vehicle vehicle(double basePricePerKm) {
+        return new Vehicle("Toyota", "Camry", "PRICE-1", "SEDAN", 5, 2022, "Silver", basePricePerKm, true);
+    }
+}
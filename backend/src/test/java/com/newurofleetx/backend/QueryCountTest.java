@@ -0,0 +1,115 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Guards against N+1 selects: every list endpoint must issue the same number of SQL
+// statements whether it returns a handful of rows or many.
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User customer;
+    private int seq;
+
+    @BeforeEach
+    void cleanDatabase() {
+        bookingRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        userRepository.deleteAll();
+        customer = newUser("customer", UserRole.CUSTOMER);
+    }
+
+    @Test
+    void listEndpointsRunConstantNumberOfQueries() throws Exception {
+        seed(3);
+        int[] small = countAll();
+        seed(30);
+        int[] large = countAll();
+
+        String[] names = {"GET /api/bookings", "GET /api/bookings/customer/{id}", "GET /api/bookings?status",
+                "GET /api/vehicles", "GET /api/vehicles/available", "GET /api/vehicles/type/{type}",
+                "POST /api/bookings/recommendations"};
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(small[i], large[i], names[i] + " query count grows with result size");
+        }
+    }
+
+    private int[] countAll() throws Exception {
+        return new int[] {
+                count(get("/api/bookings")),
+                count(get("/api/bookings/customer/" + customer.getId())),
+                count(get("/api/bookings").param("status", "PENDING")),
+                count(get("/api/vehicles")),
+                count(get("/api/vehicles/available")),
+                count(get("/api/vehicles/type/SEDAN")),
+                count(post("/api/bookings/recommendations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"passengerCount\":2}"))
+        };
+    }
+
+    private int count(RequestBuilder request) throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return QueryCounter.count();
+    }
+
+    // Each booking gets its own vehicle and driver so lazy loads could not be served from one cached row
+    private void seed(int bookings) {
+        for (int i = 0; i < bookings; i++) {
+            Vehicle vehicle = new Vehicle("Toyota", "Camry", "QC-" + (seq++), "SEDAN", 5, 2022, "Silver", 0.5, i % 2 == 0);
+            vehicle.setFuelType("GASOLINE");
+            vehicle.setStatus("ACTIVE");
+            vehicle.setBatteryLevel(0.0);
+            vehicle.setDriver(newUser("vehicle-driver", UserRole.DRIVER));
+            vehicleRepository.save(vehicle);
+
+            Booking booking = new Booking(customer, vehicle, "Pickup " + i, "Dropoff " + i,
+                    LocalDateTime.now().plusHours(1), 20.0, 2);
+            booking.setDriver(newUser("driver", UserRole.DRIVER));
+            bookingRepository.save(booking);
+        }
+    }
+
+    private User newUser(String prefix, UserRole role) {
+        User user = new User();
+        user.setName(prefix);
+        user.setEmail(prefix + (seq++) + "@neurofleetx.test");
+        user.setPassword("encoded_password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,39 @@
+package com.newurofleetx.backend;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hibernate hook registered in the test application.properties; sees every SQL statement.
+// Only statements from the thread that last called reset() are counted, so scheduled
+// background jobs (alert flushes, supply refreshes, ...) cannot skew a measurement.
+public class QueryCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    private static volatile Thread owner;
+    private static volatile String lastSql;
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == owner) {
+            COUNT.incrementAndGet();
+            lastSql = sql;
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        owner = Thread.currentThread();
+        COUNT.set(0);
+        lastSql = null;
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    // The most recent statement counted since reset(), or null
+    public static String lastSql() {
+        return lastSql;
+    }
+}
@@ -0,0 +1,115 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.MaintenanceAlertRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every repository finder must be served by an index on the schema the migrations build: each
+// finder runs once, and H2's EXPLAIN of the SQL Hibernate issued for it must not scan a table.
+// Whole-table reads by design (findAll, the startup warm-up snapshots) are not listed here.
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:neurofleetx_plans;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+class QueryPlanTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void noFinderScansATable() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("bookings.findByCustomerId", () -> bookingRepository.findByCustomerId(1L));
+        finders.put("bookings.findByVehicleId", () -> bookingRepository.findByVehicleId(1L));
+        finders.put("bookings.findByDriverId", () -> bookingRepository.findByDriverId(1L));
+        finders.put("bookings.findByStatus", () -> bookingRepository.findByStatus("PENDING"));
+        finders.put("bookings.findByCustomerIdAndStatus", () -> bookingRepository.findByCustomerIdAndStatus(1L, "PENDING"));
+        finders.put("bookings.findBookingsInDateRange", () -> bookingRepository.findBookingsInDateRange(now, now.plusDays(1)));
+        finders.put("bookings.countByStatus", () -> bookingRepository.countByStatus("COMPLETED"));
+        finders.put("bookings.calculateTotalRevenue", () -> bookingRepository.calculateTotalRevenue());
+        finders.put("bookings.findRecentBookingsByCustomer", () -> bookingRepository.findRecentBookingsByCustomer(1L));
+        finders.put("bookings.findActiveBookings", () -> bookingRepository.findActiveBookings());
+        finders.put("bookings.findCompletedBookings", () -> bookingRepository.findCompletedBookings());
+        finders.put("bookings.findCompletedTripSummaries", () -> bookingRepository.findCompletedTripSummaries());
+        finders.put("bookings.findFinishedTripMetrics", () -> bookingRepository.findFinishedTripMetrics());
+        finders.put("bookings.countPromoUsage", () -> bookingRepository.countPromoUsage());
+        finders.put("bookings.findUnassignedConfirmed", () -> bookingRepository.findUnassignedConfirmed(PageRequest.of(0, 10)));
+        finders.put("bookings.findBusyDriverIds", () -> bookingRepository.findBusyDriverIds(List.of(1L, 2L)));
+        finders.put("bookings.findAllWithVehicleByIdIn", () -> bookingRepository.findAllWithVehicleByIdIn(List.of(1L, 2L)));
+        finders.put("bookings.findOpenBookingTimes", () -> bookingRepository.findOpenBookingTimes());
+        finders.put("bookings.findArchivableIds", () -> bookingRepository.findArchivableIds(now, PageRequest.of(0, 10)));
+        finders.put("bookings.findOpenIdsByIdIn", () -> bookingRepository.findOpenIdsByIdIn(List.of(1L, 2L)));
+        finders.put("vehicles.findByLicensePlate", () -> vehicleRepository.findByLicensePlate("ABC-123"));
+        finders.put("vehicles.findByType", () -> vehicleRepository.findByType("SEDAN"));
+        finders.put("vehicles.findByIsAvailableTrue", () -> vehicleRepository.findByIsAvailableTrue());
+        finders.put("vehicles.findByTypeAndIsAvailable", () -> vehicleRepository.findByTypeAndIsAvailable("SEDAN", true));
+        finders.put("vehicles.findByPassengerCapacityGreaterThanEqual", () -> vehicleRepository.findByPassengerCapacityGreaterThanEqual(6));
+        finders.put("vehicles.findVehiclesWithOpenAlerts", () -> vehicleRepository.findVehiclesWithOpenAlerts());
+        finders.put("vehicles.countVehiclesWithOpenAlerts", () -> vehicleRepository.countVehiclesWithOpenAlerts());
+        finders.put("vehicles.findAvailablePositions", () -> vehicleRepository.findAvailablePositions());
+        finders.put("alerts.findByResolvedFalseOrderByTriggeredAtDesc", () -> maintenanceAlertRepository.findByResolvedFalseOrderByTriggeredAtDesc());
+        finders.put("alerts.findByVehicleIdOrderByTriggeredAtDesc", () -> maintenanceAlertRepository.findByVehicleIdOrderByTriggeredAtDesc(1L));
+        finders.put("alerts.findOpenAlertKeys", () -> maintenanceAlertRepository.findOpenAlertKeys());
+        finders.put("alerts.countOpenAlerts", () -> maintenanceAlertRepository.countOpenAlerts());
+        finders.put("alerts.findOpenAlertsByVehicle", () -> maintenanceAlertRepository.findOpenAlertsByVehicle(1L));
+        finders.put("users.findByEmail", () -> userRepository.findByEmail("nobody@example.com"));
+        finders.put("users.existsByEmail", () -> userRepository.existsByEmail("nobody@example.com"));
+        finders.put("users.findFreeUserIds", () -> userRepository.findFreeUserIds(UserRole.DRIVER));
+
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            QueryCounter.reset();
+            finder.getValue().run();
+            String sql = QueryCounter.lastSql();
+            assertNotNull(sql, finder.getKey() + " issued no SQL");
+            String plan = explain(sql);
+            if (plan.contains(".tableScan")) {
+                scans.add(finder.getKey() + ":\n" + plan);
+            }
+        }
+        assertTrue(scans.isEmpty(), "Full table scans:\n" + String.join("\n\n", scans));
+    }
+
+    // H2 plans a prepared statement without its parameter values, so the placeholders can stay unbound
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.config.PromoProperties;
+import com.neurofleetx.config.PromoProperties.Promo;
+import com.neurofleetx.service.PromoService;
+import com.neurofleetx.service.QuoteService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long NOW = START.plusDays(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final QuoteService.Route ROUTE =
+            new QuoteService.Route(18.52, 73.85, 18.6, 73.9, "221B Baker Street", "10 Downing Street");
+
+    @Test
+    void percentAndFlatDiscounts() {
+        PromoService promos = promos(
+                new Promo("save20", PromoProperties.Type.PERCENT, 20, 0, 0, null, null, 0),
+                new Promo("HALF", PromoProperties.Type.PERCENT, 50, 15, 0, null, null, 0),
+                new Promo("FIVE", PromoProperties.Type.FLAT, 5, 0, 20, null, null, 0));
+
+        assertEquals(20.0, promos.evaluate(" Save20 ", 100, NOW).discount());
+        assertEquals(15.0, promos.evaluate("half", 100, NOW).discount());
+        assertEquals(5.0, promos.evaluate("FIVE", 30, NOW).discount());
+        assertFalse(promos.evaluate("FIVE", 10, NOW).applied());
+        assertEquals("Unknown promo code", promos.evaluate("NOPE", 100, NOW).rejection());
+        assertNull(promos.evaluate("  ", 100, NOW));
+    }
+
+    @Test
+    void codesOnlyApplyInsideTheirValidityWindow() {
+        PromoService promos = promos(
+                new Promo("LATER", PromoProperties.Type.FLAT, 5, 0, 0, START.plusDays(2), null, 0),
+                new Promo("GONE", PromoProperties.Type.FLAT, 5, 0, 0, null, START, 0),
+                new Promo("NOW", PromoProperties.Type.FLAT, 5, 0, 0, START, START.plusDays(2), 0));
+
+        assertFalse(promos.evaluate("LATER", 50, NOW).applied());
+        assertFalse(promos.evaluate("GONE", 50, NOW).applied());
+        assertTrue(promos.evaluate("NOW", 50, NOW).applied());
+    }
+
+    @Test
+    void usageCapHoldsUnderConcurrentRedemptions() throws Exception {
+        PromoService promos = promos(new Promo("LIMITED", PromoProperties.Type.FLAT, 5, 0, 0, null, null, 100));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            results.add(pool.submit(() -> promos.redeem("limited")));
+        }
+        int redeemed = 0;
+        for (Future<Boolean> result : results) {
+            redeemed += result.get() ? 1 : 0;
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(100, redeemed);
+        assertEquals(100, promos.uses("LIMITED"));
+        assertEquals("Promo code usage limit reached", promos.evaluate("LIMITED", 50, NOW).rejection());
+
+        promos.release("LIMITED");
+        assertTrue(promos.evaluate("LIMITED", 50, NOW).applied());
+    }
+
+    @Test
+    void signedQuotesRoundTrip() {
+        QuoteService quotes = new QuoteService("test-secret", 120);
+        QuoteService.FareQuote quote = quote(System.currentTimeMillis() + 60_000);
+
+        assertEquals(quote, quotes.verify(quotes.sign(quote)));
+    }
+
+    @Test
+    void tamperedForeignOrExpiredTokensAreRejected() {
+        QuoteService quotes = new QuoteService("test-secret", 120);
+        String token = quotes.sign(quote(System.currentTimeMillis() + 60_000));
+
+        // Flip one character of the payload
+        char flipped = token.charAt(5) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, 5) + flipped + token.substring(6);
+        assertThrows(RuntimeException.class, () -> quotes.verify(tampered));
+        assertThrows(RuntimeException.class, () -> quotes.verify("not-a-token"));
+        assertThrows(RuntimeException.class, () -> new QuoteService("other-secret", 120).verify(token));
+
+        String expired = quotes.sign(quote(System.currentTimeMillis() - 1));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> quotes.verify(expired));
+        assertEquals("Quote has expired, please request a new one", e.getMessage());
+    }
+
+    @Test
+    void quotesOnlyBookTheirCustomerVehicleAndRoute() {
+        QuoteService quotes = new QuoteService("test-secret", 120);
+        String token = quotes.sign(quote(System.currentTimeMillis() + 60_000));
+
+        QuoteService.Route sameRoute = new QuoteService.Route(18.520001, 73.85, 18.6, 73.9, "  221B  Baker Street", "10 downing street ");
+        assertEquals(ROUTE.fingerprint(), sameRoute.fingerprint(), "rounded coordinates and normalized addresses");
+        assertEquals(30.0, quotes.verify(token, 42, 7, sameRoute).total());
+
+        QuoteService.Route longerTrip = new QuoteService.Route(18.52, 73.85, 19.6, 73.9, "221B Baker Street", "10 Downing Street");
+        QuoteService.Route otherAddress = new QuoteService.Route(18.52, 73.85, 18.6, 73.9, "221B Baker Street", "Elsewhere");
+        QuoteService.Route noCoordinates = new QuoteService.Route(null, null, null, null, "221B Baker Street", "10 Downing Street");
+        for (QuoteService.Route route : List.of(longerTrip, otherAddress, noCoordinates)) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> quotes.verify(token, 42, 7, route));
+            assertEquals("Quote does not match this booking", e.getMessage());
+        }
+        assertThrows(RuntimeException.class, () -> quotes.verify(token, 43, 7, ROUTE));
+        assertThrows(RuntimeException.class, () -> quotes.verify(token, 42, 8, ROUTE));
+    }
+
+    private static QuoteService.FareQuote quote(long expiresAt) {
+        return new QuoteService.FareQuote(7, 42, ROUTE.fingerprint(), 123456789L, 12.5, 21.0, 2.0, 1.5, 37.5, "SAVE20", 7.5, 30.0, expiresAt);
+    }
+
+    private static PromoService promos(Promo... codes) {
+        PromoProperties properties = new PromoProperties();
+        properties.setCodes(List.of(codes));
+        return new PromoService(properties);
+    }
+}
@@ -0,0 +1,115 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.config.ReadWriteRoutingDataSource;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.VehicleService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two in-memory H2 databases stand in for a primary and its replica. Nothing replicates between
+// them, so a row that exists in only one of them shows which database served a read.
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "neurofleetx.datasource.replica.jdbc-url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "neurofleetx.datasource.replica.username=sa",
+        "neurofleetx.datasource.routing.lag-query=SELECT seconds FROM replica_lag",
+        "neurofleetx.datasource.routing.max-lag-ms=1000",
+        "neurofleetx.datasource.routing.lag-check-interval-ms=3600000"})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // The replica gets the same schema, the way replication would give it
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("DELETE FROM maintenance_alerts");
+            database.update("DELETE FROM bookings");
+            database.update("DELETE FROM vehicles");
+        }
+        replica.update("INSERT INTO vehicles (make, model, license_plate, type, passenger_capacity, vehicle_year, color, "
+                + "base_price_per_km, is_available, current_fuel_level) "
+                + "VALUES ('Replica', 'Only', 'REPLICA-1', 'SEDAN', 4, 2023, 'Blue', 0.5, TRUE, 80)");
+        routingDataSource.checkReplica();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplicaAndWritesGoToThePrimary() {
+        assertTrue(routingDataSource.isReplicaUsable());
+
+        vehicleService.createVehicle(vehicle("PRIMARY-1"));
+
+        assertEquals(List.of("REPLICA-1"), plates(vehicleService.getAllVehicles()));
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM vehicles WHERE license_plate = 'PRIMARY-1'", Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM vehicles WHERE license_plate = 'PRIMARY-1'", Integer.class));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        vehicleService.createVehicle(vehicle("PRIMARY-1"));
+
+        replica.update("UPDATE replica_lag SET seconds = 5");
+        routingDataSource.checkReplica();
+        assertFalse(routingDataSource.isReplicaUsable());
+        assertEquals(List.of("PRIMARY-1"), plates(vehicleService.getAllVehicles()));
+
+        replica.update("UPDATE replica_lag SET seconds = 0.2");
+        routingDataSource.checkReplica();
+        assertEquals(List.of("REPLICA-1"), plates(vehicleService.getAllVehicles()));
+    }
+
+    private static List<String> plates(List<Vehicle> vehicles) {
+        return vehicles.stream().map(Vehicle::getLicensePlate).sorted().toList();
+    }
+
+    private static Vehicle vehicle(String plate) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setMake("Primary");
+        vehicle.setModel("Only");
+        vehicle.setLicensePlate(plate);
+        vehicle.setType("SEDAN");
+        vehicle.setPassengerCapacity(4);
+        vehicle.setYear(2023);
+        vehicle.setColor("White");
+        vehicle.setBasePricePerKm(0.5);
+        vehicle.setIsAvailable(true);
+        vehicle.setCurrentFuelLevel(80.0);
+        return vehicle;
+    }
+}
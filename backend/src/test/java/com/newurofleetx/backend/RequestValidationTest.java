@@ -0,0 +1,83 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Bean validation and unreadable bodies answer 400 with the same {"message": ...} body the
+// controllers use for their own errors (ApiExceptionHandler)
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@AutoConfigureMockMvc
+class RequestValidationTest {
+
+    private static final String BOOKING = "{\"customerId\":1,\"vehicleId\":1,\"pickupAddress\":\"A\",\"dropoffAddress\":\"B\"%s}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void createBookingRejectsMissingAndInvalidFields() throws Exception {
+        expectBadRequest("/api/bookings", "{\"customerId\":1,\"vehicleId\":1,\"pickupAddress\":\"A\"}",
+                "Dropoff address cannot be empty");
+        expectBadRequest("/api/bookings", "{\"vehicleId\":1,\"pickupAddress\":\"A\",\"dropoffAddress\":\"B\"}",
+                "Missing required fields: customerId, vehicleId, pickupAddress, dropoffAddress");
+        expectBadRequest("/api/bookings", "{\"customerId\":-1,\"vehicleId\":1,\"pickupAddress\":\"A\",\"dropoffAddress\":\"B\"}",
+                "customerId must be positive");
+        expectBadRequest("/api/bookings", "{\"customerId\":1,\"vehicleId\":0,\"pickupAddress\":\"A\",\"dropoffAddress\":\"B\"}",
+                "vehicleId must be positive");
+        // Several bad fields: the first by field name wins, every time
+        expectBadRequest("/api/bookings", "{\"customerId\":1,\"vehicleId\":-5,\"pickupAddress\":\" \",\"dropoffAddress\":\"\",\"passengerCount\":9}",
+                "Dropoff address cannot be empty");
+        expectBadRequest("/api/bookings", String.format(BOOKING, ",\"pickupLatitude\":91"), "Coordinates out of range");
+        expectBadRequest("/api/bookings", String.format(BOOKING, ",\"passengerCount\":9"),
+                "Passenger count must be between 1 and 8");
+        expectBadRequest("/api/bookings", String.format(BOOKING, ",\"scheduledPickupTime\":\"2000-01-01T10:00:00\""),
+                "Scheduled pickup time must be in the future");
+    }
+
+    @Test
+    void createBookingRejectsUnreadableBodies() throws Exception {
+        expectBadRequest("/api/bookings", "{\"customerId\":1,", "Malformed JSON request body");
+        expectBadRequest("/api/bookings", "{\"customerId\":\"abc\",\"vehicleId\":1,\"pickupAddress\":\"A\",\"dropoffAddress\":\"B\"}",
+                "customerId has an invalid value");
+    }
+
+    @Test
+    void recommendationsRejectInvalidCriteria() throws Exception {
+        expectBadRequest("/api/bookings/recommendations", "{\"vehicleType\":\"TRUCK\"}",
+                "Invalid vehicle type. Must be one of: SEDAN, SUV, EV");
+        expectBadRequest("/api/bookings/recommendations", "{\"passengerCount\":0}",
+                "Passenger count must be between 1 and 8");
+        expectBadRequest("/api/bookings/recommendations", "{\"estimatedDistance\":-3}",
+                "Estimated distance must be positive");
+        expectBadRequest("/api/bookings/recommendations", "{\"passengerCount\":\"two\"}",
+                "passengerCount has an invalid value");
+        expectBadRequest("/api/bookings/recommendations", "[", "Malformed JSON request body");
+    }
+
+    @Test
+    void registerRejectsMissingAndInvalidFields() throws Exception {
+        expectBadRequest("/api/auth/register", "{\"email\":\"a@validation.test\",\"password\":\"secret1\"}",
+                "Name is required");
+        expectBadRequest("/api/auth/register", "{\"name\":\"A\",\"password\":\"secret1\"}", "Email is required");
+        expectBadRequest("/api/auth/register", "{\"name\":\"A\",\"email\":\"a@validation.test\",\"password\":\"123\"}",
+                "Password must be at least 6 characters");
+        expectBadRequest("/api/auth/register", "{\"name\":\"A\",\"email\":\"a@validation.test\"}",
+                "Password must be at least 6 characters");
+        expectBadRequest("/api/auth/register", "not json", "Malformed JSON request body");
+    }
+
+    private void expectBadRequest(String path, String body, String message) throws Exception {
+        mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(message));
+    }
+}
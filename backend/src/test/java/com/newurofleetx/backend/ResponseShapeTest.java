@@ -0,0 +1,137 @@
+package com.newurofleetx.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Endpoints return flat DTOs (BookingResponse, VehicleResponse), never entities: the field set is
+// the API contract the frontend renders, and no nested customer/driver/vehicle object leaks out
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@AutoConfigureMockMvc
+class ResponseShapeTest {
+
+    private static final Set<String> VEHICLE_FIELDS = Set.of(
+            "id", "driverId", "make", "model", "licensePlate", "type", "passengerCapacity", "year", "color",
+            "basePricePerKm", "isAvailable", "currentFuelLevel", "fuelType", "status", "batteryLevel",
+            "healthScore", "lastMaintenanceDate", "currentLatitude", "currentLongitude");
+
+    private static final Set<String> BOOKING_FIELDS = Set.of(
+            "id", "customerId", "vehicleId", "vehicleMake", "vehicleModel", "pickupAddress", "dropoffAddress",
+            "scheduledPickupTime", "actualPickupTime", "actualDropoffTime", "estimatedCost", "paymentStatus", "status");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private User customer;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        customer = new User();
+        customer.setName("Shape");
+        customer.setEmail("shape" + System.nanoTime() + "@response.test");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        customer = userRepository.save(customer);
+        vehicle = vehicleRepository.save(new Vehicle("Toyota", "Prius", "SHAPE-" + System.nanoTime(), "SEDAN", 4, 2022, "White", 1.5, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+        vehicleRepository.delete(vehicle);
+        userRepository.delete(customer);
+    }
+
+    @Test
+    void vehicleResponsesAreFlat() throws Exception {
+        JsonNode body = getJson("/api/vehicles/" + vehicle.getId());
+
+        assertEquals(new TreeSet<>(VEHICLE_FIELDS), fieldNames(body));
+        assertEquals(vehicle.getId().longValue(), body.get("id").asLong());
+        assertEquals(vehicle.getLicensePlate(), body.get("licensePlate").asText());
+        assertTrue(body.get("isAvailable").asBoolean());
+    }
+
+    @Test
+    void bookingResponsesAreFlat() throws Exception {
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setVehicle(vehicle);
+        booking.setPickupAddress("Pickup");
+        booking.setDropoffAddress("Dropoff");
+        booking.setEstimatedCost(12.0);
+        booking.setStatus("PENDING");
+        bookings.add(bookingRepository.save(booking));
+
+        JsonNode list = getJson("/api/bookings/customer/" + customer.getId()).get("bookings");
+        assertEquals(1, list.size());
+        JsonNode body = list.get(0);
+
+        assertEquals(new TreeSet<>(BOOKING_FIELDS), fieldNames(body));
+        assertEquals(customer.getId().longValue(), body.get("customerId").asLong());
+        assertEquals(vehicle.getId().longValue(), body.get("vehicleId").asLong());
+        assertEquals(vehicle.getMake(), body.get("vehicleMake").asText());
+        assertTrue(body.get("actualPickupTime").isNull());
+        for (JsonNode value : body) {
+            assertTrue(value.isValueNode(), "nested object in " + body);
+        }
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String json = mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new TreeSet<>();
+        for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,79 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.VehicleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+@ActiveProfiles("cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        vehicleRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedFinderIsServedFromQueryCache() {
+        vehicleService.createVehicle(newVehicle("CACHE-1"));
+        vehicleService.getAvailableVehicles();
+
+        statistics.clear();
+        List<Vehicle> vehicles = vehicleService.getAvailableVehicles();
+
+        assertEquals(1, vehicles.size());
+        assertEquals(0, statistics.getPrepareStatementCount(), "cached finder should not hit the database");
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void vehicleServiceWritesInvalidateCachedResults() {
+        Vehicle vehicle = vehicleService.createVehicle(newVehicle("CACHE-2"));
+        assertEquals(1, vehicleService.getAvailableVehicles().size());
+
+        vehicleService.updateVehicleAvailability(vehicle.getId(), false);
+        assertEquals(0, vehicleService.getAvailableVehicles().size());
+
+        Vehicle details = vehicleService.getVehicleById(vehicle.getId()).orElseThrow();
+        details.setColor("Red");
+        details.setIsAvailable(true);
+        vehicleService.updateVehicle(vehicle.getId(), details);
+        assertEquals("Red", vehicleService.getAvailableVehicles().get(0).getColor());
+
+        vehicleService.deleteVehicle(vehicle.getId());
+        assertEquals(0, vehicleService.getAvailableVehicles().size());
+        assertTrue(vehicleService.getVehicleById(vehicle.getId()).isEmpty());
+    }
+
+    private Vehicle newVehicle(String plate) {
+        Vehicle vehicle = new Vehicle("Toyota", "Camry", plate, "SEDAN", 5, 2022, "Silver", 0.5, true);
+        vehicle.setFuelType("GASOLINE");
+        return vehicle;
+    }
+}
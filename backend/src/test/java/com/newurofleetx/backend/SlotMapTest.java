@@ -0,0 +1,60 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.util.SlotMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotMapTest {
+
+    @Test
+    void removedSlotsAreReusedAndOtherKeysStayFindable() {
+        SlotMap slots = new SlotMap(4);
+        assertEquals(0, slots.getOrAssign(10));
+        assertEquals(1, slots.getOrAssign(20));
+        assertEquals(0, slots.remove(10));
+        assertEquals(-1, slots.remove(10));
+        assertEquals(-1, slots.get(10));
+        assertEquals(0, slots.getOrAssign(30), "a freed slot goes to the next new key");
+        assertEquals(2, slots.size());
+    }
+
+    // Random inserts and removes against a HashMap, with keys that collide in the probe sequence
+    @Test
+    void matchesAHashMapUnderRandomInsertsAndRemoves() {
+        SlotMap slots = new SlotMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int step = 0; step < 200_000; step++) {
+            long key = random.nextInt(2_000) * 64L;
+            if (random.nextInt(3) == 0) {
+                Integer slot = expected.remove(key);
+                assertEquals(slot != null ? slot : -1, slots.remove(key));
+            } else {
+                int slot = slots.getOrAssign(key);
+                Integer previous = expected.putIfAbsent(key, slot);
+                if (previous != null) {
+                    assertEquals(previous, slot);
+                }
+            }
+        }
+        Set<Integer> used = new HashSet<>();
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), slots.get(entry.getKey()));
+            assertTrue(used.add(entry.getValue()), "slots are unique");
+            assertTrue(entry.getValue() < slots.size());
+        }
+        for (long key = 0; key < 2_000 * 64L; key += 64) {
+            if (!expected.containsKey(key)) {
+                assertEquals(-1, slots.get(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.util.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void timersFireOnTheFirstAdvancePastTheirDeadline() {
+        Random random = new Random(42);
+        long start = 1_000_000;
+        TimingWheel<long[]> wheel = new TimingWheel<>(1, start);
+        List<long[]> timers = new ArrayList<>();
+        // Deadlines spread over every level of the wheel
+        for (int i = 0; i < 5_000; i++) {
+            long deadline = start + 1 + (long) Math.pow(2, random.nextDouble() * 26);
+            long[] timer = {deadline, -1};
+            timers.add(timer);
+            wheel.schedule(deadline, timer);
+        }
+
+        long now = start;
+        while (wheel.size() > 0) {
+            long next = now + 1 + random.nextInt(200_000);
+            long previous = now;
+            int fired = wheel.advance(next, timer -> {
+                assertEquals(-1, timer[1], "fired twice");
+                timer[1] = next;
+                assertTrue(timer[0] > previous && timer[0] <= next, "fired at " + next + " for deadline " + timer[0]);
+            });
+            now = next;
+            assertTrue(fired >= 0);
+        }
+        for (long[] timer : timers) {
+            assertTrue(timer[1] >= timer[0]);
+        }
+    }
+
+    @Test
+    void overdueTimersFireOnTheNextTickAndDeadlinesRoundUp() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10_000);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(5_000, "overdue");
+        wheel.schedule(12_500, "rounded");
+
+        assertEquals(0, wheel.advance(10_999, fired::add));
+        assertEquals(1, wheel.advance(11_000, fired::add));
+        assertEquals(List.of("overdue"), fired);
+        assertEquals(0, wheel.advance(12_999, fired::add));
+        assertEquals(1, wheel.advance(13_000, fired::add));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersBeyondTheTopLevelAreParkedAndStillFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        List<String> fired = new ArrayList<>();
+        long far = (1L << 32) + 12_345;
+        wheel.schedule(far, "far");
+        wheel.schedule(10, "near");
+
+        wheel.advance(10, fired::add);
+        assertEquals(List.of("near"), fired);
+        // Skip most of the way with nothing due, then step over the deadline tick by tick
+        wheel.advance(far - 300, fired::add);
+        assertEquals(1, fired.size());
+        wheel.advance(far - 1, fired::add);
+        assertEquals(1, fired.size());
+        wheel.advance(far, fired::add);
+        assertEquals(List.of("near", "far"), fired);
+    }
+}
@@ -0,0 +1,206 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.BookingService;
+import com.neurofleetx.service.TripAnalytics;
+import com.neurofleetx.service.TripAnalytics.Dimension;
+import com.neurofleetx.service.TripAnalytics.Filter;
+import com.neurofleetx.service.TripAnalytics.Group;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class, properties =
+        "spring.datasource.url=jdbc:h2:mem:neurofleetx_analytics;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class TripAnalyticsTest {
+
+    private static final String[] PAYMENTS = {"CARD", "CASH", "WALLET", null};
+
+    @Autowired
+    private TripAnalytics tripAnalytics;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void completedAndCancelledBookingsAreCountedOnce() {
+        Vehicle vehicle = vehicleRepository.save(new Vehicle("Toyota", "Prius", "ANALYTICS-" + System.nanoTime(), "SEDAN", 4, 2022, "White", 1.5, true));
+        User customer = new User();
+        customer.setName("Customer");
+        customer.setEmail("customer" + System.nanoTime() + "@analytics.test");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        customer = userRepository.save(customer);
+        Booking first = booking(customer, vehicle);
+        Booking second = booking(customer, vehicle);
+        Booking third = booking(customer, vehicle);
+        Filter byVehicle = new Filter(null, null, null, null, vehicle.getId(), null);
+
+        bookingService.confirmBooking(first.getId());
+        bookingService.confirmBooking(second.getId());
+        bookingService.completeBooking(first.getId(), 20.0, 8.0, 24.0);
+        bookingService.completeBooking(second.getId(), 10.0, 4.0, null);
+        assertThrows(IllegalStateException.class, () -> bookingService.completeBooking(first.getId(), 20.0, 8.0, 24.0));
+        assertThrows(IllegalStateException.class, () -> bookingService.completeBooking(third.getId(), 5.0, 2.0, 6.0),
+                "a pending booking cannot be completed");
+        bookingService.cancelBooking(third.getId());
+        bookingService.cancelBooking(third.getId());
+        assertThrows(IllegalStateException.class, () -> bookingService.cancelBooking(first.getId()),
+                "a completed booking cannot be cancelled");
+
+        // Finished bookings cannot be reopened, so they can never finish a second time
+        int finished = tripAnalytics.size();
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmBooking(first.getId()));
+        assertThrows(IllegalStateException.class, () -> bookingService.startBooking(first.getId(), null));
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmBooking(third.getId()));
+        assertThrows(IllegalStateException.class, () -> bookingService.startBooking(third.getId(), null));
+        assertThrows(IllegalStateException.class, () -> bookingService.completeBooking(first.getId(), 20.0, 8.0, 24.0));
+        assertEquals(finished, tripAnalytics.size());
+
+        Map<String, Group> byStatus = byKey(tripAnalytics.query(byVehicle, Dimension.STATUS).groups());
+        assertEquals(2, byStatus.get("COMPLETED").trips());
+        assertEquals(30.0, byStatus.get("COMPLETED").revenue());
+        assertEquals(6.0, byStatus.get("COMPLETED").averageDistanceKm());
+        assertEquals(24.0, byStatus.get("COMPLETED").averageDurationMinutes());
+        assertEquals(1, byStatus.get("CANCELLED").trips());
+        assertEquals(0.0, byStatus.get("CANCELLED").revenue());
+
+        Group day = tripAnalytics.query(byVehicle, Dimension.DAY).groups().get(0);
+        assertEquals(LocalDate.now().toString(), day.key());
+        assertEquals(3, day.trips());
+    }
+
+    // Every grouping and filter against a plain loop over the same trips
+    @Test
+    void vectorizedQueriesMatchARowByRowScan() {
+        TripAnalytics store = new TripAnalytics();
+        Random random = new Random(7);
+        List<Booking> trips = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < 20_000; i++) {
+            Booking trip = new Booking();
+            trip.setStatus(random.nextInt(10) == 0 ? "CANCELLED" : "COMPLETED");
+            trip.setPaymentMethod(PAYMENTS[random.nextInt(PAYMENTS.length)]);
+            Vehicle vehicle = new Vehicle();
+            vehicle.setId(1L + random.nextInt(50));
+            trip.setVehicle(vehicle);
+            User driver = new User();
+            driver.setId(100L + random.nextInt(30));
+            trip.setDriver(random.nextInt(20) == 0 ? null : driver);
+            trip.setActualDropoffTime(start.plusMinutes(random.nextInt(60 * 24 * 60)));
+            if ("COMPLETED".equals(trip.getStatus())) {
+                trip.setActualCost(Math.round(random.nextDouble() * 4000) / 100.0);
+                trip.setActualDistance(Math.round(random.nextDouble() * 3000) / 100.0);
+                trip.setActualDuration(random.nextInt(8) == 0 ? null : 5.0 + random.nextInt(60));
+                trip.setDriverRating(random.nextInt(3) == 0 ? null : 1 + random.nextInt(5));
+            }
+            trips.add(trip);
+            store.onTripFinished(trip);
+        }
+
+        List<Filter> filters = List.of(Filter.ALL,
+                new Filter(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 2, 3), null, null, null, null),
+                new Filter(null, null, "COMPLETED", "CARD", null, null),
+                new Filter(null, LocalDate.of(2026, 2, 1), null, null, 7L, null),
+                new Filter(null, null, null, null, null, 105L),
+                new Filter(null, null, "NO_SHOW", null, null, null));
+        for (Filter filter : filters) {
+            for (Dimension dimension : Dimension.values()) {
+                Map<String, Group> expected = scan(trips, filter, dimension);
+                Map<String, Group> actual = byKey(store.query(filter, dimension).groups());
+                assertEquals(expected, actual, dimension + " " + filter);
+            }
+        }
+    }
+
+    private static Map<String, Group> scan(List<Booking> trips, Filter filter, Dimension dimension) {
+        Function<Booking, String> key = switch (dimension) {
+            case DAY -> t -> t.getActualDropoffTime().toLocalDate().toString();
+            case HOUR -> t -> Integer.toString(t.getActualDropoffTime().getHour());
+            case STATUS -> Booking::getStatus;
+            case PAYMENT_METHOD -> Booking::getPaymentMethod;
+            case VEHICLE -> t -> t.getVehicle().getId().toString();
+            case DRIVER -> t -> t.getDriver() != null ? t.getDriver().getId().toString() : null;
+            case RATING -> t -> Integer.toString(t.getDriverRating() != null ? t.getDriverRating() : 0);
+            case NONE -> t -> "all";
+        };
+        Map<String, List<Booking>> groups = new TreeMap<>();
+        for (Booking trip : trips) {
+            LocalDate day = trip.getActualDropoffTime().toLocalDate();
+            if ((filter.from() != null && day.isBefore(filter.from())) || (filter.to() != null && day.isAfter(filter.to()))
+                    || (filter.status() != null && !filter.status().equals(trip.getStatus()))
+                    || (filter.paymentMethod() != null && !filter.paymentMethod().equals(trip.getPaymentMethod()))
+                    || (filter.vehicleId() != null && !filter.vehicleId().equals(trip.getVehicle().getId()))
+                    || (filter.driverId() != null && (trip.getDriver() == null || !filter.driverId().equals(trip.getDriver().getId())))) {
+                continue;
+            }
+            groups.computeIfAbsent(String.valueOf(key.apply(trip)), k -> new ArrayList<>()).add(trip);
+        }
+        Map<String, Group> result = new TreeMap<>();
+        groups.forEach((k, group) -> {
+            double cost = 0, distance = 0, duration = 0;
+            long costed = 0, measured = 0, timed = 0, rated = 0, ratingSum = 0;
+            for (Booking trip : group) {
+                if (trip.getActualCost() != null) { cost += trip.getActualCost(); costed++; }
+                if (trip.getActualDistance() != null) { distance += trip.getActualDistance(); measured++; }
+                if (trip.getActualDuration() != null) { duration += trip.getActualDuration(); timed++; }
+                if (trip.getDriverRating() != null) { ratingSum += trip.getDriverRating(); rated++; }
+            }
+            result.put(k, new Group(k.equals("null") ? null : k, group.size(), round(cost), average(cost, costed),
+                    round(distance), average(distance, measured), average(duration, timed), rated, average(ratingSum, rated)));
+        });
+        return result;
+    }
+
+    private static Map<String, Group> byKey(List<Group> groups) {
+        Map<String, Group> map = new TreeMap<>();
+        groups.forEach(group -> map.put(String.valueOf(group.key()), group));
+        return map;
+    }
+
+    private static double average(double sum, long count) {
+        return count == 0 ? 0 : round(sum / count);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private Booking booking(User customer, Vehicle vehicle) {
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setVehicle(vehicle);
+        booking.setPickupAddress("Pickup");
+        booking.setDropoffAddress("Dropoff");
+        booking.setPaymentMethod("CARD");
+        return bookingService.createBooking(booking);
+    }
+}
@@ -0,0 +1,135 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.service.TripSketches;
+import com.neurofleetx.util.HyperLogLog;
+import com.neurofleetx.util.KllSketch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TripSketchesTest {
+
+    @Test
+    void hyperLogLogEstimatesAndMergesDistinctCounts() throws IOException {
+        for (int distinct : new int[]{1, 100, 5_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int repeat = 0; repeat < 3; repeat++) {
+                for (long id = 1; id <= distinct; id++) {
+                    sketch.add(id);
+                }
+            }
+            assertWithin(distinct, sketch.estimate(), 0.05);
+            assertEquals(sketch.estimate(), HyperLogLog.fromBytes(sketch.toBytes()).estimate());
+        }
+
+        // Two nodes seeing overlapping users: 0..60k and 40k..100k
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (long id = 0; id < 60_000; id++) {
+            first.add(id);
+        }
+        for (long id = 40_000; id < 100_000; id++) {
+            second.add(id);
+        }
+        first.merge(second);
+        assertWithin(100_000, first.estimate(), 0.05);
+    }
+
+    @Test
+    void kllQuantilesStayWithinRankErrorInBoundedMemory() throws IOException {
+        Random random = new Random(11);
+        double[] values = new double[500_000];
+        KllSketch left = new KllSketch();
+        KllSketch right = new KllSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian()) * 20;
+            (i % 3 == 0 ? left : right).add(values[i]);
+        }
+        assertTrue(left.retained() < 3 * KllSketch.DEFAULT_K + 64, "retained " + left.retained());
+
+        left.merge(KllSketch.fromBytes(right.toBytes()));
+        assertEquals(values.length, left.count());
+        assertTrue(left.retained() < 3 * KllSketch.DEFAULT_K + 64, "retained " + left.retained());
+        Arrays.sort(values);
+        assertEquals(values[0], left.min());
+        assertEquals(values[values.length - 1], left.max());
+        for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99}) {
+            double estimate = left.quantile(q);
+            double rank = (double) Math.abs(Arrays.binarySearch(values, estimate)) / values.length;
+            assertEquals(q, rank, 0.015, "quantile " + q);
+        }
+    }
+
+    // Two nodes' windows merge without double counting users seen by both, and survive a restart
+    @Test
+    void nodesMergeExportedWindows(@TempDir Path dir) throws IOException {
+        TripSketches first = new TripSketches(dir.resolve("first.bin").toString(), 90);
+        TripSketches second = new TripSketches(dir.resolve("second.bin").toString(), 90);
+        for (long customer = 1; customer <= 300; customer++) {
+            (customer % 2 == 0 ? first : second).onBooking(trip(customer, customer % 20, customer * 0.1));
+            if (customer <= 100) {
+                first.onBooking(trip(customer, 50 + customer % 10, customer * 0.1));
+            }
+        }
+        LocalDate today = LocalDate.now();
+
+        TripSketches.Summary merged = first.summary(today, today, List.of(second.export(today, today)));
+        assertEquals(2, merged.nodes());
+        assertEquals(400, merged.completedTrips());
+        assertWithin(300, merged.activeCustomers(), 0.02);
+        assertWithin(30, merged.activeDrivers(), 0.02);
+        assertWithin(330, merged.activeUsers(), 0.02);
+        assertEquals(30.0, merged.durationMinutes().max());
+        assertWithin(10, Math.round(merged.durationMinutes().p50()), 0.1);
+
+        first.flush();
+        TripSketches restarted = new TripSketches(dir.resolve("first.bin").toString(), 90);
+        assertEquals(first.summary(today, today, List.of()), restarted.summary(today, today, List.of()));
+        assertEquals(0, restarted.summary(today.minusDays(7), today.minusDays(1), List.of()).completedTrips());
+    }
+
+    // Trips completed without a duration or cost still count; the sketches only skip them
+    @Test
+    void completedTripsCountTripsWithoutADuration(@TempDir Path dir) throws IOException {
+        TripSketches sketches = new TripSketches(dir.resolve("trips.bin").toString(), 90);
+        sketches.onBooking(trip(1, 1, 12.0));
+        Booking unmeasured = trip(2, 1, 0);
+        unmeasured.setActualDuration(null);
+        unmeasured.setActualCost(null);
+        sketches.onBooking(unmeasured);
+        LocalDate today = LocalDate.now();
+
+        TripSketches.Summary summary = sketches.summary(today, today, List.of(sketches.export(today, today)));
+        assertEquals(4, summary.completedTrips());
+        assertEquals(12.0, summary.durationMinutes().max());
+    }
+
+    private static Booking trip(long customerId, long driverId, double duration) {
+        Booking booking = new Booking();
+        User customer = new User();
+        customer.setId(customerId);
+        User driver = new User();
+        driver.setId(1_000 + driverId);
+        booking.setCustomer(customer);
+        booking.setDriver(driver);
+        booking.setStatus("COMPLETED");
+        booking.setActualDuration(duration);
+        booking.setActualCost(5 + duration);
+        return booking;
+    }
+
+    private static void assertWithin(long expected, long actual, double relative) {
+        assertTrue(Math.abs(actual - expected) <= Math.max(1, expected * relative), "expected ~" + expected + " but was " + actual);
+    }
+}
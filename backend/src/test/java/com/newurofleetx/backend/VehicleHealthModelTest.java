@@ -0,0 +1,116 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.dto.TelemetryRequest;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.MaintenanceAlertRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.service.MaintenanceRuleEngine;
+import com.neurofleetx.service.TelemetryService;
+import com.neurofleetx.service.VehicleHealthModel;
+import com.neurofleetx.service.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = NeuroFleetXApplication.class)
+class VehicleHealthModelTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private VehicleHealthModel healthModel;
+
+    @Autowired
+    private MaintenanceRuleEngine ruleEngine;
+
+    @Autowired
+    private MaintenanceAlertRepository alertRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        Vehicle v = new Vehicle("Ford", "Transit", "HEALTH-" + System.nanoTime(), "VAN", 8, 2021, "Blue", 1.8, true);
+        vehicle = vehicleService.createVehicle(v);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleEngine.flush();
+        vehicleService.deleteVehicle(vehicle.getId());
+    }
+
+    @Test
+    void newVehicleStartsHealthy() {
+        assertEquals(100.0, healthModel.score(vehicle.getId()));
+    }
+
+    @Test
+    void deletedVehiclesAreForgotten() {
+        Vehicle other = vehicleService.createVehicle(new Vehicle("Ford", "Focus", "HEALTH-" + System.nanoTime(), "SEDAN", 4, 2021, "Red", 1.5, true));
+        healthModel.onTripCompleted(other.getId(), 5_000.0);
+        vehicleService.deleteVehicle(other.getId());
+        assertTrue(Double.isNaN(healthModel.score(other.getId())));
+
+        Vehicle next = vehicleService.createVehicle(new Vehicle("Ford", "Focus", "HEALTH-" + System.nanoTime(), "SEDAN", 4, 2021, "Red", 1.5, true));
+        assertEquals(100.0, healthModel.score(next.getId()), "a reused slot starts over");
+        vehicleService.deleteVehicle(next.getId());
+    }
+
+    @Test
+    void hotEngineAndFastDrainLowerTheScoreAndAreWrittenBack() {
+        long t = 10 * MINUTE;
+        double fuel = 90;
+        for (int i = 0; i < 10; i++) {
+            // 1% per minute = 60% per hour, far above normal
+            send(new TelemetryRequest(fuel -= 1, null, 40.7128, -74.0060, 30.0, 135.0, t += MINUTE));
+        }
+        double score = healthModel.score(vehicle.getId());
+        assertTrue(score <= 65, "expected a penalised score, got " + score);
+
+        healthModel.flush();
+        Vehicle stored = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertEquals(score, stored.getHealthScore());
+        assertEquals(fuel, stored.getCurrentFuelLevel());
+        assertEquals(40.7128, stored.getCurrentLatitude());
+
+        ruleEngine.flush();
+        assertTrue(alertRepository.findByVehicleIdOrderByTriggeredAtDesc(vehicle.getId()).stream()
+                .anyMatch(a -> a.getRuleName().equals("poor-health")));
+    }
+
+    @Test
+    void distanceAndTripsCountUntilMaintenance() {
+        // ~111 km north over an hour
+        send(new TelemetryRequest(null, null, 40.0, -74.0, null, null, MINUTE));
+        send(new TelemetryRequest(null, null, 41.0, -74.0, null, null, 60 * MINUTE));
+        for (int i = 0; i < 20; i++) {
+            healthModel.onTripCompleted(vehicle.getId(), 5.0);
+        }
+        // 111 km / 500 + 20 trips * 0.05
+        assertEquals(100 - 0.2 - 1.0, healthModel.score(vehicle.getId()), 0.11);
+
+        vehicleService.recordMaintenance(vehicle.getId());
+        assertEquals(100.0, healthModel.score(vehicle.getId()));
+        assertEquals(100.0, vehicleRepository.findById(vehicle.getId()).orElseThrow().getHealthScore());
+    }
+
+    private void send(TelemetryRequest request) {
+        telemetryService.ingest(vehicle.getId(), request);
+    }
+}
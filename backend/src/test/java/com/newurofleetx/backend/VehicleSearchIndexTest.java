@@ -0,0 +1,80 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.VehicleSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleSearchIndexTest {
+
+    private VehicleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleSearchIndex();
+        index.rebuild(List.of(
+                vehicle(1, "Toyota", "Camry", "ABC-123", "Silver"),
+                vehicle(2, "Honda", "CR-V", "XYZ-789", "Black"),
+                vehicle(3, "Tesla", "Model 3", "EV-001", "White"),
+                vehicle(4, "Tesla", "Model S Plaid", "EV-002", "Red"),
+                vehicle(5, "Ford", "Mustang", "MUS-456", "Red")));
+    }
+
+    @Test
+    void substringAndMultiTermQueriesRankTighterMatchesFirst() {
+        assertEquals(List.of(1L), index.search("amr", 10));
+        assertEquals(List.of(3L, 4L), index.search("tesla model", 10));
+        assertEquals(List.of(4L, 5L), index.search("red", 10));
+        assertEquals(List.of(2L), index.search("xyz-789", 10));
+        assertEquals(List.of(), index.search("tesla camry", 10));
+    }
+
+    @Test
+    void shortTermsUseWordPrefixes() {
+        assertTrue(index.search("s", 10).contains(4L));
+        assertTrue(index.search("ev", 10).containsAll(List.of(3L, 4L)));
+        assertEquals(Set.of("Model 3", "Model S Plaid", "MUS-456", "Mustang"), Set.copyOf(index.suggest("m", 10)));
+        assertEquals(2, index.suggest("m", 2).size());
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleImmediately() {
+        index.index(vehicle(1, "Toyota", "Corolla", "ABC-123", "Silver"));
+        assertEquals(List.of(), index.search("camry", 10));
+        assertEquals(List.of(1L), index.search("corolla", 10));
+
+        index.remove(5L);
+        assertEquals(List.of(4L), index.search("red", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void compactionKeepsResultsStable() {
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            fleet.add(vehicle(i, "Make" + (i % 7), "Model" + i, "PL-" + i, "Blue"));
+        }
+        index.rebuild(fleet);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 1; i <= 300; i++) {
+                index.index(vehicle(i, "Make" + (i % 7), "Model" + i, "PL-" + i, round % 2 == 0 ? "Green" : "Blue"));
+            }
+        }
+        assertEquals(500, index.size());
+        assertEquals(List.of(42L), index.search("model42", 5).subList(0, 1));
+        assertEquals(200, index.search("blue", 1000).size());
+    }
+
+    private static Vehicle vehicle(long id, String make, String model, String plate, String color) {
+        Vehicle v = new Vehicle(make, model, plate, "SEDAN", 4, 2022, color, 0.5, true);
+        v.setId(id);
+        return v;
+    }
+}
@@ -0,0 +1,131 @@
+package com.newurofleetx.backend;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares the default Tomcat pool against the "virtual" profile at 1k and 5k concurrent clients.
+// Run with: mvn test -Pload-test
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        for (int clients : new int[] {1_000, 5_000}) {
+            Result platform = run("platform", clients);
+            Result virtual = run("virtual", clients);
+            log.info("{}", platform);
+            log.info("{}", virtual);
+            assertEquals(0, platform.failures, "platform-thread mode had failed requests");
+            assertEquals(0, virtual.failures, "virtual-thread mode had failed requests");
+        }
+    }
+
+    private Result run(String mode, int clients) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(NeuroFleetXApplication.class)
+                .properties("spring.datasource.url=jdbc:h2:mem:load_" + mode + "_" + clients + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "server.tomcat.max-connections=10000",
+                        "server.tomcat.accept-count=10000");
+        if (mode.equals("virtual")) {
+            builder.profiles("virtual");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            seedFleet(context.getBean(VehicleRepository.class), 200);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/vehicles/available");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+            long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+
+            long start = System.nanoTime();
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(clients);
+                for (int c = 0; c < clients; c++) {
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                            long t0 = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    failures.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                failures.incrementAndGet();
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - t0;
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return new Result(mode, clients, latencies, elapsed, failures.get());
+        }
+    }
+
+    private void seedFleet(VehicleRepository repository, int size) {
+        List<Vehicle> vehicles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Vehicle v = new Vehicle("Make" + (i % 10), "Model" + i, "LOAD-" + i, i % 3 == 0 ? "EV" : "SEDAN",
+                    4, 2022, "White", 0.5 + (i % 5) * 0.1, true);
+            v.setFuelType(i % 3 == 0 ? "ELECTRIC" : "GASOLINE");
+            v.setStatus("ACTIVE");
+            v.setBatteryLevel(i % 3 == 0 ? 100.0 : 0.0);
+            vehicles.add(v);
+        }
+        repository.saveAll(vehicles);
+    }
+
+    private record Result(String mode, int clients, long[] latencies, long elapsedNanos, int failures) {
+        @Override
+        public String toString() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%-8s clients=%5d requests=%6d throughput=%8.0f req/s p50=%6.1fms p99=%7.1fms max=%7.1fms failures=%d",
+                    mode, clients, sorted.length, sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6, failures);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.neurofleetx.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Regression-tracking entry point: runs the benchmarks matching the given patterns (all by default)
+// with the GC profiler, so every result carries gc.alloc.rate.norm (bytes per operation), and writes
+// them as JSON for comparison between builds:
+//
+//   java [-Dresult=file.json] -cp benchmarks/target/benchmarks.jar com.neurofleetx.benchmark.BenchmarkRunner [pattern...]
+//
+// The plain JMH command line (java -jar benchmarks.jar -prof gc -rf json ...) works as well.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        if (args.length == 0) {
+            options.include("com\\.neurofleetx\\.benchmark\\..*");
+        }
+        for (String pattern : args) {
+            options.include(pattern);
+        }
+        Options built = options
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("result", "jmh-result.json"))
+                .build();
+        new Runner(built).run();
+    }
+}
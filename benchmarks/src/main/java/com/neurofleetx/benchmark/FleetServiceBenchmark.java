@@ -0,0 +1,57 @@
+package com.neurofleetx.benchmark;
+
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.BookingService;
+import com.neurofleetx.service.VehicleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Service-level hot paths against the seeded H2 fleet in FleetState (1k and 100k vehicles).
+// These include the repository round trips, so they show where a call still scales with the
+// fleet: recommendations and vehicle stats load every available vehicle, search and booking
+// stats do not. Run with -prof gc to see the allocation that comes with it.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class FleetServiceBenchmark {
+
+    @Benchmark
+    public List<Vehicle> recommendations(FleetState fleet) {
+        return fleet.vehicleService.getVehicleRecommendations("SEDAN", 4, false, 30.0);
+    }
+
+    @Benchmark
+    public List<Vehicle> evRecommendations(FleetState fleet) {
+        return fleet.vehicleService.getVehicleRecommendations(null, 2, true, 120.0);
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByMakeAndModel(FleetState fleet) {
+        return fleet.vehicleService.searchVehicles("toyota camry");
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByPlatePrefix(FleetState fleet) {
+        return fleet.vehicleService.searchVehicles("BEN-0004");
+    }
+
+    @Benchmark
+    public VehicleService.VehicleStats vehicleStats(FleetState fleet) {
+        return fleet.vehicleService.getVehicleStats();
+    }
+
+    @Benchmark
+    public BookingService.BookingStats bookingStats(FleetState fleet) {
+        return fleet.bookingService.getBookingStats();
+    }
+}
@@ -0,0 +1,123 @@
+package com.neurofleetx.benchmark;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.service.BookingService;
+import com.neurofleetx.service.EvChargingScheduler;
+import com.neurofleetx.service.VehicleService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// The whole backend (minus the web server) on an in-memory H2 database in MySQL mode, seeded with a
+// synthetic fleet of fleetSize vehicles and half as many bookings. Rows are inserted with JDBC
+// batches after startup, then the in-memory indexes the benchmarks touch are rebuilt.
+// Scheduled jobs are pushed out of the measurement window.
+@State(Scope.Benchmark)
+public class FleetState {
+
+    static final String[] MAKES = {"Toyota", "Honda", "Tesla", "Ford", "Hyundai", "Kia", "Nissan", "BMW"};
+    static final String[] MODELS = {"Camry", "CR-V", "Model 3", "Transit", "Ioniq 5", "EV6", "Leaf", "i4"};
+    static final String[] TYPES = {"SEDAN", "SUV", "EV", "VAN"};
+    static final String[] COLORS = {"Silver", "Black", "White", "Blue", "Red", "Grey"};
+    static final String[] STATUSES = {"PENDING", "CONFIRMED", "IN_PROGRESS", "COMPLETED", "COMPLETED", "CANCELLED"};
+
+    private static final int CUSTOMERS = 100;
+    private static final int BATCH = 1000;
+
+    @Param({"1000", "100000"})
+    public int fleetSize;
+
+    public ConfigurableApplicationContext context;
+    public VehicleService vehicleService;
+    public BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(NeuroFleetXApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they win over the backend's application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + fleetSize + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--neurofleetx.dispatch.interval-ms=3600000",
+                        "--neurofleetx.ev.plan-interval-ms=3600000",
+                        "--neurofleetx.booking.timer-interval-ms=3600000");
+        seed(context.getBean(JdbcTemplate.class));
+
+        vehicleService = context.getBean(VehicleService.class);
+        bookingService = context.getBean(BookingService.class);
+        vehicleService.buildSearchIndex();
+        context.getBean(EvChargingScheduler.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Random random = new Random(fleetSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            users.add(new Object[] {"Customer " + i, "customer" + i + "@bench.neurofleetx.com", "secret", "CUSTOMER", true, now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role, active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+        long firstCustomer = jdbc.queryForObject("SELECT MIN(id) FROM users", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < fleetSize; i++) {
+            int model = random.nextInt(MAKES.length);
+            String type = TYPES[random.nextInt(TYPES.length)];
+            boolean electric = "EV".equals(type);
+            rows.add(new Object[] {
+                    MAKES[model], MODELS[model], String.format("BEN-%06d", i), type,
+                    "VAN".equals(type) ? 8 : 2 + random.nextInt(6), 2015 + random.nextInt(10),
+                    COLORS[random.nextInt(COLORS.length)], 0.3 + random.nextDouble(),
+                    random.nextInt(4) != 0, electric ? 0.0 : 10 + random.nextDouble() * 90,
+                    electric ? 5 + random.nextDouble() * 95 : 0.0, electric ? "ELECTRIC" : "GASOLINE",
+                    50 + random.nextDouble() * 50, "ACTIVE",
+                    18.4 + random.nextDouble() * 0.3, 73.7 + random.nextDouble() * 0.3, now, now});
+            if (rows.size() == BATCH || i == fleetSize - 1) {
+                jdbc.batchUpdate("INSERT INTO vehicles (make, model, license_plate, type, passenger_capacity, vehicle_year, color, "
+                        + "base_price_per_km, is_available, current_fuel_level, battery_level, fuel_type, health_score, status, "
+                        + "current_latitude, current_longitude, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        long firstVehicle = jdbc.queryForObject("SELECT MIN(id) FROM vehicles", Long.class);
+
+        int bookings = fleetSize / 2;
+        for (int i = 0; i < bookings; i++) {
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            rows.add(new Object[] {
+                    firstCustomer + random.nextInt(CUSTOMERS), firstVehicle + random.nextInt(fleetSize),
+                    "Pickup " + i, "Dropoff " + i, status, 5 + random.nextDouble() * 45,
+                    "COMPLETED".equals(status) ? "PAID" : "PENDING", now, now});
+            if (rows.size() == BATCH || i == bookings - 1) {
+                jdbc.batchUpdate("INSERT INTO bookings (customer_id, vehicle_id, pickup_address, dropoff_address, status, "
+                        + "estimated_cost, payment_status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
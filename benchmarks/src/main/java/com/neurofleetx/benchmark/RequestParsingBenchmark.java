@@ -0,0 +1,80 @@
+package com.neurofleetx.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.neurofleetx.dto.CreateBookingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Booking hot path: cost of turning a POST /api/bookings body into usable values.
+// "mapExtract" is the old Map<String, Object> + toString()/parse approach, "typedRecord"
+// binds straight into CreateBookingRequest with a reader resolved once up front.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestParsingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private byte[] body;
+    private ObjectReader mapReader;
+    private ObjectReader recordReader;
+
+    @Setup
+    public void setup() {
+        body = ("{\"customerId\":42,\"vehicleId\":7,\"pickupAddress\":\"221B Baker Street\","
+                + "\"dropoffAddress\":\"10 Downing Street\",\"pickupLatitude\":40.7128,\"pickupLongitude\":-74.006,"
+                + "\"estimatedDistance\":15.0,\"estimatedDuration\":25.0,\"estimatedCost\":37.5,"
+                + "\"passengerCount\":\"2\",\"paymentMethod\":\"credit_card\",\"promoCode\":null,\"discountAmount\":0}")
+                .getBytes(StandardCharsets.UTF_8);
+        ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapReader = mapper.readerFor(MAP_TYPE);
+        recordReader = mapper.readerFor(CreateBookingRequest.class);
+    }
+
+    @Benchmark
+    public void mapExtract(Blackhole bh) throws Exception {
+        Map<String, Object> data = mapReader.readValue(body);
+        bh.consume(Long.parseLong(data.get("customerId").toString()));
+        bh.consume(Long.parseLong(data.get("vehicleId").toString()));
+        bh.consume(data.get("pickupAddress").toString());
+        bh.consume(data.get("dropoffAddress").toString());
+        bh.consume(Double.parseDouble(data.get("estimatedDistance").toString()));
+        bh.consume(Double.parseDouble(data.get("estimatedDuration").toString()));
+        bh.consume(Double.parseDouble(data.get("estimatedCost").toString()));
+        bh.consume(Integer.parseInt(data.get("passengerCount").toString()));
+        bh.consume(data.get("paymentMethod").toString());
+    }
+
+    @Benchmark
+    public void typedRecord(Blackhole bh) throws Exception {
+        CreateBookingRequest request = recordReader.readValue(body);
+        bh.consume(request.customerId());
+        bh.consume(request.vehicleId());
+        bh.consume(request.pickupAddress());
+        bh.consume(request.dropoffAddress());
+        bh.consume(request.estimatedDistance());
+        bh.consume(request.estimatedDuration());
+        bh.consume(request.estimatedCost());
+        bh.consume(request.passengerCount());
+        bh.consume(request.paymentMethod());
+    }
+}
@@ -0,0 +1,108 @@
+package com.neurofleetx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.neurofleetx.dto.BookingResponse;
+import com.neurofleetx.dto.VehicleResponse;
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.UserRole;
+import com.neurofleetx.entity.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization cost per response: JPA entities through a plain ObjectMapper (the old
+// behaviour) versus the flat response records the controllers now return, through writers bound
+// to the record types.
+// Run with -prof gc to get bytes allocated per response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter bookingWriter;
+    private ObjectWriter vehicleListWriter;
+
+    private Booking booking;
+    private BookingResponse bookingResponse;
+    private List<Vehicle> vehicles;
+    private List<VehicleResponse> vehicleResponses;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookingWriter = objectMapper.writerFor(BookingResponse.class);
+        vehicleListWriter = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, VehicleResponse.class));
+
+        User customer = new User();
+        customer.setId(42L);
+        customer.setName("John Doe");
+        customer.setEmail("customer1@neurofleetx.com");
+        customer.setPassword("encoded_secret");
+        customer.setRole(UserRole.CUSTOMER);
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+
+        vehicles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Vehicle v = new Vehicle("Toyota", "Camry " + i, "ABC-" + i, "SEDAN", 5, 2022, "Silver", 0.5, true);
+            v.setId((long) i + 1);
+            v.setFuelType("GASOLINE");
+            v.setStatus("ACTIVE");
+            vehicles.add(v);
+        }
+        vehicleResponses = vehicles.stream().map(VehicleResponse::from).toList();
+
+        booking = new Booking(customer, vehicles.get(0), "221B Baker Street", "10 Downing Street",
+                LocalDateTime.now().plusHours(2), 37.5, 2);
+        booking.setId(1001L);
+        booking.setEstimatedDistance(15.0);
+        booking.setEstimatedDuration(25.0);
+        booking.setPaymentMethod("credit_card");
+        bookingResponse = BookingResponse.from(booking);
+    }
+
+    @Benchmark
+    public byte[] bookingEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] bookingResponse() throws Exception {
+        return bookingWriter.writeValueAsBytes(bookingResponse);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseWithMapping() throws Exception {
+        return bookingWriter.writeValueAsBytes(BookingResponse.from(booking));
+    }
+
+    @Benchmark
+    public byte[] vehicleListEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(vehicles);
+    }
+
+    @Benchmark
+    public byte[] vehicleListResponse() throws Exception {
+        return vehicleListWriter.writeValueAsBytes(vehicleResponses);
+    }
+}
@@ -0,0 +1,162 @@
+package com.neurofleetx.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+// Startup-time benchmark: launches the backend jar in a fresh JVM per run and reports the time from
+// process start to the first successful API response (time-to-first-request), per startup mode:
+//
+//   default   ddl-auto=update schema diffing, everything eager
+//   prod      prod profile: Flyway migrations, no schema diffing, lazy init, deferred JPA bootstrap
+//   prod-aot  prod plus the Spring AOT initializers (jar built with mvn -Paot package)
+//   prod-cds  prod plus the AppCDS archive from backend/scripts/build-cds.sh
+//
+//   mvn -B -DskipTests package
+//   java -cp benchmarks/target/benchmarks.jar com.neurofleetx.benchmark.StartupBenchmark [--runs=5] [--modes=default,prod]
+//
+// Modes whose artifacts are missing are skipped. JMH is no fit here: the thing measured is a whole
+// JVM start, which JMH's forks would only wrap.
+public class StartupBenchmark {
+
+    private static final String FIRST_REQUEST = "/api/vehicles/stats";
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path jar = Path.of(options.getOrDefault("jar", "backend/target/backend-0.0.1-SNAPSHOT-exec.jar"));
+        Path cds = Path.of(options.getOrDefault("cds", "backend/target/cds"));
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "default,prod,prod-aot,prod-cds").split(","));
+        if (!Files.exists(jar)) {
+            throw new IllegalArgumentException("No application jar at " + jar + " (mvn -B -DskipTests package)");
+        }
+
+        System.out.printf(Locale.ROOT, "%-10s %6s %10s %10s %10s%n", "mode", "runs", "min ms", "median ms", "max ms");
+        for (String mode : modes) {
+            List<String> command = command(mode.trim(), jar, cds);
+            if (command == null) {
+                System.out.printf(Locale.ROOT, "%-10s skipped (artifact missing)%n", mode);
+                continue;
+            }
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(command);
+            }
+            Arrays.sort(millis);
+            System.out.printf(Locale.ROOT, "%-10s %6d %10d %10d %10d%n",
+                    mode, runs, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    // The java command line for a mode, or null when what it needs has not been built
+    private static List<String> command(String mode, Path jar, Path cds) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(java));
+        switch (mode) {
+            case "default" -> command.addAll(List.of("-jar", jar.toString(), "--spring.jpa.hibernate.ddl-auto=update"));
+            case "prod" -> command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=prod"));
+            case "prod-aot" -> {
+                if (!hasAotInitializers(jar)) {
+                    return null;
+                }
+                command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jar.toString(), "--spring.profiles.active=prod"));
+            }
+            case "prod-cds" -> {
+                Path archive = cds.resolve("app.jsa");
+                Path classpath = cds.resolve("classpath");
+                if (!Files.exists(archive) || !Files.exists(classpath)) {
+                    return null;
+                }
+                // build-cds.sh writes the class path relative to backend/
+                String backend = cds.toAbsolutePath().getParent().getParent().toString();
+                StringBuilder absolute = new StringBuilder();
+                for (String entry : Files.readString(classpath).trim().split(File.pathSeparator)) {
+                    absolute.append(absolute.isEmpty() ? "" : File.pathSeparator).append(Path.of(backend, entry));
+                }
+                Path jvmOptions = cds.resolve("jvm-options");
+                if (Files.exists(jvmOptions)) {
+                    for (String option : Files.readString(jvmOptions).trim().split("\\s+")) {
+                        if (!option.isEmpty()) {
+                            command.add(option);
+                        }
+                    }
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-cp", absolute.toString(),
+                        "com.neurofleetx.NeuroFleetXApplication", "--spring.profiles.active=prod"));
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        return command;
+    }
+
+    private static boolean hasAotInitializers(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.getEntry("BOOT-INF/classes/com/neurofleetx/NeuroFleetXApplication__ApplicationContextInitializer.class") != null;
+        }
+    }
+
+    private static long timeToFirstRequest(List<String> base) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(base);
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST)).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No response within " + TimeUnit.NANOSECONDS.toSeconds(TIMEOUT_NANOS) + "s: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.neurofleetx.benchmark;
+
+import com.neurofleetx.entity.Booking;
+import com.neurofleetx.entity.User;
+import com.neurofleetx.entity.Vehicle;
+import com.neurofleetx.service.TripAnalytics;
+import com.neurofleetx.service.TripAnalytics.Dimension;
+import com.neurofleetx.service.TripAnalytics.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Analytics queries over the trip column store, filled with `trips` synthetic finished trips
+// (a year of drop-offs in arrival order, 5k vehicles, 8k drivers). No Spring context: the store is fed the way
+// BookingService feeds it.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class TripAnalyticsBenchmark {
+
+    private static final String[] PAYMENTS = {"CARD", "CASH", "WALLET", "UPI"};
+    private static final long MINUTES_PER_YEAR = 365L * 24 * 60;
+
+    @Param({"1000000", "10000000"})
+    public int trips;
+
+    private TripAnalytics store;
+
+    private final Filter cardTrips = new Filter(null, null, "COMPLETED", "CARD", null, null);
+    private final Filter march = new Filter(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), null, null, null, null);
+    private final Filter oneVehicle = new Filter(null, null, null, null, 42L, null);
+
+    @Setup(Level.Trial)
+    public void fill() {
+        store = new TripAnalytics();
+        Random random = new Random(trips);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        Booking trip = new Booking();
+        Vehicle vehicle = new Vehicle();
+        User driver = new User();
+        trip.setVehicle(vehicle);
+        trip.setDriver(driver);
+        for (int i = 0; i < trips; i++) {
+            boolean completed = random.nextInt(10) != 0;
+            trip.setStatus(completed ? "COMPLETED" : "CANCELLED");
+            trip.setPaymentMethod(PAYMENTS[random.nextInt(PAYMENTS.length)]);
+            vehicle.setId(1L + random.nextInt(5_000));
+            driver.setId(1L + random.nextInt(8_000));
+            trip.setActualDropoffTime(start.plusMinutes(i * MINUTES_PER_YEAR / trips + random.nextInt(60)));
+            trip.setActualCost(completed ? 5 + random.nextDouble() * 45 : null);
+            trip.setActualDistance(completed ? 1 + random.nextDouble() * 30 : null);
+            trip.setActualDuration(completed ? 5 + random.nextDouble() * 60 : null);
+            trip.setDriverRating(completed && random.nextBoolean() ? 1 + random.nextInt(5) : null);
+            store.onTripFinished(trip);
+        }
+    }
+
+    @Benchmark
+    public TripAnalytics.Result totals() {
+        return store.query(Filter.ALL, Dimension.NONE);
+    }
+
+    @Benchmark
+    public TripAnalytics.Result revenueByDay() {
+        return store.query(Filter.ALL, Dimension.DAY);
+    }
+
+    @Benchmark
+    public TripAnalytics.Result cardTripsByHour() {
+        return store.query(cardTrips, Dimension.HOUR);
+    }
+
+    @Benchmark
+    public TripAnalytics.Result oneMonthByDriver() {
+        return store.query(march, Dimension.DRIVER);
+    }
+
+    @Benchmark
+    public TripAnalytics.Result oneVehicleByPaymentMethod() {
+        return store.query(oneVehicle, Dimension.PAYMENT_METHOD);
+    }
+}
@@ -0,0 +1,58 @@
+package com.neurofleetx.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies of one endpoint. Recording is wait-free (HdrHistogram Recorder), so response threads never
+// contend with each other or with the reporter; the reporter swaps out interval histograms and
+// accumulates them. Values are nanoseconds, tracked up to one minute at three significant digits.
+public class EndpointStats {
+
+    private static final long MAX_NANOS = 60_000_000_000L;
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram interval;
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void record(long latencyNanos) {
+        recorder.recordValue(Math.min(Math.max(latencyNanos, 0), MAX_NANOS));
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    // Drop everything recorded so far (end of warm-up)
+    public synchronized void reset() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.reset();
+        errors.reset();
+    }
+
+    // Fold the latest interval into the total; returns the interval's count
+    public synchronized long roll() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval.getTotalCount();
+    }
+
+    public synchronized Histogram total() {
+        return total.copy();
+    }
+}
@@ -0,0 +1,151 @@
+package com.neurofleetx.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Synthetic fleet: seeds vehicles and customers into the application's database and produces the
+// request bodies the scenarios send. Each vehicle drifts on a random walk around Pune and burns
+// fuel or battery as it goes; vehicles out on a booking are taken off the free queue until the
+// booking completes, so the booking flow only ever picks vehicles the server considers available.
+public class FleetSimulator {
+
+    private static final double CENTER_LAT = 18.52;
+    private static final double CENTER_LNG = 73.85;
+    private static final double SPREAD = 0.15;
+    private static final String[] TYPES = {"SEDAN", "SUV", "EV"};
+    private static final int BATCH = 1000;
+
+    private final long[] vehicleIds;
+    private final long[] customerIds;
+    private final boolean[] electric;
+    // Guarded by this
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] level;
+    private final ConcurrentLinkedQueue<Long> freeVehicles = new ConcurrentLinkedQueue<>();
+
+    private FleetSimulator(long[] vehicleIds, long[] customerIds, boolean[] electric) {
+        this.vehicleIds = vehicleIds;
+        this.customerIds = customerIds;
+        this.electric = electric;
+        this.latitude = new double[vehicleIds.length];
+        this.longitude = new double[vehicleIds.length];
+        this.level = new double[vehicleIds.length];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < vehicleIds.length; i++) {
+            latitude[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD;
+            longitude[i] = CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD;
+            level[i] = 60 + random.nextDouble() * 40;
+            freeVehicles.add(vehicleIds[i]);
+        }
+    }
+
+    // Insert the fleet with JDBC batches, bypassing the API so seeding is not part of the measurement
+    public static FleetSimulator seed(JdbcTemplate jdbc, int vehicles, int customers) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < customers; i++) {
+            rows.add(new Object[] {"Load Customer " + i, "load" + i + "@loadtest.neurofleetx.com", "secret", "CUSTOMER", true, now, now});
+            if (rows.size() == BATCH || i == customers - 1) {
+                jdbc.batchUpdate("INSERT INTO users (name, email, password, role, active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < vehicles; i++) {
+            String type = TYPES[i % TYPES.length];
+            boolean ev = "EV".equals(type);
+            rows.add(new Object[] {"Load", "Model " + (i % 20), String.format("LOAD-%06d", i), type,
+                    ev ? 5 : 4 + i % 4, 2020 + i % 5, "White", 0.4 + random.nextDouble() * 0.4, true,
+                    ev ? 0.0 : 80.0, ev ? 80.0 : 0.0, ev ? "ELECTRIC" : "GASOLINE", 70 + random.nextDouble() * 30,
+                    "ACTIVE", CENTER_LAT, CENTER_LNG, now, now});
+            if (rows.size() == BATCH || i == vehicles - 1) {
+                jdbc.batchUpdate("INSERT INTO vehicles (make, model, license_plate, type, passenger_capacity, vehicle_year, color, "
+                        + "base_price_per_km, is_available, current_fuel_level, battery_level, fuel_type, health_score, status, "
+                        + "current_latitude, current_longitude, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        long[] vehicleIds = jdbc.queryForList("SELECT id FROM vehicles WHERE license_plate LIKE 'LOAD-%' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        long[] customerIds = jdbc.queryForList("SELECT id FROM users WHERE email LIKE 'load%@loadtest.neurofleetx.com' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        boolean[] electric = new boolean[vehicleIds.length];
+        for (int i = 0; i < electric.length; i++) {
+            electric[i] = "EV".equals(TYPES[i % TYPES.length]);
+        }
+        return new FleetSimulator(vehicleIds, customerIds, electric);
+    }
+
+    public int vehicles() {
+        return vehicleIds.length;
+    }
+
+    public int randomVehicle() {
+        return ThreadLocalRandom.current().nextInt(vehicleIds.length);
+    }
+
+    public long vehicleId(int vehicle) {
+        return vehicleIds[vehicle];
+    }
+
+    // Advance the vehicle one step and describe where it is now
+    public String telemetryBody(int vehicle, long timestamp) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double lat;
+        double lng;
+        double remaining;
+        synchronized (this) {
+            latitude[vehicle] += (random.nextDouble() - 0.5) * 0.002;
+            longitude[vehicle] += (random.nextDouble() - 0.5) * 0.002;
+            level[vehicle] = level[vehicle] < 15 ? 95 : level[vehicle] - random.nextDouble() * 0.2;
+            lat = latitude[vehicle];
+            lng = longitude[vehicle];
+            remaining = level[vehicle];
+        }
+        String energy = electric[vehicle]
+                ? String.format(Locale.ROOT, "\"batteryLevel\":%.2f", remaining)
+                : String.format(Locale.ROOT, "\"fuelLevel\":%.2f", remaining);
+        return String.format(Locale.ROOT,
+                "{%s,\"latitude\":%.6f,\"longitude\":%.6f,\"speed\":%.1f,\"engineTemperature\":%.1f,\"timestamp\":%d}",
+                energy, lat, lng, random.nextDouble() * 70, 80 + random.nextDouble() * 25, timestamp);
+    }
+
+    public String recommendationBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String type = random.nextInt(3) == 0 ? "\"" + TYPES[random.nextInt(TYPES.length)] + "\"" : "null";
+        return String.format(Locale.ROOT, "{\"vehicleType\":%s,\"passengerCount\":%d,\"evPreference\":%b,\"estimatedDistance\":%.1f}",
+                type, 1 + random.nextInt(4), random.nextInt(5) == 0, 2 + random.nextDouble() * 30);
+    }
+
+    // A free vehicle to book, or null when the whole fleet is out
+    public Long takeFreeVehicle() {
+        return freeVehicles.poll();
+    }
+
+    public void release(long vehicleId) {
+        freeVehicles.add(vehicleId);
+    }
+
+    public String bookingBody(long vehicleId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long customerId = customerIds[random.nextInt(customerIds.length)];
+        double pickupLat = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD;
+        double pickupLng = CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD;
+        double dropoffLat = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD;
+        double dropoffLng = CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD;
+        return String.format(Locale.ROOT,
+                "{\"customerId\":%d,\"vehicleId\":%d,\"pickupAddress\":\"Load pickup\",\"dropoffAddress\":\"Load dropoff\","
+                        + "\"pickupLatitude\":%.6f,\"pickupLongitude\":%.6f,\"dropoffLatitude\":%.6f,\"dropoffLongitude\":%.6f,"
+                        + "\"passengerCount\":%d,\"paymentMethod\":\"credit_card\"}",
+                customerId, vehicleId, pickupLat, pickupLng, dropoffLat, dropoffLng, 1 + random.nextInt(3));
+    }
+}
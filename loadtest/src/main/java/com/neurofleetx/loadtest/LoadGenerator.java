@@ -0,0 +1,209 @@
+package com.neurofleetx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.loadtest.LoadTestOptions.Scenario;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load: arrivals follow a Poisson process at the configured rate no matter how fast the
+// server answers, and every latency is measured from the moment the request was *due*, not from
+// when it was actually sent. A server that stalls therefore shows the full queueing delay it
+// caused instead of hiding it by slowing the generator down (coordinated omission).
+//
+// Each arrival picks a scenario by weight:
+//   TELEMETRY  one vehicle reports its position and fuel/battery
+//   RECOMMEND  a customer asks for vehicle recommendations
+//   BOOKING    a customer books a free vehicle, then it is confirmed and completed, one request
+//              after the other; each step is measured from when the previous one returned
+//   DASHBOARD  a fleet manager's dashboard polls its metrics, fleet stats and maintenance alerts
+public class LoadGenerator {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final FleetSimulator fleet;
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder noFreeVehicle = new LongAdder();
+
+    public LoadGenerator(URI base, FleetSimulator fleet, LoadTestOptions options) {
+        this.base = base;
+        this.fleet = fleet;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (String endpoint : new String[] {"POST /api/vehicles/{id}/telemetry", "POST /api/bookings/recommendations",
+                "POST /api/bookings", "PUT /api/bookings/{id}/confirm", "PUT /api/bookings/{id}/complete",
+                "GET /api/dashboard/fleet-manager/metrics", "GET /api/vehicles/stats", "GET /api/maintenance/alerts"}) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        scenarios = options.mix().keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += options.mix().get(scenarios[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long noFreeVehicle() {
+        return noFreeVehicle.sum();
+    }
+
+    public void resetCounters() {
+        dropped.reset();
+        noFreeVehicle.reset();
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    // Generate arrivals until the deadline (System.nanoTime()); runs on the calling thread
+    public void run(long untilNanos) {
+        double meanGapNanos = 1e9 / options.rate();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long due = System.nanoTime();
+        while (true) {
+            // Exponential inter-arrival times make the arrivals a Poisson process
+            due += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (due >= untilNanos) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= options.maxInFlight()) {
+                dropped.increment();
+                continue;
+            }
+            arrive(pick(random), due);
+        }
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private void arrive(Scenario scenario, long due) {
+        switch (scenario) {
+            case TELEMETRY -> {
+                int vehicle = fleet.randomVehicle();
+                send("POST /api/vehicles/{id}/telemetry", post("/api/vehicles/" + fleet.vehicleId(vehicle) + "/telemetry",
+                        fleet.telemetryBody(vehicle, System.currentTimeMillis())), due);
+            }
+            case RECOMMEND -> send("POST /api/bookings/recommendations",
+                    post("/api/bookings/recommendations", fleet.recommendationBody()), due);
+            case BOOKING -> book(due);
+            case DASHBOARD -> {
+                send("GET /api/dashboard/fleet-manager/metrics", get("/api/dashboard/fleet-manager/metrics"), due);
+                send("GET /api/vehicles/stats", get("/api/vehicles/stats"), due);
+                send("GET /api/maintenance/alerts", get("/api/maintenance/alerts"), due);
+            }
+        }
+    }
+
+    private void book(long due) {
+        Long vehicleId = fleet.takeFreeVehicle();
+        if (vehicleId == null) {
+            noFreeVehicle.increment();
+            return;
+        }
+        send("POST /api/bookings", post("/api/bookings", fleet.bookingBody(vehicleId)), due)
+                .thenCompose(created -> {
+                    Long bookingId = bookingId(created);
+                    if (bookingId == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return send("PUT /api/bookings/{id}/confirm", put("/api/bookings/" + bookingId + "/confirm"), System.nanoTime())
+                            .thenCompose(confirmed -> confirmed == null ? CompletableFuture.completedFuture(null)
+                                    : send("PUT /api/bookings/{id}/complete", put("/api/bookings/" + bookingId + "/complete"
+                                            + "?actualDistance=" + (2 + ThreadLocalRandom.current().nextInt(20))
+                                            + "&actualDuration=" + (10 + ThreadLocalRandom.current().nextInt(30))), System.nanoTime()));
+                })
+                .whenComplete((ignored, error) -> fleet.release(vehicleId));
+    }
+
+    // Send and record; completes with the body of a 2xx response, or null after an error
+    private CompletableFuture<String> send(String endpoint, HttpRequest request, long due) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        inFlight.incrementAndGet();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    inFlight.decrementAndGet();
+                    endpointStats.record(System.nanoTime() - due);
+                    if (error != null || response.statusCode() / 100 != 2) {
+                        endpointStats.error();
+                        return null;
+                    }
+                    return response.body();
+                });
+    }
+
+    private Long bookingId(String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            JsonNode id = mapper.readTree(body).path("booking").path("id");
+            return id.isNumber() ? id.asLong() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.neurofleetx.loadtest;
+
+import com.neurofleetx.NeuroFleetXApplication;
+import com.neurofleetx.service.EvChargingScheduler;
+import com.neurofleetx.service.VehicleService;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end load test: boots the whole application (web server included) on an in-memory H2
+// database, seeds a synthetic fleet, drives it over HTTP with an open-loop LoadGenerator and prints
+// latency percentiles per endpoint plus the throughput it sustained.
+//
+//   mvn -B -DskipTests package
+//   java -jar loadtest/target/loadtest.jar --rate=1000 --duration=60 --vehicles=5000
+//
+// See LoadTestOptions for every setting. The warm-up runs the same load but is not reported.
+public class LoadTest {
+
+    private static final long REPORT_EVERY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        List<String> appArgs = new ArrayList<>(List.of(
+                // Command-line arguments, so they win over the backend's application.properties
+                "--server.port=0",
+                "--server.tomcat.max-connections=" + Math.max(8192, options.maxInFlight()),
+                "--server.tomcat.accept-count=1000",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--neurofleetx.dispatch.interval-ms=3600000",
+                "--neurofleetx.ev.plan-interval-ms=3600000",
+                "--neurofleetx.booking.timer-interval-ms=3600000"));
+        if (options.profile() != null) {
+            appArgs.add("--spring.profiles.active=" + options.profile());
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NeuroFleetXApplication.class)
+                .run(appArgs.toArray(new String[0]))) {
+            FleetSimulator fleet = FleetSimulator.seed(context.getBean(JdbcTemplate.class), options.vehicles(), options.customers());
+            // Pick the seeded rows up in the in-memory indexes built at startup
+            context.getBean(VehicleService.class).buildSearchIndex();
+            context.getBean(EvChargingScheduler.class).load();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), fleet, options);
+            System.out.printf(Locale.ROOT, "Load test: %.0f req/s, %d vehicles, %d customers, mix %s, port %d%n",
+                    options.rate(), fleet.vehicles(), options.customers(), options.mix(), port);
+
+            if (options.warmupSeconds() > 0) {
+                System.out.println("Warming up for " + options.warmupSeconds() + "s");
+                generator.run(System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds()));
+                generator.resetCounters();
+            }
+
+            System.out.println("Measuring for " + options.durationSeconds() + "s");
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+            Thread reporter = Thread.ofPlatform().daemon().name("loadtest-reporter").start(() -> report(generator, start));
+            generator.run(end);
+            reporter.interrupt();
+            drain(generator);
+            summary(generator, (System.nanoTime() - start) / 1e9);
+        }
+        System.exit(0);
+    }
+
+    // One progress line every few seconds: throughput of the last interval and outstanding requests
+    private static void report(LoadGenerator generator, long start) {
+        long last = start;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(REPORT_EVERY_NANOS));
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            long completed = 0;
+            for (EndpointStats stats : generator.stats().values()) {
+                completed += stats.roll();
+            }
+            System.out.printf(Locale.ROOT, "  %5.0fs  %8.1f req/s  in flight %6d  dropped %d%n",
+                    (now - start) / 1e9, completed / ((now - last) / 1e9), generator.inFlight(), generator.dropped());
+            last = now;
+        }
+    }
+
+    // Let outstanding requests finish (or time out) so their latencies are counted
+    private static void drain(LoadGenerator generator) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(35);
+        while (generator.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static void summary(LoadGenerator generator, double seconds) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long count = 0;
+        long errors = 0;
+        for (EndpointStats stats : generator.stats().values()) {
+            stats.roll();
+            Histogram histogram = stats.total();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            count += histogram.getTotalCount();
+            errors += stats.errors();
+            System.out.printf(Locale.ROOT, "%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.name(), histogram.getTotalCount(), stats.errors(), histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Sustained %.1f req/s (%d requests, %d errors in %.1fs)%n", count / seconds, count, errors, seconds);
+        System.out.printf(Locale.ROOT, "Dropped %d arrivals over the in-flight limit, %d bookings found no free vehicle%n",
+                generator.dropped(), generator.noFreeVehicle());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
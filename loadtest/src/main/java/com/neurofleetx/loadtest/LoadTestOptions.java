@@ -0,0 +1,67 @@
+package com.neurofleetx.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Command-line settings, given as --name=value:
+//   --rate=500            arrivals per second across all scenarios (open loop)
+//   --duration=60         measured seconds
+//   --warmup=15           seconds of load before measuring starts (not reported)
+//   --vehicles=1000       simulated vehicles sending telemetry
+//   --customers=200       simulated customers booking trips
+//   --mix=telemetry:70,recommend:10,booking:5,dashboard:15   relative weight of each scenario
+//   --max-in-flight=20000 arrivals beyond this many outstanding requests are dropped and counted
+//   --profile=virtual     Spring profile(s) for the application under test
+public record LoadTestOptions(
+        double rate,
+        int durationSeconds,
+        int warmupSeconds,
+        int vehicles,
+        int customers,
+        Map<Scenario, Integer> mix,
+        int maxInFlight,
+        String profile) {
+
+    public enum Scenario { TELEMETRY, RECOMMEND, BOOKING, DASHBOARD }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "500")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "15")),
+                Integer.parseInt(values.getOrDefault("vehicles", "1000")),
+                Integer.parseInt(values.getOrDefault("customers", "200")),
+                parseMix(values.getOrDefault("mix", "telemetry:70,recommend:10,booking:5,dashboard:15")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "20000")),
+                values.get("profile"));
+        if (options.rate <= 0 || options.durationSeconds <= 0 || options.vehicles <= 0 || options.customers <= 0) {
+            throw new IllegalArgumentException("rate, duration, vehicles and customers must be positive");
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries are scenario:weight, got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix needs at least one scenario with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -72,7 +72,7 @@ const BookingManagement = () => {
                 <div className="flex-1">
                   <div className="flex items-center gap-2 mb-2">
                     <FaUser className="text-gray-400" />
-                    <span className="font-medium">Customer ID: {booking.customer?.id || 'N/A'}</span>
+                    <span className="font-medium">Customer ID: {booking.customerId || 'N/A'}</span>
                     <span className="px-2 py-1 bg-yellow-100 text-yellow-800 text-xs rounded">
                       PENDING
                     </span>
@@ -86,7 +86,7 @@ const BookingManagement = () => {
                   <div className="flex items-center gap-4 text-sm text-gray-600">
                     <div className="flex items-center gap-1">
                       <FaCar className="text-gray-400" />
-                      <span>{booking.vehicle ? `${booking.vehicle.make} ${booking.vehicle.model}` : 'No vehicle assigned'}</span>
+                      <span>{booking.vehicleMake ? `${booking.vehicleMake} ${booking.vehicleModel}` : 'No vehicle assigned'}</span>
                     </div>
                     <div className="flex items-center gap-1">
                       <FaClock className="text-gray-400" />
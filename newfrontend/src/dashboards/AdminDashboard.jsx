@@ -100,8 +100,8 @@ const AdminDashboard = () => {
       // Normalize booking objects to flat shape
       const flat = bookings.map(b => ({
         id: b.id,
-        customerId: b.getCustomerId ? b.getCustomerId() : (b.customer?.id || ''),
-        vehicleId: b.getVehicleId ? b.getVehicleId() : (b.vehicle?.id || ''),
+        customerId: b.customerId || '',
+        vehicleId: b.vehicleId || '',
         pickupAddress: b.pickupAddress || b.pickup_address || '',
         dropoffAddress: b.dropoffAddress || b.dropoff_address || '',
         estimatedCost: b.estimatedCost || b.estimated_cost || '',
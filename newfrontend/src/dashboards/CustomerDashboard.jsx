@@ -63,7 +63,7 @@ const DashboardHome = ({ displayMetrics, customerBookings, chartData }) => {
                       {new Date(booking.scheduledPickupTime).toLocaleDateString()} at {new Date(booking.scheduledPickupTime).toLocaleTimeString()}
                     </p>
                     <p className="text-sm text-gray-500">
-                      Vehicle: {booking.vehicle ? `${booking.vehicle.make} ${booking.vehicle.model}` : 'Not assigned'}
+                      Vehicle: {booking.vehicleMake ? `${booking.vehicleMake} ${booking.vehicleModel}` : 'Not assigned'}
                     </p>
                   </div>
                   <div className="text-right">
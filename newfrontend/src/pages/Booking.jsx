@@ -37,7 +37,7 @@ const Booking = () => {
             features: v.fuelType ? [v.fuelType] : ['AC'],
             available: v.isAvailable,
             passengerCapacity: v.passengerCapacity || 4,
-            driver: v.driver ? `${v.driver.name} (Rating: ${v.driverRating || 'N/A'})` : 'Unassigned'
+            driver: v.driverId ? 'Driver Assigned' : 'Unassigned'
           }));
           setAvailableVehicles(vehicles);
         }